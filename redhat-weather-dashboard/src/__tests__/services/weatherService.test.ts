@@ -3,13 +3,14 @@ import { describe, it, expect, vi, beforeEach } from 'vitest'
 // Mock the api module at the HTTP level
 const mockGet = vi.fn()
 const mockPost = vi.fn()
+const mockApiGet = vi.fn()
 vi.mock('../../services/api', () => ({
   weatherApi: {
     get: (...args: unknown[]) => mockGet(...args),
     post: (...args: unknown[]) => mockPost(...args),
   },
   default: {
-    get: vi.fn(),
+    get: (...args: unknown[]) => mockApiGet(...args),
   },
 }))
 
@@ -128,4 +129,32 @@ describe('weatherService', () => {
     })
 
   })
+
+  describe('refresh jobs', () => {
+    it('polls the job until it finishes', async () => {
+      vi.useFakeTimers()
+      try {
+        mockPost.mockResolvedValue({ data: { id: 'job-1', type: 'tfr', status: 'QUEUED' } })
+        mockApiGet
+          .mockResolvedValueOnce({ data: { id: 'job-1', type: 'tfr', status: 'RUNNING' } })
+          .mockResolvedValueOnce({ data: { id: 'job-1', type: 'tfr', status: 'SUCCEEDED' } })
+
+        const refresh = weatherService.refreshTfrs()
+        await vi.advanceTimersByTimeAsync(2000)
+        await refresh
+
+        expect(mockPost).toHaveBeenCalledWith('/tfrs/refresh')
+        expect(mockApiGet).toHaveBeenCalledTimes(2)
+        expect(mockApiGet).toHaveBeenCalledWith('/api/jobs/job-1')
+      } finally {
+        vi.useRealTimers()
+      }
+    })
+
+    it('rejects when the job fails', async () => {
+      mockPost.mockResolvedValue({ data: { id: 'job-2', type: 'pirep', status: 'FAILED', error: 'upstream down' } })
+
+      await expect(weatherService.refreshPireps()).rejects.toThrow('upstream down')
+    })
+  })
 })
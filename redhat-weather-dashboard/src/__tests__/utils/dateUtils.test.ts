@@ -1,5 +1,5 @@
 import { describe, it, expect } from 'vitest'
-import { formatRelativeTime, getFreshnessLevel, isStale } from '../../utils/dateUtils'
+import { formatClockTime, formatRelativeTime, getFreshnessLevel, isStale } from '../../utils/dateUtils'
 
 describe('formatRelativeTime', () => {
   it('returns "just now" for dates less than 60 seconds ago', () => {
@@ -91,3 +91,15 @@ describe('isStale', () => {
     expect(isStale(aging, 'forecast')).toBe(false)
   })
 })
+
+describe('formatClockTime', () => {
+  it('renders the instant in the local zone, not the UTC wall clock', () => {
+    const instant = '2024-06-21T09:25:00Z'
+    const expected = new Date(instant).toLocaleTimeString(undefined, {
+      hour: '2-digit',
+      minute: '2-digit',
+      timeZoneName: 'short',
+    })
+    expect(formatClockTime(instant)).toBe(expected)
+  })
+})
@@ -1,4 +1,4 @@
-import { weatherApi } from './api'
+import api, { weatherApi } from './api'
 
 export interface Location {
   id: number
@@ -76,8 +76,20 @@ export interface Hurricane {
 export interface SolarData {
   locationId: number
   locationName: string
-  sunrise: string
-  sunset: string
+  airportCode?: string
+  date?: string
+  // ISO-8601 instants in UTC; null during polar day or night
+  sunrise: string | null
+  sunset: string | null
+  solarNoon?: string
+  civilDawn?: string
+  civilDusk?: string
+  nauticalDawn?: string
+  nauticalDusk?: string
+  astronomicalDawn?: string
+  astronomicalDusk?: string
+  polarDay?: boolean
+  polarNight?: boolean
   dayLengthSeconds: number
   dayLengthFormatted: string
   fetchedAt: string
@@ -189,8 +201,7 @@ export interface Cwa {
 }
 
 export interface WindsAloft {
-  id: number
-  forecastId: string
+  profileId: number
   stationId: string
   latitude?: number
   longitude?: number
@@ -293,6 +304,37 @@ export interface WeatherAlert {
   fetchedAt?: string
 }
 
+export interface RefreshJob {
+  id: string
+  type: string
+  target?: string
+  status: 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED'
+  submittedAt: string
+  startedAt?: string
+  finishedAt?: string
+  error?: string
+}
+
+const JOB_POLL_INTERVAL_MS = 1000
+const JOB_POLL_TIMEOUT_MS = 120000
+
+// Submit a refresh and wait for its background job to finish
+async function runRefresh(path: string): Promise<void> {
+  const { data } = await weatherApi.post<RefreshJob>(path)
+  let job = data
+  const deadline = Date.now() + JOB_POLL_TIMEOUT_MS
+  while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+    if (Date.now() > deadline) {
+      throw new Error(`Refresh job ${job.id} did not finish in time`)
+    }
+    await new Promise((resolve) => setTimeout(resolve, JOB_POLL_INTERVAL_MS))
+    job = (await api.get<RefreshJob>(`/api/jobs/${job.id}`)).data
+  }
+  if (job.status === 'FAILED') {
+    throw new Error(job.error || `Refresh job ${job.id} failed`)
+  }
+}
+
 export const weatherService = {
   async getAirports(): Promise<Location[]> {
     const pageSize = 200
@@ -422,7 +464,7 @@ export const weatherService = {
   },
 
   async refreshAirportWeather(code: string): Promise<void> {
-    await weatherApi.post(`/airports/${code}/refresh`)
+    await runRefresh(`/airports/${code}/refresh`)
   },
 
   // Hurricanes
@@ -444,7 +486,7 @@ export const weatherService = {
   },
 
   async refreshHurricaneData(): Promise<void> {
-    await weatherApi.post('/hurricanes/refresh')
+    await runRefresh('/hurricanes/refresh')
   },
 
   // Weather Alerts
@@ -459,7 +501,7 @@ export const weatherService = {
   },
 
   async refreshAlerts(): Promise<void> {
-    await weatherApi.post('/alerts/refresh')
+    await runRefresh('/alerts/refresh')
   },
 
   // Earthquakes
@@ -474,7 +516,7 @@ export const weatherService = {
   },
 
   async refreshEarthquakes(): Promise<void> {
-    await weatherApi.post('/earthquakes/refresh')
+    await runRefresh('/earthquakes/refresh')
   },
 
   // PIREPs
@@ -484,7 +526,7 @@ export const weatherService = {
   },
 
   async refreshPireps(): Promise<void> {
-    await weatherApi.post('/pireps/refresh')
+    await runRefresh('/pireps/refresh')
   },
 
   // SIGMETs
@@ -494,7 +536,7 @@ export const weatherService = {
   },
 
   async refreshSigmets(): Promise<void> {
-    await weatherApi.post('/sigmets/refresh')
+    await runRefresh('/sigmets/refresh')
   },
 
   // CWAs
@@ -504,7 +546,7 @@ export const weatherService = {
   },
 
   async refreshCwas(): Promise<void> {
-    await weatherApi.post('/cwas/refresh')
+    await runRefresh('/cwas/refresh')
   },
 
   // Winds Aloft
@@ -514,7 +556,7 @@ export const weatherService = {
   },
 
   async refreshWindsAloft(): Promise<void> {
-    await weatherApi.post('/winds-aloft/refresh')
+    await runRefresh('/winds-aloft/refresh')
   },
 
   // TFRs
@@ -524,7 +566,7 @@ export const weatherService = {
   },
 
   async refreshTfrs(): Promise<void> {
-    await weatherApi.post('/tfrs/refresh')
+    await runRefresh('/tfrs/refresh')
   },
 
   // Ground Stops
@@ -534,7 +576,7 @@ export const weatherService = {
   },
 
   async refreshGroundStops(): Promise<void> {
-    await weatherApi.post('/ground-stops/refresh')
+    await runRefresh('/ground-stops/refresh')
   },
 
   // Volcanic Ash Advisories
@@ -544,7 +586,7 @@ export const weatherService = {
   },
 
   async refreshVolcanicAsh(): Promise<void> {
-    await weatherApi.post('/volcanic-ash/refresh')
+    await runRefresh('/volcanic-ash/refresh')
   },
 
   // Lightning
@@ -554,7 +596,7 @@ export const weatherService = {
   },
 
   async refreshLightning(): Promise<void> {
-    await weatherApi.post('/lightning/refresh')
+    await runRefresh('/lightning/refresh')
   },
 
   // Airport Delays
@@ -564,7 +606,7 @@ export const weatherService = {
   },
 
   async refreshDelays(): Promise<void> {
-    await weatherApi.post('/delays/refresh')
+    await runRefresh('/delays/refresh')
   },
 
   // Space Weather
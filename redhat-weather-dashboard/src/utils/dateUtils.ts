@@ -30,6 +30,15 @@ export function formatDate(dateString: string): string {
   })
 }
 
+// Clock time of an ISO-8601 instant in the viewer's time zone, labelled with that zone
+export function formatClockTime(dateString: string): string {
+  return new Date(dateString).toLocaleTimeString(undefined, {
+    hour: '2-digit',
+    minute: '2-digit',
+    timeZoneName: 'short',
+  })
+}
+
 export function formatRelativeTime(dateString: string): string {
   const now = Date.now()
   const then = new Date(dateString).getTime()
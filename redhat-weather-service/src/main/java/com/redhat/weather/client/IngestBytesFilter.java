@@ -0,0 +1,80 @@
+package com.redhat.weather.client;
+
+import com.redhat.weather.service.IngestInstrumentation;
+import com.redhat.weather.service.IngestRun;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Attributes upstream response bytes to the {@link IngestRun} open on the calling thread, for the
+ * {@code weather_ingest_bytes_received} summary. Uses Content-Length when present, otherwise
+ * counts the entity stream as the client reads it.
+ */
+@Provider
+public class IngestBytesFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String RUN_PROPERTY = IngestRun.class.getName();
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        // Request filters run on the caller's thread; response filters may not
+        IngestRun run = IngestInstrumentation.current();
+        if (run != null) {
+            requestContext.setProperty(RUN_PROPERTY, run);
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        if (!(requestContext.getProperty(RUN_PROPERTY) instanceof IngestRun run) || !responseContext.hasEntity()) {
+            return;
+        }
+        int length = responseContext.getLength();
+        if (length >= 0) {
+            run.bytesReceived(length);
+        } else {
+            responseContext.setEntityStream(new CountingInputStream(responseContext.getEntityStream(), run));
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final IngestRun run;
+
+        CountingInputStream(InputStream in, IngestRun run) {
+            super(in);
+            this.run = run;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                run.bytesReceived(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                run.bytesReceived(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            run.bytesReceived(skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.redhat.weather.client;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Record/replay for every upstream REST client, for load-testing ingest without the network.
+ *
+ * Mode is {@code weather.upstream.mode}:
+ * <ul>
+ *   <li>{@code live} - pass through (default)</li>
+ *   <li>{@code record} - pass through and write each response to the recordings directory</li>
+ *   <li>{@code replay} - never call upstream; serve the recorded response for the same request,
+ *       or any recording for the same path if the query differs (e.g. other METAR station ids),
+ *       after {@code weather.upstream.replay-latency-ms}</li>
+ * </ul>
+ * Recordings live at {@code <dir>/<host>/<path>/<request hash>.rec}. API keys in the query
+ * ({@code appid}) are excluded from the hash and never written to disk.
+ */
+@Provider
+public class UpstreamRecordReplayFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final Logger LOG = Logger.getLogger(UpstreamRecordReplayFilter.class);
+    private static final String SUFFIX = ".rec";
+
+    @ConfigProperty(name = "weather.upstream.mode", defaultValue = "live")
+    String mode;
+
+    @ConfigProperty(name = "weather.upstream.recordings-dir", defaultValue = "./data/upstream-recordings")
+    String recordingsDir;
+
+    @ConfigProperty(name = "weather.upstream.replay-latency-ms", defaultValue = "0")
+    long replayLatencyMs;
+
+    @Override
+    public void filter(ClientRequestContext requestContext) throws IOException {
+        if (!"replay".equals(mode)) {
+            return;
+        }
+
+        Optional<Path> recording = findRecording(requestContext.getMethod(), requestContext.getUri());
+        if (replayLatencyMs > 0) {
+            try {
+                Thread.sleep(replayLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (recording.isEmpty()) {
+            LOG.debug("No recording for " + requestContext.getMethod() + " " + requestContext.getUri().getPath());
+            requestContext.abortWith(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity("No recorded upstream response")
+                .type(MediaType.TEXT_PLAIN)
+                .build());
+            return;
+        }
+
+        byte[] file = Files.readAllBytes(recording.get());
+        int firstNewline = indexOf(file, 0);
+        int secondNewline = indexOf(file, firstNewline + 1);
+        int status = Integer.parseInt(new String(file, 0, firstNewline, StandardCharsets.UTF_8));
+        String contentType = new String(file, firstNewline + 1, secondNewline - firstNewline - 1, StandardCharsets.UTF_8);
+        byte[] body = new byte[file.length - secondNewline - 1];
+        System.arraycopy(file, secondNewline + 1, body, 0, body.length);
+
+        Response.ResponseBuilder response = Response.status(status).entity(new ByteArrayInputStream(body));
+        if (!contentType.isEmpty()) {
+            response.type(contentType);
+        }
+        requestContext.abortWith(response.build());
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+        if (!"record".equals(mode) || !responseContext.hasEntity()) {
+            return;
+        }
+
+        byte[] body;
+        try (InputStream in = responseContext.getEntityStream()) {
+            body = in.readAllBytes();
+        }
+        // Hand the buffered body back so the client can still deserialize it
+        responseContext.setEntityStream(new ByteArrayInputStream(body));
+
+        try {
+            Path target = recordingPath(requestContext.getMethod(), requestContext.getUri());
+            Files.createDirectories(target.getParent());
+            MediaType mediaType = responseContext.getMediaType();
+            byte[] header = (responseContext.getStatus() + "\n" + (mediaType != null ? mediaType.toString() : "") + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (var out = Files.newOutputStream(tmp)) {
+                out.write(header);
+                out.write(body);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            LOG.warn("Failed to record upstream response for " + requestContext.getUri().getPath() + ": " + e.getMessage());
+        }
+    }
+
+    private Optional<Path> findRecording(String method, URI uri) throws IOException {
+        Path exact = recordingPath(method, uri);
+        if (Files.exists(exact)) {
+            return Optional.of(exact);
+        }
+        Path dir = exact.getParent();
+        if (!Files.isDirectory(dir)) {
+            return Optional.empty();
+        }
+        // Same endpoint, different query: any recording will do for throughput purposes
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().findFirst();
+        }
+    }
+
+    private Path recordingPath(String method, URI uri) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "_root" : uri.getRawPath();
+        return Paths.get(recordingsDir, sanitize(uri.getHost()), sanitize(path))
+            .resolve(hash(method + " " + path + "?" + stripSecrets(uri.getRawQuery())) + SUFFIX);
+    }
+
+    static String stripSecrets(String query) {
+        if (query == null) {
+            return "";
+        }
+        StringBuilder kept = new StringBuilder();
+        for (String param : query.split("&")) {
+            if (param.startsWith("appid=")) {
+                continue;
+            }
+            if (kept.length() > 0) {
+                kept.append('&');
+            }
+            kept.append(param);
+        }
+        return kept.toString();
+    }
+
+    private static String sanitize(String value) {
+        if (value == null) {
+            return "_";
+        }
+        String cleaned = value.replaceAll("[^A-Za-z0-9._-]", "_");
+        return cleaned.length() > 120 ? cleaned.substring(0, 120) : cleaned;
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Corrupt recording: missing header line");
+    }
+}
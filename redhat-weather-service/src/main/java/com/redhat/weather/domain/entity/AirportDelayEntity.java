@@ -1,12 +1,12 @@
 package com.redhat.weather.domain.entity;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
-import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Entity
 @Table(name = "airport_delays", indexes = {
@@ -14,11 +14,7 @@ import java.time.LocalDateTime;
     @Index(name = "idx_delay_airport_code", columnList = "airport_code"),
     @Index(name = "idx_delay_type", columnList = "delay_type")
 })
-public class AirportDelayEntity extends PanacheEntityBase {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    public Long id;
+public class AirportDelayEntity extends SnapshotEntity {
 
     @NotBlank
     @Size(max = 100)
@@ -60,23 +56,21 @@ public class AirportDelayEntity extends PanacheEntityBase {
     public Boolean isDelayed = false;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "delay_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "delay_data", columnDefinition = "jsonb")
     public String delayData;
 
-    @Column(name = "fetched_at", nullable = false)
-    public LocalDateTime fetchedAt;
-
-    @Column(name = "is_active")
-    public Boolean isActive = true;
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
 
-    @Column(name = "created_at", nullable = false, updatable = false)
-    public LocalDateTime createdAt;
+    @Override
+    public String naturalKey() {
+        return delayId;
+    }
 
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        if (fetchedAt == null) {
-            fetchedAt = LocalDateTime.now();
-        }
+    @Override
+    public List<Object> contentFields() {
+        return Arrays.asList(airportCode, airportName, delayType, reason,
+            avgDelayMinutes, minDelayMinutes, maxDelayMinutes, trend, isDelayed);
     }
 }
@@ -66,6 +66,10 @@ public class AirportWeatherEntity extends PanacheEntityBase {
     @Column(name = "taf_data", columnDefinition = "jsonb")
     public String tafData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     // Extracted fields
     @Column(name = "visibility_miles", precision = 5, scale = 2)
     public BigDecimal visibilityMiles;
@@ -0,0 +1,87 @@
+package com.redhat.weather.domain.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily count/sum/min/max per metric of archived forecasts for one location.
+ */
+@Entity
+@Table(name = "climate_daily_aggregates", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_climate_location_day", columnNames = {"location_id", "day"})
+})
+public class ClimateDailyAggregateEntity extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "location_id", nullable = false)
+    public Long locationId;
+
+    @Column(name = "day", nullable = false)
+    public LocalDate day;
+
+    @Column(name = "sample_count", nullable = false)
+    public int sampleCount;
+
+    @Column(name = "temp_count", nullable = false)
+    public int tempCount;
+
+    @Column(name = "temp_sum", nullable = false)
+    public double tempSum;
+
+    @Column(name = "temp_min")
+    public Double tempMin;
+
+    @Column(name = "temp_max")
+    public Double tempMax;
+
+    @Column(name = "precip_count", nullable = false)
+    public int precipCount;
+
+    @Column(name = "precip_sum", nullable = false)
+    public double precipSum;
+
+    @Column(name = "precip_min")
+    public Double precipMin;
+
+    @Column(name = "precip_max")
+    public Double precipMax;
+
+    @Column(name = "humidity_count", nullable = false)
+    public int humidityCount;
+
+    @Column(name = "humidity_sum", nullable = false)
+    public double humiditySum;
+
+    @Column(name = "humidity_min")
+    public Double humidityMin;
+
+    @Column(name = "humidity_max")
+    public Double humidityMax;
+
+    @Column(name = "wind_count", nullable = false)
+    public int windCount;
+
+    @Column(name = "wind_sum", nullable = false)
+    public double windSum;
+
+    @Column(name = "wind_min")
+    public Double windMin;
+
+    @Column(name = "wind_max")
+    public Double windMax;
+
+    @Column(name = "updated_at", nullable = false)
+    public LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -61,9 +61,13 @@ public class CwaEntity extends PanacheEntityBase {
     public String geojson;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "cwa_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "cwa_data", columnDefinition = "jsonb")
     public String cwaData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     @Column(name = "fetched_at", nullable = false)
     public LocalDateTime fetchedAt;
 
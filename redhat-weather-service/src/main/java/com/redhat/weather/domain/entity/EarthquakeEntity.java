@@ -70,9 +70,13 @@ public class EarthquakeEntity extends PanacheEntityBase {
     public Integer significance;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "event_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "event_data", columnDefinition = "jsonb")
     public String eventData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     @Column(name = "fetched_at", nullable = false)
     public LocalDateTime fetchedAt;
 
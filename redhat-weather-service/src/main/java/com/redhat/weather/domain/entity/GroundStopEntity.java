@@ -1,12 +1,13 @@
 package com.redhat.weather.domain.entity;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Entity
 @Table(name = "ground_stops", indexes = {
@@ -15,11 +16,7 @@ import java.time.LocalDateTime;
     @Index(name = "idx_ground_stop_active", columnList = "is_active"),
     @Index(name = "idx_ground_stop_type", columnList = "program_type")
 })
-public class GroundStopEntity extends PanacheEntityBase {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    public Long id;
+public class GroundStopEntity extends SnapshotEntity {
 
     @NotBlank
     @Size(max = 100)
@@ -54,23 +51,21 @@ public class GroundStopEntity extends PanacheEntityBase {
     public Integer maxDelayMinutes;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "raw_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "raw_data", columnDefinition = "jsonb")
     public String rawData;
 
-    @Column(name = "fetched_at", nullable = false)
-    public LocalDateTime fetchedAt;
-
-    @Column(name = "is_active")
-    public Boolean isActive = true;
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
 
-    @Column(name = "created_at", nullable = false, updatable = false)
-    public LocalDateTime createdAt;
+    @Override
+    public String naturalKey() {
+        return groundStopId;
+    }
 
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        if (fetchedAt == null) {
-            fetchedAt = LocalDateTime.now();
-        }
+    @Override
+    public List<Object> contentFields() {
+        return Arrays.asList(airportCode, airportName, programType, reason,
+            endTime, avgDelayMinutes, maxDelayMinutes);
     }
 }
@@ -87,9 +87,13 @@ public class HurricaneEntity extends PanacheEntityBase {
 
     // Full forecast data
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "forecast_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "forecast_data", columnDefinition = "jsonb")
     public String forecastData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     // Status and classification
     @Column(name = "status", length = 50)
     public String status;
@@ -54,6 +54,10 @@ public class LightningStrikeEntity extends PanacheEntityBase {
     @Column(name = "raw_data", columnDefinition = "jsonb")
     public String rawData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     @Column(name = "fetched_at", nullable = false)
     public LocalDateTime fetchedAt;
 
@@ -1,5 +1,6 @@
 package com.redhat.weather.domain.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -46,6 +47,10 @@ public class LocationEntity extends PanacheEntityBase {
     @Column(name = "airport_code", length = 10)
     public String airportCode;
 
+    @Size(max = 20)
+    @Column(name = "airport_type", length = 20)
+    public String airportType;
+
     @Size(max = 100)
     @Column(name = "state", length = 100)
     public String state;
@@ -58,6 +63,14 @@ public class LocationEntity extends PanacheEntityBase {
     @Column(name = "metadata", columnDefinition = "jsonb")
     public String metadata;
 
+    @JsonIgnore
+    @Size(max = 32)
+    @Column(name = "source_hash", length = 32)
+    public String sourceHash;
+
+    @Column(name = "retired_at")
+    public LocalDateTime retiredAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     public LocalDateTime createdAt;
 
@@ -90,9 +90,13 @@ public class PirepEntity extends PanacheEntityBase {
     public BigDecimal visibilityMiles;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "pirep_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "pirep_data", columnDefinition = "jsonb")
     public String pirepData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     @Column(name = "fetched_at", nullable = false)
     public LocalDateTime fetchedAt;
 
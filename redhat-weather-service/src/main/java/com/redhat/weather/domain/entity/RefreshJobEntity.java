@@ -0,0 +1,67 @@
+package com.redhat.weather.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A manually requested refresh, as returned by the /refresh endpoints and {@code GET /api/jobs/{id}}.
+ */
+@Entity
+@Table(name = "refresh_jobs")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RefreshJobEntity extends PanacheEntityBase {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    @Id
+    @Column(name = "id", length = 36)
+    public String id;
+
+    /** Type, plus ":target" for per-target jobs; at most one QUEUED job per key. */
+    @JsonIgnore
+    @NotBlank
+    @Size(max = 80)
+    @Column(name = "job_key", nullable = false, length = 80)
+    public String jobKey;
+
+    @NotBlank
+    @Size(max = 40)
+    @Column(name = "type", nullable = false, length = 40)
+    public String type;
+
+    /** Airport code for per-airport refreshes, otherwise null. */
+    @Size(max = 20)
+    @Column(name = "target", length = 20)
+    public String target;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    public Status status;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    public String error;
+
+    @Column(name = "submitted_at", nullable = false)
+    public LocalDateTime submittedAt;
+
+    @Column(name = "started_at")
+    public LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    public LocalDateTime finishedAt;
+
+    public boolean isDone() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,46 @@
+package com.redhat.weather.domain.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_cursor", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_scheduler_cursor", columnNames = {"cursor_name", "partition_id"})
+})
+public class SchedulerCursorEntity extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @NotBlank
+    @Size(max = 50)
+    @Column(name = "cursor_name", nullable = false, length = 50)
+    public String cursorName;
+
+    @NotNull
+    @Column(name = "partition_id", nullable = false)
+    public Integer partitionId;
+
+    @NotNull
+    @Column(name = "position", nullable = false)
+    public Integer position;
+
+    @Size(max = 100)
+    @Column(name = "lease_owner", length = 100)
+    public String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    public LocalDateTime leaseExpiresAt;
+
+    @Column(name = "updated_at", nullable = false)
+    public LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -73,9 +73,13 @@ public class SigmetEntity extends PanacheEntityBase {
     public String geojson;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "sigmet_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "sigmet_data", columnDefinition = "jsonb")
     public String sigmetData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     @Column(name = "fetched_at", nullable = false)
     public LocalDateTime fetchedAt;
 
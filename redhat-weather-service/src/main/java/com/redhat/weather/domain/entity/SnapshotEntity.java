@@ -0,0 +1,61 @@
+package com.redhat.weather.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Row of a feed that upstream publishes as a complete snapshot (delays, ground stops, TFRs).
+ * Rows are matched across polls by {@link #naturalKey()} and only rewritten when the hash of
+ * {@link #contentFields()} changes; see {@code SnapshotReconciler}.
+ */
+@MappedSuperclass
+public abstract class SnapshotEntity extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Size(max = 32)
+    @Column(name = "content_hash", length = 32)
+    public String contentHash;
+
+    /** When the row's current content was first fetched; unchanged rows are not rewritten. */
+    @Column(name = "fetched_at", nullable = false)
+    public LocalDateTime fetchedAt;
+
+    /**
+     * Latest poll whose snapshot contained the row, changed or not; retention cleanup ages rows out on
+     * it. Not part of the published representation, so touching it does not change the row's ETag.
+     */
+    @JsonIgnore
+    @Column(name = "last_seen_at", nullable = false)
+    public LocalDateTime lastSeenAt;
+
+    @Column(name = "is_active")
+    public Boolean isActive = true;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    public LocalDateTime createdAt;
+
+    /** Upstream identity of the row, stable across polls (the table's unique id column). */
+    public abstract String naturalKey();
+
+    /** Everything upstream publishes for the row, excluding ids, timestamps and raw payload references. */
+    public abstract List<Object> contentFields();
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (fetchedAt == null) {
+            fetchedAt = LocalDateTime.now();
+        }
+        if (lastSeenAt == null) {
+            lastSeenAt = fetchedAt;
+        }
+    }
+}
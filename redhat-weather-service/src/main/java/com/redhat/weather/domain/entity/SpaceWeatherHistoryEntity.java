@@ -0,0 +1,49 @@
+package com.redhat.weather.domain.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "space_weather_history", indexes = {
+    @Index(name = "idx_space_weather_fetched_at", columnList = "fetched_at")
+})
+public class SpaceWeatherHistoryEntity extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "kp_index", precision = 4, scale = 2)
+    public BigDecimal kpIndex;
+
+    @Size(max = 20)
+    @Column(name = "kp_level", length = 20)
+    public String kpLevel;
+
+    @Column(name = "solar_wind_speed", precision = 8, scale = 2)
+    public BigDecimal solarWindSpeed;
+
+    @Size(max = 5)
+    @Column(name = "geomagnetic_storm_level", length = 5)
+    public String geomagneticStormLevel;
+
+    @NotNull
+    @Column(name = "alert_count", nullable = false)
+    public Integer alertCount;
+
+    @NotNull
+    @Column(name = "fetched_at", nullable = false)
+    public LocalDateTime fetchedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    public LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
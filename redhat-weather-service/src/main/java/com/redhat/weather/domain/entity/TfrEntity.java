@@ -1,6 +1,5 @@
 package com.redhat.weather.domain.entity;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -8,6 +7,8 @@ import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Entity
 @Table(name = "tfrs", indexes = {
@@ -16,11 +17,7 @@ import java.time.LocalDateTime;
     @Index(name = "idx_tfr_type", columnList = "tfr_type"),
     @Index(name = "idx_tfr_state", columnList = "state")
 })
-public class TfrEntity extends PanacheEntityBase {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    public Long id;
+public class TfrEntity extends SnapshotEntity {
 
     @NotBlank
     @Size(max = 20)
@@ -65,26 +62,24 @@ public class TfrEntity extends PanacheEntityBase {
     public String geojson;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "tfr_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "tfr_data", columnDefinition = "jsonb")
     public String tfrData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     @Column(name = "is_new")
     public Boolean isNew = false;
 
-    @Column(name = "fetched_at", nullable = false)
-    public LocalDateTime fetchedAt;
-
-    @Column(name = "is_active")
-    public Boolean isActive = true;
-
-    @Column(name = "created_at", nullable = false, updatable = false)
-    public LocalDateTime createdAt;
+    @Override
+    public String naturalKey() {
+        return notamId;
+    }
 
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        if (fetchedAt == null) {
-            fetchedAt = LocalDateTime.now();
-        }
+    @Override
+    public List<Object> contentFields() {
+        return Arrays.asList(notamKey, facility, state, tfrType, description, effectiveDate, expireDate,
+            latitude, longitude, geojson, isNew);
     }
 }
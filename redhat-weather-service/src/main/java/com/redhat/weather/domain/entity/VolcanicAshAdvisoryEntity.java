@@ -67,9 +67,13 @@ public class VolcanicAshAdvisoryEntity extends PanacheEntityBase {
     public String geojson;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "advisory_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "advisory_data", columnDefinition = "jsonb")
     public String advisoryData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     @Column(name = "fetched_at", nullable = false)
     public LocalDateTime fetchedAt;
 
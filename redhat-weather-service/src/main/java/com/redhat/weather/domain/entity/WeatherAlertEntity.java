@@ -64,12 +64,15 @@ public class WeatherAlertEntity extends PanacheEntityBase {
     @Column(name = "sender_name", length = 200)
     public String senderName;
 
-    // Full alert data
-    @NotBlank
+    // Full alert data (inline only when the raw payload archive is disabled)
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "alert_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "alert_data", columnDefinition = "jsonb")
     public String alertData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     // Metadata
     @Column(name = "is_active")
     public Boolean isActive = true;
@@ -58,9 +58,13 @@ public class WeatherForecastEntity extends PanacheEntityBase {
 
     // Weather data (JSONB)
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "forecast_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "forecast_data", columnDefinition = "jsonb")
     public String forecastData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     // Extracted searchable fields
     @Column(name = "temperature_fahrenheit", precision = 5, scale = 2)
     public BigDecimal temperatureFahrenheit;
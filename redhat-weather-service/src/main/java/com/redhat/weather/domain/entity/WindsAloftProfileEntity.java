@@ -9,23 +9,22 @@ import org.hibernate.type.SqlTypes;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * One station's winds and temperatures aloft for one valid time. The levels are parallel arrays
+ * ordered by altitude: element i of each array belongs to {@code altitudesFt[i]}, and may be null
+ * where the forecast omits it (e.g. temperature at the lowest levels).
+ */
 @Entity
-@Table(name = "winds_aloft", indexes = {
-    @Index(name = "idx_winds_station", columnList = "station_id"),
-    @Index(name = "idx_winds_valid_time", columnList = "valid_time"),
-    @Index(name = "idx_winds_altitude", columnList = "altitude_ft")
+@Table(name = "winds_aloft_profiles", indexes = {
+    @Index(name = "idx_winds_profile_station_valid", columnList = "station_id, valid_time", unique = true),
+    @Index(name = "idx_winds_profile_valid_time", columnList = "valid_time")
 })
-public class WindsAloftEntity extends PanacheEntityBase {
+public class WindsAloftProfileEntity extends PanacheEntityBase {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     public Long id;
 
-    @NotBlank
-    @Size(max = 100)
-    @Column(name = "forecast_id", nullable = false, length = 100, unique = true)
-    public String forecastId;
-
     @NotBlank
     @Size(max = 10)
     @Column(name = "station_id", nullable = false, length = 10)
@@ -48,22 +47,33 @@ public class WindsAloftEntity extends PanacheEntityBase {
     public Integer forecastHour;
 
     @NotNull
-    @Column(name = "altitude_ft", nullable = false)
-    public Integer altitudeFt;
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "altitudes_ft", nullable = false, columnDefinition = "integer[]")
+    public Integer[] altitudesFt;
 
-    @Column(name = "wind_direction")
-    public Integer windDirection;
+    @NotNull
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "wind_directions", nullable = false, columnDefinition = "integer[]")
+    public Integer[] windDirections;
 
-    @Column(name = "wind_speed_knots")
-    public Integer windSpeedKnots;
+    @NotNull
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "wind_speeds_knots", nullable = false, columnDefinition = "integer[]")
+    public Integer[] windSpeedsKnots;
 
-    @Column(name = "temperature_celsius", precision = 5, scale = 1)
-    public BigDecimal temperatureCelsius;
+    @NotNull
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "temperatures_celsius", nullable = false, columnDefinition = "numeric(5,1)[]")
+    public BigDecimal[] temperaturesCelsius;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "raw_data", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "raw_data", columnDefinition = "jsonb")
     public String rawData;
 
+    @Size(max = 80)
+    @Column(name = "raw_ref", length = 80)
+    public String rawRef;
+
     @Column(name = "fetched_at", nullable = false)
     public LocalDateTime fetchedAt;
 
@@ -19,13 +19,8 @@ public class AirportDelayRepository implements PanacheRepositoryBase<AirportDela
         return list("isActive = true AND airportCode = ?1 ORDER BY fetchedAt DESC", code);
     }
 
-    @Transactional
-    public long deactivateAll() {
-        return update("isActive = false WHERE isActive = true");
-    }
-
     @Transactional
     public long deactivateOld(LocalDateTime olderThan) {
-        return update("isActive = false WHERE fetchedAt < ?1 AND isActive = true", olderThan);
+        return update("isActive = false WHERE lastSeenAt < ?1 AND isActive = true", olderThan);
     }
 }
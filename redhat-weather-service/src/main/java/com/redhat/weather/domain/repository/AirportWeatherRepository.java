@@ -26,11 +26,38 @@ public class AirportWeatherRepository implements PanacheRepositoryBase<AirportWe
             .firstResultOptional();
     }
 
+    public Optional<LocalDateTime> findLatestMetarObservationTime(String airportCode) {
+        return Optional.ofNullable(getEntityManager().createQuery(
+                "SELECT MAX(observationTime) FROM AirportWeatherEntity "
+                    + "WHERE airportCode = ?1 AND reportType = 'METAR' AND isActive = true", LocalDateTime.class)
+            .setParameter(1, airportCode)
+            .getSingleResult());
+    }
+
     public Optional<AirportWeatherEntity> findLatestTaf(String airportCode) {
         return find("airportCode = ?1 AND reportType = 'TAF' AND isActive = true ORDER BY observationTime DESC", airportCode)
             .firstResultOptional();
     }
 
+    /**
+     * Latest active METAR per airport among those fetched since {@code since}, with the location
+     * loaded so the entities stay usable outside the session.
+     */
+    @SuppressWarnings("unchecked")
+    public List<AirportWeatherEntity> findLatestMetarsSince(LocalDateTime since) {
+        List<Number> ids = getEntityManager().createNativeQuery(
+                "SELECT DISTINCT ON (airport_code) id FROM airport_weather "
+                    + "WHERE report_type = 'METAR' AND is_active = true AND fetched_at >= ?1 "
+                    + "ORDER BY airport_code, observation_time DESC")
+            .setParameter(1, since)
+            .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return list("FROM AirportWeatherEntity w JOIN FETCH w.location WHERE w.id IN ?1",
+            ids.stream().map(Number::longValue).toList());
+    }
+
     public List<AirportWeatherEntity> findByReportType(String reportType) {
         return list("reportType = ?1 AND isActive = true ORDER BY observationTime DESC", reportType);
     }
@@ -0,0 +1,104 @@
+package com.redhat.weather.domain.repository;
+
+import com.redhat.weather.domain.entity.ClimateDailyAggregateEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+public class ClimateDailyAggregateRepository implements PanacheRepositoryBase<ClimateDailyAggregateEntity, Long> {
+
+    private static final String AGGREGATE_COLUMNS =
+        "location_id, day, sample_count, "
+            + "temp_count, temp_sum, temp_min, temp_max, "
+            + "precip_count, precip_sum, precip_min, precip_max, "
+            + "humidity_count, humidity_sum, humidity_min, humidity_max, "
+            + "wind_count, wind_sum, wind_min, wind_max, updated_at";
+
+    private static final String AGGREGATE_SELECT =
+        "SELECT location_id, CAST(forecast_time AS DATE), COUNT(*), "
+            + "COUNT(temperature_fahrenheit), COALESCE(SUM(temperature_fahrenheit), 0), "
+            + "MIN(temperature_fahrenheit), MAX(temperature_fahrenheit), "
+            + "COUNT(precipitation_probability), COALESCE(SUM(precipitation_probability), 0), "
+            + "MIN(precipitation_probability), MAX(precipitation_probability), "
+            + "COUNT(humidity), COALESCE(SUM(humidity), 0), MIN(humidity), MAX(humidity), "
+            + "COUNT(wind_speed_mph), COALESCE(SUM(wind_speed_mph), 0), MIN(wind_speed_mph), MAX(wind_speed_mph), "
+            + "NOW() ";
+
+    private static final String GROUP_BY = " GROUP BY location_id, CAST(forecast_time AS DATE) ";
+
+    public List<ClimateDailyAggregateEntity> findSince(Long locationId, LocalDate since) {
+        return list("locationId = ?1 AND day >= ?2", locationId, since);
+    }
+
+    /**
+     * Archive active forecasts fetched before the cutoff and fold exactly those rows into the daily
+     * aggregates, in one statement. A replica running the same cleanup concurrently blocks on the
+     * row locks and then skips rows already archived, so each row is counted once.
+     *
+     * @return the number of aggregate day rows inserted or updated
+     */
+    public int archiveAndAccumulate(LocalDateTime fetchedBefore) {
+        return getEntityManager().createNativeQuery(
+                "WITH archived AS (UPDATE weather_forecasts SET is_active = false "
+                    + "WHERE is_active = true AND fetched_at < ?1 "
+                    + "RETURNING location_id, forecast_time, temperature_fahrenheit, precipitation_probability, "
+                    + "humidity, wind_speed_mph) "
+                    + "INSERT INTO climate_daily_aggregates (" + AGGREGATE_COLUMNS + ") "
+                    + AGGREGATE_SELECT
+                    + "FROM archived"
+                    + GROUP_BY
+                    + "ON CONFLICT (location_id, day) DO UPDATE SET "
+                    + "sample_count = climate_daily_aggregates.sample_count + EXCLUDED.sample_count, "
+                    + "temp_count = climate_daily_aggregates.temp_count + EXCLUDED.temp_count, "
+                    + "temp_sum = climate_daily_aggregates.temp_sum + EXCLUDED.temp_sum, "
+                    + "temp_min = LEAST(climate_daily_aggregates.temp_min, EXCLUDED.temp_min), "
+                    + "temp_max = GREATEST(climate_daily_aggregates.temp_max, EXCLUDED.temp_max), "
+                    + "precip_count = climate_daily_aggregates.precip_count + EXCLUDED.precip_count, "
+                    + "precip_sum = climate_daily_aggregates.precip_sum + EXCLUDED.precip_sum, "
+                    + "precip_min = LEAST(climate_daily_aggregates.precip_min, EXCLUDED.precip_min), "
+                    + "precip_max = GREATEST(climate_daily_aggregates.precip_max, EXCLUDED.precip_max), "
+                    + "humidity_count = climate_daily_aggregates.humidity_count + EXCLUDED.humidity_count, "
+                    + "humidity_sum = climate_daily_aggregates.humidity_sum + EXCLUDED.humidity_sum, "
+                    + "humidity_min = LEAST(climate_daily_aggregates.humidity_min, EXCLUDED.humidity_min), "
+                    + "humidity_max = GREATEST(climate_daily_aggregates.humidity_max, EXCLUDED.humidity_max), "
+                    + "wind_count = climate_daily_aggregates.wind_count + EXCLUDED.wind_count, "
+                    + "wind_sum = climate_daily_aggregates.wind_sum + EXCLUDED.wind_sum, "
+                    + "wind_min = LEAST(climate_daily_aggregates.wind_min, EXCLUDED.wind_min), "
+                    + "wind_max = GREATEST(climate_daily_aggregates.wind_max, EXCLUDED.wind_max), "
+                    + "updated_at = EXCLUDED.updated_at")
+            .setParameter(1, fetchedBefore)
+            .executeUpdate();
+    }
+
+    /**
+     * Rebuild aggregates for a range of locations from their archived forecasts. Idempotent:
+     * existing day rows are replaced, not added to.
+     */
+    @Transactional
+    public int rebuildForLocations(Long fromLocationId, Long toLocationId) {
+        return getEntityManager().createNativeQuery(
+                "INSERT INTO climate_daily_aggregates (" + AGGREGATE_COLUMNS + ") "
+                    + AGGREGATE_SELECT
+                    + "FROM weather_forecasts WHERE is_active = false AND location_id BETWEEN ?1 AND ?2"
+                    + GROUP_BY
+                    + "ON CONFLICT (location_id, day) DO UPDATE SET "
+                    + "sample_count = EXCLUDED.sample_count, "
+                    + "temp_count = EXCLUDED.temp_count, temp_sum = EXCLUDED.temp_sum, "
+                    + "temp_min = EXCLUDED.temp_min, temp_max = EXCLUDED.temp_max, "
+                    + "precip_count = EXCLUDED.precip_count, precip_sum = EXCLUDED.precip_sum, "
+                    + "precip_min = EXCLUDED.precip_min, precip_max = EXCLUDED.precip_max, "
+                    + "humidity_count = EXCLUDED.humidity_count, humidity_sum = EXCLUDED.humidity_sum, "
+                    + "humidity_min = EXCLUDED.humidity_min, humidity_max = EXCLUDED.humidity_max, "
+                    + "wind_count = EXCLUDED.wind_count, wind_sum = EXCLUDED.wind_sum, "
+                    + "wind_min = EXCLUDED.wind_min, wind_max = EXCLUDED.wind_max, "
+                    + "updated_at = EXCLUDED.updated_at")
+            .setParameter(1, fromLocationId)
+            .setParameter(2, toLocationId)
+            .executeUpdate();
+    }
+}
@@ -23,13 +23,8 @@ public class GroundStopRepository implements PanacheRepositoryBase<GroundStopEnt
         return count("groundStopId = ?1", groundStopId) > 0;
     }
 
-    @Transactional
-    public long deactivateAll() {
-        return update("isActive = false WHERE isActive = true");
-    }
-
     @Transactional
     public long deactivateOld(LocalDateTime olderThan) {
-        return update("isActive = false WHERE fetchedAt < ?1 AND isActive = true", olderThan);
+        return update("isActive = false WHERE lastSeenAt < ?1 AND isActive = true", olderThan);
     }
 }
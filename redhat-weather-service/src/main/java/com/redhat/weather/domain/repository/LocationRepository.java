@@ -3,8 +3,16 @@ package com.redhat.weather.domain.repository;
 import com.redhat.weather.domain.entity.LocationEntity;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
-
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -12,8 +20,20 @@ import java.util.Optional;
 @ApplicationScoped
 public class LocationRepository implements PanacheRepositoryBase<LocationEntity, Long> {
 
+    // Airports dropped from the catalog are retired, not deleted, and hidden from listings
+    private static final String ACTIVE = "retiredAt IS NULL";
+
+    // Hash of the mapped catalog fields of a staged row, compared with locations.source_hash
+    private static final String STAGED_ROW_HASH =
+        "md5(concat_ws('|', s.name, s.latitude, s.longitude, s.airport_type, s.state, s.country))";
+
+    // Staged rows, one per airport code, with codes that fit the column
+    private static final String STAGED_AIRPORTS =
+        "(SELECT DISTINCT ON (airport_code) * FROM airport_staging "
+            + "WHERE LENGTH(airport_code) <= 10 ORDER BY airport_code) s";
+
     public List<LocationEntity> getAllLocations() {
-        return listAll();
+        return list(ACTIVE);
     }
 
     public Optional<LocationEntity> findByIdOptional(Long id) {
@@ -21,7 +41,110 @@ public class LocationRepository implements PanacheRepositoryBase<LocationEntity,
     }
 
     public List<LocationEntity> findAirportLocations() {
-        return listAll();
+        return list(ACTIVE);
+    }
+
+    public List<LocationEntity> findAllOrderedById() {
+        return list(ACTIVE, Sort.by("id"));
+    }
+
+    public List<LocationEntity> findAirportsWithCodes() {
+        return list("airportCode IS NOT NULL AND " + ACTIVE, Sort.by("id"));
+    }
+
+    @Transactional
+    public Long findMaxId() {
+        return getEntityManager().createQuery("SELECT MAX(l.id) FROM LocationEntity l", Long.class)
+            .getSingleResult();
+    }
+
+    public long countMissingAirportType() {
+        return count("airportCode IS NOT NULL AND airportType IS NULL");
+    }
+
+    public int updateAirportType(String airportType, List<String> airportCodes) {
+        return update("airportType = ?1 WHERE airportCode IN ?2 AND airportType IS NULL", airportType, airportCodes);
+    }
+
+    /**
+     * Create the transaction-scoped staging table for a bulk airport load. Must run in the
+     * same transaction as {@link #copyIntoAirportStaging} and {@link #mergeAirportStaging}.
+     */
+    public void createAirportStaging() {
+        getEntityManager().createNativeQuery(
+            "CREATE TEMP TABLE IF NOT EXISTS airport_staging ("
+                + "name TEXT, latitude NUMERIC(10,7), longitude NUMERIC(10,7), "
+                + "airport_code TEXT, airport_type TEXT, state TEXT, country TEXT"
+                + ") ON COMMIT DROP")
+            .executeUpdate();
+        // A second load in the same transaction must not see earlier rows
+        getEntityManager().createNativeQuery("TRUNCATE airport_staging").executeUpdate();
+    }
+
+    /**
+     * Stream CSV rows (name, latitude, longitude, airport_code, airport_type, state, country)
+     * into the staging table with PostgreSQL COPY.
+     *
+     * @return Number of rows staged
+     */
+    public long copyIntoAirportStaging(Reader csvRows) {
+        return getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                return copyManager.copyIn(
+                    "COPY airport_staging (name, latitude, longitude, airport_code, airport_type, state, country) "
+                        + "FROM STDIN WITH (FORMAT csv)", csvRows);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Insert staged airports whose code is not already present.
+     *
+     * @return Number of airports inserted
+     */
+    public int mergeAirportStaging() {
+        return getEntityManager().createNativeQuery(
+            "INSERT INTO locations (name, latitude, longitude, location_type, airport_code, airport_type, "
+                + "state, country, source_hash, created_at, updated_at) "
+                + "SELECT LEFT(s.name, 255), s.latitude, s.longitude, 'airport', s.airport_code, "
+                + "s.airport_type, LEFT(s.state, 100), LEFT(s.country, 100), " + STAGED_ROW_HASH + ", now(), now() "
+                + "FROM " + STAGED_AIRPORTS + " "
+                + "ON CONFLICT (airport_code) DO NOTHING")
+            .executeUpdate();
+    }
+
+    /**
+     * Apply staged rows whose hash differs from the stored row, and reinstate retired airports
+     * that are back in the catalog.
+     *
+     * @return Number of airports updated
+     */
+    public int updateChangedFromAirportStaging() {
+        return getEntityManager().createNativeQuery(
+            "UPDATE locations l SET name = LEFT(s.name, 255), latitude = s.latitude, longitude = s.longitude, "
+                + "airport_type = s.airport_type, state = LEFT(s.state, 100), country = LEFT(s.country, 100), "
+                + "source_hash = " + STAGED_ROW_HASH + ", retired_at = NULL, updated_at = now() "
+                + "FROM " + STAGED_AIRPORTS + " "
+                + "WHERE l.airport_code = s.airport_code "
+                + "AND (l.source_hash IS DISTINCT FROM " + STAGED_ROW_HASH + " OR l.retired_at IS NOT NULL)")
+            .executeUpdate();
+    }
+
+    /**
+     * Retire catalog airports that are no longer staged. Locations created through the API
+     * (no source hash) are never retired.
+     *
+     * @return Number of airports retired
+     */
+    public int retireMissingFromAirportStaging() {
+        return getEntityManager().createNativeQuery(
+            "UPDATE locations l SET retired_at = now(), updated_at = now() "
+                + "WHERE l.retired_at IS NULL AND l.source_hash IS NOT NULL "
+                + "AND NOT EXISTS (SELECT 1 FROM airport_staging s WHERE s.airport_code = l.airport_code)")
+            .executeUpdate();
     }
 
     public Optional<LocationEntity> findByAirportCode(String airportCode) {
@@ -58,27 +181,27 @@ public class LocationRepository implements PanacheRepositoryBase<LocationEntity,
     // Paginated query methods
 
     public List<LocationEntity> getAllLocationsPaginated(int page, int size) {
-        return findAll().page(Page.of(page, size)).list();
+        return find(ACTIVE).page(Page.of(page, size)).list();
     }
 
     public long countAllLocations() {
-        return count();
+        return count(ACTIVE);
     }
 
     public List<LocationEntity> findAirportLocationsPaginated(int page, int size) {
-        return findAll().page(Page.of(page, size)).list();
+        return find(ACTIVE).page(Page.of(page, size)).list();
     }
 
     public long countAirportLocations() {
-        return count();
+        return count(ACTIVE);
     }
 
     public List<LocationEntity> searchByNamePaginated(String name, int page, int size) {
-        return find("LOWER(name) LIKE LOWER(?1)", "%" + name + "%")
+        return find("LOWER(name) LIKE LOWER(?1) AND " + ACTIVE, "%" + name + "%")
             .page(Page.of(page, size)).list();
     }
 
     public long countByName(String name) {
-        return count("LOWER(name) LIKE LOWER(?1)", "%" + name + "%");
+        return count("LOWER(name) LIKE LOWER(?1) AND " + ACTIVE, "%" + name + "%");
     }
 }
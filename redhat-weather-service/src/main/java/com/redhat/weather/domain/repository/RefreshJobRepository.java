@@ -0,0 +1,70 @@
+package com.redhat.weather.domain.repository;
+
+import com.redhat.weather.domain.entity.RefreshJobEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Job rows are written in their own transactions so status changes are visible to every replica
+ * as they happen, whatever transaction the caller is in.
+ */
+@ApplicationScoped
+public class RefreshJobRepository implements PanacheRepositoryBase<RefreshJobEntity, String> {
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Optional<RefreshJobEntity> findQueued(String jobKey) {
+        return find("jobKey = ?1 AND status = ?2", jobKey, RefreshJobEntity.Status.QUEUED).firstResultOptional();
+    }
+
+    /**
+     * Insert a QUEUED job unless another replica queued one for the same key first.
+     *
+     * @return the queued job for the key, which is the new one only if its id matches {@code id};
+     *     empty if the other replica's job left QUEUED before it could be read back
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Optional<RefreshJobEntity> enqueue(String id, String jobKey, String type, String target, LocalDateTime now) {
+        getEntityManager().createNativeQuery(
+                "INSERT INTO refresh_jobs (id, job_key, type, target, status, submitted_at) "
+                    + "VALUES (?1, ?2, ?3, ?4, 'QUEUED', ?5) "
+                    + "ON CONFLICT (job_key) WHERE status = 'QUEUED' DO NOTHING")
+            .setParameter(1, id)
+            .setParameter(2, jobKey)
+            .setParameter(3, type)
+            .setParameter(4, target)
+            .setParameter(5, now)
+            .executeUpdate();
+        return find("jobKey = ?1 AND status = ?2", jobKey, RefreshJobEntity.Status.QUEUED).firstResultOptional();
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void markRunning(String id, LocalDateTime now) {
+        update("status = ?1, startedAt = ?2 WHERE id = ?3", RefreshJobEntity.Status.RUNNING, now, id);
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void markFinished(String id, RefreshJobEntity.Status status, String error, LocalDateTime now) {
+        update("status = ?1, error = ?2, finishedAt = ?3 WHERE id = ?4", status, error, now, id);
+    }
+
+    /**
+     * Fail jobs left QUEUED or RUNNING by a replica that stopped before finishing them, so they
+     * no longer absorb new requests for the same refresh.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public int abandonSubmittedBefore(LocalDateTime cutoff, LocalDateTime now) {
+        return update("status = ?1, error = ?2, finishedAt = ?3 WHERE status IN ?4 AND submittedAt < ?5",
+            RefreshJobEntity.Status.FAILED, "Abandoned: did not finish in time", now,
+            List.of(RefreshJobEntity.Status.QUEUED, RefreshJobEntity.Status.RUNNING), cutoff);
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public long deleteFinishedBefore(LocalDateTime cutoff) {
+        return delete("finishedAt < ?1", cutoff);
+    }
+}
@@ -0,0 +1,155 @@
+package com.redhat.weather.domain.repository;
+
+import com.redhat.weather.domain.entity.SchedulerCursorEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+public class SchedulerCursorRepository implements PanacheRepositoryBase<SchedulerCursorEntity, Long> {
+
+    public void ensurePartitions(String cursorName, int partitions) {
+        getEntityManager().createNativeQuery(
+                "INSERT INTO scheduler_cursor (cursor_name, partition_id, position, updated_at) "
+                    + "SELECT ?1, g, 0, ?3 FROM generate_series(0, ?2 - 1) g "
+                    + "ON CONFLICT (cursor_name, partition_id) DO NOTHING")
+            .setParameter(1, cursorName)
+            .setParameter(2, partitions)
+            .setParameter(3, LocalDateTime.of(1970, 1, 1, 0, 0))
+            .executeUpdate();
+    }
+
+    public void heartbeat(String cursorName, String instanceId, LocalDateTime now) {
+        getEntityManager().createNativeQuery(
+                "INSERT INTO scheduler_member (cursor_name, instance_id, heartbeat_at) VALUES (?1, ?2, ?3) "
+                    + "ON CONFLICT (cursor_name, instance_id) DO UPDATE SET heartbeat_at = EXCLUDED.heartbeat_at")
+            .setParameter(1, cursorName)
+            .setParameter(2, instanceId)
+            .setParameter(3, now)
+            .executeUpdate();
+    }
+
+    /**
+     * Refresh this replica's heartbeat on every cursor it has joined, between job ticks.
+     */
+    public int touchMemberships(String instanceId, LocalDateTime now) {
+        return getEntityManager().createNativeQuery(
+                "UPDATE scheduler_member SET heartbeat_at = ?2 WHERE instance_id = ?1")
+            .setParameter(1, instanceId)
+            .setParameter(2, now)
+            .executeUpdate();
+    }
+
+    public int deleteMemberships(String instanceId) {
+        return getEntityManager().createNativeQuery("DELETE FROM scheduler_member WHERE instance_id = ?1")
+            .setParameter(1, instanceId)
+            .executeUpdate();
+    }
+
+    /**
+     * Remove memberships whose last heartbeat is before {@code before}, left by replicas that died
+     * without leaving.
+     */
+    public int deleteExpiredMembers(LocalDateTime before) {
+        return getEntityManager().createNativeQuery("DELETE FROM scheduler_member WHERE heartbeat_at < ?1")
+            .setParameter(1, before)
+            .executeUpdate();
+    }
+
+    public int countActiveMembers(String cursorName, LocalDateTime since) {
+        Number count = (Number) getEntityManager().createNativeQuery(
+                "SELECT COUNT(*) FROM scheduler_member WHERE cursor_name = ?1 AND heartbeat_at > ?2")
+            .setParameter(1, cursorName)
+            .setParameter(2, since)
+            .getSingleResult();
+        return count.intValue();
+    }
+
+    /**
+     * Live replicas other than {@code instanceId} that hold fewer than {@code share} unexpired leases.
+     */
+    public int countMembersBelowShare(String cursorName, int partitions, String instanceId, LocalDateTime since,
+                                      int share, LocalDateTime now) {
+        Number count = (Number) getEntityManager().createNativeQuery(
+                "SELECT COUNT(*) FROM scheduler_member m WHERE m.cursor_name = ?1 AND m.instance_id <> ?3 "
+                    + "AND m.heartbeat_at > ?4 AND (SELECT COUNT(*) FROM scheduler_cursor c "
+                    + "WHERE c.cursor_name = m.cursor_name AND c.partition_id < ?2 "
+                    + "AND c.lease_owner = m.instance_id AND c.lease_expires_at > ?6) < ?5")
+            .setParameter(1, cursorName)
+            .setParameter(2, partitions)
+            .setParameter(3, instanceId)
+            .setParameter(4, since)
+            .setParameter(5, share)
+            .setParameter(6, now)
+            .getSingleResult();
+        return count.intValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<SchedulerCursorEntity> lockOwned(String cursorName, int partitions, String owner, LocalDateTime now) {
+        return getEntityManager().createNativeQuery(
+                "SELECT * FROM scheduler_cursor WHERE cursor_name = ?1 AND partition_id < ?2 "
+                    + "AND lease_owner = ?3 AND lease_expires_at > ?4 ORDER BY partition_id FOR UPDATE",
+                SchedulerCursorEntity.class)
+            .setParameter(1, cursorName)
+            .setParameter(2, partitions)
+            .setParameter(3, owner)
+            .setParameter(4, now)
+            .getResultList();
+    }
+
+    /**
+     * Lock up to {@code limit} unleased (or expired) partitions, least recently advanced first.
+     * Rows locked by another replica's in-flight claim are skipped rather than waited on.
+     */
+    @SuppressWarnings("unchecked")
+    public List<SchedulerCursorEntity> lockFree(String cursorName, int partitions, int limit, LocalDateTime now) {
+        return getEntityManager().createNativeQuery(
+                "SELECT * FROM scheduler_cursor WHERE cursor_name = ?1 AND partition_id < ?2 "
+                    + "AND (lease_owner IS NULL OR lease_expires_at IS NULL OR lease_expires_at <= ?3) "
+                    + "ORDER BY updated_at, partition_id LIMIT ?4 FOR UPDATE SKIP LOCKED",
+                SchedulerCursorEntity.class)
+            .setParameter(1, cursorName)
+            .setParameter(2, partitions)
+            .setParameter(3, now)
+            .setParameter(4, limit)
+            .getResultList();
+    }
+
+    public int advance(String cursorName, int partitionId, int position, String owner) {
+        return update("position = ?1, updatedAt = ?2 WHERE cursorName = ?3 AND partitionId = ?4 AND leaseOwner = ?5",
+            position, LocalDateTime.now(), cursorName, partitionId, owner);
+    }
+
+    public int findPosition(String cursorName, int partitionId) {
+        return find("cursorName = ?1 AND partitionId = ?2", cursorName, partitionId)
+            .firstResultOptional()
+            .map(cursor -> cursor.position)
+            .orElse(0);
+    }
+
+    /**
+     * Upsert the position of an auxiliary cursor, only while {@code owner} still holds the lease on the
+     * same partition of {@code leaseCursor}.
+     *
+     * @return 1 if saved, 0 if the lease was lost
+     */
+    public int savePosition(String cursorName, int partitionId, int position, String leaseCursor, String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        return getEntityManager().createNativeQuery(
+                "INSERT INTO scheduler_cursor (cursor_name, partition_id, position, updated_at) "
+                    + "SELECT ?1, ?2, ?3, ?4 WHERE EXISTS (SELECT 1 FROM scheduler_cursor "
+                    + "WHERE cursor_name = ?5 AND partition_id = ?2 AND lease_owner = ?6 AND lease_expires_at > ?4) "
+                    + "ON CONFLICT (cursor_name, partition_id) DO UPDATE SET position = EXCLUDED.position, "
+                    + "updated_at = EXCLUDED.updated_at")
+            .setParameter(1, cursorName)
+            .setParameter(2, partitionId)
+            .setParameter(3, position)
+            .setParameter(4, now)
+            .setParameter(5, leaseCursor)
+            .setParameter(6, owner)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,27 @@
+package com.redhat.weather.domain.repository;
+
+import com.redhat.weather.domain.entity.SpaceWeatherHistoryEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+public class SpaceWeatherHistoryRepository implements PanacheRepositoryBase<SpaceWeatherHistoryEntity, Long> {
+
+    public List<SpaceWeatherHistoryEntity> findSince(LocalDateTime since) {
+        return list("fetchedAt >= ?1 ORDER BY fetchedAt ASC", since);
+    }
+
+    @Transactional
+    public void record(SpaceWeatherHistoryEntity history) {
+        persist(history);
+    }
+
+    @Transactional
+    public long deleteOlderThan(LocalDateTime olderThan) {
+        return delete("fetchedAt < ?1", olderThan);
+    }
+}
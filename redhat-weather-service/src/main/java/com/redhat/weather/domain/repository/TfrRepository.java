@@ -31,13 +31,8 @@ public class TfrRepository implements PanacheRepositoryBase<TfrEntity, Long> {
         return count("notamId = ?1", notamId) > 0;
     }
 
-    @Transactional
-    public long deactivateAll() {
-        return update("isActive = false WHERE isActive = true");
-    }
-
     @Transactional
     public long deactivateOld(LocalDateTime olderThan) {
-        return update("isActive = false WHERE fetchedAt < ?1 AND isActive = true", olderThan);
+        return update("isActive = false WHERE lastSeenAt < ?1 AND isActive = true", olderThan);
     }
 }
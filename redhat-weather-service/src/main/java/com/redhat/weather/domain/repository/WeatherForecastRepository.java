@@ -106,11 +106,6 @@ public class WeatherForecastRepository implements PanacheRepositoryBase<WeatherF
         return count("location.id = ?1 AND isActive = false AND forecastTime >= ?2", locationId, since);
     }
 
-    @Transactional
-    public long deactivateOldForecasts(LocalDateTime olderThan) {
-        return update("isActive = false WHERE fetchedAt < ?1 AND isActive = true", olderThan);
-    }
-
     @Transactional
     public long deleteOldForecasts(LocalDateTime olderThan) {
         return delete("fetchedAt < ?1", olderThan);
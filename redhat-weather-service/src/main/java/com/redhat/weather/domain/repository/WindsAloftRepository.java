@@ -1,6 +1,6 @@
 package com.redhat.weather.domain.repository;
 
-import com.redhat.weather.domain.entity.WindsAloftEntity;
+import com.redhat.weather.domain.entity.WindsAloftProfileEntity;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
@@ -9,27 +9,27 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @ApplicationScoped
-public class WindsAloftRepository implements PanacheRepositoryBase<WindsAloftEntity, Long> {
+public class WindsAloftRepository implements PanacheRepositoryBase<WindsAloftProfileEntity, Long> {
 
-    public List<WindsAloftEntity> findLatest() {
+    public List<WindsAloftProfileEntity> findLatest() {
         LocalDateTime cutoff = LocalDateTime.now().minusHours(12);
-        return list("isActive = true AND validTime > ?1 ORDER BY stationId, altitudeFt", cutoff);
+        return list("isActive = true AND validTime > ?1 ORDER BY stationId, validTime", cutoff);
     }
 
-    public List<WindsAloftEntity> findByStation(String stationId) {
+    public List<WindsAloftProfileEntity> findByStation(String stationId) {
         LocalDateTime cutoff = LocalDateTime.now().minusHours(12);
-        return list("isActive = true AND stationId = ?1 AND validTime > ?2 ORDER BY altitudeFt",
+        return list("isActive = true AND stationId = ?1 AND validTime > ?2 ORDER BY validTime",
                      stationId, cutoff);
     }
 
-    public List<WindsAloftEntity> findByAltitude(int altitudeFt) {
+    public List<WindsAloftProfileEntity> findByAltitude(int altitudeFt) {
         LocalDateTime cutoff = LocalDateTime.now().minusHours(12);
-        return list("isActive = true AND altitudeFt = ?1 AND validTime > ?2 ORDER BY stationId",
+        return list("isActive = true AND array_contains(altitudesFt, ?1) AND validTime > ?2 ORDER BY stationId, validTime",
                      altitudeFt, cutoff);
     }
 
-    public boolean existsByForecastId(String forecastId) {
-        return count("forecastId = ?1", forecastId) > 0;
+    public boolean existsByStationAndValidTime(String stationId, LocalDateTime validTime) {
+        return count("stationId = ?1 AND validTime = ?2", stationId, validTime) > 0;
     }
 
     @Transactional
@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 
 /**
  * DTO for climate normals computed from historical forecast data.
- * Not a persisted entity — computed on demand from existing weather_forecasts table.
+ * Not a persisted entity — folded on demand from the climate_daily_aggregates rollup table.
  */
 public class ClimateNormalsDTO {
 
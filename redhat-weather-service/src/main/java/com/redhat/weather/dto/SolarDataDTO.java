@@ -1,19 +1,35 @@
 package com.redhat.weather.dto;
 
+import com.redhat.weather.service.SolarCalculator;
+
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.ZoneOffset;
 
 /**
- * DTO for sunrise/sunset solar data.
- * Not a persisted entity — computed from OpenWeatherMap current weather response.
+ * DTO for sunrise/sunset and twilight solar data.
+ * Not a persisted entity — computed locally with the NOAA solar equations (see {@link SolarCalculator}).
+ * Times are ISO-8601 instants in UTC (e.g. {@code 2024-06-21T09:25:12Z}): airports carry no time
+ * zone, so clients render them in the zone they display. {@code date} is the location's solar day.
  */
 public class SolarDataDTO {
 
     public Long locationId;
     public String locationName;
+    public String airportCode;
+    public String date;
     public String sunrise;
     public String sunset;
+    public String solarNoon;
+    public String civilDawn;
+    public String civilDusk;
+    public String nauticalDawn;
+    public String nauticalDusk;
+    public String astronomicalDawn;
+    public String astronomicalDusk;
+    public boolean polarDay;
+    public boolean polarNight;
     public long dayLengthSeconds;
     public String dayLengthFormatted;
     public String fetchedAt;
@@ -21,22 +37,50 @@ public class SolarDataDTO {
     public SolarDataDTO() {
     }
 
-    public SolarDataDTO(Long locationId, String locationName,
-                        long sunriseEpoch, long sunsetEpoch, int timezoneOffset) {
+    /**
+     * Build from one row of calculator output (seconds after 00:00 UTC on {@code date}).
+     */
+    public SolarDataDTO(Long locationId, String locationName, String airportCode, LocalDate date,
+                        int[] values, int offset) {
         this.locationId = locationId;
         this.locationName = locationName;
+        this.airportCode = airportCode;
+        this.date = date.toString();
+        long utcMidnight = date.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
 
-        ZoneOffset offset = ZoneOffset.ofTotalSeconds(timezoneOffset);
-        LocalDateTime sunriseTime = LocalDateTime.ofEpochSecond(sunriseEpoch, 0, offset);
-        LocalDateTime sunsetTime = LocalDateTime.ofEpochSecond(sunsetEpoch, 0, offset);
+        this.solarNoon = instant(utcMidnight, values[offset + SolarCalculator.SOLAR_NOON]);
+        this.sunrise = instant(utcMidnight, values[offset + SolarCalculator.SUNRISE]);
+        this.sunset = instant(utcMidnight, values[offset + SolarCalculator.SUNSET]);
+        this.civilDawn = instant(utcMidnight, values[offset + SolarCalculator.CIVIL_DAWN]);
+        this.civilDusk = instant(utcMidnight, values[offset + SolarCalculator.CIVIL_DUSK]);
+        this.nauticalDawn = instant(utcMidnight, values[offset + SolarCalculator.NAUTICAL_DAWN]);
+        this.nauticalDusk = instant(utcMidnight, values[offset + SolarCalculator.NAUTICAL_DUSK]);
+        this.astronomicalDawn = instant(utcMidnight, values[offset + SolarCalculator.ASTRONOMICAL_DAWN]);
+        this.astronomicalDusk = instant(utcMidnight, values[offset + SolarCalculator.ASTRONOMICAL_DUSK]);
 
-        this.sunrise = sunriseTime.toLocalTime().toString();
-        this.sunset = sunsetTime.toLocalTime().toString();
-        this.dayLengthSeconds = sunsetEpoch - sunriseEpoch;
+        int rise = values[offset + SolarCalculator.SUNRISE];
+        int set = values[offset + SolarCalculator.SUNSET];
+        this.polarDay = rise == SolarCalculator.ALWAYS_ABOVE;
+        this.polarNight = rise == SolarCalculator.ALWAYS_BELOW;
+        if (polarDay) {
+            this.dayLengthSeconds = 86400;
+        } else if (polarNight) {
+            this.dayLengthSeconds = 0;
+        } else {
+            this.dayLengthSeconds = set - rise;
+        }
 
         long hours = dayLengthSeconds / 3600;
         long minutes = (dayLengthSeconds % 3600) / 60;
         this.dayLengthFormatted = hours + "h " + minutes + "m";
         this.fetchedAt = LocalDateTime.now().toString();
     }
+
+    private static String instant(long utcMidnight, int secondsAfterUtcMidnight) {
+        if (secondsAfterUtcMidnight == SolarCalculator.ALWAYS_ABOVE
+                || secondsAfterUtcMidnight == SolarCalculator.ALWAYS_BELOW) {
+            return null;
+        }
+        return Instant.ofEpochSecond(utcMidnight + secondsAfterUtcMidnight).toString();
+    }
 }
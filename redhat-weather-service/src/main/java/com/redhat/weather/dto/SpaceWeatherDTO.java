@@ -6,7 +6,7 @@ import java.util.List;
 
 /**
  * DTO for space weather data from NOAA SWPC.
- * Not a persisted entity — aggregated from multiple SWPC API endpoints.
+ * Aggregated from multiple SWPC API endpoints; a history of snapshots is kept in space_weather_history.
  */
 public class SpaceWeatherDTO {
 
@@ -17,6 +17,8 @@ public class SpaceWeatherDTO {
     public String auroraChance;
     public List<SpaceWeatherAlert> alerts = new ArrayList<>();
     public String fetchedAt;
+    public long ageSeconds;
+    public boolean stale;
 
     public SpaceWeatherDTO() {
         this.fetchedAt = LocalDateTime.now().toString();
@@ -29,6 +31,23 @@ public class SpaceWeatherDTO {
         this.auroraChance = determineAuroraChance(kp);
     }
 
+    /**
+     * Copy of this snapshot annotated with its age, so the shared in-memory snapshot is never mutated.
+     */
+    public SpaceWeatherDTO withStaleness(long ageSeconds, boolean stale) {
+        SpaceWeatherDTO copy = new SpaceWeatherDTO();
+        copy.kpIndex = kpIndex;
+        copy.kpLevel = kpLevel;
+        copy.solarWindSpeed = solarWindSpeed;
+        copy.geomagneticStormLevel = geomagneticStormLevel;
+        copy.auroraChance = auroraChance;
+        copy.alerts = alerts;
+        copy.fetchedAt = fetchedAt;
+        copy.ageSeconds = ageSeconds;
+        copy.stale = stale;
+        return copy;
+    }
+
     private String determineKpLevel(double kp) {
         if (kp >= 8) return "extreme";
         if (kp >= 6) return "strong storm";
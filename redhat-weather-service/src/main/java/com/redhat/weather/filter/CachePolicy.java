@@ -0,0 +1,36 @@
+package com.redhat.weather.filter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * HTTP caching for a GET endpoint, applied by {@link CachePolicyFilter}.
+ *
+ * Successful responses get {@code Cache-Control: max-age}. Endpoints that list {@link #datasets()}
+ * also get a strong ETag derived from those datasets' ingest versions, and a matching
+ * {@code If-None-Match} is answered with 304 before the resource method runs.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachePolicy {
+
+    /** {@code Cache-Control} max-age in seconds. */
+    int maxAge();
+
+    /** Ingest sources whose data the response is built from; empty disables ETags. */
+    String[] datasets() default {};
+
+    /**
+     * For results filtered by the current time (validity windows, "last N hours"): the ETag also
+     * rolls over this often, in seconds, so expiring entries drop out. 0 = only on dataset changes.
+     */
+    int clockSeconds() default 0;
+
+    /**
+     * Keep the serialized body, already gzip- and brotli-compressed, until the ETag changes and send
+     * those bytes to every caller. For hot endpoints without parameters; requires {@link #datasets()}.
+     */
+    boolean precompressed() default false;
+}
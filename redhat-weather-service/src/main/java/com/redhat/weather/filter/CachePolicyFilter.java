@@ -0,0 +1,224 @@
+package com.redhat.weather.filter;
+
+import com.redhat.weather.service.DatasetVersions;
+import io.vertx.core.buffer.Buffer;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Applies {@link CachePolicy} to GET endpoints.
+ *
+ * The ETag is computed before the resource method runs, from the versions of the policy's datasets
+ * (shared by all replicas through the database), the request URI and the Accept header. A request whose If-None-Match
+ * carries that tag is answered with 304 straight from the filter: no query, no serialization.
+ * Because the tag is taken before the data is read, a concurrent ingest can only make the body
+ * newer than its tag, never older, so a later 304 can't serve stale data. That holds for pod-local
+ * caches behind these endpoints only if they are keyed or checked by
+ * {@link DatasetVersions#version(String)} at lookup time, as the location, active-alert and
+ * latest-METAR caches are; a cache expiring on a timer alone would hand out rows older than the tag.
+ *
+ * For {@link CachePolicy#precompressed()} endpoints a 200 is answered from
+ * {@link EncodedResponseCache} the same way when it holds the body for the current tag. On a miss
+ * only the first request runs the resource method; concurrent ones wait up to
+ * {@value #BUILD_WAIT_MS} ms for the body it builds.
+ */
+@Provider
+public class CachePolicyFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final Logger LOG = Logger.getLogger(CachePolicyFilter.class);
+
+    private static final String ETAG_PROPERTY = CachePolicyFilter.class.getName() + ".etag";
+    private static final String RESOURCE_PROPERTY = CachePolicyFilter.class.getName() + ".resource";
+    private static final String STAMP_PROPERTY = CachePolicyFilter.class.getName() + ".stamp";
+    private static final String ENCODING_PROPERTY = CachePolicyFilter.class.getName() + ".encoding";
+    private static final String BUILDING_PROPERTY = CachePolicyFilter.class.getName() + ".building";
+    // Past this a build is presumed stuck, and waiters run the resource method themselves
+    private static final long BUILD_WAIT_MS = 5000;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @Inject
+    EncodedResponseCache responseCache;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        CachePolicy policy = policy();
+        if (policy == null || policy.datasets().length == 0 || !isRead(request)) {
+            return;
+        }
+        String stamp = datasetVersions.stamp(policy.datasets(), policy.clockSeconds());
+        EntityTag etag = new EntityTag(DatasetVersions.digest(stamp + ' ' + representation(request)));
+        request.setProperty(ETAG_PROPERTY, etag);
+        if (matches(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), etag)) {
+            request.abortWith(Response.notModified(etag).cacheControl(cacheControl(policy)).build());
+            return;
+        }
+        if (policy.precompressed()) {
+            // Always JSON, so only the path, query and negotiated encoding pick the stored bytes
+            String resource = resource(request);
+            EncodedResponseCache.Encoding encoding = responseCache.negotiate(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+            request.setProperty(RESOURCE_PROPERTY, resource);
+            request.setProperty(STAMP_PROPERTY, stamp);
+            request.setProperty(ENCODING_PROPERTY, encoding);
+            Buffer cached = responseCache.get(resource, encoding, stamp);
+            if (cached == null) {
+                CompletableFuture<Buffer> build = responseCache.claim(resource, encoding, stamp);
+                if (build == null) {
+                    request.setProperty(BUILDING_PROPERTY, Boolean.TRUE);
+                    return;
+                }
+                cached = await(build, resource, encoding, stamp);
+            }
+            if (cached != null) {
+                request.abortWith(encoded(Response.ok(cached, MediaType.APPLICATION_JSON_TYPE), encoding).build());
+            }
+        }
+    }
+
+    // The body another request is building, or null to run the resource method after all
+    private Buffer await(CompletableFuture<Buffer> build, String resource, EncodedResponseCache.Encoding encoding, String stamp) {
+        try {
+            Buffer body = build.get(BUILD_WAIT_MS, TimeUnit.MILLISECONDS);
+            return body != null ? body.slice() : null;
+        } catch (TimeoutException e) {
+            responseCache.abandon(resource, encoding, stamp);
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        CachePolicy policy = policy();
+        if (policy == null || !isRead(request)) {
+            return;
+        }
+        boolean building = request.getProperty(BUILDING_PROPERTY) != null;
+        if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+            if (building) {
+                abandonBuild(request);
+            }
+            return;
+        }
+        response.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, cacheControl(policy));
+        Object etag = request.getProperty(ETAG_PROPERTY);
+        if (etag != null) {
+            response.getHeaders().putSingle(HttpHeaders.ETAG, etag);
+        }
+        Object resource = request.getProperty(RESOURCE_PROPERTY);
+        if (resource != null && response.hasEntity() && !(response.getEntity() instanceof Buffer)) {
+            encode((String) resource, (String) request.getProperty(STAMP_PROPERTY),
+                (EncodedResponseCache.Encoding) request.getProperty(ENCODING_PROPERTY), response);
+        } else if (building) {
+            abandonBuild(request);
+        }
+    }
+
+    // Nothing to store: the requests waiting for this body run the resource method themselves
+    private void abandonBuild(ContainerRequestContext request) {
+        responseCache.abandon((String) request.getProperty(RESOURCE_PROPERTY),
+            (EncodedResponseCache.Encoding) request.getProperty(ENCODING_PROPERTY), (String) request.getProperty(STAMP_PROPERTY));
+    }
+
+    /**
+     * Cache miss on a precompressed endpoint: store the body and send the stored bytes, so this
+     * response is identical to the ones served from the cache.
+     */
+    private void encode(String resource, String stamp, EncodedResponseCache.Encoding encoding, ContainerResponseContext response) {
+        Buffer body;
+        try {
+            body = responseCache.put(resource, encoding, stamp, response.getEntity());
+        } catch (IOException e) {
+            LOG.warn("Could not pre-encode " + resource + ", sending it uncached: " + e.getMessage());
+            return;
+        }
+        response.setEntity(body, response.getEntityAnnotations(), MediaType.APPLICATION_JSON_TYPE);
+        if (encoding != EncodedResponseCache.Encoding.IDENTITY) {
+            response.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        }
+        response.getHeaders().putSingle(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    // Identity bodies go out without a Content-Encoding header
+    private static Response.ResponseBuilder encoded(Response.ResponseBuilder builder, EncodedResponseCache.Encoding encoding) {
+        if (encoding != EncodedResponseCache.Encoding.IDENTITY) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        }
+        return builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private CachePolicy policy() {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return null;
+        }
+        CachePolicy policy = method.getAnnotation(CachePolicy.class);
+        return policy != null ? policy : resourceInfo.getResourceClass().getAnnotation(CachePolicy.class);
+    }
+
+    private static boolean isRead(ContainerRequestContext request) {
+        return HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod());
+    }
+
+    private static CacheControl cacheControl(CachePolicy policy) {
+        CacheControl cc = new CacheControl();
+        cc.setMaxAge(policy.maxAge());
+        return cc;
+    }
+
+    private static String resource(ContainerRequestContext request) {
+        return request.getUriInfo().getRequestUri().getRawPath()
+            + '?' + request.getUriInfo().getRequestUri().getRawQuery();
+    }
+
+    // What besides the data the body depends on
+    private static String representation(ContainerRequestContext request) {
+        return resource(request) + ' ' + request.getHeaderString(HttpHeaders.ACCEPT);
+    }
+
+    private static boolean matches(String ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String quoted = '"' + etag.getValue() + '"';
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,205 @@
+package com.redhat.weather.filter;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.buffer.Buffer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized, pre-compressed bodies of {@link CachePolicy#precompressed()} endpoints.
+ *
+ * One entry per resource (path and query) and negotiated content encoding, tagged with the dataset
+ * version stamp it was built for. The first request for an encoding after the datasets change
+ * serializes the body and compresses it once; every later request at the same stamp is answered
+ * with a slice of the stored Vert.x buffer, so neither Jackson nor the compressor runs and the bytes
+ * are written without copying. The least recently used entries are dropped past {@value #MAX_ENTRIES}.
+ *
+ * Each entry is built once per stamp: the first request to miss {@link #claim claims} the build and
+ * requests that miss meanwhile wait for its body instead of querying and encoding it again.
+ */
+@ApplicationScoped
+public class EncodedResponseCache {
+
+    private static final Logger LOG = Logger.getLogger(EncodedResponseCache.class);
+
+    // Only parameterless endpoints opt in, so this holds every one of them in each encoding
+    private static final int MAX_ENTRIES = 256;
+    // Built once per ingest, so spend the CPU for a smaller body
+    private static final int BROTLI_QUALITY = 9;
+
+    public enum Encoding {
+        BROTLI("br"), GZIP("gzip"), IDENTITY("identity");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        public String token() {
+            return token;
+        }
+    }
+
+    private record Entry(String version, Buffer body) {
+    }
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // Access-ordered for LRU eviction; guarded by itself
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Builds in progress by resource, encoding and version; completed with the body, or null if abandoned
+    private final Map<String, CompletableFuture<Buffer>> building = new ConcurrentHashMap<>();
+    private final boolean brotliAvailable = Brotli4jLoader.isAvailable();
+
+    /**
+     * Best encoding the client accepts, by q-value; brotli wins ties, identity is the fallback.
+     */
+    public Encoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return Encoding.IDENTITY;
+        }
+        Encoding best = Encoding.IDENTITY;
+        double bestQuality = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            double quality = quality(params);
+            for (Encoding encoding : matching(params[0].trim())) {
+                if (quality > bestQuality || (quality == bestQuality && quality > 0 && encoding.ordinal() < best.ordinal())) {
+                    best = encoding;
+                    bestQuality = quality;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The body of {@code resource} in {@code encoding} if it was built at {@code version}, else null.
+     * A slice, so the shared buffer's indexes are never touched by a write.
+     */
+    public Buffer get(String resource, Encoding encoding, String version) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key(resource, encoding));
+        }
+        boolean hit = entry != null && entry.version.equals(version);
+        meterRegistry.counter("weather_response_cache_total", "result", hit ? "hit" : "miss").increment();
+        return hit ? entry.body.slice() : null;
+    }
+
+    /**
+     * Claim the build of the {@code encoding} body of {@code resource} at {@code version}, after a miss.
+     *
+     * @return null if the caller now builds it and must {@link #put} or {@link #abandon} it; otherwise
+     *     the build another request already claimed, completed with its body or with null if abandoned
+     */
+    public CompletableFuture<Buffer> claim(String resource, Encoding encoding, String version) {
+        return building.putIfAbsent(buildKey(resource, encoding, version), new CompletableFuture<>());
+    }
+
+    /**
+     * Give up a claimed build (e.g. the resource did not answer 200), so waiting requests build it themselves.
+     */
+    public void abandon(String resource, Encoding encoding, String version) {
+        CompletableFuture<Buffer> build = building.remove(buildKey(resource, encoding, version));
+        if (build != null) {
+            build.complete(null);
+        }
+    }
+
+    /**
+     * Serialize {@code entity} and compress it as the {@code encoding} body of {@code resource} at
+     * {@code version}, replacing the entry built for an older version and completing its build.
+     */
+    public Buffer put(String resource, Encoding encoding, String version, Object entity) throws IOException {
+        byte[] identity;
+        byte[] encoded;
+        try {
+            identity = objectMapper.writeValueAsBytes(entity);
+            encoded = switch (encoding) {
+                case IDENTITY -> identity;
+                case GZIP -> gzip(identity);
+                case BROTLI -> Encoder.compress(identity, new Encoder.Parameters().setQuality(BROTLI_QUALITY));
+            };
+        } catch (IOException | RuntimeException e) {
+            abandon(resource, encoding, version);
+            throw e;
+        }
+        Buffer body = Buffer.buffer(encoded);
+        synchronized (entries) {
+            entries.put(key(resource, encoding), new Entry(version, body));
+        }
+        CompletableFuture<Buffer> build = building.remove(buildKey(resource, encoding, version));
+        if (build != null) {
+            build.complete(body);
+        }
+        LOG.debug("Encoded " + resource + ": " + identity.length + " bytes, " + encoding.token() + " " + encoded.length);
+        return body.slice();
+    }
+
+    private static String key(String resource, Encoding encoding) {
+        return resource + ' ' + encoding.token();
+    }
+
+    private static String buildKey(String resource, Encoding encoding, String version) {
+        return key(resource, encoding) + ' ' + version;
+    }
+
+    private Encoding[] matching(String coding) {
+        return switch (coding.toLowerCase()) {
+            case "br" -> brotliAvailable ? new Encoding[] {Encoding.BROTLI} : new Encoding[0];
+            case "gzip" -> new Encoding[] {Encoding.GZIP};
+            case "*" -> brotliAvailable ? new Encoding[] {Encoding.BROTLI, Encoding.GZIP} : new Encoding[] {Encoding.GZIP};
+            default -> new Encoding[0];
+        };
+    }
+
+    private static double quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
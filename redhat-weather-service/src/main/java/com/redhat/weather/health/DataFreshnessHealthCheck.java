@@ -1,6 +1,7 @@
 package com.redhat.weather.health;
 
 import com.redhat.weather.service.DataFreshnessService;
+import com.redhat.weather.startup.StartupOrchestrator;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.health.HealthCheck;
@@ -9,7 +10,6 @@ import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
 import org.eclipse.microprofile.health.Readiness;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Readiness
@@ -18,23 +18,24 @@ public class DataFreshnessHealthCheck implements HealthCheck {
 
     private static final Duration FORECAST_MAX_AGE = Duration.ofHours(2);
     private static final Duration METAR_MAX_AGE = Duration.ofHours(1);
-    private static final Duration STARTUP_GRACE_PERIOD = Duration.ofMinutes(5);
-    private final Instant startTime = Instant.now();
 
     @Inject
     DataFreshnessService dataFreshnessService;
 
+    @Inject
+    StartupOrchestrator startupOrchestrator;
+
     @Override
     public HealthCheckResponse call() {
         HealthCheckResponseBuilder builder = HealthCheckResponse.named("weather-data-freshness");
 
         boolean forecastFresh = dataFreshnessService.hasRecentForecasts(FORECAST_MAX_AGE);
         boolean metarFresh = dataFreshnessService.hasRecentMetarData(METAR_MAX_AGE);
-        boolean withinGracePeriod = Duration.between(startTime, Instant.now()).compareTo(STARTUP_GRACE_PERIOD) < 0;
+        boolean initialFetchPending = startupOrchestrator.isInitialFetchPending();
 
         builder.withData("forecastDataFresh", forecastFresh);
         builder.withData("metarDataFresh", metarFresh);
-        builder.withData("withinStartupGracePeriod", withinGracePeriod);
+        builder.withData("initialFetchPending", initialFetchPending);
 
         LocalDateTime lastForecast = dataFreshnessService.getLastSuccess("noaa-forecast");
         if (lastForecast != null) {
@@ -48,8 +49,8 @@ public class DataFreshnessHealthCheck implements HealthCheck {
             builder.withData("metarAgeMinutes", Duration.between(lastMetar, LocalDateTime.now()).toMinutes());
         }
 
-        // UP if at least one core data type is fresh, or within startup grace period
-        boolean healthy = forecastFresh || metarFresh || withinGracePeriod;
+        // UP if at least one core data type is fresh, or the startup fetches haven't finished yet
+        boolean healthy = forecastFresh || metarFresh || initialFetchPending;
         builder.status(healthy);
 
         if (!healthy) {
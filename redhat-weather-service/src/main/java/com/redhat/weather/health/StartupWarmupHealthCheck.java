@@ -0,0 +1,35 @@
+package com.redhat.weather.health;
+
+import com.redhat.weather.startup.StartupOrchestrator;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.time.Duration;
+
+/**
+ * Not ready until the hot caches have been restored from the database at startup.
+ */
+@Readiness
+@ApplicationScoped
+public class StartupWarmupHealthCheck implements HealthCheck {
+
+    @Inject
+    StartupOrchestrator startupOrchestrator;
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("hot-cache-warmup")
+                .status(startupOrchestrator.isWarm())
+                .withData("initialFetchPending", startupOrchestrator.isInitialFetchPending());
+
+        Duration warmup = startupOrchestrator.getWarmupDuration();
+        if (warmup != null) {
+            builder.withData("warmupMillis", warmup.toMillis());
+        }
+        return builder.build();
+    }
+}
@@ -1,21 +1,22 @@
 package com.redhat.weather.resource;
 
 import com.redhat.weather.domain.entity.AirportWeatherEntity;
+import com.redhat.weather.filter.CachePolicy;
 import com.redhat.weather.service.AirportWeatherService;
+import com.redhat.weather.service.MetarFetchCoalescer;
+import com.redhat.weather.service.RefreshJobService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
-import jakarta.ws.rs.core.CacheControl;
-
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Path("/api/weather/airports")
 @Produces(MediaType.APPLICATION_JSON)
@@ -23,27 +24,32 @@ import java.util.List;
 @Tag(name = "Airport Weather", description = "Airport weather (METAR/TAF) operations")
 public class AirportWeatherResource {
 
+    // Four letters or digits; anything else can't be an airport, and would overflow the job key
+    private static final Pattern ICAO_CODE = Pattern.compile("[A-Z0-9]{4}");
+
     @Inject
     AirportWeatherService airportWeatherService;
 
     @Inject
-    MeterRegistry meterRegistry;
+    MetarFetchCoalescer metarFetchCoalescer;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    RefreshJobService refreshJobService;
+
+    @Inject
+    MeterRegistry meterRegistry;
 
     @GET
     @Path("/{code}")
+    @CachePolicy(maxAge = 300, datasets = {"metar", "taf"})
     @Operation(summary = "Get airport weather", description = "Retrieve weather data for a specific airport by ICAO code")
     @APIResponse(responseCode = "200", description = "List of weather reports")
+    @APIResponse(responseCode = "400", description = "Not an ICAO airport code")
     @APIResponse(responseCode = "404", description = "Airport not found")
     public Response getAirportWeather(
             @PathParam("code") @Parameter(description = "ICAO airport code (e.g., KJFK)") String code) {
 
-        List<AirportWeatherEntity> weather = airportWeatherService.getAirportWeather(code.toUpperCase());
+        List<AirportWeatherEntity> weather = airportWeatherService.getAirportWeather(icaoCode(code));
 
         if (weather.isEmpty()) {
             return Response.status(Response.Status.NOT_FOUND)
@@ -51,19 +57,23 @@ public class AirportWeatherResource {
                 .build();
         }
 
-        return Response.ok(weather).cacheControl(cacheControl(300)).build();
+        return Response.ok(weather).build();
     }
 
     @GET
     @Path("/{code}/metar")
-    @Operation(summary = "Get latest METAR", description = "Retrieve the latest METAR for a specific airport")
+    // No dataset ETag: a matching If-None-Match would be answered before the stale check below runs
+    @CachePolicy(maxAge = 300)
+    @Operation(summary = "Get latest METAR",
+        description = "Retrieve the latest METAR for a specific airport, refreshing it from upstream first if it is stale")
     @APIResponse(responseCode = "200", description = "METAR data")
+    @APIResponse(responseCode = "400", description = "Not an ICAO airport code")
     @APIResponse(responseCode = "404", description = "METAR not found")
     public Response getLatestMetar(
             @PathParam("code") @Parameter(description = "ICAO airport code") String code) {
 
-        return airportWeatherService.getLatestMetar(code.toUpperCase())
-            .map(metar -> Response.ok(metar).cacheControl(cacheControl(300)).build())
+        return metarFetchCoalescer.getLatestMetar(icaoCode(code))
+            .map(metar -> Response.ok(metar).build())
             .orElse(Response.status(Response.Status.NOT_FOUND)
                 .entity("No METAR found for airport: " + code)
                 .build());
@@ -71,14 +81,16 @@ public class AirportWeatherResource {
 
     @GET
     @Path("/{code}/taf")
+    @CachePolicy(maxAge = 300, datasets = {"metar", "taf"})
     @Operation(summary = "Get latest TAF", description = "Retrieve the latest TAF for a specific airport")
     @APIResponse(responseCode = "200", description = "TAF data")
+    @APIResponse(responseCode = "400", description = "Not an ICAO airport code")
     @APIResponse(responseCode = "404", description = "TAF not found")
     public Response getLatestTaf(
             @PathParam("code") @Parameter(description = "ICAO airport code") String code) {
 
-        return airportWeatherService.getLatestTaf(code.toUpperCase())
-            .map(taf -> Response.ok(taf).cacheControl(cacheControl(300)).build())
+        return airportWeatherService.getLatestTaf(icaoCode(code))
+            .map(taf -> Response.ok(taf).build())
             .orElse(Response.status(Response.Status.NOT_FOUND)
                 .entity("No TAF found for airport: " + code)
                 .build());
@@ -86,26 +98,25 @@ public class AirportWeatherResource {
 
     @POST
     @Path("/{code}/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh airport weather", description = "Manually trigger a refresh of airport weather data")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
+    @APIResponse(responseCode = "400", description = "Not an ICAO airport code")
     public Response refreshAirportWeather(
             @PathParam("code") @Parameter(description = "ICAO airport code") String code) {
 
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "airport").increment();
-            String upperCode = code.toUpperCase();
+        String upperCode = icaoCode(code);
+        meterRegistry.counter("weather_api_refresh_total", "type", "airport").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("airport", upperCode, () -> {
             airportWeatherService.fetchAndStoreMETAR(upperCode);
             airportWeatherService.fetchAndStoreTAF(upperCode);
+        }));
+    }
 
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("Weather refresh triggered for airport: " + code)
-                .build();
-
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh weather for airport: " + code)
-                .build();
+    private static String icaoCode(String code) {
+        String upperCode = code.toUpperCase();
+        if (!ICAO_CODE.matcher(upperCode).matches()) {
+            throw new IllegalArgumentException("Invalid airport code: " + code + " (expected a 4-character ICAO code, e.g. KJFK)");
         }
+        return upperCode;
     }
 }
@@ -0,0 +1,43 @@
+package com.redhat.weather.resource;
+
+import com.redhat.weather.service.ChangeLog;
+import io.quarkus.vertx.http.Compressed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+@Path("/api/changes")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Changes", description = "Delta sync for the active datasets")
+public class ChangeResource {
+
+    @Inject
+    ChangeLog changeLog;
+
+    @GET
+    @Compressed
+    @Operation(summary = "Get changes since a token",
+               description = "Rows inserted, updated or expired since 'since', each with its latest state. "
+                   + "Without a valid token, returns resync=true and the current token: load the full lists, "
+                   + "then poll with that token")
+    @APIResponse(responseCode = "200", description = "Next token, resync flag and changed rows")
+    @APIResponse(responseCode = "400", description = "Unknown type")
+    public ChangeLog.Feed getChanges(
+            @QueryParam("since") @Parameter(description = "Token from the previous response") String since,
+            @QueryParam("types") @Parameter(description = "Comma-separated types (default: all), e.g. alert,sigmet,tfr,delay,pirep,lightning") String types) {
+        Collection<String> selected = types == null || types.isBlank()
+            ? changeLog.getTypes()
+            : Arrays.stream(types.split(",")).map(String::trim).filter(type -> !type.isEmpty()).toList();
+        return changeLog.since(since, selected);
+    }
+}
@@ -1,10 +1,12 @@
 package com.redhat.weather.resource;
 
 import com.redhat.weather.service.ClimateNormalsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -19,6 +21,9 @@ public class ClimateNormalsResource {
     @Inject
     ClimateNormalsService climateNormalsService;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
     @GET
     @Path("/{locationId}")
     @Operation(summary = "Get climate normals for a location",
@@ -33,4 +38,30 @@ public class ClimateNormalsResource {
                 .entity("Insufficient historical data for climate normals")
                 .build());
     }
+
+    @POST
+    @Path("/backfill")
+    @Bulkhead(value = 1, waitingTaskQueue = 1)
+    @Operation(summary = "Rebuild climate aggregates",
+               description = "Rebuild the daily climate aggregates from all archived forecasts")
+    @APIResponse(responseCode = "202", description = "Backfill completed")
+    @APIResponse(responseCode = "409", description = "A backfill is already running")
+    public Response backfillClimateAggregates() {
+        try {
+            meterRegistry.counter("weather_api_refresh_total", "type", "climate-backfill").increment();
+            long rows = climateNormalsService.backfill();
+            if (rows < 0) {
+                return Response.status(Response.Status.CONFLICT)
+                    .entity("Climate aggregate backfill already running")
+                    .build();
+            }
+            return Response.status(Response.Status.ACCEPTED)
+                .entity("Climate aggregate backfill completed: " + rows + " location-days")
+                .build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Failed to backfill climate aggregates")
+                .build();
+        }
+    }
 }
@@ -1,13 +1,13 @@
 package com.redhat.weather.resource;
 
+import com.redhat.weather.filter.CachePolicy;
 import com.redhat.weather.service.CwaService;
+import com.redhat.weather.service.RefreshJobService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -23,58 +23,49 @@ public class CwaResource {
     CwaService cwaService;
 
     @Inject
-    MeterRegistry meterRegistry;
+    RefreshJobService refreshJobService;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    MeterRegistry meterRegistry;
 
     @GET
     @Path("/active")
+    @CachePolicy(maxAge = 120, datasets = "cwa", clockSeconds = 300, precompressed = true)
     @Operation(summary = "Get active CWAs", description = "Retrieve all currently active Center Weather Advisories")
     @APIResponse(responseCode = "200", description = "List of active CWAs")
     public Response getActiveCwas() {
-        return Response.ok(cwaService.getActiveCwas())
-            .cacheControl(cacheControl(120)).build();
+        return Response.ok(cwaService.getActiveCwas()).build();
     }
 
     @GET
     @Path("/artcc/{artcc}")
+    @CachePolicy(maxAge = 120, datasets = "cwa", clockSeconds = 300)
     @Operation(summary = "Get by ARTCC", description = "Filter CWAs by Air Route Traffic Control Center")
     @APIResponse(responseCode = "200", description = "Filtered CWAs by ARTCC")
     public Response getCwasByArtcc(
             @PathParam("artcc") @Parameter(description = "ARTCC identifier (e.g., ZNY)") String artcc) {
-        return Response.ok(cwaService.getCwasByArtcc(artcc))
-            .cacheControl(cacheControl(120)).build();
+        return Response.ok(cwaService.getCwasByArtcc(artcc)).build();
     }
 
     @GET
     @Path("/hazard/{hazard}")
+    @CachePolicy(maxAge = 120, datasets = "cwa", clockSeconds = 300)
     @Operation(summary = "Get by hazard", description = "Filter CWAs by hazard type")
     @APIResponse(responseCode = "200", description = "Filtered CWAs by hazard type")
     public Response getCwasByHazard(
             @PathParam("hazard") @Parameter(description = "Hazard type (TURB, ICE, IFR, CONVECTIVE)") String hazard) {
-        return Response.ok(cwaService.getCwasByHazard(hazard))
-            .cacheControl(cacheControl(120)).build();
+        return Response.ok(cwaService.getCwasByHazard(hazard)).build();
     }
 
     @POST
     @Path("/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh CWAs", description = "Manually trigger CWA data refresh")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
     public Response refreshCwas() {
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "cwa").increment();
+        meterRegistry.counter("weather_api_refresh_total", "type", "cwa").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("cwa", () -> {
             cwaService.deactivateExpired();
             cwaService.fetchAndStoreCwas();
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("CWA refresh triggered").build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh CWAs").build();
-        }
+        }));
     }
 }
@@ -0,0 +1,73 @@
+package com.redhat.weather.resource;
+
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.DashboardSnapshotService;
+import io.quarkus.vertx.http.Compressed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Path("/api/dashboard")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Dashboard", description = "Composite dashboard data")
+public class DashboardResource {
+
+    @Inject
+    DashboardSnapshotService dashboardSnapshotService;
+
+    @GET
+    @Path("/snapshot")
+    @Compressed
+    @CachePolicy(maxAge = 0)
+    @Operation(summary = "Get dashboard snapshot",
+               description = "Load several dashboard sections in one call, concurrently. Each section has a version; "
+                   + "pass the versions you hold in 'known' to get unchanged sections back without data")
+    @APIResponse(responseCode = "200", description = "Sections by name, each with version and data, or an error")
+    @APIResponse(responseCode = "400", description = "Unknown section")
+    public Response getSnapshot(
+            @QueryParam("sections") @Parameter(description = "Comma-separated sections (default: all), e.g. alerts,delays,status") String sections,
+            @QueryParam("known") @Parameter(description = "Comma-separated section:version pairs the client already has") String known) {
+        List<String> names = sections == null || sections.isBlank()
+            ? new ArrayList<>(dashboardSnapshotService.getSectionNames())
+            : split(sections);
+
+        Map<String, String> knownVersions = new HashMap<>();
+        if (known != null) {
+            for (String pair : split(known)) {
+                int colon = pair.indexOf(':');
+                if (colon > 0) {
+                    knownVersions.put(pair.substring(0, colon), pair.substring(colon + 1));
+                }
+            }
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("generatedAt", LocalDateTime.now().toString());
+        snapshot.put("sections", dashboardSnapshotService.snapshot(names, knownVersions));
+        return Response.ok(snapshot).build();
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(part -> !part.isEmpty())
+            .distinct()
+            .toList();
+    }
+}
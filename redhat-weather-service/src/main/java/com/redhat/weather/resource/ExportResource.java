@@ -0,0 +1,130 @@
+package com.redhat.weather.resource;
+
+import com.redhat.weather.service.ExportService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+@Path("/api/export")
+@Tag(name = "Export", description = "Bulk export of historical data")
+public class ExportResource {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    private static final String COLUMNAR = ExportService.COLUMNAR_TYPE;
+
+    @Inject
+    ExportService exportService;
+
+    @GET
+    @Path("/{dataset}")
+    @Produces({NDJSON, CSV, COLUMNAR})
+    @Operation(summary = "Export a dataset",
+               description = "Stream every row of metar, taf, forecast, pirep or lightning in a time range, oldest first, "
+                   + "as NDJSON, CSV or columnar CBOR (format, or Accept: " + COLUMNAR + "). "
+                   + "Streamed from a database cursor, so any range size is fine")
+    @APIResponse(responseCode = "200", description = "Rows, one per line, or column batches")
+    @APIResponse(responseCode = "400", description = "Unknown dataset, bad format or invalid range")
+    @APIResponse(responseCode = "429", description = "Too many exports streaming; retry later")
+    public Response export(
+            @PathParam("dataset") @Parameter(description = "metar, taf, forecast, pirep or lightning") String dataset,
+            @QueryParam("from") @Parameter(description = "Start time, inclusive (ISO-8601; default: 24 hours before 'to')") String from,
+            @QueryParam("to") @Parameter(description = "End time, exclusive (ISO-8601; default: now)") String to,
+            @QueryParam("airports") @Parameter(description = "Comma-separated airport codes (metar, taf, forecast)") String airports,
+            @QueryParam("format") @Parameter(description = "ndjson, csv or columnar (default: from Accept, else ndjson)") String format,
+            @Context HttpHeaders headers) {
+        ExportService.Format exportFormat = format == null
+            ? (prefers(headers, COLUMNAR) ? ExportService.Format.COLUMNAR
+                : prefers(headers, CSV) ? ExportService.Format.CSV
+                : ExportService.Format.NDJSON)
+            : switch (format.toLowerCase()) {
+                case "ndjson" -> ExportService.Format.NDJSON;
+                case "csv" -> ExportService.Format.CSV;
+                case "columnar" -> ExportService.Format.COLUMNAR;
+                default -> throw new IllegalArgumentException("Unknown export format: " + format + " (valid: ndjson, csv, columnar)");
+            };
+
+        LocalDateTime toTime = to != null ? parse("to", to) : LocalDateTime.now();
+        LocalDateTime fromTime = from != null ? parse("from", from) : toTime.minusHours(24);
+        List<String> airportCodes = airports == null ? List.of() : Arrays.stream(airports.split(","))
+            .map(code -> code.trim().toUpperCase())
+            .filter(code -> !code.isEmpty())
+            .distinct()
+            .toList();
+        // Fail before streaming starts; afterwards the status line has already been sent
+        exportService.validate(dataset, fromTime, toTime, airportCodes);
+
+        StreamingOutput body = limited(exportService,
+            out -> exportService.export(dataset, fromTime, toTime, airportCodes, exportFormat, out));
+        String extension = switch (exportFormat) {
+            case NDJSON -> "ndjson";
+            case CSV -> "csv";
+            case COLUMNAR -> "cbor";
+        };
+        String type = switch (exportFormat) {
+            case NDJSON -> NDJSON;
+            case CSV -> CSV;
+            case COLUMNAR -> COLUMNAR;
+        };
+        return Response.ok(body, type)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + dataset + "-"
+                + fromTime.toLocalDate() + "-" + toTime.toLocalDate() + "." + extension + "\"")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+            .build();
+    }
+
+    /**
+     * Reserve an export stream slot for {@code body}, freed when it finishes writing.
+     *
+     * @throws WebApplicationException 429 if {@code weather.export.max-concurrent} streams are already running
+     */
+    static StreamingOutput limited(ExportService exportService, StreamingOutput body) {
+        if (!exportService.tryAcquireStream()) {
+            throw new WebApplicationException("Too many exports in progress. Please wait and try again.", 429);
+        }
+        return out -> {
+            try {
+                body.write(out);
+            } finally {
+                exportService.releaseStream();
+            }
+        };
+    }
+
+    /**
+     * Whether the client ranks {@code type} first in Accept. A wildcard does not count, so endpoints
+     * that also serve the columnar format keep their usual type by default.
+     */
+    static boolean prefers(HttpHeaders headers, String type) {
+        MediaType preferred = headers.getAcceptableMediaTypes().get(0);
+        return !preferred.isWildcardType() && !preferred.isWildcardSubtype()
+            && preferred.isCompatible(MediaType.valueOf(type));
+    }
+
+    private static LocalDateTime parse(String name, String value) {
+        try {
+            return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid '" + name + "'. Use ISO-8601 format (e.g., 2024-01-15T10:00:00)");
+        }
+    }
+}
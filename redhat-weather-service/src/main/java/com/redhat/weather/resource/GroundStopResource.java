@@ -1,13 +1,13 @@
 package com.redhat.weather.resource;
 
+import com.redhat.weather.filter.CachePolicy;
 import com.redhat.weather.service.GroundStopService;
+import com.redhat.weather.service.RefreshJobService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -23,47 +23,36 @@ public class GroundStopResource {
     GroundStopService groundStopService;
 
     @Inject
-    MeterRegistry meterRegistry;
+    RefreshJobService refreshJobService;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    MeterRegistry meterRegistry;
 
     @GET
     @Path("/active")
+    @CachePolicy(maxAge = 60, datasets = "ground-stop", precompressed = true)
     @Operation(summary = "Get active ground stops", description = "Retrieve all currently active ground stops and GDPs")
     @APIResponse(responseCode = "200", description = "List of active ground stops and GDPs")
     public Response getActiveGroundStops() {
-        return Response.ok(groundStopService.getActiveGroundStops())
-            .cacheControl(cacheControl(60)).build();
+        return Response.ok(groundStopService.getActiveGroundStops()).build();
     }
 
     @GET
     @Path("/airport/{code}")
+    @CachePolicy(maxAge = 60, datasets = "ground-stop")
     @Operation(summary = "Get by airport", description = "Filter ground stops by airport code")
     @APIResponse(responseCode = "200", description = "Ground stops for the specified airport")
     public Response getByAirport(
             @PathParam("code") @Parameter(description = "Airport code (e.g., KJFK)") String code) {
-        return Response.ok(groundStopService.getByAirport(code))
-            .cacheControl(cacheControl(60)).build();
+        return Response.ok(groundStopService.getByAirport(code)).build();
     }
 
     @POST
     @Path("/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh ground stops", description = "Manually trigger ground stop data refresh")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
     public Response refreshGroundStops() {
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "ground-stop").increment();
-            groundStopService.fetchAndStoreGroundStops();
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("Ground stop refresh triggered").build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh ground stops").build();
-        }
+        meterRegistry.counter("weather_api_refresh_total", "type", "ground-stop").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("ground-stop", groundStopService::fetchAndStoreGroundStops));
     }
 }
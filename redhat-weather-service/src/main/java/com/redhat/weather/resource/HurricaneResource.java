@@ -1,20 +1,19 @@
 package com.redhat.weather.resource;
 
 import com.redhat.weather.domain.entity.HurricaneEntity;
+import com.redhat.weather.filter.CachePolicy;
 import com.redhat.weather.service.HurricaneService;
+import com.redhat.weather.service.RefreshJobService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
-import jakarta.ws.rs.core.CacheControl;
-
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -29,25 +28,24 @@ public class HurricaneResource {
     HurricaneService hurricaneService;
 
     @Inject
-    MeterRegistry meterRegistry;
+    RefreshJobService refreshJobService;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    MeterRegistry meterRegistry;
 
     @GET
     @Path("/active")
+    @CachePolicy(maxAge = 300, datasets = "hurricane", precompressed = true)
     @Operation(summary = "Get active storms", description = "Retrieve all active tropical systems (hurricanes, typhoons, cyclones) from NHC and JTWC")
     @APIResponse(responseCode = "200", description = "List of active storms")
     public Response getActiveStorms() {
         List<HurricaneEntity> storms = hurricaneService.getActiveStorms();
-        return Response.ok(storms).cacheControl(cacheControl(300)).build();
+        return Response.ok(storms).build();
     }
 
     @GET
     @Path("/{stormId}")
+    @CachePolicy(maxAge = 300, datasets = "hurricane")
     @Operation(summary = "Get storm by ID", description = "Retrieve all advisories for a specific storm")
     @APIResponse(responseCode = "200", description = "List of storm advisories")
     @APIResponse(responseCode = "404", description = "Storm not found")
@@ -62,11 +60,12 @@ public class HurricaneResource {
                 .build();
         }
 
-        return Response.ok(storm).cacheControl(cacheControl(300)).build();
+        return Response.ok(storm).build();
     }
 
     @GET
     @Path("/{stormId}/track")
+    @CachePolicy(maxAge = 300, datasets = "hurricane")
     @Operation(summary = "Get storm track", description = "Retrieve storm track for a specific time range")
     @APIResponse(responseCode = "200", description = "Storm track data")
     @APIResponse(responseCode = "400", description = "Invalid parameters")
@@ -93,7 +92,7 @@ public class HurricaneResource {
                     .build();
             }
 
-            return Response.ok(track).cacheControl(cacheControl(300)).build();
+            return Response.ok(track).build();
 
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -104,22 +103,10 @@ public class HurricaneResource {
 
     @POST
     @Path("/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh hurricane data", description = "Manually trigger a refresh of hurricane data")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
     public Response refreshHurricaneData() {
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "hurricane").increment();
-            hurricaneService.fetchAndStoreActiveStorms();
-
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("Hurricane data refresh triggered")
-                .build();
-
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh hurricane data")
-                .build();
-        }
+        meterRegistry.counter("weather_api_refresh_total", "type", "hurricane").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("hurricane", hurricaneService::fetchAndStoreActiveStorms));
     }
 }
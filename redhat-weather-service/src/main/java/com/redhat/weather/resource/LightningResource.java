@@ -1,13 +1,17 @@
 package com.redhat.weather.resource;
 
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.ExportService;
 import com.redhat.weather.service.LightningService;
+import com.redhat.weather.service.RefreshJobService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
@@ -22,46 +26,45 @@ public class LightningResource {
     LightningService lightningService;
 
     @Inject
-    MeterRegistry meterRegistry;
+    RefreshJobService refreshJobService;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    ExportService exportService;
+
+    @Inject
+    MeterRegistry meterRegistry;
 
     @GET
     @Path("/recent")
-    @Operation(summary = "Get recent lightning strikes", description = "Retrieve lightning strikes from the past hour")
+    @CachePolicy(maxAge = 30, datasets = "lightning", clockSeconds = 60)
+    @Produces({MediaType.APPLICATION_JSON, ExportService.COLUMNAR_TYPE})
+    @Operation(summary = "Get recent lightning strikes", description = "Retrieve lightning strikes from the past hour. "
+        + "With Accept: " + ExportService.COLUMNAR_TYPE + " they are streamed as column batches")
     @APIResponse(responseCode = "200", description = "List of recent lightning strikes")
-    public Response getRecentStrikes() {
-        return Response.ok(lightningService.getRecentStrikes())
-            .cacheControl(cacheControl(30)).build();
+    public Response getRecentStrikes(@Context HttpHeaders headers) {
+        if (ExportResource.prefers(headers, ExportService.COLUMNAR_TYPE)) {
+            StreamingOutput body = ExportResource.limited(exportService,
+                out -> exportService.exportRecentLightning(ExportService.Format.COLUMNAR, out));
+            return Response.ok(body, ExportService.COLUMNAR_TYPE).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+        }
+        return Response.ok(lightningService.getRecentStrikes()).build();
     }
 
     @GET
     @Path("/count")
+    @CachePolicy(maxAge = 30, datasets = "lightning", clockSeconds = 60)
     @Operation(summary = "Get recent strike count", description = "Count of lightning strikes in the past hour")
     @APIResponse(responseCode = "200", description = "Strike count")
     public Response getRecentCount() {
-        return Response.ok(lightningService.getRecentCount())
-            .cacheControl(cacheControl(30)).build();
+        return Response.ok(lightningService.getRecentCount()).build();
     }
 
     @POST
     @Path("/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh lightning data", description = "Manually trigger lightning data refresh")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
     public Response refreshLightning() {
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "lightning").increment();
-            lightningService.fetchAndStoreStrikes();
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("Lightning data refresh triggered").build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh lightning data").build();
-        }
+        meterRegistry.counter("weather_api_refresh_total", "type", "lightning").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("lightning", lightningService::fetchAndStoreStrikes));
     }
 }
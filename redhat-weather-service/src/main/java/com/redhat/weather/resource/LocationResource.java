@@ -1,6 +1,8 @@
 package com.redhat.weather.resource;
 
 import com.redhat.weather.domain.entity.LocationEntity;
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.DatasetVersions;
 import com.redhat.weather.service.LocationService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
@@ -18,6 +20,7 @@ import java.util.Map;
 @Path("/api/weather/locations")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@CachePolicy(maxAge = 0, datasets = DatasetVersions.LOCATION)
 @Tag(name = "Locations", description = "Airport location operations")
 public class LocationResource {
 
@@ -0,0 +1,65 @@
+package com.redhat.weather.resource;
+
+import com.redhat.weather.service.RawPayloadArchive;
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+@Path("/api/archive")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Raw Payload Archive", description = "Raw upstream payloads archived on local disk, for replay and debugging")
+public class RawArchiveResource {
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @GET
+    @Path("/sources")
+    @Operation(summary = "List archived sources", description = "Sources that have raw payload segments on this instance")
+    @APIResponse(responseCode = "200", description = "Source names")
+    public List<String> getSources() {
+        return rawPayloadArchive.getSources();
+    }
+
+    @GET
+    @Path("/payload")
+    @Operation(summary = "Get an archived payload", description = "Read the raw payload a row's rawRef points to")
+    @APIResponse(responseCode = "200", description = "Raw payload")
+    @APIResponse(responseCode = "400", description = "Missing ref")
+    @APIResponse(responseCode = "404", description = "Payload not found (e.g. past archive retention)")
+    public Response getPayload(
+            @QueryParam("ref") @Parameter(description = "Reference from a row's rawRef field") String ref) {
+        if (ref == null || ref.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("ref query parameter is required")
+                .build();
+        }
+        return rawPayloadArchive.read(ref)
+            .map(payload -> Response.ok(payload).build())
+            .orElse(Response.status(Response.Status.NOT_FOUND)
+                .entity("Archived payload not found")
+                .build());
+    }
+
+    @GET
+    @Path("/{source}")
+    @Operation(summary = "Replay archived payloads",
+               description = "Raw payloads for a source fetched in the past N hours, oldest first")
+    @APIResponse(responseCode = "200", description = "Archived records with ref, fetchedAtMillis and payload")
+    public List<RawPayloadArchive.RawRecord> replay(
+            @PathParam("source") @Parameter(description = "Source name, e.g. metar, pirep, earthquake") String source,
+            @QueryParam("hours") @DefaultValue("1") @Min(1) @Max(720) @Parameter(description = "Hours of history (max 720)") int hours,
+            @QueryParam("limit") @DefaultValue("100") @Min(1) @Max(1000) @Parameter(description = "Maximum records (max 1000)") int limit) {
+        long now = System.currentTimeMillis();
+        return rawPayloadArchive.replay(source, now - hours * 3_600_000L, now, limit);
+    }
+}
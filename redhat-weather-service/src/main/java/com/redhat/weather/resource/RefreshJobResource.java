@@ -0,0 +1,44 @@
+package com.redhat.weather.resource;
+
+import com.redhat.weather.domain.entity.RefreshJobEntity;
+import com.redhat.weather.service.RefreshJobService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriBuilder;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path("/api/jobs")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Refresh Jobs", description = "Progress of refreshes submitted through the /refresh endpoints")
+public class RefreshJobResource {
+
+    @Inject
+    RefreshJobService refreshJobService;
+
+    /**
+     * 202 response for a submitted refresh, pointing at the job's status URL.
+     */
+    static Response accepted(RefreshJobEntity job) {
+        return Response.accepted(job)
+            .location(UriBuilder.fromResource(RefreshJobResource.class).path(job.id).build())
+            .build();
+    }
+
+    @GET
+    @Path("/{id}")
+    @Operation(summary = "Get refresh job", description = "Status of a refresh job: QUEUED, RUNNING, SUCCEEDED or FAILED")
+    @APIResponse(responseCode = "200", description = "Job status")
+    @APIResponse(responseCode = "404", description = "Unknown job, or finished longer ago than the retention period")
+    public Response getJob(@PathParam("id") @Parameter(description = "Job id returned by a /refresh endpoint") String id) {
+        return refreshJobService.getJob(id)
+            .map(job -> Response.ok(job).build())
+            .orElse(Response.status(Response.Status.NOT_FOUND)
+                .entity("Refresh job not found: " + id)
+                .build());
+    }
+}
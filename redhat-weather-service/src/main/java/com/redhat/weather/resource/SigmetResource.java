@@ -1,13 +1,13 @@
 package com.redhat.weather.resource;
 
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.RefreshJobService;
 import com.redhat.weather.service.SigmetService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -23,68 +23,59 @@ public class SigmetResource {
     SigmetService sigmetService;
 
     @Inject
-    MeterRegistry meterRegistry;
+    RefreshJobService refreshJobService;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    MeterRegistry meterRegistry;
 
     @GET
     @Path("/active")
+    @CachePolicy(maxAge = 120, datasets = "sigmet", clockSeconds = 300, precompressed = true)
     @Operation(summary = "Get active SIGMETs/AIRMETs", description = "Retrieve all currently active SIGMETs and AIRMETs")
     @APIResponse(responseCode = "200", description = "List of active SIGMETs and AIRMETs")
     public Response getActiveSigmets() {
-        return Response.ok(sigmetService.getActiveSigmets())
-            .cacheControl(cacheControl(120)).build();
+        return Response.ok(sigmetService.getActiveSigmets()).build();
     }
 
     @GET
     @Path("/type/{type}")
+    @CachePolicy(maxAge = 120, datasets = "sigmet", clockSeconds = 300)
     @Operation(summary = "Get by type", description = "Filter by SIGMET or AIRMET type")
     @APIResponse(responseCode = "200", description = "Filtered SIGMETs/AIRMETs by type")
     public Response getSigmetsByType(
             @PathParam("type") @Parameter(description = "Advisory type (SIGMET or AIRMET)") String type) {
-        return Response.ok(sigmetService.getSigmetsByType(type))
-            .cacheControl(cacheControl(120)).build();
+        return Response.ok(sigmetService.getSigmetsByType(type)).build();
     }
 
     @GET
     @Path("/scope/{scope}")
+    @CachePolicy(maxAge = 120, datasets = "sigmet", clockSeconds = 300)
     @Operation(summary = "Get by scope", description = "Filter by scope: DOMESTIC or INTERNATIONAL")
     @APIResponse(responseCode = "200", description = "Filtered SIGMETs/AIRMETs by scope")
     public Response getSigmetsByScope(
             @PathParam("scope") @Parameter(description = "Scope (DOMESTIC or INTERNATIONAL)") String scope) {
-        return Response.ok(sigmetService.getSigmetsByScope(scope))
-            .cacheControl(cacheControl(120)).build();
+        return Response.ok(sigmetService.getSigmetsByScope(scope)).build();
     }
 
     @GET
     @Path("/hazard/{hazard}")
+    @CachePolicy(maxAge = 120, datasets = "sigmet", clockSeconds = 300)
     @Operation(summary = "Get by hazard", description = "Filter by hazard type (ICE, TURB, IFR, CONVECTIVE, etc.)")
     @APIResponse(responseCode = "200", description = "Filtered SIGMETs/AIRMETs by hazard type")
     public Response getSigmetsByHazard(
             @PathParam("hazard") @Parameter(description = "Hazard type (ICE, TURB, IFR, CONVECTIVE, etc.)") String hazard) {
-        return Response.ok(sigmetService.getSigmetsByHazard(hazard))
-            .cacheControl(cacheControl(120)).build();
+        return Response.ok(sigmetService.getSigmetsByHazard(hazard)).build();
     }
 
     @POST
     @Path("/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh SIGMETs", description = "Manually trigger SIGMET/AIRMET data refresh")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
     public Response refreshSigmets() {
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "sigmet").increment();
+        meterRegistry.counter("weather_api_refresh_total", "type", "sigmet").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("sigmet", () -> {
             sigmetService.deactivateExpired();
             sigmetService.fetchAndStoreSigmets();
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("SIGMET refresh triggered").build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh SIGMETs").build();
-        }
+        }));
     }
 }
@@ -1,6 +1,8 @@
 package com.redhat.weather.resource;
 
 import com.redhat.weather.dto.SolarDataDTO;
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.DatasetVersions;
 import com.redhat.weather.service.SolarDataService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
@@ -11,19 +13,51 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Path("/api/weather/solar")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Solar Data", description = "Sunrise/sunset and solar information")
 public class SolarDataResource {
 
+    private static final int MAX_CODES = 200;
+
     @Inject
     SolarDataService solarDataService;
 
+    @GET
+    @CachePolicy(maxAge = 3600, datasets = DatasetVersions.LOCATION, clockSeconds = 3600)
+    @Operation(summary = "Get solar data for multiple airports",
+               description = "Retrieve sunrise, sunset, twilight and solar noon for a comma-separated list of ICAO codes")
+    @APIResponse(responseCode = "200", description = "Solar data for each known airport code")
+    @APIResponse(responseCode = "400", description = "Missing or too many airport codes")
+    public Response getSolarDataBatch(
+            @QueryParam("codes") @Parameter(description = "Comma-separated ICAO codes, e.g. KJFK,KLAX (max 200)") String codes) {
+        if (codes == null || codes.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Query parameter 'codes' is required").build();
+        }
+
+        List<String> codeList = Arrays.stream(codes.split(","))
+            .map(String::trim)
+            .filter(code -> !code.isEmpty())
+            .distinct()
+            .toList();
+        if (codeList.isEmpty() || codeList.size() > MAX_CODES) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Between 1 and " + MAX_CODES + " airport codes are required").build();
+        }
+
+        return Response.ok(solarDataService.getSolarDataForCodes(codeList)).build();
+    }
+
     @GET
     @Path("/{locationId}")
+    @CachePolicy(maxAge = 3600, datasets = DatasetVersions.LOCATION, clockSeconds = 3600)
     @Operation(summary = "Get solar data for a location",
-               description = "Retrieve sunrise, sunset, and day length for a specific location")
+               description = "Retrieve sunrise, sunset, twilight, solar noon and day length for a specific location")
     @APIResponse(responseCode = "200", description = "Solar data")
     @APIResponse(responseCode = "404", description = "Solar data unavailable")
     public Response getSolarData(
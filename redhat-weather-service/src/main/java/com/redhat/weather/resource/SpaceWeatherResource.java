@@ -1,14 +1,16 @@
 package com.redhat.weather.resource;
 
 import com.redhat.weather.dto.SpaceWeatherDTO;
-import com.redhat.weather.service.DataFreshnessService;
+import com.redhat.weather.filter.CachePolicy;
 import com.redhat.weather.service.SpaceWeatherService;
 import jakarta.inject.Inject;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
-import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
@@ -21,24 +23,29 @@ public class SpaceWeatherResource {
     @Inject
     SpaceWeatherService spaceWeatherService;
 
-    @Inject
-    DataFreshnessService dataFreshnessService;
-
     @GET
+    @CachePolicy(maxAge = 300)
     @Operation(summary = "Get space weather data",
-               description = "Retrieve current space weather conditions including Kp index, solar wind, and alerts")
+               description = "Retrieve current space weather conditions including Kp index, solar wind, and alerts. "
+                   + "Served from the latest background snapshot; ageSeconds and stale indicate its freshness")
     @APIResponse(responseCode = "200", description = "Space weather data")
     @APIResponse(responseCode = "503", description = "Space weather data unavailable")
     public Response getSpaceWeather() {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(300);
         return spaceWeatherService.getSpaceWeather()
-            .map(dto -> {
-                dataFreshnessService.recordSuccess("swpc-space-weather");
-                return Response.ok(dto).cacheControl(cc).build();
-            })
+            .map(dto -> Response.ok(dto).build())
             .orElse(Response.status(Response.Status.SERVICE_UNAVAILABLE)
                 .entity("Space weather data temporarily unavailable")
                 .build());
     }
+
+    @GET
+    @Path("/history")
+    @CachePolicy(maxAge = 300)
+    @Operation(summary = "Get space weather history",
+               description = "Retrieve stored space weather snapshots (Kp index, solar wind, alert count) for the past N hours")
+    @APIResponse(responseCode = "200", description = "Space weather snapshots, oldest first")
+    public Response getHistory(
+            @QueryParam("hours") @DefaultValue("24") @Min(1) @Max(720) @Parameter(description = "Hours of history (max 720)") int hours) {
+        return Response.ok(spaceWeatherService.getHistory(hours)).build();
+    }
 }
@@ -1,13 +1,13 @@
 package com.redhat.weather.resource;
 
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.RefreshJobService;
 import com.redhat.weather.service.VolcanicAshService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
@@ -22,38 +22,29 @@ public class VolcanicAshResource {
     VolcanicAshService volcanicAshService;
 
     @Inject
-    MeterRegistry meterRegistry;
+    RefreshJobService refreshJobService;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    MeterRegistry meterRegistry;
 
     @GET
     @Path("/active")
+    @CachePolicy(maxAge = 120, datasets = "volcanic-ash", clockSeconds = 300, precompressed = true)
     @Operation(summary = "Get active advisories", description = "Retrieve all currently active volcanic ash advisories")
     @APIResponse(responseCode = "200", description = "List of active volcanic ash advisories")
     public Response getActiveAdvisories() {
-        return Response.ok(volcanicAshService.getActiveAdvisories())
-            .cacheControl(cacheControl(120)).build();
+        return Response.ok(volcanicAshService.getActiveAdvisories()).build();
     }
 
     @POST
     @Path("/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh volcanic ash advisories", description = "Manually trigger volcanic ash advisory refresh")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
     public Response refreshAdvisories() {
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "volcanic-ash").increment();
+        meterRegistry.counter("weather_api_refresh_total", "type", "volcanic-ash").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("volcanic-ash", () -> {
             volcanicAshService.deactivateExpired();
             volcanicAshService.fetchAndStoreAdvisories();
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("Volcanic ash advisory refresh triggered").build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh volcanic ash advisories").build();
-        }
+        }));
     }
 }
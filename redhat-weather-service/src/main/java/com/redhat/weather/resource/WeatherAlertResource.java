@@ -1,13 +1,14 @@
 package com.redhat.weather.resource;
 
 import com.redhat.weather.domain.entity.WeatherAlertEntity;
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.RefreshJobService;
 import com.redhat.weather.service.WeatherAlertService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -18,17 +19,22 @@ import java.util.List;
 @Path("/api/weather/alerts")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@CachePolicy(maxAge = 0, datasets = "alert", clockSeconds = 60)
 @Tag(name = "Weather Alerts", description = "Weather alerts, watches, and warnings operations")
 public class WeatherAlertResource {
 
     @Inject
     WeatherAlertService weatherAlertService;
 
+    @Inject
+    RefreshJobService refreshJobService;
+
     @Inject
     MeterRegistry meterRegistry;
 
     @GET
     @Path("/active")
+    @CachePolicy(maxAge = 0, datasets = "alert", clockSeconds = 60, precompressed = true)
     @Operation(summary = "Get active alerts", description = "Retrieve all currently active weather alerts")
     @APIResponse(responseCode = "200", description = "List of active alerts")
     public Response getActiveAlerts() {
@@ -49,22 +55,10 @@ public class WeatherAlertResource {
 
     @POST
     @Path("/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh alert data", description = "Manually trigger a refresh of weather alerts")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
     public Response refreshAlerts() {
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "alerts").increment();
-            weatherAlertService.fetchAndStoreAlerts();
-
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("Weather alerts refresh triggered")
-                .build();
-
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh weather alerts")
-                .build();
-        }
+        meterRegistry.counter("weather_api_refresh_total", "type", "alerts").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("alerts", weatherAlertService::fetchAndStoreAlerts));
     }
 }
@@ -1,19 +1,22 @@
 package com.redhat.weather.resource;
 
 import com.redhat.weather.domain.entity.WeatherForecastEntity;
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.ExportService;
 import com.redhat.weather.service.WeatherForecastService;
 import jakarta.inject.Inject;
 import jakarta.validation.constraints.*;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
-import jakarta.ws.rs.core.CacheControl;
-
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -30,14 +33,12 @@ public class WeatherForecastResource {
     @Inject
     WeatherForecastService weatherForecastService;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    ExportService exportService;
 
     @GET
     @Path("/location/{locationId}")
+    @CachePolicy(maxAge = 300, datasets = {"forecast-noaa", "forecast-openweather"}, clockSeconds = 300)
     @Operation(summary = "Get forecasts for a location", description = "Retrieve active forecasts for a specific location (paginated)")
     @APIResponse(responseCode = "200", description = "List of forecasts")
     public Response getForecastsByLocation(
@@ -47,12 +48,12 @@ public class WeatherForecastResource {
         int clampedSize = Math.min(Math.max(size, 1), 200);
         List<WeatherForecastEntity> forecasts = weatherForecastService.getForecastsByLocation(locationId, page, clampedSize);
         long totalElements = weatherForecastService.countForecastsByLocation(locationId);
-        return Response.ok(buildPageResponse(forecasts, page, clampedSize, totalElements))
-                .cacheControl(cacheControl(300)).build();
+        return Response.ok(buildPageResponse(forecasts, page, clampedSize, totalElements)).build();
     }
 
     @GET
     @Path("/coordinates")
+    @CachePolicy(maxAge = 300, datasets = {"forecast-noaa", "forecast-openweather"}, clockSeconds = 300)
     @Operation(summary = "Get forecasts by coordinates", description = "Retrieve forecasts for specific coordinates and time range")
     @APIResponse(responseCode = "200", description = "List of forecasts")
     @APIResponse(responseCode = "400", description = "Invalid parameters")
@@ -78,8 +79,7 @@ public class WeatherForecastResource {
                 weatherForecastService.getForecastsByCoordinates(latitude, longitude, fromTime, toTime, page, clampedSize);
             long totalElements = weatherForecastService.countForecastsByCoordinatesAndTimeRange(latitude, longitude, fromTime, toTime);
 
-            return Response.ok(buildPageResponse(forecasts, page, clampedSize, totalElements))
-                    .cacheControl(cacheControl(300)).build();
+            return Response.ok(buildPageResponse(forecasts, page, clampedSize, totalElements)).build();
 
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -90,22 +90,32 @@ public class WeatherForecastResource {
 
     @GET
     @Path("/location/{locationId}/history")
-    @Operation(summary = "Get historical forecasts", description = "Retrieve archived/historical forecast data for a location (paginated)")
+    @CachePolicy(maxAge = 300, datasets = {"forecast-noaa", "forecast-openweather"}, clockSeconds = 300)
+    @Produces({MediaType.APPLICATION_JSON, ExportService.COLUMNAR_TYPE})
+    @Operation(summary = "Get historical forecasts", description = "Retrieve archived/historical forecast data for a location (paginated). "
+        + "With Accept: " + ExportService.COLUMNAR_TYPE + " the whole range is streamed as column batches instead, unpaginated")
     @APIResponse(responseCode = "200", description = "List of historical forecasts")
     public Response getHistoricalForecasts(
             @PathParam("locationId") @Parameter(description = "Location ID") Long locationId,
             @QueryParam("days") @DefaultValue("7") @Min(1) @Max(90) @Parameter(description = "Number of days of history") int days,
             @QueryParam("page") @DefaultValue("0") @Min(0) @Parameter(description = "Page number (0-based)") int page,
-            @QueryParam("size") @DefaultValue("50") @Min(1) @Max(200) @Parameter(description = "Page size (max 200)") int size) {
+            @QueryParam("size") @DefaultValue("50") @Min(1) @Max(200) @Parameter(description = "Page size (max 200)") int size,
+            @Context HttpHeaders headers) {
+        if (ExportResource.prefers(headers, ExportService.COLUMNAR_TYPE)) {
+            LocalDateTime since = LocalDateTime.now().minusDays(days);
+            StreamingOutput body = ExportResource.limited(exportService,
+                out -> exportService.exportForecastHistory(locationId, since, ExportService.Format.COLUMNAR, out));
+            return Response.ok(body, ExportService.COLUMNAR_TYPE).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+        }
         int clampedSize = Math.min(Math.max(size, 1), 200);
         List<WeatherForecastEntity> forecasts = weatherForecastService.getHistoricalForecasts(locationId, days, page, clampedSize);
         long totalElements = weatherForecastService.countHistoricalForecasts(locationId, days);
-        return Response.ok(buildPageResponse(forecasts, page, clampedSize, totalElements))
-                .cacheControl(cacheControl(300)).build();
+        return Response.ok(buildPageResponse(forecasts, page, clampedSize, totalElements)).build();
     }
 
     @GET
     @Path("/current")
+    @CachePolicy(maxAge = 300, datasets = {"forecast-noaa", "forecast-openweather"}, clockSeconds = 300)
     @Operation(summary = "Get current forecast", description = "Retrieve current forecast for specific coordinates")
     @APIResponse(responseCode = "200", description = "Current forecast")
     @APIResponse(responseCode = "400", description = "Invalid parameters")
@@ -122,7 +132,7 @@ public class WeatherForecastResource {
                 .build();
         }
 
-        return Response.ok(forecasts).cacheControl(cacheControl(300)).build();
+        return Response.ok(forecasts).build();
     }
 
     private Map<String, Object> buildPageResponse(List<WeatherForecastEntity> data, int page, int size, long totalElements) {
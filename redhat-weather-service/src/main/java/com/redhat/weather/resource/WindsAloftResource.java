@@ -1,13 +1,13 @@
 package com.redhat.weather.resource;
 
+import com.redhat.weather.filter.CachePolicy;
+import com.redhat.weather.service.RefreshJobService;
 import com.redhat.weather.service.WindsAloftService;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
-import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.faulttolerance.Bulkhead;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -23,57 +23,46 @@ public class WindsAloftResource {
     WindsAloftService windsAloftService;
 
     @Inject
-    MeterRegistry meterRegistry;
+    RefreshJobService refreshJobService;
 
-    private static CacheControl cacheControl(int maxAgeSecs) {
-        CacheControl cc = new CacheControl();
-        cc.setMaxAge(maxAgeSecs);
-        return cc;
-    }
+    @Inject
+    MeterRegistry meterRegistry;
 
     @GET
     @Path("/latest")
+    @CachePolicy(maxAge = 300, datasets = "winds-aloft", clockSeconds = 300)
     @Operation(summary = "Get latest winds aloft", description = "Retrieve the most recent winds/temps aloft forecasts")
     @APIResponse(responseCode = "200", description = "List of latest winds aloft forecasts")
     public Response getLatestWinds() {
-        return Response.ok(windsAloftService.getLatestWinds())
-            .cacheControl(cacheControl(300)).build();
+        return Response.ok(windsAloftService.getLatestWinds()).build();
     }
 
     @GET
     @Path("/station/{stationId}")
+    @CachePolicy(maxAge = 300, datasets = "winds-aloft", clockSeconds = 300)
     @Operation(summary = "Get by station", description = "Get winds aloft forecasts for a specific station")
     @APIResponse(responseCode = "200", description = "Winds aloft for the specified station")
     public Response getWindsByStation(
             @PathParam("stationId") @Parameter(description = "Station identifier (e.g., KJFK)") String stationId) {
-        return Response.ok(windsAloftService.getWindsByStation(stationId))
-            .cacheControl(cacheControl(300)).build();
+        return Response.ok(windsAloftService.getWindsByStation(stationId)).build();
     }
 
     @GET
     @Path("/altitude/{altitudeFt}")
+    @CachePolicy(maxAge = 300, datasets = "winds-aloft", clockSeconds = 300)
     @Operation(summary = "Get by altitude", description = "Get winds aloft at a specific flight level (e.g., 3000, 6000, 9000)")
     @APIResponse(responseCode = "200", description = "Winds aloft at the specified altitude")
     public Response getWindsByAltitude(
             @PathParam("altitudeFt") @Parameter(description = "Altitude in feet (e.g., 3000, 6000, 9000)") int altitudeFt) {
-        return Response.ok(windsAloftService.getWindsByAltitude(altitudeFt))
-            .cacheControl(cacheControl(300)).build();
+        return Response.ok(windsAloftService.getWindsByAltitude(altitudeFt)).build();
     }
 
     @POST
     @Path("/refresh")
-    @Bulkhead(value = 1, waitingTaskQueue = 1)
     @Operation(summary = "Refresh winds aloft", description = "Manually trigger winds aloft data refresh")
-    @APIResponse(responseCode = "202", description = "Refresh triggered")
+    @APIResponse(responseCode = "202", description = "Refresh job queued; poll the Location URL for progress")
     public Response refreshWindsAloft() {
-        try {
-            meterRegistry.counter("weather_api_refresh_total", "type", "winds-aloft").increment();
-            windsAloftService.fetchAndStoreWinds();
-            return Response.status(Response.Status.ACCEPTED)
-                .entity("Winds aloft refresh triggered").build();
-        } catch (Exception e) {
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                .entity("Failed to refresh winds aloft").build();
-        }
+        meterRegistry.counter("weather_api_refresh_total", "type", "winds-aloft").increment();
+        return RefreshJobResource.accepted(refreshJobService.submit("winds-aloft", windsAloftService::fetchAndStoreWinds));
     }
 }
@@ -0,0 +1,187 @@
+package com.redhat.weather.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.SkippedExecution;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Overrun protection for long-running batch jobs.
+ *
+ * A tick that arrives while the previous run of the same job is still going is either skipped or
+ * coalesced into a single follow-up run (see {@link OverrunPolicy}). Batch sizes adapt to observed
+ * run time: a run that uses more than {@value #SHRINK_ABOVE} of its target cycle shrinks the next
+ * batch proportionally, and runs well under target grow it back additively towards the configured
+ * size.
+ *
+ * Metrics:
+ * <ul>
+ *   <li>{@code weather_scheduler_skipped_ticks_total{job,reason}} - overrun or coalesced ticks;
+ *       also counts ticks Quarkus skipped for {@code concurrentExecution = SKIP} jobs</li>
+ *   <li>{@code weather_scheduler_cycle_seconds{job}} - achieved run time</li>
+ *   <li>{@code weather_scheduler_cycle_target_seconds{job}} and {@code weather_scheduler_batch_size{job}}</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class JobOverrunGuard {
+
+    private static final Logger LOG = Logger.getLogger(JobOverrunGuard.class);
+
+    static final double SHRINK_ABOVE = 0.8;
+    static final double GROW_BELOW = 0.5;
+    // Aim a shrunk batch at this fraction of the target so the next run has headroom
+    private static final double SHRINK_TO = 0.7;
+    private static final int MIN_BATCH_DIVISOR = 10;
+
+    public enum OverrunPolicy {
+        /** Drop ticks that arrive while the job is running. */
+        SKIP,
+        /** Remember ticks that arrive while running and run once more when the current run ends. */
+        COALESCE
+    }
+
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "weather.scheduler.adaptive-batch.enabled", defaultValue = "true")
+    boolean adaptiveBatchEnabled;
+
+    /**
+     * Run {@code body} unless the job is already running, applying {@code policy} to the overlapping tick.
+     *
+     * @return true if this call ran the job (including any coalesced follow-up runs)
+     */
+    public boolean run(String job, Duration target, OverrunPolicy policy, Runnable body) {
+        JobState state = stateFor(job, target);
+        if (!state.running.compareAndSet(false, true)) {
+            if (policy == OverrunPolicy.COALESCE) {
+                state.pending.set(true);
+                skipped(job, "coalesced");
+                LOG.info("Job " + job + " still running; coalescing tick into one follow-up run");
+            } else {
+                skipped(job, "overrun");
+                LOG.warn("Job " + job + " still running after " + state.runningFor().toSeconds()
+                    + "s (target " + target.toSeconds() + "s); skipping tick");
+            }
+            return false;
+        }
+
+        try {
+            // This run covers any tick coalesced before it started
+            state.pending.set(false);
+            runOnce(job, state, body);
+            while (policy == OverrunPolicy.COALESCE && state.pending.getAndSet(false)) {
+                LOG.info("Running coalesced tick for " + job);
+                runOnce(job, state, body);
+            }
+        } finally {
+            state.running.set(false);
+        }
+        return true;
+    }
+
+    /**
+     * Batch size to use for this run of {@code job}: the configured size, or less while recent runs
+     * have been overrunning their target cycle.
+     */
+    public int batchSize(String job, int configured) {
+        JobState state = jobs.get(job);
+        if (state == null || !adaptiveBatchEnabled) {
+            return configured;
+        }
+        state.configuredBatch = configured;
+        if (state.batch <= 0 || state.batch > configured) {
+            state.batch = configured;
+        }
+        return state.batch;
+    }
+
+    void onSkipped(@Observes SkippedExecution event) {
+        // Ticks dropped by Quarkus for @Scheduled(concurrentExecution = SKIP) jobs
+        skipped(event.triggerId, "overrun");
+    }
+
+    private void runOnce(String job, JobState state, Runnable body) {
+        state.startedNanos = System.nanoTime();
+        try {
+            body.run();
+        } finally {
+            long elapsed = System.nanoTime() - state.startedNanos;
+            state.startedNanos = 0;
+            state.cycleTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            adjustBatch(job, state, elapsed);
+        }
+    }
+
+    private void adjustBatch(String job, JobState state, long elapsedNanos) {
+        if (!adaptiveBatchEnabled || state.batch <= 0) {
+            return;
+        }
+        double utilization = (double) elapsedNanos / state.target.toNanos();
+        int floor = Math.max(1, state.configuredBatch / MIN_BATCH_DIVISOR);
+        int next = state.batch;
+        if (utilization > SHRINK_ABOVE) {
+            next = Math.max(floor, (int) (state.batch * SHRINK_TO / utilization));
+        } else if (utilization < GROW_BELOW) {
+            next = Math.min(state.configuredBatch, state.batch + Math.max(1, state.configuredBatch / MIN_BATCH_DIVISOR));
+        }
+        if (next != state.batch) {
+            LOG.info("Job " + job + " used " + Math.round(utilization * 100) + "% of its "
+                + state.target.toMinutes() + " min cycle; batch size " + state.batch + " -> " + next);
+            state.batch = next;
+        }
+    }
+
+    private void skipped(String job, String reason) {
+        meterRegistry.counter("weather_scheduler_skipped_ticks_total", "job", job, "reason", reason).increment();
+    }
+
+    private JobState stateFor(String job, Duration target) {
+        return jobs.computeIfAbsent(job, name -> {
+            JobState state = new JobState(target, Timer.builder("weather_scheduler_cycle_seconds")
+                .tag("job", name)
+                .register(meterRegistry));
+            Gauge.builder("weather_scheduler_cycle_target_seconds", state, s -> s.target.toSeconds())
+                .tag("job", name)
+                .register(meterRegistry);
+            Gauge.builder("weather_scheduler_batch_size", state, s -> s.batch)
+                .tag("job", name)
+                .register(meterRegistry);
+            return state;
+        });
+    }
+
+    private static final class JobState {
+        final Duration target;
+        final Timer cycleTimer;
+        final AtomicBoolean running = new AtomicBoolean(false);
+        final AtomicBoolean pending = new AtomicBoolean(false);
+        // Only touched by the thread holding 'running'; volatile for gauges and batchSize callers
+        volatile int batch;
+        volatile int configuredBatch;
+        volatile long startedNanos;
+
+        JobState(Duration target, Timer cycleTimer) {
+            this.target = target;
+            this.cycleTimer = cycleTimer;
+        }
+
+        Duration runningFor() {
+            long started = startedNanos;
+            return started == 0 ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - started);
+        }
+    }
+}
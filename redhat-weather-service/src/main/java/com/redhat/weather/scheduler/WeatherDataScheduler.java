@@ -1,17 +1,28 @@
 package com.redhat.weather.scheduler;
 
 import com.redhat.weather.domain.entity.LocationEntity;
+import com.redhat.weather.domain.entity.SchedulerCursorEntity;
 import com.redhat.weather.domain.repository.LocationRepository;
+import com.redhat.weather.service.AdaptivePollingService;
+import com.redhat.weather.service.AirportCsvLoader;
 import com.redhat.weather.service.AirportDelayService;
 import com.redhat.weather.service.AirportWeatherService;
+import com.redhat.weather.service.ChangeLog;
 import com.redhat.weather.service.CwaService;
+import com.redhat.weather.service.DataCountService;
 import com.redhat.weather.service.DataFreshnessService;
+import com.redhat.weather.service.DatasetVersions;
 import com.redhat.weather.service.EarthquakeService;
 import com.redhat.weather.service.GroundStopService;
 import com.redhat.weather.service.HurricaneService;
 import com.redhat.weather.service.LightningService;
+import com.redhat.weather.service.MetarRefreshPlanner;
 import com.redhat.weather.service.PirepService;
+import com.redhat.weather.service.RawPayloadArchive;
+import com.redhat.weather.service.SchedulerCursorService;
 import com.redhat.weather.service.SigmetService;
+import com.redhat.weather.service.SolarDataService;
+import com.redhat.weather.service.SpaceWeatherService;
 import com.redhat.weather.service.TfrService;
 import com.redhat.weather.service.VolcanicAshService;
 import com.redhat.weather.service.WeatherAlertService;
@@ -20,16 +31,20 @@ import com.redhat.weather.service.WindsAloftService;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.runtime.Startup;
 import io.quarkus.scheduler.Scheduled;
-import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
 
@@ -39,6 +54,24 @@ public class WeatherDataScheduler {
 
     private static final Logger LOG = Logger.getLogger(WeatherDataScheduler.class);
 
+    // Leases must outlive the longest interval between ticks of the job that renews them
+    private static final Duration FORECAST_LEASE = Duration.ofMinutes(45);
+    private static final Duration OPENWEATHER_LEASE = Duration.ofHours(3);
+    private static final Duration AIRPORT_LEASE = Duration.ofMinutes(45);
+    // Single-holder leases of 5-minute jobs: outlive one missed tick, so the holder keeps the job
+    private static final Duration SPACE_WEATHER_LEASE = Duration.ofMinutes(12);
+    private static final Duration DATA_COUNT_LEASE = Duration.ofMinutes(12);
+    // Guarded jobs are named by their @Scheduled identity, which is also the triggerId of SkippedExecution
+    private static final String NOAA_JOB = "noaa-forecast-fetch";
+    private static final String OPENWEATHER_JOB = "openweather-forecast-fetch";
+    private static final String AIRPORT_JOB = "airport-weather-fetch";
+    // Target cycle per batch job: a run longer than this overlaps the next tick
+    private static final Duration FORECAST_CYCLE = Duration.ofMinutes(30);
+    private static final Duration OPENWEATHER_CYCLE = Duration.ofHours(2);
+    private static final Duration AIRPORT_CYCLE = Duration.ofMinutes(10);
+    private static final List<MetarRefreshPlanner.Tier> ROTATING_TIERS =
+        List.of(MetarRefreshPlanner.Tier.MEDIUM, MetarRefreshPlanner.Tier.SMALL);
+
     @Inject
     WeatherForecastService weatherForecastService;
 
@@ -81,12 +114,45 @@ public class WeatherDataScheduler {
     @Inject
     LightningService lightningService;
 
+    @Inject
+    SpaceWeatherService spaceWeatherService;
+
+    @Inject
+    SolarDataService solarDataService;
+
     @Inject
     LocationRepository locationRepository;
 
+    @Inject
+    AirportCsvLoader airportCsvLoader;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
     @Inject
     DataFreshnessService dataFreshnessService;
 
+    @Inject
+    DataCountService dataCountService;
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @Inject
+    ChangeLog changeLog;
+
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    MetarRefreshPlanner metarRefreshPlanner;
+
+    @Inject
+    SchedulerCursorService schedulerCursorService;
+
+    @Inject
+    JobOverrunGuard jobOverrunGuard;
+
     @Inject
     MeterRegistry meterRegistry;
 
@@ -135,6 +201,21 @@ public class WeatherDataScheduler {
     @ConfigProperty(name = "weather.scheduler.lightning.enabled", defaultValue = "false")
     boolean lightningEnabled;
 
+    @ConfigProperty(name = "weather.scheduler.spaceweather.enabled", defaultValue = "true")
+    boolean spaceWeatherEnabled;
+
+    @ConfigProperty(name = "weather.scheduler.airport-catalog.enabled", defaultValue = "true")
+    boolean airportCatalogSyncEnabled;
+
+    @ConfigProperty(name = "airport.csv.path", defaultValue = "../data/airports.csv")
+    String airportCsvPath;
+
+    @ConfigProperty(name = "weather.archive.retention-days", defaultValue = "30")
+    int archiveRetentionDays;
+
+    @ConfigProperty(name = "weather.changes.retention-hours", defaultValue = "24")
+    int changeRetentionHours;
+
     @ConfigProperty(name = "weather.scheduler.airport.batch-size", defaultValue = "500")
     int airportBatchSize;
 
@@ -147,140 +228,57 @@ public class WeatherDataScheduler {
     @ConfigProperty(name = "weather.scheduler.airport.sub-batch-size", defaultValue = "50")
     int airportSubBatchSize;
 
-    private int airportOffset = 0;
-    private int forecastOffset = 0;
+    @ConfigProperty(name = "weather.scheduler.noaa.overrun-policy", defaultValue = "coalesce")
+    JobOverrunGuard.OverrunPolicy noaaOverrunPolicy;
 
-    /**
-     * Trigger all enabled data sources on startup so the dashboard has data immediately.
-     * Runs in a background thread to avoid blocking application startup.
-     */
-    @PostConstruct
-    void onStartup() {
-        LOG.info("Scheduling initial data fetch for all enabled sources");
-        CompletableFuture.runAsync(() -> {
-            try {
-                // Small delay to let the application fully initialize
-                Thread.sleep(5000);
-                LOG.info("Starting initial data fetch");
-
-                List<CompletableFuture<Void>> initialFetches = new ArrayList<>();
-
-                if (noaaEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: NOAA forecasts");
-                        fetchNoaaForecasts();
-                    }));
-                }
-                if (aviationEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Airport weather");
-                        fetchAirportWeather();
-                    }));
-                }
-                if (hurricaneEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Hurricanes");
-                        try {
-                            hurricaneService.fetchAndStoreActiveStorms();
-                            dataFreshnessService.recordSuccess("nhc-hurricane");
-                            meterRegistry.counter("weather_scheduler_execution_total", "job", "nhc-hurricane", "result", "success").increment();
-                        } catch (Exception e) {
-                            meterRegistry.counter("weather_scheduler_execution_total", "job", "nhc-hurricane", "result", "failure").increment();
-                            LOG.error("Initial hurricane fetch failed", e);
-                        }
-                    }));
-                }
-                if (earthquakeEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Earthquakes");
-                        fetchEarthquakes();
-                    }));
-                }
-                if (alertsEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Weather alerts");
-                        fetchWeatherAlerts();
-                    }));
-                }
-                if (pirepsEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: PIREPs");
-                        fetchPireps();
-                    }));
-                }
-                if (sigmetsEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: SIGMETs/AIRMETs");
-                        fetchSigmets();
-                    }));
-                }
-                if (delaysEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Airport delays");
-                        fetchAirportDelays();
-                    }));
-                }
-                if (cwasEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: CWAs");
-                        fetchCwas();
-                    }));
-                }
-                if (windsAloftEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Winds aloft");
-                        fetchWindsAloft();
-                    }));
-                }
-                if (tfrsEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: TFRs");
-                        fetchTfrs();
-                    }));
-                }
-                if (groundStopsEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Ground stops");
-                        fetchGroundStops();
-                    }));
-                }
-                if (volcanicAshEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Volcanic ash advisories");
-                        fetchVolcanicAsh();
-                    }));
-                }
-                if (lightningEnabled) {
-                    initialFetches.add(CompletableFuture.runAsync(() -> {
-                        LOG.info("Initial fetch: Lightning");
-                        fetchLightning();
-                    }));
-                }
+    @ConfigProperty(name = "weather.scheduler.openweather.overrun-policy", defaultValue = "skip")
+    JobOverrunGuard.OverrunPolicy openWeatherOverrunPolicy;
 
-                CompletableFuture.allOf(initialFetches.toArray(new CompletableFuture[0])).join();
-                LOG.info("Initial data fetch completed for all enabled sources");
+    @ConfigProperty(name = "weather.scheduler.aviation.overrun-policy", defaultValue = "skip")
+    JobOverrunGuard.OverrunPolicy aviationOverrunPolicy;
 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                LOG.warn("Initial data fetch interrupted");
-            } catch (Exception e) {
-                LOG.error("Error during initial data fetch", e);
-            }
-        });
+    /**
+     * Enabled fetch jobs in the order they should first run after startup: sources the dashboard
+     * and readiness depend on most come first, slow bulk forecast jobs last.
+     * Used by {@link com.redhat.weather.startup.StartupOrchestrator} to stagger the cold fetches.
+     */
+    public Map<String, Runnable> initialFetchPlan() {
+        Map<String, Runnable> plan = new LinkedHashMap<>();
+        if (alertsEnabled) plan.put("Weather alerts", this::fetchWeatherAlerts);
+        if (aviationEnabled) plan.put("Airport weather", this::fetchAirportWeather);
+        if (groundStopsEnabled) plan.put("Ground stops", this::fetchGroundStops);
+        if (delaysEnabled) plan.put("Airport delays", this::fetchAirportDelays);
+        if (sigmetsEnabled) plan.put("SIGMETs/AIRMETs", this::fetchSigmets);
+        if (cwasEnabled) plan.put("CWAs", this::fetchCwas);
+        if (tfrsEnabled) plan.put("TFRs", this::fetchTfrs);
+        if (pirepsEnabled) plan.put("PIREPs", this::fetchPireps);
+        if (hurricaneEnabled) plan.put("Hurricanes", this::fetchHurricanes);
+        if (earthquakeEnabled) plan.put("Earthquakes", this::fetchEarthquakes);
+        if (volcanicAshEnabled) plan.put("Volcanic ash advisories", this::fetchVolcanicAsh);
+        if (spaceWeatherEnabled) plan.put("Space weather", this::fetchSpaceWeather);
+        if (windsAloftEnabled) plan.put("Winds aloft", this::fetchWindsAloft);
+        if (lightningEnabled) plan.put("Lightning", this::fetchLightning);
+        if (noaaEnabled) plan.put("NOAA forecasts", this::fetchNoaaForecasts);
+        if (openWeatherEnabled) plan.put("OpenWeatherMap forecasts", this::fetchOpenWeatherForecasts);
+        return plan;
     }
 
     /**
      * Fetch NOAA weather forecasts every 30 minutes
      */
-    @Scheduled(cron = "0 */30 * * * ?", identity = "noaa-forecast-fetch")
+    @Scheduled(cron = "0 */30 * * * ?", identity = NOAA_JOB)
     public void fetchNoaaForecasts() {
         if (!noaaEnabled) {
             LOG.debug("NOAA scheduler is disabled");
             return;
         }
 
+        jobOverrunGuard.run(NOAA_JOB, FORECAST_CYCLE, noaaOverrunPolicy, this::runNoaaForecasts);
+    }
+
+    private void runNoaaForecasts() {
         try {
-            List<LocationEntity> locations = locationRepository.findAirportLocations();
+            List<LocationEntity> locations = locationRepository.findAllOrderedById();
             int total = locations.size();
 
             if (total == 0) {
@@ -288,14 +286,16 @@ public class WeatherDataScheduler {
                 return;
             }
 
-            if (forecastOffset >= total) {
-                forecastOffset = 0;
+            Map<Integer, Integer> nextPositions = new LinkedHashMap<>();
+            List<LocationEntity> batch = leaseBatch("noaa-forecast", FORECAST_LEASE, locations,
+                jobOverrunGuard.batchSize(NOAA_JOB, forecastBatchSize), nextPositions);
+            if (batch.isEmpty()) {
+                LOG.debug("No NOAA forecast partitions leased to this instance");
+                return;
             }
 
-            int end = Math.min(forecastOffset + forecastBatchSize, total);
-            List<LocationEntity> batch = locations.subList(forecastOffset, end);
-
-            LOG.info("Starting NOAA forecast fetch: processing locations " + forecastOffset + "-" + end + " of " + total + " (parallelism=" + parallelism + ")");
+            LOG.info("Starting NOAA forecast fetch: processing " + batch.size() + " of " + total + " locations across "
+                + nextPositions.size() + " partitions (parallelism=" + parallelism + ")");
 
             int[] counts = parallelProcess(batch, location -> {
                 weatherForecastService.fetchAndStoreNoaaForecast(location.id);
@@ -303,7 +303,7 @@ public class WeatherDataScheduler {
             int successCount = counts[0];
             int failureCount = counts[1];
 
-            forecastOffset = (end >= total) ? 0 : end;
+            advanceCursors("noaa-forecast", nextPositions);
 
             LOG.info("NOAA forecast fetch completed. Success: " + successCount + ", Failures: " + failureCount);
             meterRegistry.counter("weather_scheduler_execution_total", "job", "noaa-forecast", "result", "success").increment(successCount);
@@ -324,15 +324,20 @@ public class WeatherDataScheduler {
     /**
      * Fetch OpenWeatherMap forecasts every 2 hours (if enabled and API key is configured)
      */
-    @Scheduled(cron = "0 0 */2 * * ?", identity = "openweather-forecast-fetch")
+    @Scheduled(cron = "0 0 */2 * * ?", identity = OPENWEATHER_JOB)
     public void fetchOpenWeatherForecasts() {
         if (!openWeatherEnabled) {
             LOG.debug("OpenWeatherMap scheduler is disabled");
             return;
         }
 
+        jobOverrunGuard.run(OPENWEATHER_JOB, OPENWEATHER_CYCLE, openWeatherOverrunPolicy,
+            this::runOpenWeatherForecasts);
+    }
+
+    private void runOpenWeatherForecasts() {
         try {
-            List<LocationEntity> locations = locationRepository.findAirportLocations();
+            List<LocationEntity> locations = locationRepository.findAllOrderedById();
             int total = locations.size();
 
             if (total == 0) {
@@ -340,16 +345,16 @@ public class WeatherDataScheduler {
                 return;
             }
 
-            // Reuse forecastOffset (shared with NOAA since they cover the same locations)
-            int offset = forecastOffset;
-            if (offset >= total) {
-                offset = 0;
+            Map<Integer, Integer> nextPositions = new LinkedHashMap<>();
+            List<LocationEntity> batch = leaseBatch("openweather-forecast", OPENWEATHER_LEASE, locations,
+                jobOverrunGuard.batchSize(OPENWEATHER_JOB, forecastBatchSize), nextPositions);
+            if (batch.isEmpty()) {
+                LOG.debug("No OpenWeatherMap forecast partitions leased to this instance");
+                return;
             }
 
-            int end = Math.min(offset + forecastBatchSize, total);
-            List<LocationEntity> batch = locations.subList(offset, end);
-
-            LOG.info("Starting OpenWeatherMap forecast fetch: processing locations " + offset + "-" + end + " of " + total + " (parallelism=" + parallelism + ")");
+            LOG.info("Starting OpenWeatherMap forecast fetch: processing " + batch.size() + " of " + total + " locations across "
+                + nextPositions.size() + " partitions (parallelism=" + parallelism + ")");
 
             int[] counts = parallelProcess(batch, location -> {
                 weatherForecastService.fetchAndStoreOpenWeatherForecast(location.id);
@@ -357,6 +362,8 @@ public class WeatherDataScheduler {
             int successCount = counts[0];
             int failureCount = counts[1];
 
+            advanceCursors("openweather-forecast", nextPositions);
+
             LOG.info("OpenWeatherMap forecast fetch completed. Success: " + successCount + ", Failures: " + failureCount);
             meterRegistry.counter("weather_scheduler_execution_total", "job", "openweather-forecast", "result", "success").increment(successCount);
             meterRegistry.counter("weather_scheduler_execution_total", "job", "openweather-forecast", "result", "failure").increment(failureCount);
@@ -374,56 +381,67 @@ public class WeatherDataScheduler {
     }
 
     /**
-     * Fetch airport weather (METAR/TAF) every 15 minutes
+     * Fetch airport weather (METAR/TAF) every 10 minutes around routine METAR issuance (~:53),
+     * every 30 minutes otherwise. Airports are tiered by type: see {@link MetarRefreshPlanner}.
      */
-    @Scheduled(cron = "0 */15 * * * ?", identity = "airport-weather-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = AIRPORT_JOB)
     public void fetchAirportWeather() {
         if (!aviationEnabled) {
             LOG.debug("Aviation weather scheduler is disabled");
             return;
         }
 
+        jobOverrunGuard.run(AIRPORT_JOB, AIRPORT_CYCLE, aviationOverrunPolicy, this::runAirportWeather);
+    }
+
+    private void runAirportWeather() {
+        // Checked inside the guard so a skipped tick doesn't count as a poll
+        if (!adaptivePollingService.shouldPoll("aviation-metar")) {
+            return;
+        }
+
         try {
-            List<LocationEntity> airports = locationRepository.findAirportLocations();
-            int total = airports.size();
+            List<LocationEntity> airports = locationRepository.findAirportsWithCodes();
 
-            if (total == 0) {
+            if (airports.isEmpty()) {
                 LOG.info("No airports found for weather fetch");
                 return;
             }
 
-            if (airportOffset >= total) {
-                airportOffset = 0;
+            List<SchedulerCursorEntity> leases = schedulerCursorService.acquire("aviation-metar", AIRPORT_LEASE);
+            List<LocationEntity> owned = new ArrayList<>();
+            for (SchedulerCursorEntity lease : leases) {
+                owned.addAll(schedulerCursorService.slice(airports, lease.partitionId));
+            }
+            metarRefreshPlanner.classify(owned);
+
+            // Large airports and the watch list every cycle; medium/small tiers rotate within the batch budget
+            int batchSize = jobOverrunGuard.batchSize(AIRPORT_JOB, airportBatchSize);
+            int partitionBudget = leases.isEmpty() ? 0 : (batchSize + leases.size() - 1) / leases.size();
+            List<String> plannedCodes = new ArrayList<>();
+            for (SchedulerCursorEntity lease : leases) {
+                plannedCodes.addAll(planAirportPartition(lease.partitionId, airports, partitionBudget));
             }
 
-            int end = Math.min(airportOffset + airportBatchSize, total);
-            List<LocationEntity> batch = airports.subList(airportOffset, end);
-
-            LOG.info("Starting airport weather fetch: processing airports " + airportOffset + "-" + end + " of " + total);
+            LOG.info("Starting airport weather fetch: processing " + plannedCodes.size() + " of " + airports.size()
+                + " airports across " + leases.size() + " partitions");
 
             int successCount = 0;
             int failureCount = 0;
 
             // Process in sub-batches for bulk API calls
-            for (int i = 0; i < batch.size(); i += airportSubBatchSize) {
-                List<LocationEntity> subBatch = batch.subList(i, Math.min(i + airportSubBatchSize, batch.size()));
+            for (int i = 0; i < plannedCodes.size(); i += airportSubBatchSize) {
+                List<String> codes = plannedCodes.subList(i, Math.min(i + airportSubBatchSize, plannedCodes.size()));
                 try {
-                    List<String> codes = new ArrayList<>();
-                    for (LocationEntity airport : subBatch) {
-                        if (airport.airportCode != null) {
-                            codes.add(airport.airportCode);
-                        }
-                    }
                     airportWeatherService.fetchAndStoreAllBatch(codes);
+                    metarRefreshPlanner.markRefreshed(codes);
                     successCount += codes.size();
                 } catch (Exception e) {
                     LOG.error("Failed to fetch airport weather for batch starting at offset " + i, e);
-                    failureCount += subBatch.size();
+                    failureCount += codes.size();
                 }
             }
 
-            airportOffset = (end >= total) ? 0 : end;
-
             LOG.info("Airport weather fetch completed. Success: " + successCount + ", Failures: " + failureCount);
             meterRegistry.counter("weather_scheduler_execution_total", "job", "aviation-metar", "result", "success").increment(successCount);
             meterRegistry.counter("weather_scheduler_execution_total", "job", "aviation-metar", "result", "failure").increment(failureCount);
@@ -431,33 +449,31 @@ public class WeatherDataScheduler {
             if (successCount > 0) {
                 dataFreshnessService.recordSuccess("aviation-metar");
             }
+            adaptivePollingService.complete("aviation-metar");
             if (failureCount > 0 && successCount == 0) {
                 LOG.warn("Airport weather fetch completely failed for all " + failureCount + " airports in batch");
             }
 
         } catch (Exception e) {
+            meterRegistry.counter("weather_scheduler_execution_total", "job", "aviation-metar", "result", "failure").increment();
+            adaptivePollingService.fail("aviation-metar");
             LOG.error("Error in airport weather scheduler", e);
         }
     }
 
     /**
-     * Fetch tropical cyclone data every hour during peak seasons, every 3 hours otherwise.
-     * Western Pacific typhoons can occur year-round, so we always fetch at least every 3 hours.
+     * Fetch tropical cyclone data (NHC + JTWC). Polls hourly while advisories change and backs
+     * off to every 3 hours when nothing changes (e.g. Atlantic off-season); JTWC covers typhoons year-round.
      */
-    @Scheduled(cron = "0 0 * * * ?", identity = "hurricane-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "hurricane-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchHurricanes() {
         if (!hurricaneEnabled) {
             LOG.debug("Tropical cyclone scheduler is disabled");
             return;
         }
 
-        // During Atlantic hurricane season, fetch every hour.
-        // Outside that, fetch every 3 hours (WP typhoons are year-round).
-        boolean isHurricaneSeason = isHurricaneSeason();
-        int currentHour = LocalDateTime.now().getHour();
-
-        if (!isHurricaneSeason && currentHour % 3 != 0) {
-            LOG.debug("Off-season, not 3-hour interval, skipping");
+        if (!adaptivePollingService.shouldPoll("nhc-hurricane")) {
             return;
         }
 
@@ -466,272 +482,445 @@ public class WeatherDataScheduler {
         try {
             hurricaneService.fetchAndStoreActiveStorms();
             dataFreshnessService.recordSuccess("nhc-hurricane");
+            adaptivePollingService.complete("nhc-hurricane");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "nhc-hurricane", "result", "success").increment();
             LOG.info("Tropical cyclone data fetch completed");
 
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "nhc-hurricane", "result", "failure").increment();
+            adaptivePollingService.fail("nhc-hurricane");
             LOG.error("Error in tropical cyclone scheduler", e);
         }
     }
 
     /**
-     * Fetch weather alerts every 15 minutes
+     * Fetch weather alerts (adaptive, 5-30 minutes)
      */
-    @Scheduled(cron = "0 */15 * * * ?", identity = "weather-alerts-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "weather-alerts-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchWeatherAlerts() {
         if (!alertsEnabled) {
             LOG.debug("Weather alerts scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("noaa-alerts")) {
+            return;
+        }
+
         LOG.info("Starting weather alerts fetch");
 
         try {
             weatherAlertService.deactivateExpired();
             weatherAlertService.fetchAndStoreAlerts();
             dataFreshnessService.recordSuccess("noaa-alerts");
+            adaptivePollingService.complete("noaa-alerts");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "noaa-alerts", "result", "success").increment();
             LOG.info("Weather alerts fetch completed");
 
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "noaa-alerts", "result", "failure").increment();
+            adaptivePollingService.fail("noaa-alerts");
             LOG.error("Error in weather alerts scheduler", e);
         }
     }
 
     /**
-     * Fetch earthquake data every 10 minutes
+     * Fetch earthquake data (adaptive, 5-30 minutes)
      */
-    @Scheduled(cron = "0 */10 * * * ?", identity = "earthquake-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "earthquake-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchEarthquakes() {
         if (!earthquakeEnabled) {
             LOG.debug("Earthquake scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("usgs-earthquake")) {
+            return;
+        }
+
         LOG.info("Starting earthquake data fetch");
 
         try {
             earthquakeService.fetchAndStoreEarthquakes();
             dataFreshnessService.recordSuccess("usgs-earthquake");
+            adaptivePollingService.complete("usgs-earthquake");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "usgs-earthquake", "result", "success").increment();
             LOG.info("Earthquake data fetch completed");
 
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "usgs-earthquake", "result", "failure").increment();
+            adaptivePollingService.fail("usgs-earthquake");
             LOG.error("Error in earthquake scheduler", e);
         }
     }
 
     /**
-     * Fetch PIREPs every 10 minutes
+     * Fetch PIREPs (adaptive, 5-30 minutes)
      */
-    @Scheduled(cron = "0 */10 * * * ?", identity = "pirep-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "pirep-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchPireps() {
         if (!pirepsEnabled) {
             LOG.debug("PIREP scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("awc-pireps")) {
+            return;
+        }
+
         LOG.info("Starting PIREP data fetch");
         try {
             pirepService.fetchAndStorePireps();
             dataFreshnessService.recordSuccess("awc-pireps");
+            adaptivePollingService.complete("awc-pireps");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-pireps", "result", "success").increment();
             LOG.info("PIREP data fetch completed");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-pireps", "result", "failure").increment();
+            adaptivePollingService.fail("awc-pireps");
             LOG.error("Error in PIREP scheduler", e);
         }
     }
 
     /**
-     * Fetch SIGMETs/AIRMETs every 15 minutes
+     * Fetch SIGMETs/AIRMETs (adaptive, 5-30 minutes)
      */
-    @Scheduled(cron = "0 */15 * * * ?", identity = "sigmet-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "sigmet-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchSigmets() {
         if (!sigmetsEnabled) {
             LOG.debug("SIGMET scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("awc-sigmets")) {
+            return;
+        }
+
         LOG.info("Starting SIGMET/AIRMET data fetch (domestic + international)");
         try {
             sigmetService.deactivateExpired();
             sigmetService.fetchAndStoreSigmets();
             sigmetService.fetchAndStoreInternationalSigmets();
             dataFreshnessService.recordSuccess("awc-sigmets");
+            adaptivePollingService.complete("awc-sigmets");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-sigmets", "result", "success").increment();
             LOG.info("SIGMET/AIRMET data fetch completed (domestic + international)");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-sigmets", "result", "failure").increment();
+            adaptivePollingService.fail("awc-sigmets");
             LOG.error("Error in SIGMET scheduler", e);
         }
     }
 
     /**
-     * Fetch FAA airport delays every 5 minutes
+     * Fetch FAA airport delays (adaptive, 2-15 minutes)
      */
-    @Scheduled(cron = "0 */5 * * * ?", identity = "airport-delay-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "airport-delay-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchAirportDelays() {
         if (!delaysEnabled) {
             LOG.debug("Airport delay scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("faa-delays")) {
+            return;
+        }
+
         LOG.info("Starting airport delay data fetch");
         try {
             airportDelayService.fetchAndStoreDelays();
             dataFreshnessService.recordSuccess("faa-delays");
+            adaptivePollingService.complete("faa-delays");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "faa-delays", "result", "success").increment();
             LOG.info("Airport delay data fetch completed");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "faa-delays", "result", "failure").increment();
+            adaptivePollingService.fail("faa-delays");
             LOG.error("Error in airport delay scheduler", e);
         }
     }
 
     /**
-     * Fetch CWAs every 10 minutes (short-lived advisories)
+     * Fetch CWAs (adaptive, 5-30 minutes; short-lived advisories)
      */
-    @Scheduled(cron = "0 */10 * * * ?", identity = "cwa-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "cwa-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchCwas() {
         if (!cwasEnabled) {
             LOG.debug("CWA scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("awc-cwas")) {
+            return;
+        }
+
         LOG.info("Starting CWA data fetch");
         try {
             cwaService.deactivateExpired();
             cwaService.fetchAndStoreCwas();
             dataFreshnessService.recordSuccess("awc-cwas");
+            adaptivePollingService.complete("awc-cwas");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-cwas", "result", "success").increment();
             LOG.info("CWA data fetch completed");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-cwas", "result", "failure").increment();
+            adaptivePollingService.fail("awc-cwas");
             LOG.error("Error in CWA scheduler", e);
         }
     }
 
     /**
-     * Fetch TFRs every 15 minutes
+     * Fetch TFRs (adaptive, 10-60 minutes)
      */
-    @Scheduled(cron = "0 */15 * * * ?", identity = "tfr-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "tfr-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchTfrs() {
         if (!tfrsEnabled) {
             LOG.debug("TFR scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("faa-tfrs")) {
+            return;
+        }
+
         LOG.info("Starting TFR data fetch");
         try {
             tfrService.fetchAndStoreTfrs();
             dataFreshnessService.recordSuccess("faa-tfrs");
+            adaptivePollingService.complete("faa-tfrs");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "faa-tfrs", "result", "success").increment();
             LOG.info("TFR data fetch completed");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "faa-tfrs", "result", "failure").increment();
+            adaptivePollingService.fail("faa-tfrs");
             LOG.error("Error in TFR scheduler", e);
         }
     }
 
     /**
-     * Fetch winds/temps aloft every 6 hours (forecast product, updated 4x daily)
+     * Fetch winds/temps aloft (adaptive, 30 minutes-6 hours; forecast product, updated 4x daily)
      */
-    @Scheduled(cron = "0 0 */6 * * ?", identity = "winds-aloft-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "winds-aloft-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchWindsAloft() {
         if (!windsAloftEnabled) {
             LOG.debug("Winds aloft scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("awc-winds-aloft")) {
+            return;
+        }
+
         LOG.info("Starting winds aloft data fetch");
         try {
             windsAloftService.fetchAndStoreWinds();
             dataFreshnessService.recordSuccess("awc-winds-aloft");
+            adaptivePollingService.complete("awc-winds-aloft");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-winds-aloft", "result", "success").increment();
             LOG.info("Winds aloft data fetch completed");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-winds-aloft", "result", "failure").increment();
+            adaptivePollingService.fail("awc-winds-aloft");
             LOG.error("Error in winds aloft scheduler", e);
         }
     }
 
     /**
-     * Fetch FAA ground stops every 5 minutes
+     * Fetch FAA ground stops (adaptive, 2-15 minutes)
      */
-    @Scheduled(cron = "0 */5 * * * ?", identity = "ground-stop-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "ground-stop-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchGroundStops() {
         if (!groundStopsEnabled) {
             LOG.debug("Ground stop scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("faa-ground-stops")) {
+            return;
+        }
+
         LOG.info("Starting ground stop data fetch");
         try {
             groundStopService.fetchAndStoreGroundStops();
             dataFreshnessService.recordSuccess("faa-ground-stops");
+            adaptivePollingService.complete("faa-ground-stops");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "faa-ground-stops", "result", "success").increment();
             LOG.info("Ground stop data fetch completed");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "faa-ground-stops", "result", "failure").increment();
+            adaptivePollingService.fail("faa-ground-stops");
             LOG.error("Error in ground stop scheduler", e);
         }
     }
 
     /**
-     * Fetch volcanic ash advisories every 15 minutes
+     * Fetch volcanic ash advisories (adaptive, 10-60 minutes)
      */
-    @Scheduled(cron = "0 */15 * * * ?", identity = "volcanic-ash-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "volcanic-ash-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchVolcanicAsh() {
         if (!volcanicAshEnabled) {
             LOG.debug("Volcanic ash scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("awc-volcanic-ash")) {
+            return;
+        }
+
         LOG.info("Starting volcanic ash advisory fetch");
         try {
             volcanicAshService.deactivateExpired();
             volcanicAshService.fetchAndStoreAdvisories();
             dataFreshnessService.recordSuccess("awc-volcanic-ash");
+            adaptivePollingService.complete("awc-volcanic-ash");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-volcanic-ash", "result", "success").increment();
             LOG.info("Volcanic ash advisory fetch completed");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "awc-volcanic-ash", "result", "failure").increment();
+            adaptivePollingService.fail("awc-volcanic-ash");
             LOG.error("Error in volcanic ash scheduler", e);
         }
     }
 
     /**
-     * Fetch lightning data every 5 minutes (when enabled)
+     * Fetch lightning data (adaptive, 2-10 minutes, when enabled)
      */
-    @Scheduled(cron = "0 */5 * * * ?", identity = "lightning-fetch")
+    @Scheduled(cron = "0 * * * * ?", identity = "lightning-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void fetchLightning() {
         if (!lightningEnabled) {
             LOG.debug("Lightning scheduler is disabled");
             return;
         }
 
+        if (!adaptivePollingService.shouldPoll("lightning")) {
+            return;
+        }
+
         LOG.info("Starting lightning data fetch");
         try {
             lightningService.deactivateOldStrikes(LocalDateTime.now().minusHours(2));
             lightningService.fetchAndStoreStrikes();
             dataFreshnessService.recordSuccess("lightning");
+            adaptivePollingService.complete("lightning");
             meterRegistry.counter("weather_scheduler_execution_total", "job", "lightning", "result", "success").increment();
             LOG.info("Lightning data fetch completed");
         } catch (Exception e) {
             meterRegistry.counter("weather_scheduler_execution_total", "job", "lightning", "result", "failure").increment();
+            adaptivePollingService.fail("lightning");
             LOG.error("Error in lightning scheduler", e);
         }
     }
 
+    /**
+     * Refresh the space weather snapshot every 5 minutes (Kp, solar wind and alerts fetched in parallel).
+     * Every replica refreshes its own snapshot; only the lease holder records the history row.
+     */
+    @Scheduled(cron = "0 */5 * * * ?", identity = "space-weather-fetch",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void fetchSpaceWeather() {
+        if (!spaceWeatherEnabled) {
+            LOG.debug("Space weather scheduler is disabled");
+            return;
+        }
+
+        LOG.debug("Starting space weather fetch");
+        try {
+            boolean recordHistory = schedulerCursorService.tryLease("space-weather-history", SPACE_WEATHER_LEASE);
+            boolean refreshed = spaceWeatherService.refresh(recordHistory);
+            meterRegistry.counter("weather_scheduler_execution_total", "job", "swpc-space-weather",
+                "result", refreshed ? "success" : "failure").increment();
+        } catch (Exception e) {
+            meterRegistry.counter("weather_scheduler_execution_total", "job", "swpc-space-weather", "result", "failure").increment();
+            LOG.error("Error in space weather scheduler", e);
+        }
+    }
+
+    /**
+     * Precompute sunrise/sunset/twilight tables for all airports shortly after midnight
+     */
+    @Scheduled(cron = "0 5 0 * * ?", identity = "solar-table-precompute",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void precomputeSolarTables() {
+        try {
+            solarDataService.precompute();
+            LOG.debug("Solar tables precomputed");
+        } catch (Exception e) {
+            LOG.error("Error precomputing solar tables", e);
+        }
+    }
+
+    /**
+     * Seal (compress) raw payload archive segments that have been open past their age limit,
+     * so sources that fetch rarely don't keep an uncompressed segment around.
+     */
+    @Scheduled(cron = "0 */10 * * * ?", identity = "raw-archive-seal",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void sealRawArchiveSegments() {
+        try {
+            rawPayloadArchive.sealIdleSegments();
+        } catch (Exception e) {
+            LOG.error("Error sealing raw payload archive segments", e);
+        }
+    }
+
+    /**
+     * Sync the airport catalog with the CSV file weekly (Sunday 3:30 AM).
+     * Only new, changed and removed airports are written.
+     */
+    @Scheduled(cron = "0 30 3 ? * SUN", identity = "airport-catalog-sync",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void syncAirportCatalog() {
+        if (!airportCatalogSyncEnabled) {
+            return;
+        }
+        if (!Files.exists(Paths.get(airportCsvPath))) {
+            LOG.debug("Airport CSV not found at " + airportCsvPath + " - skipping catalog sync");
+            return;
+        }
+        try {
+            AirportCsvLoader.SyncResult result = airportCsvLoader.syncAirportsFromCsv(airportCsvPath);
+            LOG.info("Airport catalog sync: " + result.inserted() + " inserted, " + result.updated()
+                + " updated, " + result.retired() + " retired");
+        } catch (Exception e) {
+            LOG.error("Error syncing airport catalog", e);
+        }
+    }
+
+    /**
+     * Recount the /api/status/data counters exactly on the lease holder, which publishes them; the
+     * other replicas adopt what it published. Between runs they are maintained from ingest.
+     */
+    @Scheduled(cron = "0 */5 * * * ?", identity = "data-count-reconcile",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void reconcileDataCounts() {
+        try {
+            if (schedulerCursorService.tryLease("data-count-reconcile", DATA_COUNT_LEASE)) {
+                dataCountService.reconcile();
+            } else {
+                dataCountService.adoptPublished();
+            }
+        } catch (Exception e) {
+            LOG.error("Error reconciling data counts", e);
+        }
+    }
+
     /**
      * Clean up old forecast data daily at 2 AM.
      * Guards against data starvation: only cleans up if fresh data exists.
      */
-    @Scheduled(cron = "0 0 2 * * ?", identity = "cleanup-old-data")
+    @Scheduled(cron = "0 0 2 * * ?", identity = "cleanup-old-data",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
     public void cleanupOldData() {
         LOG.info("Starting cleanup of old weather data");
 
@@ -773,6 +962,12 @@ public class WeatherDataScheduler {
             volcanicAshService.deactivateExpired();
             volcanicAshService.deactivateOldEntries(sevenDaysAgo);
             lightningService.deactivateOldStrikes(sevenDaysAgo);
+            spaceWeatherService.deleteHistoryOlderThan(LocalDateTime.now().minusDays(30));
+            rawPayloadArchive.deleteOlderThan(System.currentTimeMillis() - archiveRetentionDays * 86_400_000L);
+            changeLog.prune(LocalDateTime.now().minusHours(changeRetentionHours));
+            // Retention deactivates rows the ingest-maintained counts and ETags don't see
+            dataCountService.reconcile();
+            datasetVersions.bumpAll();
 
             LOG.info("Old data cleanup completed");
 
@@ -781,10 +976,54 @@ public class WeatherDataScheduler {
         }
     }
 
-    private boolean isHurricaneSeason() {
-        int month = LocalDateTime.now().getMonthValue();
-        // Atlantic hurricane season: June 1 - November 30
-        return month >= 6 && month <= 11;
+    /**
+     * Lease this instance's share of the rotation partitions for a job and collect the next
+     * window from each, splitting the batch size evenly across held partitions.
+     */
+    private List<LocationEntity> leaseBatch(String cursorName, Duration leaseDuration, List<LocationEntity> items,
+                                            int batchSize, Map<Integer, Integer> nextPositions) {
+        List<SchedulerCursorEntity> leases = schedulerCursorService.acquire(cursorName, leaseDuration);
+        if (leases.isEmpty()) {
+            return List.of();
+        }
+
+        int perPartition = (batchSize + leases.size() - 1) / leases.size();
+        List<LocationEntity> batch = new ArrayList<>();
+        for (SchedulerCursorEntity lease : leases) {
+            List<LocationEntity> slice = schedulerCursorService.slice(items, lease.partitionId);
+            if (slice.isEmpty()) {
+                continue;
+            }
+            int start = lease.position >= slice.size() ? 0 : lease.position;
+            int end = Math.min(start + perPartition, slice.size());
+            batch.addAll(slice.subList(start, end));
+            nextPositions.put(lease.partitionId, end >= slice.size() ? 0 : end);
+        }
+        return batch;
+    }
+
+    private void advanceCursors(String cursorName, Map<Integer, Integer> nextPositions) {
+        nextPositions.forEach((partitionId, position) ->
+            schedulerCursorService.advance(cursorName, partitionId, position));
+    }
+
+    /**
+     * Plan one leased airport partition, loading and persisting its medium/small tier positions.
+     */
+    private List<String> planAirportPartition(int partitionId, List<LocationEntity> airports, int budget) {
+        Map<MetarRefreshPlanner.Tier, Integer> tierCursors = new EnumMap<>(MetarRefreshPlanner.Tier.class);
+        for (MetarRefreshPlanner.Tier tier : ROTATING_TIERS) {
+            tierCursors.put(tier, schedulerCursorService.getPosition("aviation-metar-" + tier.label(), partitionId));
+        }
+
+        List<String> codes = metarRefreshPlanner.planCycle("partition-" + partitionId,
+            schedulerCursorService.slice(airports, partitionId), budget, tierCursors);
+
+        for (MetarRefreshPlanner.Tier tier : ROTATING_TIERS) {
+            schedulerCursorService.savePosition("aviation-metar-" + tier.label(), partitionId, tierCursors.get(tier),
+                "aviation-metar");
+        }
+        return codes;
     }
 
     private int[] parallelProcess(List<LocationEntity> items,
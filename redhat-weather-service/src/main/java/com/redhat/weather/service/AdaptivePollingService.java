@@ -0,0 +1,309 @@
+package com.redhat.weather.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Change-driven polling cadence for upstream sources.
+ *
+ * Scheduled jobs tick frequently and ask {@link #shouldPoll(String)} whether their source is due.
+ * Services report the payloads they fetched via {@link #observe(String, String, Object)}, and the
+ * scheduler closes the cycle with {@link #complete(String)}. Each source learns how often its
+ * content actually changes (EWMA of observed change intervals), polls quickly around the expected
+ * next change or a known issuance window, and backs off while nothing changes.
+ */
+@ApplicationScoped
+public class AdaptivePollingService {
+
+    private static final Logger LOG = Logger.getLogger(AdaptivePollingService.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final double EWMA_WEIGHT = 0.3;
+    private static final double BACKOFF_FACTOR = 1.5;
+
+    private static final Map<String, PollingPolicy> DEFAULT_POLICIES = Map.ofEntries(
+        Map.entry("noaa-forecast", PollingPolicy.fixed(Duration.ofMinutes(30))),
+        Map.entry("openweather-forecast", PollingPolicy.fixed(Duration.ofHours(2))),
+        // Routine METARs are issued just before the top of the hour (~:53)
+        Map.entry("aviation-metar", new PollingPolicy(Duration.ofMinutes(10), Duration.ofMinutes(30),
+            Duration.ofMinutes(30), 53, Duration.ofMinutes(3), Duration.ofMinutes(15))),
+        Map.entry("nhc-hurricane", PollingPolicy.adaptive(Duration.ofMinutes(30), Duration.ofHours(1), Duration.ofHours(3))),
+        Map.entry("noaa-alerts", PollingPolicy.adaptive(Duration.ofMinutes(5), Duration.ofMinutes(15), Duration.ofMinutes(30))),
+        Map.entry("usgs-earthquake", PollingPolicy.adaptive(Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofMinutes(30))),
+        Map.entry("awc-pireps", PollingPolicy.adaptive(Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofMinutes(30))),
+        Map.entry("awc-sigmets", PollingPolicy.adaptive(Duration.ofMinutes(5), Duration.ofMinutes(15), Duration.ofMinutes(30))),
+        Map.entry("faa-delays", PollingPolicy.adaptive(Duration.ofMinutes(2), Duration.ofMinutes(5), Duration.ofMinutes(15))),
+        Map.entry("awc-cwas", PollingPolicy.adaptive(Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofMinutes(30))),
+        Map.entry("faa-tfrs", PollingPolicy.adaptive(Duration.ofMinutes(10), Duration.ofMinutes(15), Duration.ofHours(1))),
+        Map.entry("awc-winds-aloft", PollingPolicy.adaptive(Duration.ofMinutes(30), Duration.ofHours(1), Duration.ofHours(6))),
+        Map.entry("faa-ground-stops", PollingPolicy.adaptive(Duration.ofMinutes(2), Duration.ofMinutes(5), Duration.ofMinutes(15))),
+        Map.entry("awc-volcanic-ash", PollingPolicy.adaptive(Duration.ofMinutes(10), Duration.ofMinutes(15), Duration.ofHours(1))),
+        Map.entry("lightning", PollingPolicy.adaptive(Duration.ofMinutes(2), Duration.ofMinutes(5), Duration.ofMinutes(10)))
+    );
+
+    private static final PollingPolicy FALLBACK_POLICY = PollingPolicy.fixed(Duration.ofMinutes(15));
+
+    private final Map<String, SourceState> states = new ConcurrentHashMap<>();
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "weather.scheduler.adaptive.enabled", defaultValue = "true")
+    boolean adaptiveEnabled;
+
+    /**
+     * Claim a poll for the given source if it is due. Returns true at most once per interval,
+     * so overlapping scheduler ticks never poll the same source twice.
+     */
+    public boolean shouldPoll(String source) {
+        return shouldPoll(source, LocalDateTime.now());
+    }
+
+    boolean shouldPoll(String source, LocalDateTime now) {
+        SourceState state = stateFor(source);
+        PollingPolicy policy = policyFor(source);
+        synchronized (state) {
+            if (state.lastPoll != null) {
+                Duration sinceLastPoll = Duration.between(state.lastPoll, now);
+                Duration required = adaptiveEnabled && policy.inIssuanceWindow(now)
+                    ? policy.minInterval
+                    : state.currentInterval;
+                if (sinceLastPoll.compareTo(required) < 0) {
+                    return false;
+                }
+            }
+            state.lastPoll = now;
+            state.changedThisCycle = false;
+            state.observedThisCycle = false;
+            return true;
+        }
+    }
+
+    /**
+     * Record an upstream payload for a source. Payloads are fingerprinted by content hash; the
+     * part name distinguishes multiple upstream calls made by one job (e.g. domestic and
+     * international SIGMETs).
+     *
+     * @return true if the payload differs from the previous one seen for this source/part
+     */
+    public boolean observe(String source, String part, Object payload) {
+        String hash = fingerprint(payload);
+        SourceState state = stateFor(source);
+        synchronized (state) {
+            String previous = state.partHashes.put(part, hash);
+            boolean changed = previous == null || !previous.equals(hash);
+            state.observedThisCycle = true;
+            state.changedThisCycle |= changed;
+            meterRegistry.counter("weather_upstream_poll_total",
+                "source", source, "changed", String.valueOf(changed)).increment();
+            return changed;
+        }
+    }
+
+    /**
+     * Close a successful poll cycle and compute the interval until the next poll.
+     */
+    public void complete(String source) {
+        complete(source, LocalDateTime.now());
+    }
+
+    void complete(String source, LocalDateTime now) {
+        SourceState state = stateFor(source);
+        PollingPolicy policy = policyFor(source);
+        synchronized (state) {
+            if (!adaptiveEnabled || policy.isFixed() || !state.observedThisCycle) {
+                state.currentInterval = policy.baseInterval;
+                return;
+            }
+
+            if (state.changedThisCycle) {
+                if (state.lastChange != null) {
+                    double observedSeconds = Duration.between(state.lastChange, now).toSeconds();
+                    state.ewmaChangeSeconds = state.ewmaChangeSeconds == 0
+                        ? observedSeconds
+                        : EWMA_WEIGHT * observedSeconds + (1 - EWMA_WEIGHT) * state.ewmaChangeSeconds;
+                }
+                state.lastChange = now;
+                state.unchangedStreak = 0;
+            } else {
+                state.unchangedStreak++;
+            }
+
+            state.currentInterval = nextInterval(state, policy, now);
+            LOG.debug("Next poll for " + source + " in " + state.currentInterval.toMinutes() + " min"
+                + " (changed=" + state.changedThisCycle + ", learnedCadenceSec=" + Math.round(state.ewmaChangeSeconds) + ")");
+        }
+    }
+
+    /**
+     * A failed poll keeps the source on its base cadence, never faster, so a struggling
+     * upstream is not hammered.
+     */
+    public void fail(String source) {
+        SourceState state = stateFor(source);
+        PollingPolicy policy = policyFor(source);
+        synchronized (state) {
+            state.currentInterval = clamp(state.currentInterval.compareTo(policy.baseInterval) > 0
+                ? state.currentInterval : policy.baseInterval, policy);
+        }
+    }
+
+    /**
+     * Forget what was learned about a source: it restarts on its base interval with no payloads seen.
+     */
+    void reset(String source) {
+        SourceState state = stateFor(source);
+        synchronized (state) {
+            state.partHashes.clear();
+            state.lastPoll = null;
+            state.lastChange = null;
+            state.currentInterval = policyFor(source).baseInterval;
+            state.ewmaChangeSeconds = 0;
+            state.unchangedStreak = 0;
+            state.observedThisCycle = false;
+            state.changedThisCycle = false;
+        }
+    }
+
+    public Duration getCurrentInterval(String source) {
+        SourceState state = states.get(source);
+        return state != null ? state.currentInterval : policyFor(source).baseInterval;
+    }
+
+    public Map<String, Object> getCadenceSnapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        states.forEach((source, state) -> {
+            snapshot.put(source + ".intervalMinutes", state.currentInterval.toMinutes());
+            snapshot.put(source + ".learnedCadenceMinutes", Math.round(state.ewmaChangeSeconds / 60));
+        });
+        return snapshot;
+    }
+
+    private Duration nextInterval(SourceState state, PollingPolicy policy, LocalDateTime now) {
+        if (state.ewmaChangeSeconds == 0) {
+            // Cadence not learned yet: stay on base after a change, back off while unchanged
+            return state.changedThisCycle
+                ? policy.baseInterval
+                : clamp(multiply(state.currentInterval, BACKOFF_FACTOR), policy);
+        }
+
+        LocalDateTime expectedChange = state.lastChange.plusSeconds(Math.round(state.ewmaChangeSeconds));
+        Duration remaining = Duration.between(now, expectedChange);
+        if (!remaining.isNegative() && !remaining.isZero()) {
+            // Halve the distance to the expected change so we land shortly after it
+            return clamp(remaining.dividedBy(2), policy);
+        }
+
+        // Overdue: poll fast at first, then back off exponentially if the source stays quiet
+        int overdueStreak = Math.min(state.unchangedStreak, 16);
+        return clamp(multiply(policy.minInterval, Math.pow(BACKOFF_FACTOR, overdueStreak)), policy);
+    }
+
+    private SourceState stateFor(String source) {
+        return states.computeIfAbsent(source, s -> {
+            SourceState state = new SourceState(policyFor(s).baseInterval);
+            meterRegistry.gauge("weather_scheduler_poll_interval_seconds", Tags.of("source", s), state,
+                st -> st.currentInterval.toSeconds());
+            return state;
+        });
+    }
+
+    private PollingPolicy policyFor(String source) {
+        return DEFAULT_POLICIES.getOrDefault(source, FALLBACK_POLICY);
+    }
+
+    private static Duration clamp(Duration interval, PollingPolicy policy) {
+        if (interval.compareTo(policy.minInterval) < 0) return policy.minInterval;
+        if (interval.compareTo(policy.maxInterval) > 0) return policy.maxInterval;
+        return interval;
+    }
+
+    private static Duration multiply(Duration duration, double factor) {
+        return Duration.ofSeconds(Math.round(duration.toSeconds() * factor));
+    }
+
+    private static String fingerprint(Object payload) {
+        try {
+            byte[] bytes = payload instanceof String s
+                ? s.getBytes(StandardCharsets.UTF_8)
+                : objectMapper.writeValueAsBytes(payload);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (Exception e) {
+            // Unhashable payloads always count as changed
+            return String.valueOf(System.nanoTime());
+        }
+    }
+
+    /**
+     * Polling bounds for a source. An optional issuance window (minute of hour +/- offsets)
+     * forces polling at the minimum interval while new products are expected.
+     */
+    static final class PollingPolicy {
+        final Duration minInterval;
+        final Duration baseInterval;
+        final Duration maxInterval;
+        final int issuanceMinute;
+        final Duration windowBefore;
+        final Duration windowAfter;
+
+        PollingPolicy(Duration minInterval, Duration baseInterval, Duration maxInterval,
+                      int issuanceMinute, Duration windowBefore, Duration windowAfter) {
+            this.minInterval = minInterval;
+            this.baseInterval = baseInterval;
+            this.maxInterval = maxInterval;
+            this.issuanceMinute = issuanceMinute;
+            this.windowBefore = windowBefore;
+            this.windowAfter = windowAfter;
+        }
+
+        static PollingPolicy fixed(Duration interval) {
+            return new PollingPolicy(interval, interval, interval, -1, Duration.ZERO, Duration.ZERO);
+        }
+
+        static PollingPolicy adaptive(Duration min, Duration base, Duration max) {
+            return new PollingPolicy(min, base, max, -1, Duration.ZERO, Duration.ZERO);
+        }
+
+        boolean isFixed() {
+            return minInterval.equals(maxInterval);
+        }
+
+        boolean inIssuanceWindow(LocalDateTime now) {
+            if (issuanceMinute < 0) return false;
+            int minuteOfHour = now.getMinute();
+            // Distance from the issuance minute, wrapping around the hour
+            int after = Math.floorMod(minuteOfHour - issuanceMinute, 60);
+            int before = Math.floorMod(issuanceMinute - minuteOfHour, 60);
+            return after < windowAfter.toMinutes() || before <= windowBefore.toMinutes();
+        }
+    }
+
+    private static final class SourceState {
+        final Map<String, String> partHashes = new HashMap<>();
+        LocalDateTime lastPoll;
+        LocalDateTime lastChange;
+        Duration currentInterval;
+        double ewmaChangeSeconds;
+        int unchangedStreak;
+        boolean observedThisCycle;
+        boolean changedThisCycle;
+
+        SourceState(Duration initialInterval) {
+            this.currentInterval = initialInterval;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.redhat.weather.service;
+
+/**
+ * Fired by {@link AirportCsvLoader} when a load or sync changed the airport catalog.
+ * Observers holding location caches or in-memory airport indexes rebuild them; observe with
+ * {@code TransactionPhase.AFTER_SUCCESS} so rebuilds see the committed rows.
+ */
+public record AirportCatalogChangedEvent(int inserted, int updated, int retired) {
+}
@@ -4,18 +4,23 @@ import com.redhat.weather.domain.entity.LocationEntity;
 import com.redhat.weather.domain.repository.LocationRepository;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class AirportCsvLoader {
@@ -23,90 +28,128 @@ public class AirportCsvLoader {
     @Inject
     LocationRepository locationRepository;
 
+    @Inject
+    Event<AirportCatalogChangedEvent> catalogChanged;
+
+    private static final int MAX_LINE_LENGTH = 10_000;
+    private static final double MIN_STAGED_FRACTION_FOR_RETIRE = 0.5;
+
     /**
      * Load airports from CSV file
      * Filters for airports with ICAO codes (required for METAR/TAF weather data)
      *
+     * Single pass: valid rows are streamed with PostgreSQL COPY into a temp table as the file is
+     * parsed, then merged into locations with one INSERT ... ON CONFLICT (airport_code).
+     *
      * @param csvFilePath Path to the airports.csv file
      * @return Number of airports loaded
      */
-    private static final int MAX_LINE_LENGTH = 10_000;
-
     @Transactional
     public int loadAirportsFromCsv(String csvFilePath) {
         Log.infof("Starting airport CSV import from: %s", csvFilePath);
 
-        Path path = Paths.get(csvFilePath);
-        if (!Files.exists(path)) {
-            Log.errorf("CSV file not found: %s", csvFilePath);
+        long start = System.nanoTime();
+        StagingRowReader rows = stage(csvFilePath);
+        if (rows == null) {
             return 0;
         }
+        int loadedCount = locationRepository.mergeAirportStaging();
 
-        int totalCount = 0;
-        int loadedCount = 0;
-        int skippedCount = 0;
-        List<LocationEntity> batch = new ArrayList<>();
-        final int BATCH_SIZE = 100;
+        long elapsedMs = elapsedMs(start);
+        Log.infof("Airport CSV import complete. Total rows: %d, Staged: %d, Loaded: %d, Skipped: %d in %d ms (%d rows/s)",
+                  rows.totalCount, rows.stagedCount, loadedCount, rows.totalCount - loadedCount, elapsedMs,
+                  rows.totalCount * 1000L / elapsedMs);
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(csvFilePath))) {
-            // Skip header line
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                Log.error("CSV file is empty");
-                return 0;
-            }
+        if (loadedCount > 0) {
+            catalogChanged.fire(new AirportCatalogChangedEvent(loadedCount, 0, 0));
+        }
+        return loadedCount;
+    }
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                totalCount++;
+    /**
+     * Incrementally sync the airport catalog with the CSV file
+     *
+     * Each staged row is hashed and compared with the stored hash, so only new, changed and
+     * removed airports are written. Removed airports are retired rather than deleted, keeping
+     * their forecast and METAR history. Caches are invalidated only if something changed.
+     *
+     * @param csvFilePath Path to the airports.csv file
+     * @return Counts of inserted, updated and retired airports
+     */
+    @Transactional
+    public SyncResult syncAirportsFromCsv(String csvFilePath) {
+        Log.infof("Starting airport catalog sync from: %s", csvFilePath);
 
-                if (line.length() > MAX_LINE_LENGTH) {
-                    Log.warnf("Skipping oversized line %d (%d chars)", totalCount, line.length());
-                    skippedCount++;
-                    continue;
-                }
+        long start = System.nanoTime();
+        StagingRowReader rows = stage(csvFilePath);
+        if (rows == null) {
+            return SyncResult.UNCHANGED;
+        }
 
-                try {
-                    LocationEntity airport = parseCsvLine(line);
+        int updated = locationRepository.updateChangedFromAirportStaging();
+        int inserted = locationRepository.mergeAirportStaging();
+        int retired = 0;
+        long catalogSize = locationRepository.count("retiredAt IS NULL AND sourceHash IS NOT NULL");
+        if (rows.stagedCount >= catalogSize * MIN_STAGED_FRACTION_FOR_RETIRE) {
+            retired = locationRepository.retireMissingFromAirportStaging();
+        } else {
+            // A truncated or partial file must not retire most of the catalog
+            Log.warnf("Skipping airport retirement: only %d rows staged for %d catalog airports",
+                      rows.stagedCount, catalogSize);
+        }
 
-                    // Only load airports with ICAO codes (needed for weather data)
-                    if (airport != null && airport.airportCode != null && !airport.airportCode.isEmpty()) {
-                        // Check if airport already exists
-                        if (locationRepository.findByAirportCode(airport.airportCode).isEmpty()) {
-                            batch.add(airport);
-                            loadedCount++;
-
-                            // Persist in batches for performance
-                            if (batch.size() >= BATCH_SIZE) {
-                                persistBatch(batch);
-                                batch.clear();
-                                Log.infof("Loaded %d airports so far...", loadedCount);
-                            }
-                        } else {
-                            skippedCount++;
-                        }
-                    } else {
-                        skippedCount++;
-                    }
-                } catch (Exception e) {
-                    Log.warnf("Error parsing line %d: %s - Error: %s", totalCount, line, e.getMessage());
-                    skippedCount++;
-                }
-            }
+        SyncResult result = new SyncResult(inserted, updated, retired);
+        Log.infof("Airport catalog sync complete. Total rows: %d, Inserted: %d, Updated: %d, Retired: %d in %d ms",
+                  rows.totalCount, inserted, updated, retired, elapsedMs(start));
 
-            // Persist remaining batch
-            if (!batch.isEmpty()) {
-                persistBatch(batch);
+        if (result.changed()) {
+            catalogChanged.fire(new AirportCatalogChangedEvent(inserted, updated, retired));
+        }
+        return result;
+    }
+
+    /**
+     * Stream the CSV file into the staging table
+     *
+     * @return The drained row reader (for counts), or null if the file is missing or empty
+     */
+    private StagingRowReader stage(String csvFilePath) {
+        Path path = Paths.get(csvFilePath);
+        if (!Files.exists(path)) {
+            Log.errorf("CSV file not found: %s", csvFilePath);
+            return null;
+        }
+
+        try (StagingRowReader rows = new StagingRowReader(Files.newBufferedReader(path))) {
+            // Skip header line
+            if (rows.skipHeader() == null) {
+                Log.error("CSV file is empty");
+                return null;
             }
 
-            Log.infof("Airport CSV import complete. Total rows: %d, Loaded: %d, Skipped: %d",
-                      totalCount, loadedCount, skippedCount);
+            locationRepository.createAirportStaging();
+            rows.stagedCount = locationRepository.copyIntoAirportStaging(rows);
+            return rows;
 
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             Log.errorf(e, "Error reading CSV file: %s", csvFilePath);
+            return null;
         }
+    }
 
-        return loadedCount;
+    private static long elapsedMs(long startNanos) {
+        return Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Outcome of a catalog sync
+     */
+    public record SyncResult(int inserted, int updated, int retired) {
+        static final SyncResult UNCHANGED = new SyncResult(0, 0, 0);
+
+        public boolean changed() {
+            return inserted + updated + retired > 0;
+        }
     }
 
     /**
@@ -150,6 +193,7 @@ public class AirportCsvLoader {
             location.longitude = longitude;
             location.locationType = "airport";
             location.airportCode = icaoCode.trim();
+            location.airportType = type;
             location.country = parseCountryName(isoCountry);
             location.state = parseRegionName(isoRegion, municipality);
 
@@ -225,24 +269,18 @@ public class AirportCsvLoader {
     }
 
     /**
-     * Persist a batch of locations
-     */
-    private void persistBatch(List<LocationEntity> batch) {
-        for (LocationEntity location : batch) {
-            locationRepository.persist(location);
-        }
-    }
-
-    /**
-     * Count how many airports would be loaded (without actually loading)
+     * Fill in airport_type for existing locations loaded before the column existed
+     *
+     * @return Number of locations updated
      */
-    public int countValidAirports(String csvFilePath) {
+    @Transactional
+    public int backfillAirportTypes(String csvFilePath) {
         Path path = Paths.get(csvFilePath);
         if (!Files.exists(path)) {
             return 0;
         }
 
-        int count = 0;
+        Map<String, List<String>> codesByType = new HashMap<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(csvFilePath))) {
             reader.readLine(); // Skip header
 
@@ -252,16 +290,106 @@ public class AirportCsvLoader {
                 try {
                     LocationEntity airport = parseCsvLine(line);
                     if (airport != null && airport.airportCode != null && !airport.airportCode.isEmpty()) {
-                        count++;
+                        codesByType.computeIfAbsent(airport.airportType, t -> new ArrayList<>()).add(airport.airportCode);
                     }
                 } catch (Exception e) {
                     // Skip invalid lines
                 }
             }
         } catch (IOException e) {
-            Log.errorf(e, "Error counting airports in CSV: %s", csvFilePath);
+            Log.errorf(e, "Error reading CSV file for airport type backfill: %s", csvFilePath);
+            return 0;
+        }
+
+        int updated = 0;
+        for (Map.Entry<String, List<String>> entry : codesByType.entrySet()) {
+            updated += locationRepository.updateAirportType(entry.getKey(), entry.getValue());
+        }
+        Log.infof("Backfilled airport type for %d locations", updated);
+        return updated;
+    }
+
+    /**
+     * Quote a value for the COPY csv format
+     */
+    private static void appendCsvField(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Reader that parses airport CSV lines on demand and emits staging rows for COPY,
+     * so the source file is read exactly once and never held in memory.
+     */
+    private final class StagingRowReader extends Reader {
+        private final BufferedReader source;
+        private final StringBuilder pending = new StringBuilder();
+        private int pendingPos;
+        int totalCount;
+        long stagedCount;
+
+        StagingRowReader(BufferedReader source) {
+            this.source = source;
+        }
+
+        String skipHeader() throws IOException {
+            return source.readLine();
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            while (pendingPos >= pending.length()) {
+                pending.setLength(0);
+                pendingPos = 0;
+                if (!nextRow()) {
+                    return -1;
+                }
+            }
+            int count = Math.min(length, pending.length() - pendingPos);
+            pending.getChars(pendingPos, pendingPos + count, buffer, offset);
+            pendingPos += count;
+            return count;
         }
 
-        return count;
+        private boolean nextRow() throws IOException {
+            String line;
+            while ((line = source.readLine()) != null) {
+                totalCount++;
+                if (line.length() > MAX_LINE_LENGTH) {
+                    Log.warnf("Skipping oversized line %d (%d chars)", totalCount, line.length());
+                    continue;
+                }
+                try {
+                    LocationEntity airport = parseCsvLine(line);
+                    // Only load airports with ICAO codes (needed for weather data)
+                    if (airport == null || airport.airportCode == null || airport.airportCode.isEmpty()) {
+                        continue;
+                    }
+                    appendCsvField(pending, airport.name);
+                    pending.append(',').append(airport.latitude.toPlainString());
+                    pending.append(',').append(airport.longitude.toPlainString());
+                    pending.append(',');
+                    appendCsvField(pending, airport.airportCode);
+                    pending.append(',');
+                    appendCsvField(pending, airport.airportType);
+                    pending.append(',');
+                    appendCsvField(pending, airport.state);
+                    pending.append(',');
+                    appendCsvField(pending, airport.country);
+                    pending.append('\n');
+                    return true;
+                } catch (Exception e) {
+                    Log.warnf("Error parsing line %d: %s - Error: %s", totalCount, line, e.getMessage());
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            source.close();
+        }
     }
 }
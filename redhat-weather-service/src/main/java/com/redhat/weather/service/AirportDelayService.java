@@ -28,6 +28,18 @@ public class AirportDelayService {
     @RestClient
     FaaDelayClient faaDelayClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    SnapshotReconciler snapshotReconciler;
+
     public List<AirportDelayEntity> getActiveDelays() {
         return airportDelayRepository.findActiveDelays();
     }
@@ -38,13 +50,13 @@ public class AirportDelayService {
 
     @Transactional
     public void fetchAndStoreDelays() {
+        IngestRun run = ingestInstrumentation.start("delay");
         try {
             String response = faaDelayClient.getAirportStatusList();
+            adaptivePollingService.observe("faa-delays", "status-list", response);
+            run.stage(IngestStage.PARSE);
             JsonNode data = objectMapper.readTree(response);
 
-            // Deactivate all previous entries before storing fresh data
-            airportDelayRepository.deactivateAll();
-
             List<AirportDelayEntity> delays = new ArrayList<>();
 
             // FAA API returns an array of airport delay objects
@@ -57,6 +69,8 @@ public class AirportDelayService {
                 LOG.info("No airport delay data found in FAA response");
                 return;
             }
+            run.records(IngestStage.PARSE, 1, airports.size())
+                .stage(IngestStage.MAP);
 
             for (JsonNode airport : airports) {
                 try {
@@ -71,7 +85,7 @@ public class AirportDelayService {
                     if (delayStatus.isMissingNode() || delayStatus.isNull()) {
                         // Even if no specific delay info, record status
                         AirportDelayEntity entity = new AirportDelayEntity();
-                        entity.delayId = airportCode + "-status-" + LocalDateTime.now().hashCode();
+                        entity.delayId = airportCode + "-status";
                         entity.airportCode = airportCode;
                         entity.airportName = name;
                         entity.delayType = "Status";
@@ -96,14 +110,25 @@ public class AirportDelayService {
                 }
             }
 
-            if (!delays.isEmpty()) {
-                airportDelayRepository.persist(delays);
-                long delayedCount = delays.stream().filter(d -> Boolean.TRUE.equals(d.isDelayed)).count();
-                LOG.info("Stored " + delays.size() + " airport status entries (" + delayedCount + " delayed)");
-            }
+            run.records(IngestStage.MAP, airports.size(), delays.size());
+
+            // The status list is a full snapshot: only new, changed and vanished entries are written
+            run.stage(IngestStage.PERSIST);
+            // Raw payloads are archived only for new and changed entries
+            SnapshotReconciler.Result result = snapshotReconciler.reconcile(
+                "delay", airportDelayRepository, "delayId", delays, delay -> {
+                    delay.rawRef = rawPayloadArchive.append("delay", delay.delayData);
+                    delay.delayData = rawPayloadArchive.inline(delay.rawRef, delay.delayData);
+                });
+            run.records(IngestStage.PERSIST, delays.size(), result.written());
+            long delayedCount = delays.stream().filter(d -> Boolean.TRUE.equals(d.isDelayed)).count();
+            LOG.info("Synced " + delays.size() + " airport status entries (" + delayedCount + " delayed): " + result);
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching airport delays from FAA", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -115,7 +140,9 @@ public class AirportDelayService {
 
     private AirportDelayEntity parseDelayEntry(String airportCode, String name, JsonNode status, boolean hasDelay) {
         AirportDelayEntity entity = new AirportDelayEntity();
-        entity.delayId = airportCode + "-" + status.path("Type").asText("delay") + "-" + LocalDateTime.now().hashCode();
+        // An airport can list several entries of one type (e.g. two programs with different reasons)
+        entity.delayId = airportCode + "-" + status.path("Type").asText("delay") + "-"
+            + SnapshotReconciler.discriminator(status.path("Reason").asText(null));
         entity.airportCode = airportCode;
         entity.airportName = name;
         entity.delayType = status.path("Type").asText(status.path("Reason").asText("Unknown"));
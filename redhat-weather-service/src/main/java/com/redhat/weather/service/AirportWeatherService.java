@@ -8,15 +8,22 @@ import com.redhat.weather.domain.repository.AirportWeatherRepository;
 import com.redhat.weather.domain.repository.LocationRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -24,6 +31,8 @@ public class AirportWeatherService {
 
     private static final Logger LOG = Logger.getLogger(AirportWeatherService.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    // Transaction resource: METARs written in the current transaction, cached when it commits
+    private static final Object PENDING_METARS = new Object();
 
     @Inject
     AirportWeatherRepository airportWeatherRepository;
@@ -35,12 +44,75 @@ public class AirportWeatherService {
     @RestClient
     AviationWeatherClient aviationClient;
 
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @Inject
+    TransactionSynchronizationRegistry txRegistry;
+
+    // Latest active METAR per airport: restored from the database at startup, kept current by this
+    // replica's ingest, and re-checked against the database whenever the metar dataset version has
+    // moved since, because other replicas ingest and archive METARs too. Checking the version on
+    // every lookup keeps the body at least as new as an ETag taken before it.
+    private final Map<String, CachedMetar> latestMetars = new ConcurrentHashMap<>();
+
+    // version: dataset stamp the entry was checked at; null until first checked
+    private record CachedMetar(AirportWeatherEntity metar, String version) {
+    }
+
     public List<AirportWeatherEntity> getAirportWeather(String airportCode) {
         return airportWeatherRepository.findByAirportCode(airportCode);
     }
 
     public Optional<AirportWeatherEntity> getLatestMetar(String airportCode) {
-        return airportWeatherRepository.findLatestMetar(airportCode);
+        CachedMetar cached = latestMetars.get(airportCode);
+        if (cached == null) {
+            return airportWeatherRepository.findLatestMetar(airportCode);
+        }
+        String version = datasetVersions.version("metar");
+        if (version.equals(cached.version())) {
+            return Optional.of(cached.metar());
+        }
+
+        Optional<LocalDateTime> observed = airportWeatherRepository.findLatestMetarObservationTime(airportCode);
+        if (observed.isEmpty()) {
+            // Archived, possibly by another replica's cleanup
+            latestMetars.remove(airportCode, cached);
+            return Optional.empty();
+        }
+        if (observed.get().isAfter(cached.metar().observationTime)) {
+            // Newer observation ingested by another replica
+            latestMetars.remove(airportCode, cached);
+            return airportWeatherRepository.findLatestMetar(airportCode);
+        }
+        latestMetars.replace(airportCode, cached, new CachedMetar(cached.metar(), version));
+        return Optional.of(cached.metar());
+    }
+
+    /**
+     * Drop an airport's cached METAR; the next lookup reads the database.
+     */
+    public void evictLatestMetar(String airportCode) {
+        latestMetars.remove(airportCode);
+    }
+
+    /**
+     * Load the latest METAR per airport fetched since {@code since} into the in-memory cache.
+     *
+     * @return number of airports with a cached METAR
+     */
+    @Transactional
+    public int restoreLatestMetars(LocalDateTime since) {
+        // Read before the rows, so a concurrent ingest makes the entries re-check rather than look current
+        String version = datasetVersions.version("metar");
+        airportWeatherRepository.findLatestMetarsSince(since).forEach(metar -> rememberMetar(metar, version));
+        return latestMetars.size();
     }
 
     public Optional<AirportWeatherEntity> getLatestTaf(String airportCode) {
@@ -96,34 +168,52 @@ public class AirportWeatherService {
     private void fetchMetarForLocation(String airportCode, LocationEntity location) {
         LOG.info("Fetching METAR for airport: " + airportCode);
 
-        List<AviationWeatherClient.MetarResponse> metarResponses = aviationClient.getMETAR(
-            airportCode, "json"
-        );
+        IngestRun run = ingestInstrumentation.start("metar");
+        try {
+            List<AviationWeatherClient.MetarResponse> metarResponses = aviationClient.getMETAR(
+                airportCode, "json"
+            );
 
-        if (metarResponses != null && !metarResponses.isEmpty()) {
-            for (AviationWeatherClient.MetarResponse metar : metarResponses) {
-                storeMetarData(metar, location);
+            if (metarResponses != null && !metarResponses.isEmpty()) {
+                run.records(IngestStage.FETCH, 1, metarResponses.size());
+                for (AviationWeatherClient.MetarResponse metar : metarResponses) {
+                    storeMetarData(metar, location, run);
+                }
+                LOG.info("Stored " + metarResponses.size() + " METAR reports for " + airportCode);
+            } else {
+                LOG.warn("No METAR data available for airport: " + airportCode);
             }
-            LOG.info("Stored " + metarResponses.size() + " METAR reports for " + airportCode);
-        } else {
-            LOG.warn("No METAR data available for airport: " + airportCode);
+        } catch (RuntimeException e) {
+            run.failed(e);
+            throw e;
+        } finally {
+            run.close();
         }
     }
 
     private void fetchTafForLocation(String airportCode, LocationEntity location) {
         LOG.info("Fetching TAF for airport: " + airportCode);
 
-        List<AviationWeatherClient.TafResponse> tafResponses = aviationClient.getTAF(
-            airportCode, "json"
-        );
+        IngestRun run = ingestInstrumentation.start("taf");
+        try {
+            List<AviationWeatherClient.TafResponse> tafResponses = aviationClient.getTAF(
+                airportCode, "json"
+            );
 
-        if (tafResponses != null && !tafResponses.isEmpty()) {
-            for (AviationWeatherClient.TafResponse taf : tafResponses) {
-                storeTafData(taf, location);
+            if (tafResponses != null && !tafResponses.isEmpty()) {
+                run.records(IngestStage.FETCH, 1, tafResponses.size());
+                for (AviationWeatherClient.TafResponse taf : tafResponses) {
+                    storeTafData(taf, location, run);
+                }
+                LOG.info("Stored " + tafResponses.size() + " TAF reports for " + airportCode);
+            } else {
+                LOG.warn("No TAF data available for airport: " + airportCode);
             }
-            LOG.info("Stored " + tafResponses.size() + " TAF reports for " + airportCode);
-        } else {
-            LOG.warn("No TAF data available for airport: " + airportCode);
+        } catch (RuntimeException e) {
+            run.failed(e);
+            throw e;
+        } finally {
+            run.close();
         }
     }
 
@@ -131,51 +221,92 @@ public class AirportWeatherService {
     public void fetchAndStoreAllBatch(List<String> airportCodes) {
         if (airportCodes == null || airportCodes.isEmpty()) return;
 
-        // Build a lookup map: airportCode -> LocationEntity
-        Map<String, LocationEntity> locationMap = airportCodes.stream()
-            .map(code -> locationRepository.findByAirportCode(code))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(Collectors.toMap(loc -> loc.airportCode, loc -> loc, (a, b) -> a));
-
+        Map<String, LocationEntity> locationMap = findLocations(airportCodes);
         if (locationMap.isEmpty()) return;
 
         String ids = String.join(",", locationMap.keySet());
 
         // Batch METAR fetch
-        try {
-            List<AviationWeatherClient.MetarResponse> metarResponses = aviationClient.getMETAR(ids, "json");
-            if (metarResponses != null) {
-                for (AviationWeatherClient.MetarResponse metar : metarResponses) {
-                    LocationEntity loc = metar.icaoId != null ? locationMap.get(metar.icaoId) : null;
-                    if (loc != null) {
-                        storeMetarData(metar, loc);
-                    }
-                }
-                LOG.info("Stored " + metarResponses.size() + " METAR reports for batch of " + locationMap.size() + " airports");
-            }
-        } catch (Exception e) {
-            LOG.error("Error fetching batch METAR for " + ids, e);
-        }
+        storeMetarBatch(locationMap);
 
         // Batch TAF fetch
+        IngestRun tafRun = ingestInstrumentation.start("taf");
         try {
             List<AviationWeatherClient.TafResponse> tafResponses = aviationClient.getTAF(ids, "json");
             if (tafResponses != null) {
+                tafRun.records(IngestStage.FETCH, 1, tafResponses.size());
                 for (AviationWeatherClient.TafResponse taf : tafResponses) {
                     LocationEntity loc = taf.icaoId != null ? locationMap.get(taf.icaoId) : null;
                     if (loc != null) {
-                        storeTafData(taf, loc);
+                        storeTafData(taf, loc, tafRun);
                     }
                 }
                 LOG.info("Stored " + tafResponses.size() + " TAF reports for batch of " + locationMap.size() + " airports");
             }
         } catch (Exception e) {
+            tafRun.failed(e);
             LOG.error("Error fetching batch TAF for " + ids, e);
+        } finally {
+            tafRun.close();
+        }
+    }
+
+    /**
+     * Fetch and store the current METAR for several airports with a single upstream call.
+     *
+     * @return codes of the known airports that were checked upstream
+     * @throws IllegalStateException if the upstream fetch failed, so callers waiting on it see a failure
+     */
+    @Transactional
+    public Set<String> fetchAndStoreMetarBatch(Collection<String> airportCodes) {
+        Map<String, LocationEntity> locationMap = findLocations(airportCodes);
+        if (locationMap.isEmpty()) return Set.of();
+
+        if (!storeMetarBatch(locationMap)) {
+            throw new IllegalStateException("METAR fetch failed for " + locationMap.size() + " airports");
+        }
+        return locationMap.keySet();
+    }
+
+    private Map<String, LocationEntity> findLocations(Collection<String> airportCodes) {
+        // Build a lookup map: airportCode -> LocationEntity
+        return airportCodes.stream()
+            .map(code -> locationRepository.findByAirportCode(code))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(Collectors.toMap(loc -> loc.airportCode, loc -> loc, (a, b) -> a));
+    }
+
+    /**
+     * @return false if the upstream fetch failed
+     */
+    private boolean storeMetarBatch(Map<String, LocationEntity> locationMap) {
+        String ids = String.join(",", locationMap.keySet());
+        IngestRun metarRun = ingestInstrumentation.start("metar");
+        try {
+            List<AviationWeatherClient.MetarResponse> metarResponses = aviationClient.getMETAR(ids, "json");
+            if (metarResponses != null) {
+                metarRun.records(IngestStage.FETCH, 1, metarResponses.size());
+                for (AviationWeatherClient.MetarResponse metar : metarResponses) {
+                    LocationEntity loc = metar.icaoId != null ? locationMap.get(metar.icaoId) : null;
+                    if (loc != null) {
+                        storeMetarData(metar, loc, metarRun);
+                    }
+                }
+                LOG.info("Stored " + metarResponses.size() + " METAR reports for batch of " + locationMap.size() + " airports");
+            }
+            return true;
+        } catch (Exception e) {
+            metarRun.failed(e);
+            LOG.error("Error fetching batch METAR for " + ids, e);
+            return false;
+        } finally {
+            metarRun.close();
         }
     }
 
-    private void storeMetarData(AviationWeatherClient.MetarResponse metar, LocationEntity location) {
+    private void storeMetarData(AviationWeatherClient.MetarResponse metar, LocationEntity location, IngestRun run) {
+        run.stage(IngestStage.MAP);
         AirportWeatherEntity weather = new AirportWeatherEntity();
         weather.location = location;
         weather.airportCode = metar.icaoId != null ? metar.icaoId : location.airportCode;
@@ -205,15 +336,62 @@ public class AirportWeatherService {
 
         // Store full METAR response as structured JSON
         try {
-            weather.metarData = objectMapper.writeValueAsString(metar);
+            String rawPayload = objectMapper.writeValueAsString(metar);
+            weather.rawRef = rawPayloadArchive.append("metar", rawPayload);
+            weather.metarData = rawPayloadArchive.inline(weather.rawRef, rawPayload);
         } catch (Exception e) {
             LOG.warn("Failed to serialize METAR data for " + weather.airportCode);
         }
 
+        run.stage(IngestStage.PERSIST);
         airportWeatherRepository.persist(weather);
+        run.records(IngestStage.MAP, 1, 1).records(IngestStage.PERSIST, 1, 1);
+        rememberAfterCommit(weather);
+    }
+
+    /**
+     * Cache {@code metar} once the ingest transaction commits, so a rolled-back batch never leaves
+     * rows in the cache that no other replica (or dataset version) will ever see.
+     */
+    private void rememberAfterCommit(AirportWeatherEntity metar) {
+        if (txRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            rememberMetar(metar, null);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<AirportWeatherEntity> pending = (List<AirportWeatherEntity>) txRegistry.getResource(PENDING_METARS);
+        if (pending == null) {
+            List<AirportWeatherEntity> written = new ArrayList<>();
+            txRegistry.putResource(PENDING_METARS, written);
+            txRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        // The version this batch committed with isn't known here: checked on first lookup
+                        written.forEach(committed -> rememberMetar(committed, null));
+                    }
+                }
+            });
+            pending = written;
+        }
+        pending.add(metar);
+    }
+
+    private void rememberMetar(AirportWeatherEntity metar, String version) {
+        if (metar.observationTime == null) {
+            return;
+        }
+        latestMetars.merge(metar.airportCode, new CachedMetar(metar, version),
+            (current, candidate) -> candidate.metar().observationTime.isBefore(current.metar().observationTime)
+                ? current : candidate);
     }
 
-    private void storeTafData(AviationWeatherClient.TafResponse taf, LocationEntity location) {
+    private void storeTafData(AviationWeatherClient.TafResponse taf, LocationEntity location, IngestRun run) {
+        run.stage(IngestStage.MAP);
         AirportWeatherEntity weather = new AirportWeatherEntity();
         weather.location = location;
         weather.airportCode = taf.icaoId != null ? taf.icaoId : location.airportCode;
@@ -230,17 +408,22 @@ public class AirportWeatherService {
 
         // Store full TAF response as structured JSON
         try {
-            weather.tafData = objectMapper.writeValueAsString(taf);
+            String rawPayload = objectMapper.writeValueAsString(taf);
+            weather.rawRef = rawPayloadArchive.append("taf", rawPayload);
+            weather.tafData = rawPayloadArchive.inline(weather.rawRef, rawPayload);
         } catch (Exception e) {
             LOG.warn("Failed to serialize TAF data for " + weather.airportCode);
         }
 
+        run.stage(IngestStage.PERSIST);
         airportWeatherRepository.persist(weather);
+        run.records(IngestStage.MAP, 1, 1).records(IngestStage.PERSIST, 1, 1);
     }
 
     @Transactional
     public void deactivateOldReports(LocalDateTime olderThan) {
         long count = airportWeatherRepository.deactivateOldReports(olderThan);
+        latestMetars.values().removeIf(cached -> cached.metar().fetchedAt.isBefore(olderThan));
         LOG.info("Deactivated " + count + " old airport weather reports");
     }
 
@@ -0,0 +1,238 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.repository.AirportDelayRepository;
+import com.redhat.weather.domain.repository.GroundStopRepository;
+import com.redhat.weather.domain.repository.LightningRepository;
+import com.redhat.weather.domain.repository.PirepRepository;
+import com.redhat.weather.domain.repository.SigmetRepository;
+import com.redhat.weather.domain.repository.TfrRepository;
+import com.redhat.weather.domain.repository.WeatherAlertRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Log of row changes to the active datasets, for delta sync ({@code /api/changes}).
+ *
+ * Ingests {@link #record} the ids they inserted, updated or expired into the {@code change_log}
+ * table in their own transaction, so the log is shared by every replica and a change becomes
+ * visible exactly when its row does. A token is a transaction id watermark: a feed returns the
+ * changes of transactions between the client's token and the oldest transaction still running,
+ * all of which have finished, so a change committed late is never skipped. Changes older than
+ * {@code weather.changes.retention-hours} are pruned; a client whose token predates them, or that
+ * would receive more than {@code weather.changes.max-feed-rows} rows, is told to resync. Expiry by
+ * time alone (an alert's expires, the PIREP and lightning recency windows) is not logged: clients
+ * apply those windows themselves.
+ */
+@ApplicationScoped
+public class ChangeLog {
+
+    public enum Op { INSERT, UPDATE, EXPIRE }
+
+    /**
+     * The net change to one row since the client's token; {@code data} is the current row unless expired.
+     */
+    public record Entry(String type, Op op, long id, Object data) {
+    }
+
+    /**
+     * {@code token} is what to send as {@code since} next time. When {@code resync} is true the
+     * changes are empty and the client must reload the full lists first.
+     */
+    public record Feed(String token, boolean resync, List<Entry> changes) {
+    }
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    WeatherAlertRepository weatherAlertRepository;
+
+    @Inject
+    SigmetRepository sigmetRepository;
+
+    @Inject
+    TfrRepository tfrRepository;
+
+    @Inject
+    AirportDelayRepository airportDelayRepository;
+
+    @Inject
+    GroundStopRepository groundStopRepository;
+
+    @Inject
+    PirepRepository pirepRepository;
+
+    @Inject
+    LightningRepository lightningRepository;
+
+    @ConfigProperty(name = "weather.changes.max-feed-rows", defaultValue = "50000")
+    int maxFeedRows;
+
+    // Logged type (the ingest source name) -> where its rows live
+    private final Map<String, PanacheRepositoryBase<? extends PanacheEntityBase, Long>> repositories = new LinkedHashMap<>();
+
+    @PostConstruct
+    void init() {
+        repositories.put("alert", weatherAlertRepository);
+        repositories.put("sigmet", sigmetRepository);
+        repositories.put("tfr", tfrRepository);
+        repositories.put("delay", airportDelayRepository);
+        repositories.put("ground-stop", groundStopRepository);
+        repositories.put("pirep", pirepRepository);
+        repositories.put("lightning", lightningRepository);
+    }
+
+    public Set<String> getTypes() {
+        return repositories.keySet();
+    }
+
+    /**
+     * Log {@code op} on the rows {@code ids} of {@code type} in the current transaction (or a new
+     * one if there is none), so the log commits or rolls back with the rows.
+     */
+    @Transactional
+    public void record(String type, Op op, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO change_log (type, op, row_id) VALUES (?, ?, ?)")) {
+                for (Long id : ids) {
+                    insert.setString(1, type);
+                    insert.setString(2, op.name());
+                    insert.setLong(3, id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+        meterRegistry.counter("weather_change_log_records_total", "type", type, "op", op.name()).increment(ids.size());
+    }
+
+    /**
+     * Changes to {@code types} after {@code since}, collapsed to the latest operation per row, with
+     * the current rows attached. A null, malformed or too old {@code since} yields a resync.
+     */
+    @Transactional
+    public Feed since(String since, Collection<String> types) {
+        for (String type : types) {
+            if (!repositories.containsKey(type)) {
+                throw new IllegalArgumentException("Unknown change type: " + type
+                    + " (valid: " + String.join(", ", repositories.keySet()) + ")");
+            }
+        }
+
+        // Every transaction below this has finished, so its changes are all visible from here on
+        Object[] horizon = (Object[]) entityManager.createNativeQuery(
+                "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint, pruned_through FROM change_log_horizon WHERE id = 1")
+            .getSingleResult();
+        long through = ((Number) horizon[0]).longValue();
+        long prunedThrough = ((Number) horizon[1]).longValue();
+
+        long from = parse(since);
+        if (from < 0 || from < prunedThrough || from > through) {
+            return resync(through);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT type, op, row_id FROM change_log WHERE tx_id >= ?1 AND tx_id < ?2 AND type IN (?3) ORDER BY id DESC")
+            .setParameter(1, from)
+            .setParameter(2, through)
+            .setParameter(3, types)
+            .setMaxResults(maxFeedRows + 1)
+            .getResultList();
+        if (rows.size() > maxFeedRows) {
+            // Cheaper for the client to reload the lists than to apply this many changes
+            return resync(through);
+        }
+        meterRegistry.counter("weather_change_feed_requests_total", "result", "delta").increment();
+
+        // Newest first, so the first op seen per row is its latest
+        Map<String, Map<Long, Op>> latest = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            latest.computeIfAbsent((String) row[0], type -> new LinkedHashMap<>())
+                .putIfAbsent(((Number) row[2]).longValue(), Op.valueOf((String) row[1]));
+        }
+        List<Entry> entries = new ArrayList<>();
+        latest.forEach((type, ops) -> entries.addAll(load(type, ops)));
+        return new Feed(Long.toString(through), false, entries);
+    }
+
+    /**
+     * Delete changes logged before {@code olderThan}; tokens from before them will resync.
+     *
+     * @return changes deleted
+     */
+    @Transactional
+    public int prune(LocalDateTime olderThan) {
+        entityManager.createNativeQuery("UPDATE change_log_horizon SET pruned_through = GREATEST(pruned_through, "
+                + "(SELECT COALESCE(max(tx_id) + 1, 0) FROM change_log WHERE changed_at < ?1)) WHERE id = 1")
+            .setParameter(1, olderThan)
+            .executeUpdate();
+        return entityManager.createNativeQuery("DELETE FROM change_log WHERE changed_at < ?1")
+            .setParameter(1, olderThan)
+            .executeUpdate();
+    }
+
+    private Feed resync(long through) {
+        meterRegistry.counter("weather_change_feed_requests_total", "result", "resync").increment();
+        return new Feed(Long.toString(through), true, List.of());
+    }
+
+    private List<Entry> load(String type, Map<Long, Op> ops) {
+        List<Long> live = ops.entrySet().stream()
+            .filter(op -> op.getValue() != Op.EXPIRE)
+            .map(Map.Entry::getKey)
+            .toList();
+        Map<Long, PanacheEntityBase> rows = new LinkedHashMap<>();
+        if (!live.isEmpty()) {
+            PanacheRepositoryBase<? extends PanacheEntityBase, Long> repository = repositories.get(type);
+            PersistenceUnitUtil units = repository.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+            for (PanacheEntityBase row : repository.list("id IN ?1", live)) {
+                rows.put((Long) units.getIdentifier(row), row);
+            }
+        }
+        List<Entry> entries = new ArrayList<>(ops.size());
+        ops.forEach((id, op) -> {
+            PanacheEntityBase row = rows.get(id);
+            // Deleted since it was logged: report it gone
+            entries.add(op == Op.EXPIRE || row == null ? new Entry(type, Op.EXPIRE, id, null) : new Entry(type, op, id, row));
+        });
+        return entries;
+    }
+
+    // Transaction id watermark in a token, or -1 if it is not one
+    private static long parse(String token) {
+        if (token == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,30 +1,73 @@
 package com.redhat.weather.service;
 
+import com.redhat.weather.domain.entity.ClimateDailyAggregateEntity;
 import com.redhat.weather.domain.entity.LocationEntity;
-import com.redhat.weather.domain.entity.WeatherForecastEntity;
+import com.redhat.weather.domain.repository.ClimateDailyAggregateRepository;
 import com.redhat.weather.domain.repository.LocationRepository;
-import com.redhat.weather.domain.repository.WeatherForecastRepository;
 import com.redhat.weather.dto.ClimateNormalsDTO;
+import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Climate normals from the climate_daily_aggregates rollup table.
+ *
+ * Daily count/sum/min/max per metric are accumulated as forecasts are archived (see
+ * {@link WeatherForecastService#deactivateOldForecasts}), so a 90-day normal folds at most
+ * 90 rows of primitives instead of loading every archived forecast entity.
+ */
 @ApplicationScoped
 public class ClimateNormalsService {
 
     private static final Logger LOG = Logger.getLogger(ClimateNormalsService.class);
+    private static final int NORMALS_DAYS = 90;
+    private static final int MIN_SAMPLES = 10;
+    private static final long BACKFILL_LOCATION_CHUNK = 500;
+    // Held by the replica running the startup backfill; outlives a full rebuild of a large history
+    private static final Duration BACKFILL_LEASE = Duration.ofHours(2);
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
 
     @Inject
     LocationRepository locationRepository;
 
     @Inject
-    WeatherForecastRepository forecastRepository;
+    ClimateDailyAggregateRepository aggregateRepository;
+
+    @Inject
+    SchedulerCursorService schedulerCursorService;
+
+    @ConfigProperty(name = "weather.climate.backfill-on-startup", defaultValue = "true")
+    boolean backfillOnStartup;
+
+    void onStartup(@Observes StartupEvent ev) {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            // Existing history predates the rollup table: build it in the background, on one
+            // replica only, since every replica starts against the same empty table
+            if (aggregateRepository.count() == 0
+                    && schedulerCursorService.tryLease("climate-normals-backfill", BACKFILL_LEASE)) {
+                CompletableFuture.runAsync(this::backfill);
+            }
+        } catch (Exception e) {
+            LOG.warn("Failed to check climate aggregates on startup: " + e.getMessage());
+        }
+    }
 
     public Optional<ClimateNormalsDTO> getClimateNormals(Long locationId) {
         try {
@@ -37,75 +80,54 @@ public class ClimateNormalsService {
             LocationEntity location = locationOpt.get();
             int currentMonth = LocalDateTime.now().getMonthValue();
 
-            // Get historical data for this location (last 90 days)
-            LocalDateTime since = LocalDateTime.now().minusDays(90);
-            List<WeatherForecastEntity> historicalData =
-                forecastRepository.findHistoricalByLocation(locationId, since);
+            List<ClimateDailyAggregateEntity> days =
+                aggregateRepository.findSince(locationId, LocalDate.now().minusDays(NORMALS_DAYS));
+
+            long samples = 0;
+            long tempCount = 0, precipCount = 0, humidityCount = 0, windCount = 0;
+            double tempSum = 0, precipSum = 0, humiditySum = 0, windSum = 0;
+            double minTemp = Double.POSITIVE_INFINITY;
 
-            if (historicalData.size() < 10) {
+            for (ClimateDailyAggregateEntity day : days) {
+                samples += day.sampleCount;
+                tempCount += day.tempCount;
+                tempSum += day.tempSum;
+                if (day.tempMin != null && day.tempMin < minTemp) {
+                    minTemp = day.tempMin;
+                }
+                precipCount += day.precipCount;
+                precipSum += day.precipSum;
+                humidityCount += day.humidityCount;
+                humiditySum += day.humiditySum;
+                windCount += day.windCount;
+                windSum += day.windSum;
+            }
+
+            if (samples < MIN_SAMPLES) {
                 LOG.debug("Insufficient historical data for location " + location.name
-                    + ": " + historicalData.size() + " samples");
+                    + ": " + samples + " samples");
                 return Optional.empty();
             }
 
             ClimateNormalsDTO dto = new ClimateNormalsDTO(locationId, location.name, currentMonth);
 
-            // Compute averages
-            BigDecimal sumHighF = BigDecimal.ZERO;
-            BigDecimal sumLowF = BigDecimal.ZERO;
-            BigDecimal sumPrecip = BigDecimal.ZERO;
-            BigDecimal sumHumidity = BigDecimal.ZERO;
-            BigDecimal sumWind = BigDecimal.ZERO;
-            long tempCount = 0;
-            long precipCount = 0;
-            long humidityCount = 0;
-            long windCount = 0;
-
-            BigDecimal maxTemp = null;
-            BigDecimal minTemp = null;
-
-            for (WeatherForecastEntity forecast : historicalData) {
-                if (forecast.temperatureFahrenheit != null) {
-                    sumHighF = sumHighF.add(forecast.temperatureFahrenheit);
-                    if (maxTemp == null || forecast.temperatureFahrenheit.compareTo(maxTemp) > 0) {
-                        maxTemp = forecast.temperatureFahrenheit;
-                    }
-                    if (minTemp == null || forecast.temperatureFahrenheit.compareTo(minTemp) < 0) {
-                        minTemp = forecast.temperatureFahrenheit;
-                    }
-                    tempCount++;
-                }
-                if (forecast.precipitationProbability != null) {
-                    sumPrecip = sumPrecip.add(BigDecimal.valueOf(forecast.precipitationProbability));
-                    precipCount++;
-                }
-                if (forecast.humidity != null) {
-                    sumHumidity = sumHumidity.add(BigDecimal.valueOf(forecast.humidity));
-                    humidityCount++;
-                }
-                if (forecast.windSpeedMph != null) {
-                    sumWind = sumWind.add(forecast.windSpeedMph);
-                    windCount++;
-                }
-            }
-
             if (tempCount > 0) {
-                dto.avgHighF = sumHighF.divide(BigDecimal.valueOf(tempCount), 1, RoundingMode.HALF_UP);
-                dto.avgLowF = minTemp;
+                dto.avgHighF = round1(tempSum / tempCount);
+                dto.avgLowF = round1(minTemp);
                 dto.avgHighC = fahrenheitToCelsius(dto.avgHighF);
                 dto.avgLowC = fahrenheitToCelsius(dto.avgLowF);
             }
             if (precipCount > 0) {
-                dto.avgPrecipProbability = sumPrecip.divide(BigDecimal.valueOf(precipCount), 1, RoundingMode.HALF_UP);
+                dto.avgPrecipProbability = round1(precipSum / precipCount);
             }
             if (humidityCount > 0) {
-                dto.avgHumidity = sumHumidity.divide(BigDecimal.valueOf(humidityCount), 1, RoundingMode.HALF_UP);
+                dto.avgHumidity = round1(humiditySum / humidityCount);
             }
             if (windCount > 0) {
-                dto.avgWindSpeedMph = sumWind.divide(BigDecimal.valueOf(windCount), 1, RoundingMode.HALF_UP);
+                dto.avgWindSpeedMph = round1(windSum / windCount);
             }
 
-            dto.sampleCount = historicalData.size();
+            dto.sampleCount = samples;
             return Optional.of(dto);
 
         } catch (Exception e) {
@@ -114,6 +136,42 @@ public class ClimateNormalsService {
         }
     }
 
+    /**
+     * Rebuild daily aggregates from all archived forecasts, one chunk of locations per transaction.
+     *
+     * @return number of day rows written, or -1 if a backfill is already running
+     */
+    public long backfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            LOG.info("Climate aggregate backfill already running");
+            return -1;
+        }
+        try {
+            Long maxId = locationRepository.findMaxId();
+            if (maxId == null) {
+                return 0;
+            }
+
+            long start = System.currentTimeMillis();
+            long rows = 0;
+            for (long from = 0; from <= maxId; from += BACKFILL_LOCATION_CHUNK) {
+                rows += aggregateRepository.rebuildForLocations(from, from + BACKFILL_LOCATION_CHUNK - 1);
+            }
+            LOG.info("Climate aggregate backfill completed: " + rows + " location-days in "
+                + (System.currentTimeMillis() - start) + " ms");
+            return rows;
+        } catch (Exception e) {
+            LOG.error("Climate aggregate backfill failed", e);
+            return 0;
+        } finally {
+            backfillRunning.set(false);
+        }
+    }
+
+    private static BigDecimal round1(double value) {
+        return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP);
+    }
+
     private BigDecimal fahrenheitToCelsius(BigDecimal fahrenheit) {
         if (fahrenheit == null) return null;
         return fahrenheit.subtract(BigDecimal.valueOf(32))
@@ -29,6 +29,15 @@ public class CwaService {
     @RestClient
     AviationWeatherClient aviationClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
     public List<CwaEntity> getActiveCwas() {
         return cwaRepository.findActive();
     }
@@ -43,20 +52,30 @@ public class CwaService {
 
     @Transactional
     public void fetchAndStoreCwas() {
+        IngestRun run = ingestInstrumentation.start("cwa");
         try {
             List<AviationWeatherClient.CwaResponse> responses = aviationClient.getCWAs("json");
+            adaptivePollingService.observe("awc-cwas", "cwas", responses);
 
             if (responses == null || responses.isEmpty()) {
                 LOG.info("No CWAs returned from AWC");
                 return;
             }
+            run.records(IngestStage.FETCH, 1, responses.size());
 
             List<CwaEntity> cwas = new ArrayList<>();
+            int duplicates = 0;
 
             for (AviationWeatherClient.CwaResponse resp : responses) {
                 try {
+                    run.stage(IngestStage.MAP);
                     String cwaId = generateCwaId(resp);
-                    if (cwaRepository.existsByCwaId(cwaId)) continue;
+                    run.stage(IngestStage.DEDUP);
+                    if (cwaRepository.existsByCwaId(cwaId)) {
+                        duplicates++;
+                        continue;
+                    }
+                    run.stage(IngestStage.MAP);
 
                     CwaEntity entity = new CwaEntity();
                     entity.cwaId = cwaId;
@@ -69,7 +88,9 @@ public class CwaService {
                     entity.altitudeHighFt = resp.top != null ? resp.top * 100 : null;
                     entity.rawText = resp.cwaText;
                     entity.geojson = buildGeoJson(resp.coords);
-                    entity.cwaData = objectMapper.writeValueAsString(resp);
+                    String rawPayload = objectMapper.writeValueAsString(resp);
+                    entity.rawRef = rawPayloadArchive.append("cwa", rawPayload);
+                    entity.cwaData = rawPayloadArchive.inline(entity.rawRef, rawPayload);
                     entity.fetchedAt = LocalDateTime.now();
 
                     cwas.add(entity);
@@ -78,15 +99,23 @@ public class CwaService {
                 }
             }
 
+            run.records(IngestStage.MAP, responses.size(), cwas.size())
+                .records(IngestStage.DEDUP, cwas.size() + duplicates, cwas.size());
+
             if (!cwas.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 cwaRepository.persist(cwas);
+                run.records(IngestStage.PERSIST, cwas.size(), cwas.size());
                 LOG.info("Stored " + cwas.size() + " new CWAs");
             } else {
                 LOG.info("No new CWAs to store");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching CWAs from AWC", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -0,0 +1,210 @@
+package com.redhat.weather.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Everything the dashboard loads, gathered in one call.
+ *
+ * Each requested section is loaded on its own virtual thread (with its own request context, so its
+ * own session), so a snapshot takes as long as its slowest section rather than the sum. Every
+ * section carries a version token from {@link DatasetVersions}; a client that sends the token it
+ * already has gets the section back without data when nothing changed. A section that fails or
+ * times out is reported with an error instead of failing the snapshot.
+ */
+@ApplicationScoped
+public class DashboardSnapshotService {
+
+    private static final Logger LOG = Logger.getLogger(DashboardSnapshotService.class);
+
+    /**
+     * One section of the snapshot. {@code data} is omitted when {@code changed} is false, i.e. the
+     * client already holds {@code version}; {@code version} is null for sections that always reload.
+     */
+    public record Section(String version, boolean changed, Object data, String error) {
+    }
+
+    private record Source(String[] datasets, int clockSeconds, Supplier<Object> loader) {
+    }
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    WeatherAlertService weatherAlertService;
+
+    @Inject
+    HurricaneService hurricaneService;
+
+    @Inject
+    EarthquakeService earthquakeService;
+
+    @Inject
+    AirportDelayService airportDelayService;
+
+    @Inject
+    GroundStopService groundStopService;
+
+    @Inject
+    SigmetService sigmetService;
+
+    @Inject
+    TfrService tfrService;
+
+    @Inject
+    CwaService cwaService;
+
+    @Inject
+    VolcanicAshService volcanicAshService;
+
+    @Inject
+    PirepService pirepService;
+
+    @Inject
+    LightningService lightningService;
+
+    @Inject
+    SpaceWeatherService spaceWeatherService;
+
+    @Inject
+    DataStatusService dataStatusService;
+
+    @ConfigProperty(name = "weather.dashboard.section-timeout-seconds", defaultValue = "10")
+    int sectionTimeoutSeconds;
+
+    // Section name -> what it is built from; in dashboard order
+    private final Map<String, Source> sources = new LinkedHashMap<>();
+
+    @PostConstruct
+    void init() {
+        // Same datasets and clock periods as the sections' own endpoints
+        sources.put("alerts", new Source(new String[] {"alert"}, 60, weatherAlertService::getActiveAlerts));
+        sources.put("hurricanes", new Source(new String[] {"hurricane"}, 0, hurricaneService::getActiveStorms));
+        sources.put("earthquakes", new Source(new String[] {"earthquake"}, 300, earthquakeService::getRecentEarthquakes));
+        sources.put("delays", new Source(new String[] {"delay"}, 0, airportDelayService::getActiveDelays));
+        sources.put("ground-stops", new Source(new String[] {"ground-stop"}, 0, groundStopService::getActiveGroundStops));
+        sources.put("sigmets", new Source(new String[] {"sigmet"}, 300, sigmetService::getActiveSigmets));
+        sources.put("tfrs", new Source(new String[] {"tfr"}, 0, tfrService::getActiveTfrs));
+        sources.put("cwas", new Source(new String[] {"cwa"}, 300, cwaService::getActiveCwas));
+        sources.put("volcanic-ash", new Source(new String[] {"volcanic-ash"}, 300, volcanicAshService::getActiveAdvisories));
+        sources.put("pireps", new Source(new String[] {"pirep"}, 300, pirepService::getRecentPireps));
+        sources.put("lightning", new Source(new String[] {"lightning"}, 60, lightningService::getRecentStrikes));
+        // The snapshot carries its age, so let clients refresh it at least once a minute
+        sources.put("space-weather", new Source(new String[] {"space-weather"}, 60,
+            () -> spaceWeatherService.getSpaceWeather().orElse(null)));
+        // Built from in-memory counters and timers; cheap, and its ages change every call
+        sources.put("status", new Source(null, 0, dataStatusService::getStatus));
+    }
+
+    public Set<String> getSectionNames() {
+        return sources.keySet();
+    }
+
+    /**
+     * Load {@code sections} concurrently.
+     *
+     * @param known version token the client holds per section; those sections are returned without data if unchanged
+     * @return sections by name, in the order requested
+     * @throws IllegalArgumentException for an unknown section name
+     */
+    public Map<String, Section> snapshot(Collection<String> sections, Map<String, String> known) {
+        for (String name : sections) {
+            if (!sources.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown dashboard section: " + name
+                    + " (valid: " + String.join(", ", sources.keySet()) + ")");
+            }
+        }
+
+        // One lookup for every requested section's versions, taken before loading: a concurrent
+        // ingest can only make the data newer than its version
+        Set<String> datasets = new LinkedHashSet<>();
+        for (String name : sections) {
+            String[] sectionDatasets = sources.get(name).datasets;
+            if (sectionDatasets != null) {
+                datasets.addAll(List.of(sectionDatasets));
+            }
+        }
+        Map<String, Long> versions = datasets.isEmpty() ? Map.of() : datasetVersions.read(datasets);
+
+        Map<String, Section> result = new LinkedHashMap<>();
+        Map<String, Future<Section>> pending = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (String name : sections) {
+                Source source = sources.get(name);
+                String version = source.datasets == null ? null
+                    : DatasetVersions.digest(datasetVersions.stamp(source.datasets, source.clockSeconds, versions));
+                if (version != null && version.equals(known.get(name))) {
+                    result.put(name, new Section(version, false, null, null));
+                    meterRegistry.counter("weather_dashboard_sections_total", "section", name, "result", "unchanged").increment();
+                } else {
+                    result.put(name, null);
+                    pending.put(name, executor.submit(() -> load(name, version, source)));
+                }
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(sectionTimeoutSeconds);
+            pending.forEach((name, future) -> result.put(name, await(name, future, deadline)));
+        } finally {
+            // Not close(): it would wait for timed-out sections, which are cancelled and left to finish on their own
+            executor.shutdown();
+        }
+        return result;
+    }
+
+    private Section load(String name, String version, Source source) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            Section section = new Section(version, true, source.loader.get(), null);
+            meterRegistry.counter("weather_dashboard_sections_total", "section", name, "result", "loaded").increment();
+            return section;
+        } finally {
+            requestContext.terminate();
+        }
+    }
+
+    private Section await(String name, Future<Section> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return failed(name, "timed out");
+        } catch (ExecutionException e) {
+            LOG.warn("Dashboard section " + name + " failed: " + e.getCause().getMessage());
+            return failed(name, "unavailable");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return failed(name, "interrupted");
+        }
+    }
+
+    private Section failed(String name, String error) {
+        meterRegistry.counter("weather_dashboard_sections_total", "section", name, "result", "error").increment();
+        return new Section(null, true, null, error);
+    }
+}
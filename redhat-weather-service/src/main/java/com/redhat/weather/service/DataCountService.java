@@ -0,0 +1,183 @@
+package com.redhat.weather.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Row counts for {@code /api/status/data}, kept in memory instead of counted per request.
+ *
+ * All counts are taken exactly by {@link #reconcile()} in one round trip and published to the
+ * {@code data_counts} table. The scheduler runs it on the one replica holding its lease (and after
+ * retention cleanup); the others {@link #adoptPublished() adopt} the published counts instead of
+ * counting themselves, as does every replica on first use. A replica that saw the airport catalog
+ * change recounts for itself on its next read. In between, forecasts and METARs - append-only until retention -
+ * are kept current by adding the rows each ingest source has committed since the counts were taken,
+ * from the shared totals in {@link IngestWatermarks}. The time-windowed earthquake and hurricane
+ * counts change only at reconcile.
+ */
+@ApplicationScoped
+public class DataCountService {
+
+    private static final Logger LOG = Logger.getLogger(DataCountService.class);
+
+    private static final String[] FORECAST_SOURCES = {"forecast-noaa", "forecast-openweather"};
+    private static final String[] METAR_SOURCES = {"metar"};
+
+    private static final String COUNT_SQL = "SELECT "
+        + "(SELECT count(*) FROM locations WHERE retired_at IS NULL), "
+        + "(SELECT count(*) FROM weather_forecasts WHERE is_active = true), "
+        + "(SELECT count(*) FROM earthquakes WHERE is_active = true AND event_time >= ?1), "
+        + "(SELECT count(*) FROM hurricanes WHERE is_active = true AND status IN ('active', 'Active')), "
+        + "(SELECT count(*) FROM airport_weather WHERE report_type = 'METAR' AND is_active = true)";
+
+    public record Counts(long locations, long activeForecasts, long activeEarthquakes, long activeHurricanes,
+                         long metarReports, LocalDateTime reconciledAt) {
+    }
+
+    // Exact counts plus the ingest rows already included in them
+    private record Base(Counts counts, long forecastRowsWritten, long metarRowsWritten) {
+    }
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    IngestWatermarks ingestWatermarks;
+
+    private volatile Base base;
+    // Set when this replica saw the catalog change: the published counts predate it
+    private volatile boolean recountNeeded;
+
+    public Counts getCounts() {
+        Base current = base;
+        if (current == null || recountNeeded) {
+            current = load();
+        }
+        Counts exact = current.counts;
+        // Another replica's copy of the ingest totals may briefly trail the one the counts were taken with
+        return new Counts(exact.locations,
+            exact.activeForecasts + Math.max(0, rowsWritten(FORECAST_SOURCES) - current.forecastRowsWritten),
+            exact.activeEarthquakes,
+            exact.activeHurricanes,
+            exact.metarReports + Math.max(0, rowsWritten(METAR_SOURCES) - current.metarRowsWritten),
+            exact.reconciledAt);
+    }
+
+    /**
+     * Recount every table exactly, publish the counts to every replica and restart the ingest
+     * deltas from here.
+     */
+    @Transactional
+    public Counts reconcile() {
+        Base recounted = recount();
+        publish(recounted);
+        return recounted.counts;
+    }
+
+    /**
+     * Take the counts last published by any replica, if they are newer than this replica's.
+     *
+     * @return whether there were published counts
+     */
+    public boolean adoptPublished() {
+        Base published = readPublished();
+        if (published == null) {
+            return false;
+        }
+        synchronized (this) {
+            Base current = base;
+            if (!recountNeeded && (current == null || published.counts.reconciledAt.isAfter(current.counts.reconciledAt))) {
+                base = published;
+            }
+        }
+        return true;
+    }
+
+    // First use adopts the published counts; a replica with none to adopt, or that saw the catalog
+    // change, counts for itself until the next published reconcile
+    private synchronized Base load() {
+        if (base == null && !recountNeeded) {
+            adoptPublished();
+        }
+        Base current = base;
+        return current != null && !recountNeeded ? current : recount();
+    }
+
+    private synchronized Base recount() {
+        // Read before counting: rows committed while counting are then counted twice rather than missed
+        long forecastRows = rowsWritten(FORECAST_SOURCES);
+        long metarRows = rowsWritten(METAR_SOURCES);
+        Object[] row = (Object[]) entityManager.createNativeQuery(COUNT_SQL)
+            .setParameter(1, LocalDateTime.now().minusHours(24))
+            .getSingleResult();
+        Counts counts = new Counts(count(row[0]), count(row[1]), count(row[2]), count(row[3]), count(row[4]),
+            LocalDateTime.now());
+        Base recounted = new Base(counts, forecastRows, metarRows);
+        base = recounted;
+        recountNeeded = false;
+        LOG.debug("Reconciled data counts: " + counts);
+        return recounted;
+    }
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) AirportCatalogChangedEvent event) {
+        // Recounted on the next read
+        recountNeeded = true;
+    }
+
+    private void publish(Base published) {
+        Counts counts = published.counts;
+        entityManager.createNativeQuery("INSERT INTO data_counts (id, locations, active_forecasts, active_earthquakes, "
+                + "active_hurricanes, metar_reports, forecast_rows_written, metar_rows_written, reconciled_at) "
+                + "VALUES (1, ?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8) ON CONFLICT (id) DO UPDATE SET "
+                + "locations = EXCLUDED.locations, active_forecasts = EXCLUDED.active_forecasts, "
+                + "active_earthquakes = EXCLUDED.active_earthquakes, active_hurricanes = EXCLUDED.active_hurricanes, "
+                + "metar_reports = EXCLUDED.metar_reports, forecast_rows_written = EXCLUDED.forecast_rows_written, "
+                + "metar_rows_written = EXCLUDED.metar_rows_written, reconciled_at = EXCLUDED.reconciled_at "
+                + "WHERE data_counts.reconciled_at <= EXCLUDED.reconciled_at")
+            .setParameter(1, counts.locations)
+            .setParameter(2, counts.activeForecasts)
+            .setParameter(3, counts.activeEarthquakes)
+            .setParameter(4, counts.activeHurricanes)
+            .setParameter(5, counts.metarReports)
+            .setParameter(6, published.forecastRowsWritten)
+            .setParameter(7, published.metarRowsWritten)
+            .setParameter(8, counts.reconciledAt)
+            .executeUpdate();
+    }
+
+    private Base readPublished() {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("SELECT locations, active_forecasts, active_earthquakes, "
+                + "active_hurricanes, metar_reports, forecast_rows_written, metar_rows_written, reconciled_at "
+                + "FROM data_counts WHERE id = 1")
+            .getResultList();
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        Counts counts = new Counts(count(row[0]), count(row[1]), count(row[2]), count(row[3]), count(row[4]),
+            row[7] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[7]);
+        return new Base(counts, count(row[5]), count(row[6]));
+    }
+
+    private long rowsWritten(String[] sources) {
+        long rows = 0;
+        for (String source : sources) {
+            rows += ingestWatermarks.get(source).map(IngestWatermarks.Watermark::rowsWritten).orElse(0L);
+        }
+        return rows;
+    }
+
+    private static long count(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -1,7 +1,5 @@
 package com.redhat.weather.service;
 
-import com.redhat.weather.domain.repository.AirportWeatherRepository;
-import com.redhat.weather.domain.repository.WeatherForecastRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -24,10 +22,7 @@ public class DataFreshnessService {
     private final Set<String> registeredGauges = ConcurrentHashMap.newKeySet();
 
     @Inject
-    WeatherForecastRepository forecastRepository;
-
-    @Inject
-    AirportWeatherRepository airportWeatherRepository;
+    IngestWatermarks ingestWatermarks;
 
     @Inject
     MeterRegistry meterRegistry;
@@ -54,15 +49,15 @@ public class DataFreshnessService {
         return lastSuccessfulFetch.get(source);
     }
 
+    // Answered from the in-memory copy of the shared ingest watermarks, refreshed in the background:
+    // these back the readiness probe, which runs no SQL and must not depend on which replica ran the ingest
+
     public boolean hasRecentForecasts(Duration maxAge) {
-        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
-        return forecastRepository.count("fetchedAt > ?1 AND isActive = true", cutoff) > 0;
+        return ingestWatermarks.writtenSince(LocalDateTime.now().minus(maxAge), "forecast-noaa", "forecast-openweather");
     }
 
     public boolean hasRecentMetarData(Duration maxAge) {
-        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
-        return airportWeatherRepository.count(
-            "reportType = 'METAR' AND fetchedAt > ?1 AND isActive = true", cutoff) > 0;
+        return ingestWatermarks.writtenSince(LocalDateTime.now().minus(maxAge), "metar");
     }
 
     public Map<String, Object> getFreshnessSnapshot() {
@@ -0,0 +1,126 @@
+package com.redhat.weather.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code /api/status/data}: catalog load progress, row counts, freshness and scheduler timing.
+ * Built entirely from in-memory state, so it is cheap enough to include in the dashboard snapshot.
+ */
+@ApplicationScoped
+public class DataStatusService {
+
+    @Inject
+    DataCountService dataCountService;
+
+    @Inject
+    DataFreshnessService dataFreshnessService;
+
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    MetarRefreshPlanner metarRefreshPlanner;
+
+    @ConfigProperty(name = "weather.scheduler.noaa.enabled", defaultValue = "true")
+    boolean noaaEnabled;
+
+    @ConfigProperty(name = "weather.scheduler.aviation.enabled", defaultValue = "true")
+    boolean aviationEnabled;
+
+    @ConfigProperty(name = "weather.scheduler.earthquake.enabled", defaultValue = "true")
+    boolean earthquakeEnabled;
+
+    @ConfigProperty(name = "weather.scheduler.hurricane.enabled", defaultValue = "true")
+    boolean hurricaneEnabled;
+
+    @ConfigProperty(name = "weather.scheduler.alerts.enabled", defaultValue = "true")
+    boolean alertsEnabled;
+
+    @ConfigProperty(name = "weather.scheduler.spaceweather.enabled", defaultValue = "true")
+    boolean spaceWeatherEnabled;
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        // Maintained in memory and reconciled periodically; no COUNT queries per request
+        DataCountService.Counts counts = dataCountService.getCounts();
+
+        long airportCount = counts.locations();
+
+        status.put("totalLocations", airportCount);
+        status.put("airports", airportCount);
+        status.put("airportsLoaded", airportCount > 0);
+        status.put("expectedAirports", 9313); // From CSV
+        status.put("loadingComplete", airportCount >= 9313);
+
+        if (airportCount > 0) {
+            double percentLoaded = (airportCount / 9313.0) * 100;
+            status.put("percentLoaded", Math.round(percentLoaded * 100.0) / 100.0);
+        } else {
+            status.put("percentLoaded", 0.0);
+        }
+
+        // Active data counts
+        status.put("activeForecasts", counts.activeForecasts());
+        status.put("activeEarthquakes", counts.activeEarthquakes());
+        status.put("activeHurricanes", counts.activeHurricanes());
+        status.put("metarReports", counts.metarReports());
+        status.put("countsReconciledAt", counts.reconciledAt().toString());
+
+        status.put("dataFreshness", dataFreshnessService.getFreshnessSnapshot());
+        status.put("metarTiers", metarRefreshPlanner.getTierSnapshot());
+
+        // Scheduler timing info
+        status.put("schedulers", buildSchedulerList());
+
+        return status;
+    }
+
+    private List<Map<String, Object>> buildSchedulerList() {
+        List<Map<String, Object>> schedulers = new ArrayList<>();
+        schedulers.add(buildSchedulerInfo("NOAA Forecasts", "noaa-forecast", pollingIntervalMinutes("noaa-forecast"), noaaEnabled));
+        schedulers.add(buildSchedulerInfo("Airport Weather", "aviation-metar", pollingIntervalMinutes("aviation-metar"), aviationEnabled));
+        schedulers.add(buildSchedulerInfo("Earthquakes", "usgs-earthquake", pollingIntervalMinutes("usgs-earthquake"), earthquakeEnabled));
+        schedulers.add(buildSchedulerInfo("Hurricanes", "nhc-hurricane", pollingIntervalMinutes("nhc-hurricane"), hurricaneEnabled));
+        schedulers.add(buildSchedulerInfo("Weather Alerts", "noaa-alerts", pollingIntervalMinutes("noaa-alerts"), alertsEnabled));
+        schedulers.add(buildSchedulerInfo("Space Weather", "swpc-space-weather", 5, spaceWeatherEnabled));
+        return schedulers;
+    }
+
+    private int pollingIntervalMinutes(String source) {
+        // Adaptive sources report their current learned interval rather than a fixed cron period
+        return (int) adaptivePollingService.getCurrentInterval(source).toMinutes();
+    }
+
+    private Map<String, Object> buildSchedulerInfo(String name, String source, int intervalMinutes, boolean enabled) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("name", name);
+        info.put("source", source);
+        info.put("intervalMinutes", intervalMinutes);
+        info.put("enabled", enabled);
+
+        LocalDateTime lastRun = dataFreshnessService.getLastSuccess(source);
+        if (lastRun != null) {
+            long ageMinutes = Duration.between(lastRun, LocalDateTime.now()).toMinutes();
+            long nextRunMinutes = Math.max(0, intervalMinutes - ageMinutes);
+            info.put("lastRun", lastRun.toString());
+            info.put("ageMinutes", ageMinutes);
+            info.put("nextRunMinutes", nextRunMinutes);
+        } else {
+            info.put("lastRun", null);
+            info.put("ageMinutes", null);
+            info.put("nextRunMinutes", null);
+        }
+
+        return info;
+    }
+}
@@ -0,0 +1,133 @@
+package com.redhat.weather.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change counters per dataset (named after the ingest source), used to build HTTP ETags.
+ *
+ * The counters live in the {@code dataset_versions} table and are bumped inside the transaction
+ * that writes the rows ({@link IngestRun}, location changes, catalog syncs, retention cleanup), so
+ * a version becomes visible to every replica together with the data it describes. They survive
+ * restarts, so ETags stay valid whichever replica a client lands on.
+ */
+@ApplicationScoped
+public class DatasetVersions {
+
+    public static final String LOCATION = "location";
+
+    // Bumped for changes that touch every dataset; part of every ETag
+    private static final String ALL = "*";
+
+    @Inject
+    EntityManager entityManager;
+
+    /**
+     * Bump {@code dataset} in the current transaction, or in one of its own if there is none.
+     * Bumping in the writing transaction means no request can tag the old rows with the new version.
+     */
+    @Transactional
+    public void bump(String dataset) {
+        entityManager.createNativeQuery("INSERT INTO dataset_versions (dataset, version, updated_at) VALUES (?1, 1, NOW()) "
+                + "ON CONFLICT (dataset) DO UPDATE SET version = dataset_versions.version + 1, updated_at = NOW()")
+            .setParameter(1, dataset)
+            .executeUpdate();
+    }
+
+    /**
+     * Invalidate every dataset, for changes not attributed to one source (e.g. retention cleanup).
+     */
+    @Transactional
+    public void bumpAll() {
+        bump(ALL);
+    }
+
+    /**
+     * The combined state of {@code datasets}: changes whenever one of them is bumped and on
+     * {@link #bumpAll()}, plus every {@code clockSeconds} if that is positive (for data filtered by
+     * the current time). One primary-key lookup.
+     */
+    public String stamp(String[] datasets, int clockSeconds) {
+        return stamp(datasets, clockSeconds, read(List.of(datasets)));
+    }
+
+    /**
+     * Current counters of {@code datasets} (and of the every-dataset counter), in one query, for
+     * callers that build several stamps at once. Datasets never bumped are absent.
+     */
+    public Map<String, Long> read(Collection<String> datasets) {
+        List<String> names = new ArrayList<>(datasets.size() + 1);
+        names.add(ALL);
+        names.addAll(datasets);
+        Map<String, Long> versions = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager
+            .createNativeQuery("SELECT dataset, version FROM dataset_versions WHERE dataset IN (?1)")
+            .setParameter(1, names)
+            .getResultList();
+        for (Object[] row : rows) {
+            versions.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return versions;
+    }
+
+    /**
+     * {@link #stamp(String[], int)} from counters already {@link #read}; they must cover {@code datasets}.
+     */
+    public String stamp(String[] datasets, int clockSeconds, Map<String, Long> versions) {
+        StringBuilder stamp = new StringBuilder().append(versions.getOrDefault(ALL, 0L));
+        for (String dataset : datasets) {
+            stamp.append('/').append(dataset).append('=').append(versions.getOrDefault(dataset, 0L));
+        }
+        if (clockSeconds > 0) {
+            stamp.append("/t=").append(System.currentTimeMillis() / 1000 / clockSeconds);
+        }
+        return stamp.toString();
+    }
+
+    /**
+     * Stamp of a single dataset, for pod-local caches of data served under an ETag. Keyed or
+     * checked with it, a cache can't answer with rows older than a tag taken before the lookup,
+     * even after another replica bumped the dataset.
+     */
+    public String version(String dataset) {
+        return stamp(new String[] {dataset}, 0);
+    }
+
+    /**
+     * Opaque version token for {@link #stamp}, safe to hand to clients.
+     */
+    public String token(String[] datasets, int clockSeconds) {
+        return digest(stamp(datasets, clockSeconds));
+    }
+
+    /**
+     * Hex of the first 16 bytes of the SHA-256 of {@code value}.
+     */
+    public static String digest(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Fired inside the sync's transaction, so the bump commits with the catalog rows
+    void onCatalogChanged(@Observes AirportCatalogChangedEvent event) {
+        bump(LOCATION);
+    }
+}
@@ -33,6 +33,15 @@ public class EarthquakeService {
     @RestClient
     UsgsEarthquakeClient usgsClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
     public List<EarthquakeEntity> getRecentEarthquakes() {
         return earthquakeRepository.findRecent();
     }
@@ -43,6 +52,7 @@ public class EarthquakeService {
 
     @Transactional
     public void fetchAndStoreEarthquakes() {
+        IngestRun run = ingestInstrumentation.start("earthquake");
         try {
             // Use incremental fetching: start from the latest known event time
             Optional<LocalDateTime> latestEventTime = earthquakeRepository.findLatestEventTime();
@@ -62,24 +72,31 @@ public class EarthquakeService {
                 "geojson", startTime, 2.5, "time"
             );
 
+            run.stage(IngestStage.PARSE);
             JsonNode data = objectMapper.readTree(response);
             JsonNode features = data.path("features");
+            adaptivePollingService.observe("usgs-earthquake", "features", features);
 
             if (!features.isArray()) {
                 LOG.info("No earthquake features found in USGS response");
                 return;
             }
+            run.records(IngestStage.PARSE, 1, features.size());
 
             List<EarthquakeEntity> earthquakes = new ArrayList<>();
+            int duplicates = 0;
 
             for (JsonNode feature : features) {
                 try {
+                    run.stage(IngestStage.DEDUP);
                     String usgsId = feature.path("id").asText();
 
                     // Skip if already stored
                     if (earthquakeRepository.existsByUsgsId(usgsId)) {
+                        duplicates++;
                         continue;
                     }
+                    run.stage(IngestStage.MAP);
 
                     JsonNode props = feature.path("properties");
                     JsonNode geometry = feature.path("geometry");
@@ -115,7 +132,9 @@ public class EarthquakeService {
                     int sigValue = props.path("sig").asInt(-1);
                     eq.significance = sigValue >= 0 ? sigValue : null;
 
-                    eq.eventData = feature.toString();
+                    String rawPayload = feature.toString();
+                    eq.rawRef = rawPayloadArchive.append("earthquake", rawPayload);
+                    eq.eventData = rawPayloadArchive.inline(eq.rawRef, rawPayload);
                     eq.fetchedAt = LocalDateTime.now();
 
                     earthquakes.add(eq);
@@ -125,15 +144,23 @@ public class EarthquakeService {
                 }
             }
 
+            run.records(IngestStage.DEDUP, features.size(), features.size() - duplicates)
+                .records(IngestStage.MAP, features.size() - duplicates, earthquakes.size());
+
             if (!earthquakes.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 earthquakeRepository.persist(earthquakes);
+                run.records(IngestStage.PERSIST, earthquakes.size(), earthquakes.size());
                 LOG.info("Stored " + earthquakes.size() + " new earthquakes from USGS");
             } else {
                 LOG.info("No new earthquakes to store");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching earthquakes from USGS", e);
+        } finally {
+            run.close();
         }
     }
 
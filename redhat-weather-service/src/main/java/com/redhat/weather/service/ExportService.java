@@ -0,0 +1,476 @@
+package com.redhat.weather.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulk export of historical rows as NDJSON, CSV or columnar CBOR, streamed straight from a server-side cursor.
+ *
+ * The query runs on its own connection with autocommit off and a fetch size, so PostgreSQL hands
+ * rows over in batches instead of materializing the result; each row is written from the
+ * {@link ResultSet} columns as it arrives, without entities. Memory stays flat however many rows
+ * the range holds. A client that disconnects fails the next write, which closes the cursor.
+ *
+ * The columnar format ({@link #COLUMNAR_TYPE}) is for analytics consumers: a CBOR (RFC 8949)
+ * document with the column names and types once, then each batch of up to
+ * {@code weather.export.fetch-size} rows as one array per column. Integers, doubles and booleans
+ * are native binary values, decimals are CBOR decimal fractions, and timestamps ISO-8601 strings.
+ * No per-row keys to repeat and no number text to parse.
+ */
+@ApplicationScoped
+public class ExportService {
+
+    private static final Logger LOG = Logger.getLogger(ExportService.class);
+
+    public static final String COLUMNAR_TYPE = "application/vnd.weather.columnar+cbor";
+
+    public enum Format { NDJSON, CSV, COLUMNAR }
+
+    /**
+     * What a dataset exports: the SELECT (column aliases become field names), the time column the
+     * range applies to and the result is ordered by, and the airport code column if it has one.
+     */
+    private record Dataset(String select, String timeColumn, String airportColumn) {
+    }
+
+    // Sets the statement parameters once the SQL is prepared
+    @FunctionalInterface
+    private interface Binder {
+        void bind(Connection connection, PreparedStatement statement) throws SQLException;
+    }
+
+    private static final Map<String, Dataset> DATASETS = Map.of(
+        "metar", new Dataset(airportWeatherSelect("METAR"), "w.observation_time", "w.airport_code"),
+        "taf", new Dataset(airportWeatherSelect("TAF"), "w.observation_time", "w.airport_code"),
+        "forecast", new Dataset("SELECT l.airport_code AS \"airportCode\", f.source, "
+            + "f.forecast_time AS \"forecastTime\", f.valid_from AS \"validFrom\", f.valid_to AS \"validTo\", "
+            + "f.latitude, f.longitude, f.temperature_fahrenheit AS \"temperatureFahrenheit\", "
+            + "f.temperature_celsius AS \"temperatureCelsius\", f.precipitation_probability AS \"precipitationProbability\", "
+            + "f.wind_speed_mph AS \"windSpeedMph\", f.wind_direction AS \"windDirection\", f.humidity, "
+            + "f.weather_short_description AS \"weatherShortDescription\", f.fetched_at AS \"fetchedAt\" "
+            + "FROM weather_forecasts f JOIN locations l ON l.id = f.location_id WHERE true",
+            "f.valid_from", "l.airport_code"),
+        "pirep", new Dataset("SELECT p.pirep_id AS \"pirepId\", p.report_type AS \"reportType\", "
+            + "p.observation_time AS \"observationTime\", p.latitude, p.longitude, p.altitude_ft AS \"altitudeFt\", "
+            + "p.aircraft_type AS \"aircraftType\", p.turbulence_intensity AS \"turbulenceIntensity\", "
+            + "p.icing_intensity AS \"icingIntensity\", p.temperature_celsius AS \"temperatureCelsius\", "
+            + "p.wind_speed_knots AS \"windSpeedKnots\", p.wind_direction AS \"windDirection\", "
+            + "p.raw_text AS \"rawText\" FROM pireps p WHERE true",
+            "p.observation_time", null),
+        "lightning", new Dataset("SELECT s.strike_id AS \"strikeId\", s.strike_time AS \"strikeTime\", "
+            + "s.latitude, s.longitude, s.amplitude_ka AS \"amplitudeKa\", s.strike_type AS \"strikeType\" "
+            + "FROM lightning_strikes s WHERE true",
+            "s.strike_time", null)
+    );
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "weather.export.fetch-size", defaultValue = "2000")
+    int fetchSize;
+
+    @ConfigProperty(name = "weather.export.max-concurrent", defaultValue = "4")
+    int maxConcurrent;
+
+    // Each stream holds a pooled connection and an open cursor for as long as the client reads
+    private Semaphore streams;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    @PostConstruct
+    void init() {
+        streams = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Take one of the {@code weather.export.max-concurrent} stream slots; the caller must
+     * {@link #releaseStream()} once the stream ends.
+     *
+     * @return false if every slot is taken
+     */
+    public boolean tryAcquireStream() {
+        boolean acquired = streams.tryAcquire();
+        if (!acquired) {
+            meterRegistry.counter("weather_export_rejected_total").increment();
+        }
+        return acquired;
+    }
+
+    public void releaseStream() {
+        streams.release();
+    }
+
+    public Set<String> getDatasets() {
+        return DATASETS.keySet();
+    }
+
+    /**
+     * Check the arguments before the response is committed, so bad requests still get a 400.
+     *
+     * @throws IllegalArgumentException for an unknown dataset, an empty range, or airports on a dataset without them
+     */
+    public void validate(String dataset, LocalDateTime from, LocalDateTime to, List<String> airports) {
+        Dataset spec = DATASETS.get(dataset);
+        if (spec == null) {
+            throw new IllegalArgumentException("Unknown export dataset: " + dataset
+                + " (valid: " + String.join(", ", DATASETS.keySet()) + ")");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (!airports.isEmpty() && spec.airportColumn == null) {
+            throw new IllegalArgumentException("Dataset " + dataset + " cannot be filtered by airport");
+        }
+    }
+
+    /**
+     * Write every row of {@code dataset} with its time in [from, to), oldest first, to {@code out}.
+     *
+     * @return rows written
+     */
+    public long export(String dataset, LocalDateTime from, LocalDateTime to, List<String> airports,
+                       Format format, OutputStream out) throws IOException {
+        validate(dataset, from, to, airports);
+        Dataset spec = DATASETS.get(dataset);
+        String sql = spec.select
+            + " AND " + spec.timeColumn + " >= ? AND " + spec.timeColumn + " < ?"
+            + (airports.isEmpty() ? "" : " AND " + spec.airportColumn + " = ANY(?)")
+            + " ORDER BY " + spec.timeColumn;
+
+        long started = System.nanoTime();
+        long rows = stream(dataset, sql, format, out, (connection, statement) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(from));
+            statement.setTimestamp(2, Timestamp.valueOf(to));
+            if (!airports.isEmpty()) {
+                statement.setArray(3, connection.createArrayOf("varchar", airports.toArray()));
+            }
+        });
+        LOG.info("Exported " + rows + " " + dataset + " rows (" + from + " to " + to + ") as " + format
+            + " in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        return rows;
+    }
+
+    /**
+     * Write the archived forecasts of a location issued since {@code since}, newest first, the rows
+     * of {@code /api/weather/forecasts/location/{id}/history}.
+     *
+     * @return rows written
+     */
+    public long exportForecastHistory(Long locationId, LocalDateTime since, Format format, OutputStream out)
+            throws IOException {
+        String sql = DATASETS.get("forecast").select
+            + " AND f.location_id = ? AND f.is_active = false AND f.forecast_time >= ? ORDER BY f.forecast_time DESC";
+        return stream("forecast", sql, format, out, (connection, statement) -> {
+            statement.setLong(1, locationId);
+            statement.setTimestamp(2, Timestamp.valueOf(since));
+        });
+    }
+
+    /**
+     * Write the active lightning strikes of the past hour, newest first, the rows of
+     * {@code /api/weather/lightning/recent}.
+     *
+     * @return rows written
+     */
+    public long exportRecentLightning(Format format, OutputStream out) throws IOException {
+        String sql = DATASETS.get("lightning").select
+            + " AND s.is_active = true AND s.strike_time > ? ORDER BY s.strike_time DESC";
+        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
+        return stream("lightning", sql, format, out,
+            (connection, statement) -> statement.setTimestamp(1, Timestamp.valueOf(oneHourAgo)));
+    }
+
+    private long stream(String dataset, String sql, Format format, OutputStream out, Binder binder) throws IOException {
+        long rows = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            // PostgreSQL only streams with a fetch size inside a transaction
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                binder.bind(connection, statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    rows = switch (format) {
+                        case NDJSON -> writeNdjson(resultSet, out);
+                        case CSV -> writeCsv(resultSet, out);
+                        case COLUMNAR -> writeColumnar(resultSet, out);
+                    };
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            throw new IOException("Export of " + dataset + " failed: " + e.getMessage(), e);
+        } finally {
+            meterRegistry.counter("weather_export_rows_total", "dataset", dataset, "format", format.name().toLowerCase())
+                .increment(rows);
+        }
+        return rows;
+    }
+
+    private long writeNdjson(ResultSet resultSet, OutputStream out) throws SQLException, IOException {
+        ResultSetMetaData meta = resultSet.getMetaData();
+        int columns = meta.getColumnCount();
+        long rows = 0;
+        try (JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            // One object per line
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (resultSet.next()) {
+                json.writeStartObject();
+                for (int i = 1; i <= columns; i++) {
+                    json.writeFieldName(meta.getColumnLabel(i));
+                    writeJsonValue(json, resultSet, i, meta.getColumnType(i));
+                }
+                json.writeEndObject();
+                rows++;
+            }
+            if (rows > 0) {
+                json.writeRaw('\n');
+            }
+        }
+        return rows;
+    }
+
+    private static void writeJsonValue(JsonGenerator json, ResultSet resultSet, int column, int sqlType)
+            throws SQLException, IOException {
+        switch (sqlType) {
+            case Types.NUMERIC, Types.DECIMAL -> {
+                BigDecimal value = resultSet.getBigDecimal(column);
+                if (value == null) {
+                    json.writeNull();
+                } else {
+                    json.writeNumber(value);
+                }
+            }
+            case Types.INTEGER, Types.SMALLINT, Types.BIGINT -> {
+                long value = resultSet.getLong(column);
+                if (resultSet.wasNull()) {
+                    json.writeNull();
+                } else {
+                    json.writeNumber(value);
+                }
+            }
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> {
+                double value = resultSet.getDouble(column);
+                if (resultSet.wasNull()) {
+                    json.writeNull();
+                } else {
+                    json.writeNumber(value);
+                }
+            }
+            case Types.BOOLEAN, Types.BIT -> {
+                boolean value = resultSet.getBoolean(column);
+                if (resultSet.wasNull()) {
+                    json.writeNull();
+                } else {
+                    json.writeBoolean(value);
+                }
+            }
+            default -> {
+                String value = text(resultSet, column, sqlType);
+                if (value == null) {
+                    json.writeNull();
+                } else {
+                    json.writeString(value);
+                }
+            }
+        }
+    }
+
+    /*
+     * CBOR map {"columns":[{"name":..,"type":..},..],"batches":[{"length":n,"values":[[column 1],..]},..],"rows":total}
+     * Each batch is flushed as soon as it is full, so the client can start on it while the next is fetched.
+     */
+    private long writeColumnar(ResultSet resultSet, OutputStream out) throws SQLException, IOException {
+        ResultSetMetaData meta = resultSet.getMetaData();
+        int columns = meta.getColumnCount();
+        String[] types = new String[columns];
+        int batchSize = Math.max(fetchSize, 1);
+        Object[][] batch = new Object[columns][batchSize];
+        long rows = 0;
+        try (JsonGenerator json = cborFactory.createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeArrayFieldStart("columns");
+            for (int i = 0; i < columns; i++) {
+                types[i] = columnType(meta.getColumnType(i + 1));
+                json.writeStartObject();
+                json.writeStringField("name", meta.getColumnLabel(i + 1));
+                json.writeStringField("type", types[i]);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("batches");
+            int filled = 0;
+            while (resultSet.next()) {
+                for (int i = 0; i < columns; i++) {
+                    batch[i][filled] = columnValue(resultSet, i + 1, types[i], meta.getColumnType(i + 1));
+                }
+                rows++;
+                if (++filled == batchSize) {
+                    writeBatch(json, batch, filled);
+                    filled = 0;
+                }
+            }
+            if (filled > 0) {
+                writeBatch(json, batch, filled);
+            }
+            json.writeEndArray();
+            json.writeNumberField("rows", rows);
+            json.writeEndObject();
+        }
+        return rows;
+    }
+
+    private static void writeBatch(JsonGenerator json, Object[][] batch, int length) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("length", length);
+        json.writeArrayFieldStart("values");
+        for (Object[] column : batch) {
+            json.writeStartArray();
+            for (int row = 0; row < length; row++) {
+                Object value = column[row];
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    json.writeNumber(decimal);
+                } else if (value instanceof Long integer) {
+                    json.writeNumber(integer);
+                } else if (value instanceof Double real) {
+                    json.writeNumber(real);
+                } else if (value instanceof Boolean bool) {
+                    json.writeBoolean(bool);
+                } else {
+                    json.writeString(value.toString());
+                }
+            }
+            json.writeEndArray();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.flush();
+    }
+
+    private static String columnType(int sqlType) {
+        return switch (sqlType) {
+            case Types.NUMERIC, Types.DECIMAL -> "decimal";
+            case Types.INTEGER, Types.SMALLINT, Types.BIGINT -> "integer";
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> "double";
+            case Types.BOOLEAN, Types.BIT -> "boolean";
+            case Types.TIMESTAMP -> "timestamp";
+            default -> "string";
+        };
+    }
+
+    private static Object columnValue(ResultSet resultSet, int column, String type, int sqlType) throws SQLException {
+        Object value = switch (type) {
+            case "decimal" -> resultSet.getBigDecimal(column);
+            case "integer" -> resultSet.getLong(column);
+            case "double" -> resultSet.getDouble(column);
+            case "boolean" -> resultSet.getBoolean(column);
+            default -> text(resultSet, column, sqlType);
+        };
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private long writeCsv(ResultSet resultSet, OutputStream out) throws SQLException, IOException {
+        ResultSetMetaData meta = resultSet.getMetaData();
+        int columns = meta.getColumnCount();
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            writer.write(meta.getColumnLabel(i));
+        }
+        writer.write("\r\n");
+        while (resultSet.next()) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                String value = text(resultSet, i, meta.getColumnType(i));
+                if (value != null) {
+                    writer.write(csvField(value));
+                }
+            }
+            writer.write("\r\n");
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static String text(ResultSet resultSet, int column, int sqlType) throws SQLException {
+        if (sqlType == Types.TIMESTAMP) {
+            LocalDateTime value = resultSet.getObject(column, LocalDateTime.class);
+            return value == null ? null : value.toString();
+        }
+        if (sqlType == Types.NUMERIC || sqlType == Types.DECIMAL) {
+            BigDecimal value = resultSet.getBigDecimal(column);
+            return value == null ? null : value.toPlainString();
+        }
+        return resultSet.getString(column);
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private static String csvField(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    private static String airportWeatherSelect(String reportType) {
+        return "SELECT w.airport_code AS \"airportCode\", w.observation_time AS \"observationTime\", "
+            + "w.latitude, w.longitude, w.raw_text AS \"rawText\", w.flight_category AS \"flightCategory\", "
+            + "w.visibility_miles AS \"visibilityMiles\", w.ceiling_feet AS \"ceilingFeet\", "
+            + "w.wind_speed_knots AS \"windSpeedKnots\", w.wind_direction AS \"windDirection\", "
+            + "w.wind_gust_knots AS \"windGustKnots\", w.temperature_celsius AS \"temperatureCelsius\", "
+            + "w.dewpoint_celsius AS \"dewpointCelsius\", w.altimeter_inches AS \"altimeterInches\", "
+            + "w.sky_condition AS \"skyCondition\", w.weather_conditions AS \"weatherConditions\", "
+            + "w.fetched_at AS \"fetchedAt\" "
+            + "FROM airport_weather w WHERE w.report_type = '" + reportType + "'";
+    }
+}
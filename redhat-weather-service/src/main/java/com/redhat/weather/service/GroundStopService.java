@@ -32,6 +32,18 @@ public class GroundStopService {
     @RestClient
     FaaDelayClient faaDelayClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    SnapshotReconciler snapshotReconciler;
+
     public List<GroundStopEntity> getActiveGroundStops() {
         return groundStopRepository.findActive();
     }
@@ -42,12 +54,13 @@ public class GroundStopService {
 
     @Transactional
     public void fetchAndStoreGroundStops() {
+        IngestRun run = ingestInstrumentation.start("ground-stop");
         try {
             String response = faaDelayClient.getAirportStatusList();
+            adaptivePollingService.observe("faa-ground-stops", "status-list", response);
+            run.stage(IngestStage.PARSE);
             JsonNode data = objectMapper.readTree(response);
 
-            groundStopRepository.deactivateAll();
-
             List<GroundStopEntity> stops = new ArrayList<>();
 
             JsonNode airports = data;
@@ -59,6 +72,8 @@ public class GroundStopService {
                 LOG.info("No airport data found in FAA response for ground stops");
                 return;
             }
+            run.records(IngestStage.PARSE, 1, airports.size())
+                .stage(IngestStage.MAP);
 
             for (JsonNode airport : airports) {
                 try {
@@ -86,15 +101,24 @@ public class GroundStopService {
                 }
             }
 
-            if (!stops.isEmpty()) {
-                groundStopRepository.persist(stops);
-                LOG.info("Stored " + stops.size() + " active ground stops/GDPs");
-            } else {
-                LOG.info("No active ground stops found");
-            }
+            run.records(IngestStage.MAP, airports.size(), stops.size());
+
+            // An empty list is a valid snapshot too: it ends every active program
+            run.stage(IngestStage.PERSIST);
+            // Raw payloads are archived only for new and changed programs
+            SnapshotReconciler.Result result = snapshotReconciler.reconcile(
+                "ground-stop", groundStopRepository, "groundStopId", stops, stop -> {
+                    stop.rawRef = rawPayloadArchive.append("ground-stop", stop.rawData);
+                    stop.rawData = rawPayloadArchive.inline(stop.rawRef, stop.rawData);
+                });
+            run.records(IngestStage.PERSIST, stops.size(), result.written());
+            LOG.info("Synced " + stops.size() + " active ground stops/GDPs: " + result);
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching ground stops from FAA", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -113,7 +137,9 @@ public class GroundStopService {
 
         try {
             GroundStopEntity entity = new GroundStopEntity();
-            entity.groundStopId = airportCode + "-" + type.replaceAll("\\s+", "-") + "-" + LocalDateTime.now().hashCode();
+            // An airport can run more than one program of a type, for different reasons
+            entity.groundStopId = airportCode + "-" + type.replaceAll("\\s+", "-") + "-"
+                + SnapshotReconciler.discriminator(status.path("Reason").asText(null));
             entity.airportCode = airportCode;
             entity.airportName = airport.path("Name").asText(null);
             entity.programType = type;
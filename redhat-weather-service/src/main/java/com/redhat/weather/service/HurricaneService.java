@@ -56,6 +56,15 @@ public class HurricaneService {
     @RestClient
     JtwcClient jtwcClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
     public List<HurricaneEntity> getActiveStorms() {
         return hurricaneRepository.findActiveStorms();
     }
@@ -78,10 +87,13 @@ public class HurricaneService {
     }
 
     private void fetchNhcStorms() {
+        IngestRun run = ingestInstrumentation.start("hurricane");
         try {
             LOG.info("Fetching active storms from NHC");
 
             String response = nhcClient.getCurrentStorms();
+            adaptivePollingService.observe("nhc-hurricane", "nhc", response);
+            run.stage(IngestStage.PARSE);
             JsonNode data = objectMapper.readTree(response);
 
             JsonNode activeStorms = data.path("activeStorms");
@@ -89,6 +101,8 @@ public class HurricaneService {
                 LOG.info("No active storms from NHC");
                 return;
             }
+            run.records(IngestStage.PARSE, 1, activeStorms.size())
+                .stage(IngestStage.MAP);
 
             List<HurricaneEntity> hurricanes = new ArrayList<>();
 
@@ -137,7 +151,9 @@ public class HurricaneService {
                     hurricane.fetchedAt = LocalDateTime.now();
 
                     // Store full storm data
-                    hurricane.forecastData = storm.toString();
+                    String rawPayload = storm.toString();
+                    hurricane.rawRef = rawPayloadArchive.append("hurricane", rawPayload);
+                    hurricane.forecastData = rawPayloadArchive.inline(hurricane.rawRef, rawPayload);
 
                     hurricanes.add(hurricane);
 
@@ -146,13 +162,20 @@ public class HurricaneService {
                 }
             }
 
+            run.records(IngestStage.MAP, activeStorms.size(), hurricanes.size());
+
             if (!hurricanes.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 hurricaneRepository.persist(hurricanes);
+                run.records(IngestStage.PERSIST, hurricanes.size(), hurricanes.size());
                 LOG.info("Stored " + hurricanes.size() + " NHC storm advisories");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching active storms from NHC", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -161,21 +184,31 @@ public class HurricaneService {
      * Covers Western Pacific (typhoons), Indian Ocean (cyclones), and Southern Hemisphere.
      */
     private void fetchJtwcStorms() {
+        IngestRun run = ingestInstrumentation.start("hurricane");
         try {
             LOG.info("Fetching active storms from JTWC");
 
             String rssXml = jtwcClient.getActiveWarnings();
+            adaptivePollingService.observe("nhc-hurricane", "jtwc", rssXml);
+            // XML parsing and mapping are one pass over the RSS items
+            run.stage(IngestStage.PARSE);
             List<HurricaneEntity> storms = parseJtwcRss(rssXml);
+            run.records(IngestStage.PARSE, 1, storms.size());
 
             if (!storms.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 hurricaneRepository.persist(storms);
+                run.records(IngestStage.PERSIST, storms.size(), storms.size());
                 LOG.info("Stored " + storms.size() + " JTWC storm advisories");
             } else {
                 LOG.info("No active storms from JTWC");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.warn("Error fetching storms from JTWC (non-critical): " + e.getMessage());
+        } finally {
+            run.close();
         }
     }
 
@@ -0,0 +1,81 @@
+package com.redhat.weather.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Entry point for per-stage ingest instrumentation. Every fetch-and-store method opens an
+ * {@link IngestRun} for its source and marks stage boundaries on it; the run publishes the same
+ * meters and spans for every source, so per-source breakdowns are a dashboard query:
+ * <ul>
+ *   <li>{@code weather_ingest_stage_seconds{source,stage}} - time spent in each {@link IngestStage}</li>
+ *   <li>{@code weather_ingest_records_total{source,stage,direction}} - records into and out of each stage</li>
+ *   <li>{@code weather_ingest_bytes_received{source}} - upstream response size per run</li>
+ *   <li>{@code weather_ingest_run_seconds{source,outcome}} - whole run, success or error</li>
+ * </ul>
+ * Each run is an {@code ingest <source>} span with one child span per stage, and is made current
+ * so REST client and JDBC spans nest under it. Writes bump the source's {@link DatasetVersions} in
+ * the ingest transaction and, once committed, advance its {@link IngestWatermarks}.
+ */
+@ApplicationScoped
+public class IngestInstrumentation {
+
+    private static final ThreadLocal<IngestRun> CURRENT = new ThreadLocal<>();
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    Instance<Tracer> tracerInstance;
+
+    @Inject
+    TransactionSynchronizationRegistry txRegistry;
+
+    @Inject
+    IngestWatermarks watermarks;
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    private Tracer tracer;
+
+    @PostConstruct
+    void init() {
+        // No Tracer bean when OpenTelemetry is disabled (e.g. tests): fall back to a no-op tracer
+        tracer = tracerInstance.isResolvable()
+            ? tracerInstance.get()
+            : OpenTelemetry.noop().getTracer("weather-ingest");
+    }
+
+    /**
+     * Start a run for the given archive/source name. The run starts in the {@link IngestStage#FETCH}
+     * stage and must be closed on the calling thread.
+     */
+    public IngestRun start(String source) {
+        IngestRun run = new IngestRun(source, meterRegistry, tracer, txRegistry, watermarks, datasetVersions, CURRENT.get());
+        CURRENT.set(run);
+        return run;
+    }
+
+    /**
+     * The run open on the calling thread, or null. Used by the REST client filter to attribute
+     * response bytes to a source.
+     */
+    public static IngestRun current() {
+        return CURRENT.get();
+    }
+
+    static void restore(IngestRun previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.redhat.weather.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One ingest run for one source, created by {@link IngestInstrumentation#start}.
+ *
+ * The run is a stage clock: {@link #stage} closes the current stage and opens the next, so
+ * per-record loops can alternate between stages (e.g. dedup then map) and each stage accumulates
+ * only its own time. Meters and spans are published on {@link #close}; if a transaction is active
+ * at that point, its commit is timed as {@link IngestStage#COMMIT}. Rows counted out of
+ * {@link IngestStage#PERSIST} bump the source's {@link DatasetVersions version} in the same
+ * transaction and advance its {@link IngestWatermarks} mark once committed.
+ *
+ * Not thread-safe except {@link #bytesReceived}, which REST client filters may call from an I/O thread.
+ */
+public final class IngestRun implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(IngestRun.class);
+    private static final IngestStage[] STAGES = IngestStage.values();
+
+    private final String source;
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final TransactionSynchronizationRegistry txRegistry;
+    private final IngestWatermarks watermarks;
+    private final DatasetVersions datasetVersions;
+    private final IngestRun previous;
+
+    private final long startNanos = System.nanoTime();
+    private final long startEpochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private final Span span;
+    private final Scope scope;
+
+    private final boolean[] visited = new boolean[STAGES.length];
+    private final long[] busyNanos = new long[STAGES.length];
+    private final long[] firstStart = new long[STAGES.length];
+    private final long[] lastEnd = new long[STAGES.length];
+    private final long[] recordsIn = new long[STAGES.length];
+    private final long[] recordsOut = new long[STAGES.length];
+    private final LongAdder bytes = new LongAdder();
+
+    private IngestStage current;
+    private long currentStarted;
+    private Throwable failure;
+    private boolean closed;
+
+    IngestRun(String source, MeterRegistry meterRegistry, Tracer tracer,
+              TransactionSynchronizationRegistry txRegistry, IngestWatermarks watermarks,
+              DatasetVersions datasetVersions, IngestRun previous) {
+        this.source = source;
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.txRegistry = txRegistry;
+        this.watermarks = watermarks;
+        this.datasetVersions = datasetVersions;
+        this.previous = previous;
+        this.span = tracer.spanBuilder("ingest " + source)
+            .setAttribute("ingest.source", source)
+            .startSpan();
+        this.scope = span.makeCurrent();
+        stage(IngestStage.FETCH);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Close the current stage and start timing {@code next}.
+     */
+    public IngestRun stage(IngestStage next) {
+        long now = System.nanoTime();
+        stopClock(now);
+        int i = next.ordinal();
+        if (!visited[i]) {
+            visited[i] = true;
+            firstStart[i] = now;
+        }
+        current = next;
+        currentStarted = now;
+        return this;
+    }
+
+    /**
+     * Add record counts for a stage. Counts are additive, so loops may report per batch.
+     */
+    public IngestRun records(IngestStage stage, long in, long out) {
+        int i = stage.ordinal();
+        visited[i] = true;
+        recordsIn[i] += in;
+        recordsOut[i] += out;
+        return this;
+    }
+
+    /**
+     * Add upstream response bytes. Called by the REST client filter, or directly by services that
+     * receive the body as a String.
+     */
+    public void bytesReceived(long count) {
+        if (count > 0) {
+            bytes.add(count);
+        }
+    }
+
+    /**
+     * Mark the run failed; the error is recorded on the span and in the run outcome.
+     */
+    public void failed(Throwable error) {
+        this.failure = error;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        long now = System.nanoTime();
+        stopClock(now);
+        current = null;
+
+        long rowsWritten = recordsOut[IngestStage.PERSIST.ordinal()];
+        try {
+            bumpVersion(rowsWritten);
+            for (IngestStage stage : STAGES) {
+                if (visited[stage.ordinal()]) {
+                    publishStage(stage);
+                }
+            }
+            long received = bytes.sum();
+            if (received > 0) {
+                DistributionSummary.builder("weather_ingest_bytes_received")
+                    .baseUnit("bytes")
+                    .tag("source", source)
+                    .register(meterRegistry)
+                    .record(received);
+                span.setAttribute("ingest.bytes_received", received);
+            }
+            Timer.builder("weather_ingest_run_seconds")
+                .tag("source", source)
+                .tag("outcome", failure == null ? "success" : "error")
+                .register(meterRegistry)
+                .record(now - startNanos, TimeUnit.NANOSECONDS);
+
+            if (failure != null) {
+                span.recordException(failure);
+                span.setStatus(StatusCode.ERROR, failure.getMessage() != null ? failure.getMessage() : "ingest failed");
+            }
+            timeCommit(rowsWritten);
+        } catch (Exception e) {
+            LOG.debug("Failed to publish ingest metrics for " + source + ": " + e.getMessage());
+        } finally {
+            span.end(epochNanos(now), TimeUnit.NANOSECONDS);
+            scope.close();
+            IngestInstrumentation.restore(previous);
+        }
+    }
+
+    private void stopClock(long now) {
+        if (current != null) {
+            busyNanos[current.ordinal()] += now - currentStarted;
+            lastEnd[current.ordinal()] = now;
+        }
+    }
+
+    private void publishStage(IngestStage stage) {
+        int i = stage.ordinal();
+        stageTimer(stage).record(busyNanos[i], TimeUnit.NANOSECONDS);
+        if (recordsIn[i] > 0 || recordsOut[i] > 0) {
+            meterRegistry.counter("weather_ingest_records_total",
+                "source", source, "stage", stage.tag(), "direction", "in").increment(recordsIn[i]);
+            meterRegistry.counter("weather_ingest_records_total",
+                "source", source, "stage", stage.tag(), "direction", "out").increment(recordsOut[i]);
+        }
+
+        // Interleaved stages get one span from first entry to last exit; busy time is an attribute
+        long end = Math.max(lastEnd[i], firstStart[i]);
+        tracer.spanBuilder("ingest " + source + " " + stage.tag())
+            .setParent(Context.current().with(span))
+            .setStartTimestamp(epochNanos(firstStart[i]), TimeUnit.NANOSECONDS)
+            .setAttribute("ingest.source", source)
+            .setAttribute("ingest.stage", stage.tag())
+            .setAttribute("ingest.busy_ms", TimeUnit.NANOSECONDS.toMillis(busyNanos[i]))
+            .setAttribute("ingest.records_in", recordsIn[i])
+            .setAttribute("ingest.records_out", recordsOut[i])
+            .startSpan()
+            .end(epochNanos(end), TimeUnit.NANOSECONDS);
+    }
+
+    // Before the commit, so the version and the shared watermark commit (or roll back) with the rows
+    private void bumpVersion(long rowsWritten) {
+        int status = txRegistry.getTransactionStatus();
+        if (rowsWritten > 0 && (status == Status.STATUS_ACTIVE || status == Status.STATUS_NO_TRANSACTION)) {
+            datasetVersions.bump(source);
+            watermarks.record(source, LocalDateTime.now(), rowsWritten);
+        }
+    }
+
+    private void timeCommit(long rowsWritten) {
+        if (txRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            advanceWatermark(rowsWritten);
+            return;
+        }
+        Context parent = Context.current().with(span);
+        txRegistry.registerInterposedSynchronization(new Synchronization() {
+            private long started;
+            private Span commitSpan;
+
+            @Override
+            public void beforeCompletion() {
+                started = System.nanoTime();
+                commitSpan = tracer.spanBuilder("ingest " + source + " commit")
+                    .setParent(parent)
+                    .setAttribute("ingest.source", source)
+                    .setAttribute("ingest.stage", IngestStage.COMMIT.tag())
+                    .startSpan();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (commitSpan == null) {
+                    // Rolled back without a commit attempt
+                    return;
+                }
+                stageTimer(IngestStage.COMMIT).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                if (status == Status.STATUS_COMMITTED) {
+                    advanceWatermark(rowsWritten);
+                } else {
+                    commitSpan.setStatus(StatusCode.ERROR, "transaction status " + status);
+                }
+                commitSpan.end();
+            }
+        });
+    }
+
+    private void advanceWatermark(long rowsWritten) {
+        if (rowsWritten > 0) {
+            watermarks.advance(source, LocalDateTime.now(), rowsWritten);
+        }
+    }
+
+    private Timer stageTimer(IngestStage stage) {
+        return Timer.builder("weather_ingest_stage_seconds")
+            .tag("source", source)
+            .tag("stage", stage.tag())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private long epochNanos(long nanoTime) {
+        return startEpochNanos + (nanoTime - startNanos);
+    }
+}
@@ -0,0 +1,26 @@
+package com.redhat.weather.service;
+
+import java.util.Locale;
+
+/**
+ * Stages of an upstream ingest run, in pipeline order. Used as the {@code stage} tag on the
+ * {@code weather_ingest_*} meters and as the span name suffix.
+ */
+public enum IngestStage {
+    /** Upstream call. For typed REST clients this includes JSON deserialization. */
+    FETCH,
+    /** Parsing a raw response body (JsonNode trees, XML). */
+    PARSE,
+    /** Mapping upstream records to entities, including raw payload archiving. */
+    MAP,
+    /** Skipping records that are already stored. */
+    DEDUP,
+    /** Inserts, updates and deactivations. */
+    PERSIST,
+    /** Transaction commit, measured from before-completion to after-completion. */
+    COMMIT;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,147 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.repository.LocationRepository;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * High-water marks per ingest source: when rows were last written and how many, across replicas.
+ *
+ * Every {@link IngestRun} that persisted rows upserts its source's row of {@code ingest_watermarks}
+ * inside the ingest transaction ({@link #record}), so the mark commits with the data whichever
+ * replica ran the ingest. Each replica keeps a copy, re-read with one small query every
+ * {@code weather.watermarks.refresh-interval} in the background and advanced as soon as its own
+ * ingests commit. Readiness probes and {@link DataFreshnessService} only read the copy.
+ */
+@ApplicationScoped
+public class IngestWatermarks {
+
+    private static final Logger LOG = Logger.getLogger(IngestWatermarks.class);
+
+    /**
+     * @param rowsWritten rows written by every replica since the mark was created
+     */
+    public record Watermark(LocalDateTime lastFetchedAt, long rowsWritten) {
+    }
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    LocationRepository locationRepository;
+
+    private final Map<String, Watermark> watermarks = new ConcurrentHashMap<>();
+    // -1 until counted, and again after the catalog changes
+    private volatile long airportCount = -1;
+
+    /**
+     * Add {@code rows} written by {@code source} at {@code fetchedAt} to the shared mark, in the
+     * current transaction so it commits or rolls back with the rows.
+     */
+    @Transactional
+    public void record(String source, LocalDateTime fetchedAt, long rows) {
+        entityManager.createNativeQuery("INSERT INTO ingest_watermarks (source, last_fetched_at, rows_written, updated_at) "
+                + "VALUES (?1, ?2, ?3, NOW()) ON CONFLICT (source) DO UPDATE SET "
+                + "last_fetched_at = GREATEST(ingest_watermarks.last_fetched_at, EXCLUDED.last_fetched_at), "
+                + "rows_written = ingest_watermarks.rows_written + EXCLUDED.rows_written, updated_at = NOW()")
+            .setParameter(1, source)
+            .setParameter(2, fetchedAt)
+            .setParameter(3, rows)
+            .executeUpdate();
+    }
+
+    /**
+     * Advance this replica's copy after a local ingest committed, ahead of the next refresh.
+     * Never moves a mark back.
+     */
+    public void advance(String source, LocalDateTime fetchedAt, long rows) {
+        watermarks.merge(source, new Watermark(fetchedAt, rows), (current, next) -> new Watermark(
+            next.lastFetchedAt.isAfter(current.lastFetchedAt) ? next.lastFetchedAt : current.lastFetchedAt,
+            current.rowsWritten + next.rowsWritten));
+    }
+
+    public Optional<Watermark> get(String source) {
+        return Optional.ofNullable(watermarks.get(source));
+    }
+
+    public Map<String, Watermark> getAll() {
+        return new TreeMap<>(watermarks);
+    }
+
+    /**
+     * True if any of {@code sources} wrote rows after {@code cutoff}.
+     */
+    public boolean writtenSince(LocalDateTime cutoff, String... sources) {
+        return Arrays.stream(sources)
+            .map(watermarks::get)
+            .anyMatch(mark -> mark != null && mark.lastFetchedAt.isAfter(cutoff));
+    }
+
+    /**
+     * Airports in the catalog. Counted on first use, on each refresh and after catalog changes.
+     */
+    public long getAirportCount() {
+        long count = airportCount;
+        if (count < 0) {
+            count = locationRepository.count("locationType = ?1", "airport");
+            airportCount = count;
+        }
+        return count;
+    }
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) AirportCatalogChangedEvent event) {
+        airportCount = -1;
+    }
+
+    @Scheduled(every = "${weather.watermarks.refresh-interval:30s}", identity = "ingest-watermarks-refresh")
+    void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep the last marks; they age out of the freshness windows on their own
+            LOG.warn("Could not refresh ingest watermarks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read the shared marks and the airport count. Run during startup and then in the background.
+     * Both the table and the local copy only move forward, so merging keeps the newer of the two.
+     *
+     * @return number of sources with a mark
+     */
+    @Transactional
+    public int refresh() {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager
+            .createNativeQuery("SELECT source, last_fetched_at, rows_written FROM ingest_watermarks")
+            .getResultList();
+        for (Object[] row : rows) {
+            Watermark shared = new Watermark(toLocalDateTime(row[1]), ((Number) row[2]).longValue());
+            watermarks.merge((String) row[0], shared, (current, next) -> new Watermark(
+                next.lastFetchedAt.isAfter(current.lastFetchedAt) ? next.lastFetchedAt : current.lastFetchedAt,
+                Math.max(current.rowsWritten, next.rowsWritten)));
+        }
+        airportCount = locationRepository.count("locationType = ?1", "airport");
+        LOG.debug("Read ingest watermarks: " + rows.size() + " sources");
+        return rows.size();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -31,6 +31,18 @@ public class LightningService {
     @RestClient
     BlitzortungClient blitzortungClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    ChangeLog changeLog;
+
     public List<LightningStrikeEntity> getRecentStrikes() {
         return lightningRepository.findRecent();
     }
@@ -41,25 +53,31 @@ public class LightningService {
 
     @Transactional
     public void fetchAndStoreStrikes() {
+        IngestRun run = ingestInstrumentation.start("lightning");
         try {
             String response = blitzortungClient.getRecentStrikes(15);
+            adaptivePollingService.observe("lightning", "strikes", response);
+            run.stage(IngestStage.PARSE);
             JsonNode data = objectMapper.readTree(response);
 
             if (!data.isArray() || data.isEmpty()) {
                 LOG.info("No lightning strikes returned from API");
                 return;
             }
+            run.records(IngestStage.PARSE, 1, data.size());
 
             List<LightningStrikeEntity> strikes = new ArrayList<>();
             int skipped = 0;
 
             for (JsonNode strike : data) {
                 try {
+                    run.stage(IngestStage.DEDUP);
                     String strikeId = generateStrikeId(strike);
                     if (lightningRepository.existsByStrikeId(strikeId)) {
                         skipped++;
                         continue;
                     }
+                    run.stage(IngestStage.MAP);
 
                     LightningStrikeEntity entity = new LightningStrikeEntity();
                     entity.strikeId = strikeId;
@@ -68,7 +86,9 @@ public class LightningService {
                     entity.strikeTime = parseStrikeTime(strike);
                     entity.amplitudeKa = strike.has("sig") ? strike.path("sig").asDouble() / 1000.0 : null;
                     entity.strikeType = strike.path("type").asText(null);
-                    entity.rawData = strike.toString();
+                    String rawPayload = strike.toString();
+                    entity.rawRef = rawPayloadArchive.append("lightning", rawPayload);
+                    entity.rawData = rawPayloadArchive.inline(entity.rawRef, rawPayload);
                     entity.fetchedAt = LocalDateTime.now();
 
                     strikes.add(entity);
@@ -77,15 +97,24 @@ public class LightningService {
                 }
             }
 
+            run.records(IngestStage.DEDUP, data.size(), data.size() - skipped)
+                .records(IngestStage.MAP, data.size() - skipped, strikes.size());
+
             if (!strikes.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 lightningRepository.persist(strikes);
+                changeLog.record("lightning", ChangeLog.Op.INSERT, strikes.stream().map(row -> row.id).toList());
+                run.records(IngestStage.PERSIST, strikes.size(), strikes.size());
                 LOG.info("Stored " + strikes.size() + " new lightning strikes (skipped " + skipped + " duplicates)");
             } else {
                 LOG.info("No new lightning strikes to store (" + skipped + " duplicates skipped)");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching lightning data", e);
+        } finally {
+            run.close();
         }
     }
 
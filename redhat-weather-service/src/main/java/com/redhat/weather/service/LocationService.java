@@ -2,11 +2,12 @@ package com.redhat.weather.service;
 
 import com.redhat.weather.domain.entity.LocationEntity;
 import com.redhat.weather.domain.repository.LocationRepository;
+import io.quarkus.cache.Cache;
 import io.quarkus.cache.CacheInvalidateAll;
-import io.quarkus.cache.CacheResult;
-import io.quarkus.runtime.StartupEvent;
+import io.quarkus.cache.CacheName;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
@@ -22,28 +23,38 @@ public class LocationService {
     @Inject
     LocationRepository locationRepository;
 
-    void onStartup(@Observes StartupEvent ev) {
-        LOG.info("Warming location caches...");
-        try {
-            List<LocationEntity> all = getAllLocations();
-            LOG.info("Location caches warmed: " + all.size() + " locations (all airports)");
-        } catch (Exception e) {
-            LOG.warn("Failed to warm location caches: " + e.getMessage());
-        }
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @Inject
+    @CacheName("locations-all")
+    Cache allLocationsCache;
+
+    @Inject
+    @CacheName("locations-airports")
+    Cache airportLocationsCache;
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) AirportCatalogChangedEvent event) {
+        allLocationsCache.invalidateAll().await().indefinitely();
+        airportLocationsCache.invalidateAll().await().indefinitely();
+        LOG.info("Location caches invalidated after airport catalog change: " + event.inserted() + " inserted, "
+            + event.updated() + " updated, " + event.retired() + " retired");
     }
 
-    @CacheResult(cacheName = "locations-all")
+    // Keyed by the location version, so another replica's changes are never served under their ETag
+
     public List<LocationEntity> getAllLocations() {
-        return locationRepository.getAllLocations();
+        return allLocationsCache.get(datasetVersions.version(DatasetVersions.LOCATION),
+            version -> locationRepository.getAllLocations()).await().indefinitely();
     }
 
     public Optional<LocationEntity> getLocationById(Long id) {
         return locationRepository.findByIdOptional(id);
     }
 
-    @CacheResult(cacheName = "locations-airports")
     public List<LocationEntity> getAirportLocations() {
-        return locationRepository.findAirportLocations();
+        return airportLocationsCache.get(datasetVersions.version(DatasetVersions.LOCATION),
+            version -> locationRepository.findAirportLocations()).await().indefinitely();
     }
 
     public Optional<LocationEntity> getLocationByAirportCode(String airportCode) {
@@ -55,6 +66,7 @@ public class LocationService {
     @CacheInvalidateAll(cacheName = "locations-airports")
     public LocationEntity createLocation(LocationEntity location) {
         locationRepository.persist(location);
+        datasetVersions.bump(DatasetVersions.LOCATION);
         return location;
     }
 
@@ -72,6 +84,7 @@ public class LocationService {
             existingLocation.country = updatedLocation.country;
             existingLocation.metadata = updatedLocation.metadata;
             locationRepository.persist(existingLocation);
+            datasetVersions.bump(DatasetVersions.LOCATION);
         }
         return existingLocation;
     }
@@ -80,7 +93,11 @@ public class LocationService {
     @CacheInvalidateAll(cacheName = "locations-all")
     @CacheInvalidateAll(cacheName = "locations-airports")
     public boolean deleteLocation(Long id) {
-        return locationRepository.deleteById(id);
+        boolean deleted = locationRepository.deleteById(id);
+        if (deleted) {
+            datasetVersions.bump(DatasetVersions.LOCATION);
+        }
+        return deleted;
     }
 
     // Paginated query methods
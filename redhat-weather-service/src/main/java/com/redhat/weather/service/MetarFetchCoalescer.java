@@ -0,0 +1,181 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.AirportWeatherEntity;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Read-through freshness for METARs.
+ *
+ * The scheduler rotates through the catalog a batch at a time, so an airport it hasn't reached yet
+ * can be hours old. When a requested airport was last checked upstream more than
+ * {@code weather.metar.on-demand.max-age-minutes} ago, the request joins a short micro-batching
+ * window; every stale airport requested by anyone during that window is fetched with a single
+ * {@code getMETAR(ids=...)} call and all waiters are released together. Requests for an airport
+ * already queued or in flight join the existing fetch instead of adding another. If the upstream
+ * call fails, every waiter sees the failure and serves the stored report.
+ */
+@ApplicationScoped
+public class MetarFetchCoalescer {
+
+    private static final Logger LOG = Logger.getLogger(MetarFetchCoalescer.class);
+
+    @Inject
+    AirportWeatherService airportWeatherService;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "weather.metar.on-demand.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "weather.metar.on-demand.max-age-minutes", defaultValue = "15")
+    int maxAgeMinutes;
+
+    @ConfigProperty(name = "weather.metar.on-demand.window-ms", defaultValue = "50")
+    long windowMs;
+
+    @ConfigProperty(name = "weather.metar.on-demand.max-batch", defaultValue = "100")
+    int maxBatch;
+
+    @ConfigProperty(name = "weather.metar.on-demand.wait-ms", defaultValue = "3000")
+    long waitMs;
+
+    private final Object windowLock = new Object();
+    // Airports waiting for the current window to close; guarded by windowLock
+    private Map<String, CompletableFuture<Void>> window = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    // Last upstream check per known airport, including checks that returned no newer METAR
+    private final Map<String, LocalDateTime> lastChecked = new ConcurrentHashMap<>();
+
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    void init() {
+        batchSizes = DistributionSummary.builder("weather_metar_on_demand_batch_size")
+            .description("Airports per coalesced on-demand METAR fetch")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Latest METAR for {@code airportCode}, fetched from upstream first if it is stale.
+     * Serves the stale report if the upstream fetch doesn't finish within the wait budget.
+     */
+    public Optional<AirportWeatherEntity> getLatestMetar(String airportCode) {
+        Optional<AirportWeatherEntity> current = airportWeatherService.getLatestMetar(airportCode);
+        if (!enabled || !isStale(airportCode, current)) {
+            count("fresh");
+            return current;
+        }
+
+        try {
+            request(airportCode).get(waitMs, TimeUnit.MILLISECONDS);
+            count("fetched");
+        } catch (TimeoutException e) {
+            count("timeout");
+            LOG.debug("On-demand METAR fetch for " + airportCode + " still running after " + waitMs + " ms; serving stored report");
+            return current;
+        } catch (ExecutionException e) {
+            count("failed");
+            return current;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return current;
+        }
+        return airportWeatherService.getLatestMetar(airportCode);
+    }
+
+    /**
+     * Queue {@code airportCode} for the next coalesced fetch, or join the fetch already covering it.
+     */
+    CompletableFuture<Void> request(String airportCode) {
+        CompletableFuture<Void> running = inFlight.get(airportCode);
+        if (running != null) {
+            return running;
+        }
+
+        Map<String, CompletableFuture<Void>> full = null;
+        CompletableFuture<Void> pending;
+        synchronized (windowLock) {
+            pending = window.get(airportCode);
+            if (pending != null) {
+                return pending;
+            }
+            pending = new CompletableFuture<>();
+            window.put(airportCode, pending);
+            if (window.size() >= maxBatch) {
+                full = closeWindow();
+            } else if (window.size() == 1) {
+                CompletableFuture.runAsync(this::flushWindow,
+                    CompletableFuture.delayedExecutor(windowMs, TimeUnit.MILLISECONDS));
+            }
+        }
+        if (full != null) {
+            Map<String, CompletableFuture<Void>> batch = full;
+            CompletableFuture.runAsync(() -> fetch(batch));
+        }
+        return pending;
+    }
+
+    private void flushWindow() {
+        Map<String, CompletableFuture<Void>> batch;
+        synchronized (windowLock) {
+            batch = closeWindow();
+        }
+        if (!batch.isEmpty()) {
+            fetch(batch);
+        }
+    }
+
+    private Map<String, CompletableFuture<Void>> closeWindow() {
+        Map<String, CompletableFuture<Void>> batch = window;
+        window = new HashMap<>();
+        inFlight.putAll(batch);
+        return batch;
+    }
+
+    private void fetch(Map<String, CompletableFuture<Void>> batch) {
+        batchSizes.record(batch.size());
+        try {
+            Set<String> checked = airportWeatherService.fetchAndStoreMetarBatch(batch.keySet());
+            LocalDateTime now = LocalDateTime.now();
+            checked.forEach(code -> lastChecked.put(code, now));
+            batch.values().forEach(waiter -> waiter.complete(null));
+        } catch (Exception e) {
+            LOG.warn("On-demand METAR fetch failed for " + batch.size() + " airports: " + e.getMessage());
+            batch.values().forEach(waiter -> waiter.completeExceptionally(e));
+        } finally {
+            // Only this batch's entries: the same airport may already be queued in a later one
+            batch.forEach(inFlight::remove);
+        }
+    }
+
+    private boolean isStale(String airportCode, Optional<AirportWeatherEntity> current) {
+        LocalDateTime checkedAt = lastChecked.get(airportCode);
+        if (current.isPresent() && (checkedAt == null || current.get().fetchedAt.isAfter(checkedAt))) {
+            checkedAt = current.get().fetchedAt;
+        }
+        return checkedAt == null || Duration.between(checkedAt, LocalDateTime.now()).toMinutes() >= maxAgeMinutes;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("weather_metar_on_demand_total", "result", result).increment();
+    }
+}
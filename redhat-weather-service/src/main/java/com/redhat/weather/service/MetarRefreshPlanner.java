@@ -0,0 +1,239 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.LocationEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Plans which airports get a METAR/TAF refresh on each scheduler cycle.
+ *
+ * Airports are split into tiers by their CSV airport type, with a configurable watch list
+ * promoted to the top tier. Large airports are refreshed every cycle; medium and small tiers
+ * rotate through their members fast enough to cover the whole tier once per configured interval.
+ */
+@ApplicationScoped
+public class MetarRefreshPlanner {
+
+    private static final Logger LOG = Logger.getLogger(MetarRefreshPlanner.class);
+
+    public enum Tier {
+        LARGE, MEDIUM, SMALL;
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<String, LocalDateTime> lastPlanned = new ConcurrentHashMap<>();
+    private final Map<Tier, Integer> tierSizes = new ConcurrentHashMap<>();
+    private final Map<Tier, LocalDateTime> oldestRefresh = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> lastRefreshed = new ConcurrentHashMap<>();
+    private final Map<String, Tier> airportTiers = new ConcurrentHashMap<>();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "weather.scheduler.airport.watch-list")
+    Optional<List<String>> watchList;
+
+    @ConfigProperty(name = "weather.scheduler.airport.tier.medium.interval-minutes", defaultValue = "60")
+    int mediumIntervalMinutes;
+
+    @ConfigProperty(name = "weather.scheduler.airport.tier.small.interval-minutes", defaultValue = "240")
+    int smallIntervalMinutes;
+
+    private Set<String> watchedCodes = Set.of();
+
+    @PostConstruct
+    void init() {
+        watchedCodes = watchList.orElse(List.of()).stream()
+            .map(code -> code.trim().toUpperCase(Locale.ROOT))
+            .filter(code -> !code.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+
+        for (Tier tier : Tier.values()) {
+            meterRegistry.gauge("weather_metar_tier_staleness_seconds", Tags.of("tier", tier.label()), this,
+                planner -> planner.getStaleness(tier).toSeconds());
+            meterRegistry.gauge("weather_metar_tier_airports", Tags.of("tier", tier.label()), this,
+                planner -> planner.tierSizes.getOrDefault(tier, 0));
+        }
+    }
+
+    public Tier tierOf(LocationEntity airport) {
+        if (airport.airportCode != null && watchedCodes.contains(airport.airportCode.toUpperCase(Locale.ROOT))) {
+            return Tier.LARGE;
+        }
+        if ("large_airport".equals(airport.airportType)) {
+            return Tier.LARGE;
+        }
+        if ("medium_airport".equals(airport.airportType)) {
+            return Tier.MEDIUM;
+        }
+        return Tier.SMALL;
+    }
+
+    /**
+     * Select the airport codes of one partition to refresh this cycle. Every large-tier airport is
+     * included; medium and small tiers contribute a rotating slice sized by the time elapsed since
+     * their last cycle relative to the tier interval, bounded overall by {@code budget}. A tier cut
+     * short by the budget is credited only for what it got, so it catches up on later cycles. Tier
+     * cursors are supplied and advanced by the caller so they can be persisted alongside the
+     * partition lease.
+     *
+     * @param scope identifies the partition, for tracking elapsed time between its cycles
+     * @param airports the partition's airports, in a stable order
+     * @param budget maximum number of medium/small airports to include
+     * @param tierCursors rotation positions for the medium and small tiers; updated in place
+     */
+    public List<String> planCycle(String scope, List<LocationEntity> airports, int budget, Map<Tier, Integer> tierCursors) {
+        return planCycle(scope, airports, budget, tierCursors, LocalDateTime.now());
+    }
+
+    synchronized List<String> planCycle(String scope, List<LocationEntity> airports, int budget,
+                                        Map<Tier, Integer> tierCursors, LocalDateTime now) {
+        Map<Tier, List<String>> byTier = new EnumMap<>(Tier.class);
+        for (Tier tier : Tier.values()) {
+            byTier.put(tier, new ArrayList<>());
+        }
+        for (LocationEntity airport : airports) {
+            if (airport.airportCode == null || airport.airportCode.isEmpty()) {
+                continue;
+            }
+            byTier.get(tierOf(airport)).add(airport.airportCode);
+        }
+
+        List<String> planned = new ArrayList<>(byTier.get(Tier.LARGE));
+
+        int remaining = Math.max(budget, 0);
+        for (Tier tier : List.of(Tier.MEDIUM, Tier.SMALL)) {
+            List<String> codes = byTier.get(tier);
+            if (codes.isEmpty()) {
+                continue;
+            }
+            String key = scope + ":" + tier.label();
+            Duration interval = intervalOf(tier);
+            LocalDateTime previous = lastPlanned.get(key);
+            int take = Math.min(quotaFor(codes.size(), interval, previous, now), remaining);
+            int cursor = tierCursors.getOrDefault(tier, 0) % codes.size();
+            for (int i = 0; i < take; i++) {
+                planned.add(codes.get((cursor + i) % codes.size()));
+            }
+            tierCursors.put(tier, (cursor + take) % codes.size());
+            lastPlanned.put(key, advance(previous, interval, take, codes.size(), now));
+            remaining -= take;
+        }
+
+        LOG.debug("METAR refresh plan [" + scope + "]: large=" + byTier.get(Tier.LARGE).size()
+            + ", medium/small=" + (planned.size() - byTier.get(Tier.LARGE).size())
+            + " (budget " + budget + ")");
+        return planned;
+    }
+
+    /**
+     * Set the airports this instance is responsible for, used for tier sizes and staleness.
+     */
+    public void classify(List<LocationEntity> airports) {
+        Map<String, Tier> tiers = new HashMap<>();
+        Map<Tier, Integer> sizes = new EnumMap<>(Tier.class);
+        for (Tier tier : Tier.values()) {
+            sizes.put(tier, 0);
+        }
+        for (LocationEntity airport : airports) {
+            if (airport.airportCode == null || airport.airportCode.isEmpty()) {
+                continue;
+            }
+            Tier tier = tierOf(airport);
+            tiers.put(airport.airportCode, tier);
+            sizes.merge(tier, 1, Integer::sum);
+        }
+        airportTiers.keySet().retainAll(tiers.keySet());
+        airportTiers.putAll(tiers);
+        tierSizes.putAll(sizes);
+        recomputeStaleness();
+    }
+
+    /**
+     * Record airports whose weather was refreshed successfully and update per-tier staleness.
+     */
+    public void markRefreshed(Collection<String> codes) {
+        LocalDateTime now = LocalDateTime.now();
+        for (String code : codes) {
+            lastRefreshed.put(code, now);
+        }
+        recomputeStaleness();
+    }
+
+    public Duration getStaleness(Tier tier) {
+        LocalDateTime oldest = oldestRefresh.get(tier);
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+    }
+
+    public Map<String, Object> getTierSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (Tier tier : Tier.values()) {
+            snapshot.put(tier.label() + ".airports", tierSizes.getOrDefault(tier, 0));
+            snapshot.put(tier.label() + ".oldestRefreshMinutes", getStaleness(tier).toMinutes());
+        }
+        return snapshot;
+    }
+
+    private Duration intervalOf(Tier tier) {
+        return Duration.ofMinutes(tier == Tier.MEDIUM ? mediumIntervalMinutes : smallIntervalMinutes);
+    }
+
+    private int quotaFor(int size, Duration interval, LocalDateTime previous, LocalDateTime now) {
+        if (previous == null || interval.isZero() || interval.isNegative()) {
+            return size;
+        }
+        double fraction = (double) Duration.between(previous, now).toSeconds() / interval.toSeconds();
+        return (int) Math.min(size, Math.ceil(size * Math.max(fraction, 0)));
+    }
+
+    /**
+     * Move a tier's planning clock forward by the share of its interval that {@code take} airports
+     * cover, never past {@code now}. The deficit owed is capped at one interval, the most a quota
+     * can ask for.
+     */
+    private LocalDateTime advance(LocalDateTime previous, Duration interval, int take, int size, LocalDateTime now) {
+        if (interval.isZero() || interval.isNegative()) {
+            return now;
+        }
+        LocalDateTime owedSince = now.minus(interval);
+        LocalDateTime from = previous == null || previous.isBefore(owedSince) ? owedSince : previous;
+        LocalDateTime next = from.plusSeconds(interval.toSeconds() * take / size);
+        return next.isAfter(now) ? now : next;
+    }
+
+    private void recomputeStaleness() {
+        Map<Tier, LocalDateTime> oldest = new EnumMap<>(Tier.class);
+        airportTiers.forEach((code, tier) -> {
+            // Airports not yet refreshed since startup count as stale since startup
+            LocalDateTime refreshed = lastRefreshed.getOrDefault(code, startedAt);
+            oldest.merge(tier, refreshed, (a, b) -> a.isBefore(b) ? a : b);
+        });
+        oldestRefresh.putAll(oldest);
+        // A tier left without airports has no staleness, rather than its last airport's
+        oldestRefresh.keySet().retainAll(oldest.keySet());
+    }
+}
@@ -30,6 +30,18 @@ public class PirepService {
     @RestClient
     AviationWeatherClient aviationClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    ChangeLog changeLog;
+
     public List<PirepEntity> getRecentPireps() {
         return pirepRepository.findRecent();
     }
@@ -44,22 +56,32 @@ public class PirepService {
 
     @Transactional
     public void fetchAndStorePireps() {
+        IngestRun run = ingestInstrumentation.start("pirep");
         try {
             List<AviationWeatherClient.PirepResponse> responses = aviationClient.getPIREPs(3, "json");
+            adaptivePollingService.observe("awc-pireps", "pireps", responses);
 
             if (responses == null || responses.isEmpty()) {
                 LOG.info("No PIREPs returned from AWC");
                 return;
             }
+            run.records(IngestStage.FETCH, 1, responses.size());
 
             List<PirepEntity> pireps = new ArrayList<>();
+            int duplicates = 0;
 
             for (AviationWeatherClient.PirepResponse resp : responses) {
                 try {
+                    run.stage(IngestStage.MAP);
                     if (resp.lat == null || resp.lon == null || resp.rawOb == null) continue;
 
                     String pirepId = generatePirepId(resp);
-                    if (pirepRepository.existsByPirepId(pirepId)) continue;
+                    run.stage(IngestStage.DEDUP);
+                    if (pirepRepository.existsByPirepId(pirepId)) {
+                        duplicates++;
+                        continue;
+                    }
+                    run.stage(IngestStage.MAP);
 
                     PirepEntity entity = new PirepEntity();
                     entity.pirepId = pirepId;
@@ -80,7 +102,9 @@ public class PirepService {
                     entity.windSpeedKnots = resp.wspd;
                     entity.windDirection = resp.wdir;
                     entity.visibilityMiles = resp.visib != null ? BigDecimal.valueOf(resp.visib) : null;
-                    entity.pirepData = objectMapper.writeValueAsString(resp);
+                    String rawPayload = objectMapper.writeValueAsString(resp);
+                    entity.rawRef = rawPayloadArchive.append("pirep", rawPayload);
+                    entity.pirepData = rawPayloadArchive.inline(entity.rawRef, rawPayload);
                     entity.fetchedAt = LocalDateTime.now();
 
                     pireps.add(entity);
@@ -89,15 +113,24 @@ public class PirepService {
                 }
             }
 
+            run.records(IngestStage.MAP, responses.size(), pireps.size())
+                .records(IngestStage.DEDUP, pireps.size() + duplicates, pireps.size());
+
             if (!pireps.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 pirepRepository.persist(pireps);
+                changeLog.record("pirep", ChangeLog.Op.INSERT, pireps.stream().map(row -> row.id).toList());
+                run.records(IngestStage.PERSIST, pireps.size(), pireps.size());
                 LOG.info("Stored " + pireps.size() + " new PIREPs");
             } else {
                 LOG.info("No new PIREPs to store");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching PIREPs from AWC", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -0,0 +1,548 @@
+package com.redhat.weather.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only archive for raw upstream payloads on local disk.
+ *
+ * Each source appends records ({@code [int length][long fetchedAtMillis][UTF-8 payload]}) to an
+ * open segment file. A segment is sealed into {@code <firstMillis>-<lastMillis>.fseg} once it
+ * reaches the size or age limit, so segments are indexed by source and fetch time from their file
+ * names alone. Sealed segments are a run of independently deflated frames
+ * ({@code [int compressedLength][int rawLength][deflated records]}) of whole records, up to
+ * {@value #FRAME_BYTES} raw bytes each, so reading one record inflates only its frame. Rows store
+ * the returned reference ({@code source/segmentId/offset}). Reads and replays memory-map the
+ * segment files.
+ *
+ * The archive lives on the replica that wrote it and is lost with the pod, so rows also keep the
+ * payload inline (see {@link #inline}) unless {@code weather.archive.inline-payloads} is turned off.
+ * Until the directory is on a persistent volume the archive only adds writes, so it is disabled
+ * unless {@code weather.archive.enabled} is set.
+ */
+@ApplicationScoped
+public class RawPayloadArchive {
+
+    private static final Logger LOG = Logger.getLogger(RawPayloadArchive.class);
+    private static final Pattern SOURCE_PATTERN = Pattern.compile("[a-z0-9-]{1,40}");
+    private static final String OPEN_SUFFIX = ".open";
+    private static final String SEALED_SUFFIX = ".fseg";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int FRAME_HEADER_BYTES = Integer.BYTES + Integer.BYTES;
+    private static final int FRAME_BYTES = 64 * 1024;
+
+    private final Map<String, SourceLog> sources = new ConcurrentHashMap<>();
+
+    @ConfigProperty(name = "weather.archive.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "weather.archive.dir", defaultValue = "./data/raw-archive")
+    String archiveDir;
+
+    @ConfigProperty(name = "weather.archive.segment-max-bytes", defaultValue = "16777216")
+    long segmentMaxBytes;
+
+    @ConfigProperty(name = "weather.archive.segment-max-age-minutes", defaultValue = "60")
+    long segmentMaxAgeMinutes;
+
+    @ConfigProperty(name = "weather.archive.inline-payloads", defaultValue = "true")
+    boolean inlinePayloads;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * A record read back from the archive.
+     */
+    public record RawRecord(String ref, long fetchedAtMillis, String payload) {
+    }
+
+    void onStartup(@Observes StartupEvent ev) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path root = Paths.get(archiveDir);
+            Files.createDirectories(root);
+            try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+                for (Path dir : dirs) {
+                    String source = dir.getFileName().toString();
+                    if (SOURCE_PATTERN.matcher(source).matches()) {
+                        // Segments left open by a previous run are sealed before anything is appended
+                        sourceLog(source).recover();
+                    }
+                }
+            }
+            LOG.info("Raw payload archive at " + root.toAbsolutePath() + ": " + sources.size() + " sources");
+        } catch (Exception e) {
+            LOG.warn("Failed to open raw payload archive, payloads will be stored inline: " + e.getMessage());
+            enabled = false;
+        }
+    }
+
+    void onShutdown(@Observes ShutdownEvent ev) {
+        sealAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Append a payload for a source.
+     *
+     * @return the reference to store on the row, or null if the archive is disabled or the write
+     *         failed (callers then keep the payload inline)
+     */
+    public String append(String source, String payload) {
+        if (!enabled || payload == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+            String ref = sourceLog(source).append(bytes, System.currentTimeMillis());
+            meterRegistry.counter("weather_archive_bytes_total", "source", source).increment(bytes.length);
+            meterRegistry.counter("weather_archive_records_total", "source", source).increment();
+            return ref;
+        } catch (Exception e) {
+            LOG.warn("Failed to archive " + source + " payload: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The payload to keep in the row's jsonb column alongside {@code ref}: the payload itself unless
+     * the archive took it and inline copies are turned off.
+     */
+    public String inline(String ref, String payload) {
+        return ref == null || inlinePayloads ? payload : null;
+    }
+
+    /**
+     * Read a single payload by reference. Only records archived by this replica can be found.
+     */
+    public Optional<String> read(String ref) {
+        if (ref == null) {
+            return Optional.empty();
+        }
+        String[] parts = ref.split("/");
+        if (parts.length != 3 || !SOURCE_PATTERN.matcher(parts[0]).matches()) {
+            return Optional.empty();
+        }
+        try {
+            long segmentId = Long.parseLong(parts[1]);
+            long offset = Long.parseLong(parts[2]);
+            SourceLog log = sources.get(parts[0]);
+            if (log == null) {
+                return Optional.empty();
+            }
+            return log.readAt(segmentId, offset).map(RawRecord::payload);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            LOG.warn("Failed to read archived payload " + ref + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replay a source's payloads fetched in [fromMillis, toMillis], oldest first.
+     *
+     * @param limit maximum number of records to return
+     */
+    public List<RawRecord> replay(String source, long fromMillis, long toMillis, int limit) {
+        List<RawRecord> records = new ArrayList<>();
+        SourceLog log = SOURCE_PATTERN.matcher(source).matches() ? sources.get(source) : null;
+        if (log == null || limit <= 0) {
+            return records;
+        }
+        try {
+            log.scan(fromMillis, toMillis, record -> {
+                if (record.fetchedAtMillis() >= fromMillis && record.fetchedAtMillis() <= toMillis) {
+                    records.add(record);
+                }
+                return records.size() < limit;
+            });
+        } catch (Exception e) {
+            LOG.warn("Failed to replay " + source + " archive: " + e.getMessage());
+        }
+        return records;
+    }
+
+    public List<String> getSources() {
+        return sources.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Seal open segments older than the configured age, so idle sources still get compressed.
+     */
+    public void sealIdleSegments() {
+        long cutoff = System.currentTimeMillis() - segmentMaxAgeMinutes * 60_000L;
+        for (SourceLog log : sources.values()) {
+            try {
+                log.sealIfOlderThan(cutoff);
+            } catch (IOException e) {
+                LOG.warn("Failed to seal " + log.source + " segment: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Delete sealed segments whose newest record is older than the cutoff.
+     *
+     * @return number of segments deleted
+     */
+    public int deleteOlderThan(long cutoffMillis) {
+        int deleted = 0;
+        for (SourceLog log : sources.values()) {
+            deleted += log.deleteOlderThan(cutoffMillis);
+        }
+        if (deleted > 0) {
+            LOG.info("Deleted " + deleted + " raw payload archive segments");
+        }
+        return deleted;
+    }
+
+    void sealAll() {
+        for (SourceLog log : sources.values()) {
+            try {
+                log.sealIfOlderThan(Long.MAX_VALUE);
+            } catch (IOException e) {
+                LOG.warn("Failed to seal " + log.source + " segment on shutdown: " + e.getMessage());
+            }
+        }
+    }
+
+    private SourceLog sourceLog(String source) {
+        if (!SOURCE_PATTERN.matcher(source).matches()) {
+            throw new IllegalArgumentException("Invalid archive source: " + source);
+        }
+        return sources.computeIfAbsent(source, s -> new SourceLog(s, Paths.get(archiveDir, s)));
+    }
+
+    /**
+     * Segments of one source. Appends and seals are serialized per source; reads of sealed
+     * segments need no lock because sealed files are immutable.
+     */
+    private final class SourceLog {
+        final String source;
+        final Path dir;
+        // Sealed segments by first record time -> newest record time
+        final NavigableMap<Long, Long> sealed = new ConcurrentSkipListMap<>();
+        FileChannel openChannel;
+        long openId = -1;
+        long openLastMillis;
+        long openSize;
+
+        SourceLog(String source, Path dir) {
+            this.source = source;
+            this.dir = dir;
+        }
+
+        synchronized void recover() throws IOException {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(SEALED_SUFFIX)) {
+                        String[] range = name.substring(0, name.length() - SEALED_SUFFIX.length()).split("-");
+                        sealed.put(Long.parseLong(range[0]), Long.parseLong(range[1]));
+                    }
+                }
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + OPEN_SUFFIX)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    sealFile(Long.parseLong(name.substring(0, name.length() - OPEN_SUFFIX.length())), file);
+                }
+            }
+        }
+
+        synchronized String append(byte[] payload, long fetchedAtMillis) throws IOException {
+            if (openChannel != null && fetchedAtMillis - openId >= segmentMaxAgeMinutes * 60_000L) {
+                seal();
+            }
+            if (openChannel == null) {
+                Files.createDirectories(dir);
+                long lastId = sealed.isEmpty() ? 0 : sealed.lastKey();
+                openId = Math.max(fetchedAtMillis, lastId + 1);
+                openChannel = FileChannel.open(openPath(openId),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                openSize = 0;
+            }
+
+            long offset = openSize;
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+            buffer.putInt(payload.length).putLong(fetchedAtMillis).put(payload).flip();
+            while (buffer.hasRemaining()) {
+                openChannel.write(buffer);
+            }
+            openSize += HEADER_BYTES + payload.length;
+            openLastMillis = fetchedAtMillis;
+            String ref = source + "/" + openId + "/" + offset;
+
+            if (openSize >= segmentMaxBytes) {
+                seal();
+            }
+            return ref;
+        }
+
+        synchronized void sealIfOlderThan(long cutoffMillis) throws IOException {
+            if (openChannel != null && openId < cutoffMillis) {
+                seal();
+            }
+        }
+
+        private void seal() throws IOException {
+            openChannel.force(true);
+            openChannel.close();
+            openChannel = null;
+            sealFile(openId, openPath(openId));
+            openId = -1;
+        }
+
+        /**
+         * Deflate an open segment into its sealed frames, dropping a torn trailing record.
+         */
+        private void sealFile(long id, Path openFile) throws IOException {
+            long lastMillis = id;
+            Path tmp = dir.resolve(id + SEALED_SUFFIX + ".tmp");
+            try (FileChannel in = FileChannel.open(openFile, StandardOpenOption.READ)) {
+                long size = in.size();
+                if (size == 0) {
+                    in.close();
+                    Files.delete(openFile);
+                    return;
+                }
+                MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                int valid = 0;
+                while (size - valid >= HEADER_BYTES) {
+                    int length = mapped.getInt(valid);
+                    if (length < 0 || valid + HEADER_BYTES + (long) length > size) {
+                        break;
+                    }
+                    lastMillis = mapped.getLong(valid + Integer.BYTES);
+                    valid += HEADER_BYTES + length;
+                }
+
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    int frameStart = 0;
+                    while (frameStart < valid) {
+                        // Whole records up to FRAME_BYTES; a larger record gets a frame of its own
+                        int frameEnd = frameStart + HEADER_BYTES + mapped.getInt(frameStart);
+                        while (frameEnd < valid
+                                && frameEnd + HEADER_BYTES + mapped.getInt(frameEnd) - frameStart <= FRAME_BYTES) {
+                            frameEnd += HEADER_BYTES + mapped.getInt(frameEnd);
+                        }
+                        writeFrame(out, deflater, mapped.slice(frameStart, frameEnd - frameStart));
+                        frameStart = frameEnd;
+                    }
+                    out.force(true);
+                } finally {
+                    deflater.end();
+                }
+            }
+            Files.move(tmp, dir.resolve(id + "-" + lastMillis + SEALED_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(openFile);
+            sealed.put(id, lastMillis);
+        }
+
+        private void writeFrame(FileChannel out, Deflater deflater, ByteBuffer records) throws IOException {
+            int rawLength = records.remaining();
+            deflater.reset();
+            deflater.setInput(records);
+            deflater.finish();
+            ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + rawLength / 2 + 64);
+            frame.position(FRAME_HEADER_BYTES);
+            while (!deflater.finished()) {
+                if (!frame.hasRemaining()) {
+                    frame = ByteBuffer.allocate(frame.capacity() * 2).put(frame.flip());
+                }
+                deflater.deflate(frame);
+            }
+            frame.putInt(0, frame.position() - FRAME_HEADER_BYTES).putInt(Integer.BYTES, rawLength).flip();
+            while (frame.hasRemaining()) {
+                out.write(frame);
+            }
+        }
+
+        Optional<RawRecord> readAt(long id, long offset) throws IOException, DataFormatException {
+            List<RawRecord> found = new ArrayList<>(1);
+            Predicate<RawRecord> first = record -> {
+                found.add(record);
+                return false;
+            };
+            if (sealed.containsKey(id)) {
+                scanSealed(id, offset, first);
+            } else {
+                scanOpen(id, offset, first);
+            }
+            return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+        }
+
+        /**
+         * Visit records of segments that may contain fetches in [fromMillis, toMillis], oldest
+         * first, until the visitor returns false.
+         */
+        void scan(long fromMillis, long toMillis, Predicate<RawRecord> visitor)
+                throws IOException, DataFormatException {
+            long openAtStart;
+            synchronized (this) {
+                openAtStart = openChannel != null ? openId : -1;
+            }
+            for (Map.Entry<Long, Long> segment : sealed.headMap(toMillis, true).entrySet()) {
+                if (segment.getValue() >= fromMillis && !scanSealed(segment.getKey(), 0, visitor)) {
+                    return;
+                }
+            }
+            if (openAtStart >= 0 && openAtStart <= toMillis) {
+                scanOpen(openAtStart, 0, visitor);
+            }
+        }
+
+        /**
+         * Visit the records of a sealed segment from raw {@code offset} on. Frames before the one
+         * holding {@code offset} are skipped by their headers without being inflated.
+         */
+        private boolean scanSealed(long id, long offset, Predicate<RawRecord> visitor)
+                throws IOException, DataFormatException {
+            Long lastMillis = sealed.get(id);
+            if (lastMillis == null) {
+                return true;
+            }
+            Path file = dir.resolve(id + "-" + lastMillis + SEALED_SUFFIX);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                Inflater inflater = new Inflater();
+                try {
+                    int framePosition = 0;
+                    long frameOffset = 0;
+                    while (framePosition + FRAME_HEADER_BYTES <= size) {
+                        int compressedLength = mapped.getInt(framePosition);
+                        int rawLength = mapped.getInt(framePosition + Integer.BYTES);
+                        int dataPosition = framePosition + FRAME_HEADER_BYTES;
+                        framePosition = dataPosition + compressedLength;
+                        if (offset >= frameOffset + rawLength) {
+                            frameOffset += rawLength;
+                            continue;
+                        }
+
+                        ByteBuffer records = ByteBuffer.allocate(rawLength);
+                        inflater.reset();
+                        inflater.setInput(mapped.slice(dataPosition, compressedLength));
+                        while (records.hasRemaining() && inflater.inflate(records) > 0) {
+                            // inflate until the frame is complete
+                        }
+                        if (records.hasRemaining()) {
+                            throw new DataFormatException("Truncated frame in " + file.getFileName());
+                        }
+
+                        int position = (int) Math.max(0, offset - frameOffset);
+                        while (position + HEADER_BYTES <= rawLength) {
+                            int length = records.getInt(position);
+                            long fetchedAt = records.getLong(position + Integer.BYTES);
+                            RawRecord record = new RawRecord(source + "/" + id + "/" + (frameOffset + position), fetchedAt,
+                                new String(records.array(), position + HEADER_BYTES, length, StandardCharsets.UTF_8));
+                            position += HEADER_BYTES + length;
+                            if (!visitor.test(record)) {
+                                return false;
+                            }
+                        }
+                        frameOffset += rawLength;
+                    }
+                } finally {
+                    inflater.end();
+                }
+            } catch (NoSuchFileException e) {
+                // Deleted by retention while scanning
+            }
+            return true;
+        }
+
+        private void scanOpen(long id, long offset, Predicate<RawRecord> visitor) throws IOException {
+            try (FileChannel channel = FileChannel.open(openPath(id), StandardOpenOption.READ)) {
+                long size = channel.size();
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                long position = offset;
+                while (position + HEADER_BYTES <= size) {
+                    int length = mapped.getInt((int) position);
+                    long fetchedAt = mapped.getLong((int) position + Integer.BYTES);
+                    if (length < 0 || position + HEADER_BYTES + length > size) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    mapped.get((int) position + HEADER_BYTES, payload);
+                    RawRecord record = new RawRecord(source + "/" + id + "/" + position, fetchedAt,
+                        new String(payload, StandardCharsets.UTF_8));
+                    position += HEADER_BYTES + length;
+                    if (!visitor.test(record)) {
+                        return;
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // Sealed concurrently; the records are now in the sealed segment
+                if (sealed.containsKey(id)) {
+                    try {
+                        scanSealed(id, offset, visitor);
+                    } catch (DataFormatException ex) {
+                        throw new IOException(ex);
+                    }
+                }
+            }
+        }
+
+        int deleteOlderThan(long cutoffMillis) {
+            int deleted = 0;
+            for (Map.Entry<Long, Long> segment : sealed.entrySet()) {
+                if (segment.getValue() < cutoffMillis) {
+                    try {
+                        Files.deleteIfExists(dir.resolve(segment.getKey() + "-" + segment.getValue() + SEALED_SUFFIX));
+                        sealed.remove(segment.getKey());
+                        deleted++;
+                    } catch (IOException e) {
+                        LOG.warn("Failed to delete archive segment for " + source + ": " + e.getMessage());
+                    }
+                }
+            }
+            return deleted;
+        }
+
+        private Path openPath(long id) {
+            return dir.resolve(id + OPEN_SUFFIX);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.RefreshJobEntity;
+import com.redhat.weather.domain.repository.RefreshJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs manually requested refreshes in the background so the /refresh endpoints return immediately.
+ *
+ * Jobs live in the {@code refresh_jobs} table, so any replica can answer {@code GET /api/jobs/{id}}.
+ * A request for a refresh that is already queued (not yet started, on any replica) returns the
+ * queued job instead of adding another; a request arriving while one is running queues exactly one
+ * follow-up, so it still sees data fetched after the request. Jobs queued on this replica run on a
+ * pool of {@code weather.jobs.max-concurrent} threads, one after another per type and target, and
+ * at most {@code weather.jobs.max-pending} may wait here before new ones are rejected with 429.
+ * Finished jobs stay queryable for {@code weather.jobs.retention-minutes}, and are purged by a
+ * background job every {@code weather.jobs.purge-interval}.
+ */
+@ApplicationScoped
+public class RefreshJobService {
+
+    private static final Logger LOG = Logger.getLogger(RefreshJobService.class);
+
+    @Inject
+    RefreshJobRepository jobRepository;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "weather.jobs.retention-minutes", defaultValue = "60")
+    int retentionMinutes;
+
+    @ConfigProperty(name = "weather.jobs.stale-minutes", defaultValue = "30")
+    int staleMinutes;
+
+    @ConfigProperty(name = "weather.jobs.max-concurrent", defaultValue = "2")
+    int maxConcurrent;
+
+    @ConfigProperty(name = "weather.jobs.max-pending", defaultValue = "20")
+    int maxPending;
+
+    private ExecutorService executor;
+    // Completion of the last job queued here per type/target, and the number not yet finished; guarded by 'this',
+    // which is never held across database calls
+    private final Map<String, CompletableFuture<Void>> tailByKey = new HashMap<>();
+    private int pending;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newFixedThreadPool(maxConcurrent, Thread.ofPlatform().name("refresh-job-", 0).daemon().factory());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        executor.shutdownNow();
+    }
+
+    public RefreshJobEntity submit(String type, Runnable work) {
+        return submit(type, null, work);
+    }
+
+    /**
+     * Queue a refresh of {@code type} (optionally for one {@code target}, e.g. an airport code).
+     *
+     * @return the new job, or the identical job that is already queued
+     * @throws BulkheadException if {@code weather.jobs.max-pending} jobs are already waiting on this replica
+     */
+    public RefreshJobEntity submit(String type, String target, Runnable work) {
+        String key = target == null ? type : type + ":" + target;
+
+        Optional<RefreshJobEntity> queued = jobRepository.findQueued(key);
+        if (queued.isPresent()) {
+            meterRegistry.counter("weather_refresh_jobs_deduplicated_total", "type", type).increment();
+            return queued.get();
+        }
+        reserve(type);
+
+        // The partial unique index on QUEUED jobs orders concurrent submits, here and on other replicas
+        String id = UUID.randomUUID().toString();
+        RefreshJobEntity job = null;
+        try {
+            do {
+                job = jobRepository.enqueue(id, key, type, target, LocalDateTime.now()).orElse(null);
+            } while (job == null);
+        } finally {
+            if (job == null || !job.id.equals(id)) {
+                unreserve();
+            }
+        }
+        if (!job.id.equals(id)) {
+            // Another request queued the same refresh first; it runs the job
+            meterRegistry.counter("weather_refresh_jobs_deduplicated_total", "type", type).increment();
+            return job;
+        }
+
+        schedule(key, id, type, work);
+        return job;
+    }
+
+    public Optional<RefreshJobEntity> getJob(String id) {
+        return jobRepository.findByIdOptional(id);
+    }
+
+    private void execute(String id, String type, Runnable work) {
+        RefreshJobEntity.Status status = RefreshJobEntity.Status.SUCCEEDED;
+        String error = null;
+        try {
+            jobRepository.markRunning(id, LocalDateTime.now());
+            work.run();
+        } catch (Exception e) {
+            status = RefreshJobEntity.Status.FAILED;
+            error = e.getMessage();
+            LOG.error("Refresh job " + id + " (" + type + ") failed", e);
+        } finally {
+            jobRepository.markFinished(id, status, error, LocalDateTime.now());
+            meterRegistry.counter("weather_refresh_jobs_total", "type", type,
+                "outcome", status == RefreshJobEntity.Status.SUCCEEDED ? "success" : "error").increment();
+        }
+    }
+
+    private synchronized void reserve(String type) {
+        if (pending >= maxPending) {
+            meterRegistry.counter("weather_refresh_jobs_rejected_total", "type", type).increment();
+            throw new BulkheadException(pending + " refresh jobs already pending");
+        }
+        pending++;
+    }
+
+    private synchronized void unreserve() {
+        pending--;
+    }
+
+    // Runs after the job for the same key queued here before it, if that is still running
+    private synchronized void schedule(String key, String id, String type, Runnable work) {
+        CompletableFuture<Void> previous = tailByKey.getOrDefault(key, CompletableFuture.completedFuture(null));
+        CompletableFuture<Void> tail = previous.thenRunAsync(() -> execute(id, type, work), executor);
+        tailByKey.put(key, tail);
+        tail.whenComplete((ignored, error) -> release(key, tail));
+    }
+
+    private synchronized void release(String key, CompletableFuture<Void> tail) {
+        pending--;
+        // Nothing queued behind this job: forget the key
+        tailByKey.remove(key, tail);
+    }
+
+    /**
+     * Fail abandoned jobs and drop finished ones past retention. Runs in the background on every
+     * replica (both statements are idempotent), never on the submit path.
+     */
+    @Scheduled(every = "${weather.jobs.purge-interval:5m}", identity = "refresh-jobs-purge")
+    void purgeFinished() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = jobRepository.abandonSubmittedBefore(now.minusMinutes(staleMinutes), now);
+        if (abandoned > 0) {
+            LOG.warn("Marked " + abandoned + " unfinished refresh jobs older than " + staleMinutes + " minutes as failed");
+        }
+        jobRepository.deleteFinishedBefore(now.minusMinutes(retentionMinutes));
+    }
+}
@@ -0,0 +1,209 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.SchedulerCursorEntity;
+import com.redhat.weather.domain.repository.SchedulerCursorRepository;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persistent, lease-based rotation cursors for scheduled ingest jobs.
+ *
+ * Each job's work space (e.g. all airports ordered by id) is split into a fixed number of
+ * partitions, each with its own persisted position. On every tick a replica renews the leases it
+ * holds and claims free partitions up to its fair share (partitions / live replicas), using
+ * {@code FOR UPDATE SKIP LOCKED} so concurrent replicas never claim the same partition. While no
+ * live replica is short of its share, free partitions beyond the share are claimed too, so work
+ * left by a replica that died is not skipped until its heartbeat expires. Positions survive
+ * restarts and replicas split the work instead of fetching the same window.
+ *
+ * A replica counts as live while its heartbeat, refreshed every
+ * {@code weather.scheduler.heartbeat-interval} independently of job ticks, is younger than
+ * {@code weather.scheduler.member-ttl}.
+ */
+@ApplicationScoped
+public class SchedulerCursorService {
+
+    private static final Logger LOG = Logger.getLogger(SchedulerCursorService.class);
+
+    @Inject
+    SchedulerCursorRepository cursorRepository;
+
+    @ConfigProperty(name = "weather.scheduler.partitions", defaultValue = "8")
+    int partitions;
+
+    @ConfigProperty(name = "weather.scheduler.instance-id")
+    Optional<String> configuredInstanceId;
+
+    @ConfigProperty(name = "weather.scheduler.member-ttl", defaultValue = "90s")
+    Duration memberTtl;
+
+    private String instanceId;
+
+    @PostConstruct
+    void init() {
+        // Pod hostnames are reused (StatefulSets, several JVMs on one host), so suffix them: a
+        // restarted process never inherits leases, which instead expire with the old id
+        instanceId = configuredInstanceId
+            .filter(id -> !id.isBlank())
+            .or(() -> Optional.ofNullable(System.getenv("HOSTNAME"))
+                .filter(host -> !host.isBlank())
+                .map(host -> host + "-" + UUID.randomUUID().toString().substring(0, 8)))
+            .orElseGet(() -> UUID.randomUUID().toString());
+    }
+
+    /**
+     * Keep this replica counted as live on every cursor it has joined, even when the jobs using
+     * those cursors tick far less often than the member TTL, and drop the memberships of replicas
+     * that stopped heartbeating without leaving. Those no longer count as live anyway; a replica
+     * that was only paused rejoins on its next {@link #acquire}.
+     */
+    @Scheduled(every = "${weather.scheduler.heartbeat-interval:30s}", identity = "scheduler-heartbeat")
+    @Transactional
+    void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        cursorRepository.touchMemberships(instanceId, now);
+        int expired = cursorRepository.deleteExpiredMembers(now.minus(memberTtl));
+        if (expired > 0) {
+            LOG.debug("Removed " + expired + " expired scheduler memberships");
+        }
+    }
+
+    /**
+     * Renew held leases and claim free partitions up to this replica's fair share, or all free
+     * partitions while no other live replica is short of its share.
+     *
+     * @param leaseDuration how long a lease survives without renewal; must exceed the job interval
+     * @return the partitions this replica owns for the current tick, ordered by partition id
+     */
+    @Transactional
+    public List<SchedulerCursorEntity> acquire(String cursorName, Duration leaseDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        cursorRepository.ensurePartitions(cursorName, partitions);
+        cursorRepository.heartbeat(cursorName, instanceId, now);
+
+        LocalDateTime liveSince = now.minus(memberTtl);
+        int members = Math.max(1, cursorRepository.countActiveMembers(cursorName, liveSince));
+        int fairShare = (partitions + members - 1) / members;
+        boolean othersShort = cursorRepository.countMembersBelowShare(
+            cursorName, partitions, instanceId, liveSince, fairShare, now) > 0;
+
+        List<SchedulerCursorEntity> held = new ArrayList<>();
+        for (SchedulerCursorEntity cursor : cursorRepository.lockOwned(cursorName, partitions, instanceId, now)) {
+            if (held.size() < fairShare || !othersShort) {
+                held.add(cursor);
+            } else {
+                // A replica joined or is short: hand surplus partitions back for it to claim
+                cursor.leaseOwner = null;
+                cursor.leaseExpiresAt = null;
+            }
+        }
+        int wanted = othersShort ? fairShare - held.size() : partitions - held.size();
+        if (wanted > 0) {
+            held.addAll(cursorRepository.lockFree(cursorName, partitions, wanted, now));
+        }
+
+        LocalDateTime expiresAt = now.plus(leaseDuration);
+        for (SchedulerCursorEntity cursor : held) {
+            cursor.leaseOwner = instanceId;
+            cursor.leaseExpiresAt = expiresAt;
+        }
+        held.sort(Comparator.comparing(cursor -> cursor.partitionId));
+
+        LOG.debug("Cursor " + cursorName + ": " + instanceId + " holds " + held.size() + "/" + partitions
+            + " partitions (" + members + " active replicas)");
+        return held;
+    }
+
+    /**
+     * Claim or renew the single lease on {@code leaseName}, for jobs only one replica should run
+     * (e.g. ones that append a row per tick). The holder keeps it while it renews within
+     * {@code leaseDuration}; another replica takes over once it expires or the holder shuts down.
+     *
+     * @return true if this replica holds the lease for the current tick
+     */
+    @Transactional
+    public boolean tryLease(String leaseName, Duration leaseDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        cursorRepository.ensurePartitions(leaseName, 1);
+        List<SchedulerCursorEntity> held = cursorRepository.lockOwned(leaseName, 1, instanceId, now);
+        if (held.isEmpty()) {
+            held = cursorRepository.lockFree(leaseName, 1, 1, now);
+        }
+        if (held.isEmpty()) {
+            return false;
+        }
+        SchedulerCursorEntity lease = held.get(0);
+        lease.leaseOwner = instanceId;
+        lease.leaseExpiresAt = now.plus(leaseDuration);
+        return true;
+    }
+
+    /**
+     * Persist the next position for a leased partition. Ignored if the lease was lost meanwhile.
+     */
+    @Transactional
+    public void advance(String cursorName, int partitionId, int position) {
+        if (cursorRepository.advance(cursorName, partitionId, position, instanceId) == 0) {
+            LOG.debug("Lease on " + cursorName + "/" + partitionId + " lost before advancing");
+        }
+    }
+
+    /**
+     * Position of an auxiliary cursor guarded by a partition lease held on another cursor.
+     */
+    @Transactional
+    public int getPosition(String cursorName, int partitionId) {
+        return cursorRepository.findPosition(cursorName, partitionId);
+    }
+
+    /**
+     * Persist an auxiliary cursor's position, only while this replica still holds the lease on the
+     * same partition of {@code leaseCursor}. Ignored if the lease was lost meanwhile.
+     */
+    @Transactional
+    public void savePosition(String cursorName, int partitionId, int position, String leaseCursor) {
+        if (cursorRepository.savePosition(cursorName, partitionId, position, leaseCursor, instanceId) == 0) {
+            LOG.debug("Lease on " + leaseCursor + "/" + partitionId + " lost before saving " + cursorName);
+        }
+    }
+
+    /**
+     * The contiguous slice of {@code items} that belongs to a partition.
+     */
+    public <T> List<T> slice(List<T> items, int partitionId) {
+        int total = items.size();
+        int start = (int) ((long) partitionId * total / partitions);
+        int end = (int) ((long) (partitionId + 1) * total / partitions);
+        return items.subList(start, end);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Transactional
+    void onStop(@Observes ShutdownEvent event) {
+        try {
+            // Release leases and leave so other replicas pick the partitions up immediately
+            cursorRepository.update("leaseOwner = null, leaseExpiresAt = null WHERE leaseOwner = ?1", instanceId);
+            cursorRepository.deleteMemberships(instanceId);
+        } catch (Exception e) {
+            LOG.debug("Could not release scheduler leases on shutdown: " + e.getMessage());
+        }
+    }
+}
@@ -29,6 +29,18 @@ public class SigmetService {
     @RestClient
     AviationWeatherClient aviationClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    ChangeLog changeLog;
+
     public List<SigmetEntity> getActiveSigmets() {
         return sigmetRepository.findActive();
     }
@@ -47,20 +59,30 @@ public class SigmetService {
 
     @Transactional
     public void fetchAndStoreSigmets() {
+        IngestRun run = ingestInstrumentation.start("sigmet");
         try {
             List<AviationWeatherClient.AirSigmetResponse> responses = aviationClient.getAirSigmets("json");
+            adaptivePollingService.observe("awc-sigmets", "domestic", responses);
 
             if (responses == null || responses.isEmpty()) {
                 LOG.info("No SIGMETs/AIRMETs returned from AWC");
                 return;
             }
+            run.records(IngestStage.FETCH, 1, responses.size());
 
             List<SigmetEntity> sigmets = new ArrayList<>();
+            int duplicates = 0;
 
             for (AviationWeatherClient.AirSigmetResponse resp : responses) {
                 try {
+                    run.stage(IngestStage.MAP);
                     String sigmetId = generateSigmetId(resp);
-                    if (sigmetRepository.existsBySigmetId(sigmetId)) continue;
+                    run.stage(IngestStage.DEDUP);
+                    if (sigmetRepository.existsBySigmetId(sigmetId)) {
+                        duplicates++;
+                        continue;
+                    }
+                    run.stage(IngestStage.MAP);
 
                     SigmetEntity entity = new SigmetEntity();
                     entity.sigmetId = sigmetId;
@@ -73,7 +95,9 @@ public class SigmetService {
                     entity.altitudeHighFt = resp.altitudeHi != null ? resp.altitudeHi * 100 : null;
                     entity.rawText = resp.rawAirSigmet;
                     entity.geojson = buildGeoJson(resp.coords);
-                    entity.sigmetData = objectMapper.writeValueAsString(resp);
+                    String rawPayload = objectMapper.writeValueAsString(resp);
+                    entity.rawRef = rawPayloadArchive.append("sigmet", rawPayload);
+                    entity.sigmetData = rawPayloadArchive.inline(entity.rawRef, rawPayload);
                     entity.fetchedAt = LocalDateTime.now();
 
                     sigmets.add(entity);
@@ -82,34 +106,53 @@ public class SigmetService {
                 }
             }
 
+            run.records(IngestStage.MAP, responses.size(), sigmets.size())
+                .records(IngestStage.DEDUP, sigmets.size() + duplicates, sigmets.size());
+
             if (!sigmets.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 sigmetRepository.persist(sigmets);
+                changeLog.record("sigmet", ChangeLog.Op.INSERT, sigmets.stream().map(row -> row.id).toList());
+                run.records(IngestStage.PERSIST, sigmets.size(), sigmets.size());
                 LOG.info("Stored " + sigmets.size() + " new SIGMETs/AIRMETs");
             } else {
                 LOG.info("No new SIGMETs/AIRMETs to store");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching SIGMETs from AWC", e);
+        } finally {
+            run.close();
         }
     }
 
     @Transactional
     public void fetchAndStoreInternationalSigmets() {
+        IngestRun run = ingestInstrumentation.start("sigmet");
         try {
             List<AviationWeatherClient.IntlSigmetResponse> responses = aviationClient.getInternationalSigmets("json");
+            adaptivePollingService.observe("awc-sigmets", "international", responses);
 
             if (responses == null || responses.isEmpty()) {
                 LOG.info("No international SIGMETs returned from AWC");
                 return;
             }
+            run.records(IngestStage.FETCH, 1, responses.size());
 
             List<SigmetEntity> sigmets = new ArrayList<>();
+            int duplicates = 0;
 
             for (AviationWeatherClient.IntlSigmetResponse resp : responses) {
                 try {
+                    run.stage(IngestStage.MAP);
                     String sigmetId = generateIntlSigmetId(resp);
-                    if (sigmetRepository.existsBySigmetId(sigmetId)) continue;
+                    run.stage(IngestStage.DEDUP);
+                    if (sigmetRepository.existsBySigmetId(sigmetId)) {
+                        duplicates++;
+                        continue;
+                    }
+                    run.stage(IngestStage.MAP);
 
                     SigmetEntity entity = new SigmetEntity();
                     entity.sigmetId = sigmetId;
@@ -125,7 +168,9 @@ public class SigmetService {
                     entity.altitudeHighFt = resp.altitudeHi != null ? resp.altitudeHi * 100 : null;
                     entity.rawText = resp.rawSigmet;
                     entity.geojson = buildGeoJson(resp.coords);
-                    entity.sigmetData = objectMapper.writeValueAsString(resp);
+                    String rawPayload = objectMapper.writeValueAsString(resp);
+                    entity.rawRef = rawPayloadArchive.append("sigmet", rawPayload);
+                    entity.sigmetData = rawPayloadArchive.inline(entity.rawRef, rawPayload);
                     entity.fetchedAt = LocalDateTime.now();
 
                     sigmets.add(entity);
@@ -134,15 +179,24 @@ public class SigmetService {
                 }
             }
 
+            run.records(IngestStage.MAP, responses.size(), sigmets.size())
+                .records(IngestStage.DEDUP, sigmets.size() + duplicates, sigmets.size());
+
             if (!sigmets.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 sigmetRepository.persist(sigmets);
+                changeLog.record("sigmet", ChangeLog.Op.INSERT, sigmets.stream().map(row -> row.id).toList());
+                run.records(IngestStage.PERSIST, sigmets.size(), sigmets.size());
                 LOG.info("Stored " + sigmets.size() + " new international SIGMETs");
             } else {
                 LOG.info("No new international SIGMETs to store");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching international SIGMETs from AWC", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -0,0 +1,168 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.SnapshotEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Applies a full upstream snapshot to its table as a diff instead of deactivate-all + re-insert.
+ *
+ * Incoming rows are matched to stored ones by natural key. New keys are inserted, rows whose
+ * content hash changed (or that had been deactivated and reappeared) are updated in place, and
+ * active rows missing from the snapshot are deactivated with a single UPDATE. Unchanged rows only
+ * have {@code lastSeenAt} touched, in one UPDATE, so a quiet feed costs one SELECT and one UPDATE
+ * per poll and retention cleanup can tell a live row from one the feed stopped publishing.
+ */
+@ApplicationScoped
+public class SnapshotReconciler {
+
+    private static final Logger LOG = Logger.getLogger(SnapshotReconciler.class);
+    private static final char FIELD_SEPARATOR = '\u001f';
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    ChangeLog changeLog;
+
+    public record Result(int inserted, int updated, int unchanged, int deactivated) {
+
+        public int written() {
+            return inserted + updated + deactivated;
+        }
+
+        @Override
+        public String toString() {
+            return inserted + " new, " + updated + " changed, " + unchanged + " unchanged, " + deactivated + " gone";
+        }
+    }
+
+    /**
+     * Reconcile {@code snapshot} against the rows of {@code repository}.
+     *
+     * @param keyField entity attribute holding the natural key, used to find inactive rows that reappear
+     */
+    @Transactional
+    public <E extends SnapshotEntity> Result reconcile(String source, PanacheRepositoryBase<E, Long> repository,
+                                                       String keyField, List<E> snapshot) {
+        return reconcile(source, repository, keyField, snapshot, row -> { });
+    }
+
+    /**
+     * Reconcile {@code snapshot}, passing each row that is about to be inserted or rewritten to
+     * {@code beforeWrite} first (e.g. to archive its raw payload); unchanged rows are not passed.
+     */
+    @Transactional
+    public <E extends SnapshotEntity> Result reconcile(String source, PanacheRepositoryBase<E, Long> repository,
+                                                       String keyField, List<E> snapshot, Consumer<E> beforeWrite) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, E> incoming = new LinkedHashMap<>();
+        int duplicates = 0;
+        for (E row : snapshot) {
+            row.contentHash = contentHash(row);
+            row.lastSeenAt = now;
+            // Upstream occasionally repeats an entry; the first one wins. A key that repeats with
+            // different content means the key misses a discriminator, so make that visible
+            E first = incoming.putIfAbsent(row.naturalKey(), row);
+            if (first != null && !first.contentHash.equals(row.contentHash)) {
+                duplicates++;
+                LOG.warn("Dropped a " + source + " entry sharing natural key " + row.naturalKey() + " with different content");
+            }
+        }
+
+        List<E> stored = incoming.isEmpty()
+            ? repository.list("isActive = true")
+            : repository.list("isActive = true OR " + keyField + " IN ?1", incoming.keySet());
+
+        List<Long> updated = new ArrayList<>();
+        List<Long> unchanged = new ArrayList<>();
+        List<Long> vanished = new ArrayList<>();
+        for (E current : stored) {
+            E next = incoming.remove(current.naturalKey());
+            boolean active = Boolean.TRUE.equals(current.isActive);
+            if (next == null) {
+                if (active) {
+                    vanished.add(current.id);
+                }
+            } else if (active && next.contentHash.equals(current.contentHash)) {
+                unchanged.add(current.id);
+            } else {
+                // Copies the new state onto the managed row; flushed as an UPDATE with the transaction
+                next.id = current.id;
+                next.createdAt = current.createdAt;
+                next.isActive = true;
+                beforeWrite.accept(next);
+                repository.getEntityManager().merge(next);
+                updated.add(current.id);
+            }
+        }
+
+        List<E> inserts = new ArrayList<>(incoming.values());
+        inserts.forEach(beforeWrite);
+        if (!inserts.isEmpty()) {
+            repository.persist(inserts);
+        }
+        if (!unchanged.isEmpty()) {
+            repository.update("lastSeenAt = ?1 WHERE id IN ?2", now, unchanged);
+        }
+        if (!vanished.isEmpty()) {
+            repository.update("isActive = false WHERE id IN ?1", vanished);
+        }
+
+        changeLog.record(source, ChangeLog.Op.INSERT, inserts.stream().map(row -> row.id).toList());
+        changeLog.record(source, ChangeLog.Op.UPDATE, updated);
+        changeLog.record(source, ChangeLog.Op.EXPIRE, vanished);
+
+        Result result = new Result(inserts.size(), updated.size(), unchanged.size(), vanished.size());
+        count(source, "inserted", result.inserted());
+        count(source, "updated", result.updated());
+        count(source, "unchanged", result.unchanged());
+        count(source, "deactivated", result.deactivated());
+        count(source, "dropped-duplicate", duplicates);
+        return result;
+    }
+
+    /**
+     * Short, stable token of {@code value} for natural keys that need more than a type to tell
+     * entries apart (e.g. two programs of one type at one airport, with different reasons).
+     */
+    public static String discriminator(String value) {
+        return value == null || value.isBlank() ? "none" : md5(value).substring(0, 8);
+    }
+
+    static String contentHash(SnapshotEntity row) {
+        StringBuilder content = new StringBuilder();
+        for (Object field : row.contentFields()) {
+            content.append(field == null ? "\u0000" : field.toString()).append(FIELD_SEPARATOR);
+        }
+        return md5(content.toString());
+    }
+
+    private static String md5(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    private void count(String source, String change, int rows) {
+        meterRegistry.counter("weather_snapshot_rows_total", "source", source, "change", change).increment(rows);
+    }
+}
@@ -0,0 +1,99 @@
+package com.redhat.weather.service;
+
+import java.time.LocalDate;
+
+/**
+ * Local sunrise/sunset and twilight calculator based on the NOAA solar position equations
+ * (NOAA Global Monitoring Laboratory "General Solar Position Calculations"). Accurate to about
+ * a minute between +/-72 degrees latitude; no network access or API key required.
+ *
+ * Results are written as seconds after 00:00 UTC on the given date into a caller-supplied
+ * int array, so tables for thousands of airports stay a single primitive array.
+ */
+public final class SolarCalculator {
+
+    public static final int SOLAR_NOON = 0;
+    public static final int SUNRISE = 1;
+    public static final int SUNSET = 2;
+    public static final int CIVIL_DAWN = 3;
+    public static final int CIVIL_DUSK = 4;
+    public static final int NAUTICAL_DAWN = 5;
+    public static final int NAUTICAL_DUSK = 6;
+    public static final int ASTRONOMICAL_DAWN = 7;
+    public static final int ASTRONOMICAL_DUSK = 8;
+    public static final int FIELDS = 9;
+
+    /** The sun stays above the event's zenith all day (e.g. midnight sun). */
+    public static final int ALWAYS_ABOVE = Integer.MAX_VALUE;
+    /** The sun never reaches the event's zenith (e.g. polar night). */
+    public static final int ALWAYS_BELOW = Integer.MIN_VALUE;
+
+    // Zenith angles: official sunrise accounts for refraction and the solar disc radius
+    private static final double[] ZENITHS = {90.833, 96.0, 102.0, 108.0};
+
+    private SolarCalculator() {
+    }
+
+    /**
+     * Compute solar noon, sunrise/sunset and civil, nautical and astronomical twilight.
+     *
+     * @param out destination array; {@link #FIELDS} values are written starting at {@code offset}
+     */
+    public static void compute(double latitude, double longitude, LocalDate date, int[] out, int offset) {
+        // Evaluate the sun's position at approximate local solar noon
+        double julianDay = date.toEpochDay() + 2440587.5 + (720 - 4 * longitude) / 1440.0;
+        double t = (julianDay - 2451545.0) / 36525.0;
+
+        double meanLongitude = normalizeDegrees(280.46646 + t * (36000.76983 + t * 0.0003032));
+        double meanAnomaly = 357.52911 + t * (35999.05029 - 0.0001537 * t);
+        double eccentricity = 0.016708634 - t * (0.000042037 + 0.0000001267 * t);
+
+        double m = Math.toRadians(meanAnomaly);
+        double equationOfCenter = Math.sin(m) * (1.914602 - t * (0.004817 + 0.000014 * t))
+            + Math.sin(2 * m) * (0.019993 - 0.000101 * t)
+            + Math.sin(3 * m) * 0.000289;
+        double trueLongitude = meanLongitude + equationOfCenter;
+        double omega = Math.toRadians(125.04 - 1934.136 * t);
+        double apparentLongitude = trueLongitude - 0.00569 - 0.00478 * Math.sin(omega);
+
+        double meanObliquity = 23 + (26 + (21.448 - t * (46.815 + t * (0.00059 - t * 0.001813))) / 60) / 60;
+        double obliquity = Math.toRadians(meanObliquity + 0.00256 * Math.cos(omega));
+        double declination = Math.asin(Math.sin(obliquity) * Math.sin(Math.toRadians(apparentLongitude)));
+
+        double y = Math.pow(Math.tan(obliquity / 2), 2);
+        double l0 = Math.toRadians(meanLongitude);
+        double equationOfTimeMinutes = 4 * Math.toDegrees(
+            y * Math.sin(2 * l0)
+                - 2 * eccentricity * Math.sin(m)
+                + 4 * eccentricity * y * Math.sin(m) * Math.cos(2 * l0)
+                - 0.5 * y * y * Math.sin(4 * l0)
+                - 1.25 * eccentricity * eccentricity * Math.sin(2 * m));
+
+        double solarNoonMinutes = 720 - 4 * longitude - equationOfTimeMinutes;
+        out[offset + SOLAR_NOON] = (int) Math.round(solarNoonMinutes * 60);
+
+        double lat = Math.toRadians(latitude);
+        for (int i = 0; i < ZENITHS.length; i++) {
+            double cosHourAngle = Math.cos(Math.toRadians(ZENITHS[i])) / (Math.cos(lat) * Math.cos(declination))
+                - Math.tan(lat) * Math.tan(declination);
+            int riseIndex = offset + SUNRISE + 2 * i;
+            int setIndex = riseIndex + 1;
+            if (cosHourAngle < -1) {
+                out[riseIndex] = ALWAYS_ABOVE;
+                out[setIndex] = ALWAYS_ABOVE;
+            } else if (cosHourAngle > 1) {
+                out[riseIndex] = ALWAYS_BELOW;
+                out[setIndex] = ALWAYS_BELOW;
+            } else {
+                double hourAngleMinutes = 4 * Math.toDegrees(Math.acos(cosHourAngle));
+                out[riseIndex] = (int) Math.round((solarNoonMinutes - hourAngleMinutes) * 60);
+                out[setIndex] = (int) Math.round((solarNoonMinutes + hourAngleMinutes) * 60);
+            }
+        }
+    }
+
+    private static double normalizeDegrees(double degrees) {
+        double result = degrees % 360;
+        return result < 0 ? result + 360 : result;
+    }
+}
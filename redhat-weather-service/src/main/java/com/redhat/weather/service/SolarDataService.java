@@ -1,76 +1,159 @@
 package com.redhat.weather.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.redhat.weather.client.OpenWeatherMapClient;
 import com.redhat.weather.domain.entity.LocationEntity;
-import com.redhat.weather.domain.repository.LocationRepository;
 import com.redhat.weather.dto.SolarDataDTO;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
-import org.eclipse.microprofile.config.inject.ConfigProperty;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Sunrise, sunset, twilight and solar noon for airports, computed locally.
+ *
+ * Values are deterministic from lat/lon/date, so they are precomputed for every airport per day
+ * into a compact primitive-array table and served from memory. No upstream API or key is needed.
+ */
 @ApplicationScoped
 public class SolarDataService {
 
     private static final Logger LOG = Logger.getLogger(SolarDataService.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Inject
-    LocationRepository locationRepository;
+    private final Map<LocalDate, SolarTable> tables = new ConcurrentHashMap<>();
 
     @Inject
-    @RestClient
-    OpenWeatherMapClient openWeatherClient;
-
-    @ConfigProperty(name = "openweather.api.key")
-    Optional<String> openWeatherApiKey;
+    LocationService locationService;
 
     public Optional<SolarDataDTO> getSolarData(Long locationId) {
-        if (openWeatherApiKey.isEmpty()) {
-            LOG.debug("OpenWeatherMap API key not configured, skipping solar data");
-            return Optional.empty();
-        }
-
         try {
-            Optional<LocationEntity> locationOpt = locationRepository.findByIdOptional(locationId);
+            SolarTable anyTable = tableFor(LocalDate.now(ZoneOffset.UTC));
+            Integer row = anyTable.rowById.get(locationId);
+            if (row != null) {
+                return Optional.of(lookup(anyTable.locations[row]));
+            }
+
+            // Not in the precomputed table (e.g. added since it was built): compute directly
+            Optional<LocationEntity> locationOpt = locationService.getLocationById(locationId);
             if (locationOpt.isEmpty()) {
                 LOG.warn("Location not found: " + locationId);
                 return Optional.empty();
             }
+            return Optional.of(computeDirect(locationOpt.get()));
+
+        } catch (Exception e) {
+            LOG.error("Error computing solar data for location " + locationId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Solar data for several airports at once. Unknown codes are omitted.
+     */
+    public List<SolarDataDTO> getSolarDataForCodes(Collection<String> airportCodes) {
+        SolarTable anyTable = tableFor(LocalDate.now(ZoneOffset.UTC));
+        List<SolarDataDTO> results = new ArrayList<>();
+        for (String code : airportCodes) {
+            Integer row = anyTable.rowByCode.get(code.toUpperCase(Locale.ROOT));
+            if (row != null) {
+                results.add(lookup(anyTable.locations[row]));
+            }
+        }
+        return results;
+    }
 
-            LocationEntity location = locationOpt.get();
-            String response = openWeatherClient.getCurrentWeather(
-                location.latitude.doubleValue(),
-                location.longitude.doubleValue(),
-                openWeatherApiKey.get(),
-                "imperial"
-            );
+    /**
+     * Precompute tables covering every airport's local "today" and "tomorrow", and drop old ones.
+     */
+    public void precompute() {
+        LocalDate todayUtc = LocalDate.now(ZoneOffset.UTC);
+        tables.keySet().removeIf(date -> date.isBefore(todayUtc.minusDays(1)));
+        for (int day = -1; day <= 2; day++) {
+            tables.remove(todayUtc.plusDays(day));
+            tableFor(todayUtc.plusDays(day));
+        }
+    }
+
+    void onCatalogChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) AirportCatalogChangedEvent event) {
+        // Rebuilt lazily from the refreshed location list on the next request
+        tables.clear();
+    }
 
-            JsonNode data = objectMapper.readTree(response);
-            JsonNode sys = data.path("sys");
+    private SolarDataDTO lookup(LocationEntity location) {
+        int utcOffset = utcOffsetSeconds(location.longitude.doubleValue());
+        LocalDate localDate = ZonedDateTime.now(ZoneOffset.ofTotalSeconds(utcOffset)).toLocalDate();
+        SolarTable table = tableFor(localDate);
+        Integer row = table.rowById.get(location.id);
+        if (row == null) {
+            return computeDirect(location);
+        }
+        return new SolarDataDTO(location.id, location.name, location.airportCode, localDate,
+            table.values, row * SolarCalculator.FIELDS);
+    }
 
-            long sunrise = sys.path("sunrise").asLong();
-            long sunset = sys.path("sunset").asLong();
-            int timezone = data.path("timezone").asInt(0);
+    private SolarDataDTO computeDirect(LocationEntity location) {
+        double longitude = location.longitude.doubleValue();
+        int utcOffset = utcOffsetSeconds(longitude);
+        LocalDate localDate = ZonedDateTime.now(ZoneOffset.ofTotalSeconds(utcOffset)).toLocalDate();
+        int[] values = new int[SolarCalculator.FIELDS];
+        SolarCalculator.compute(location.latitude.doubleValue(), longitude, localDate, values, 0);
+        return new SolarDataDTO(location.id, location.name, location.airportCode, localDate, values, 0);
+    }
 
-            if (sunrise == 0 || sunset == 0) {
-                LOG.warn("No sunrise/sunset data in response for location: " + location.name);
-                return Optional.empty();
+    private SolarTable tableFor(LocalDate date) {
+        return tables.computeIfAbsent(date, this::buildTable);
+    }
+
+    private SolarTable buildTable(LocalDate date) {
+        long start = System.nanoTime();
+        List<LocationEntity> locations = locationService.getAllLocations();
+        SolarTable table = new SolarTable(locations.size());
+        for (int row = 0; row < locations.size(); row++) {
+            LocationEntity location = locations.get(row);
+            table.locations[row] = location;
+            table.rowById.put(location.id, row);
+            if (location.airportCode != null) {
+                table.rowByCode.put(location.airportCode.toUpperCase(Locale.ROOT), row);
             }
+            SolarCalculator.compute(location.latitude.doubleValue(), location.longitude.doubleValue(),
+                date, table.values, row * SolarCalculator.FIELDS);
+        }
+        LOG.debug("Computed solar table for " + date + ": " + locations.size() + " locations in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return table;
+    }
 
-            SolarDataDTO dto = new SolarDataDTO(
-                location.id, location.name, sunrise, sunset, timezone
-            );
-            return Optional.of(dto);
+    /**
+     * Nautical time zone offset (15 degrees of longitude per hour); airports carry no zone id.
+     * Only picks which solar day is "today" at the location; times are returned as UTC instants.
+     */
+    static int utcOffsetSeconds(double longitude) {
+        long hours = Math.round(longitude / 15.0);
+        return (int) Math.max(-12, Math.min(12, hours)) * 3600;
+    }
 
-        } catch (Exception e) {
-            LOG.error("Error fetching solar data for location " + locationId, e);
-            return Optional.empty();
+    private static final class SolarTable {
+        final LocationEntity[] locations;
+        final int[] values;
+        final Map<Long, Integer> rowById;
+        final Map<String, Integer> rowByCode;
+
+        SolarTable(int size) {
+            locations = new LocationEntity[size];
+            values = new int[size * SolarCalculator.FIELDS];
+            rowById = new HashMap<>(size * 2);
+            rowByCode = new HashMap<>(size * 2);
         }
     }
 }
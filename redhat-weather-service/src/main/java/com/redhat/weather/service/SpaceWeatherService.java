@@ -3,95 +3,228 @@ package com.redhat.weather.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redhat.weather.client.SpaceWeatherClient;
+import com.redhat.weather.domain.entity.SpaceWeatherHistoryEntity;
+import com.redhat.weather.domain.repository.SpaceWeatherHistoryRepository;
 import com.redhat.weather.dto.SpaceWeatherDTO;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Space weather from NOAA SWPC, served from an in-memory snapshot.
+ *
+ * The scheduler calls {@link #refresh(boolean)} on every replica, which fetches Kp index, solar
+ * wind and alerts in parallel and publishes a new immutable snapshot; a product that failed keeps
+ * its value from the previous snapshot. Only the replica holding the scheduler's lease appends the
+ * snapshot to the history table. API requests read the snapshot and never call SWPC, except to
+ * populate it on the very first request.
+ */
 @ApplicationScoped
 public class SpaceWeatherService {
 
     private static final Logger LOG = Logger.getLogger(SpaceWeatherService.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final Object coldStartLock = new Object();
+
     @Inject
     @RestClient
     SpaceWeatherClient swpcClient;
 
+    @Inject
+    SpaceWeatherHistoryRepository historyRepository;
+
+    @Inject
+    DataFreshnessService dataFreshnessService;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @ConfigProperty(name = "weather.spaceweather.stale-after-minutes", defaultValue = "15")
+    int staleAfterMinutes;
+
+    /**
+     * Current space weather from the in-memory snapshot, annotated with its age.
+     */
     public Optional<SpaceWeatherDTO> getSpaceWeather() {
-        try {
-            SpaceWeatherDTO dto = new SpaceWeatherDTO();
-
-            // Fetch Kp Index
-            try {
-                String kpResponse = swpcClient.getKpIndex();
-                JsonNode kpData = objectMapper.readTree(kpResponse);
-                if (kpData.isArray() && kpData.size() > 1) {
-                    // First row is header, last row is most recent
-                    JsonNode latest = kpData.get(kpData.size() - 1);
-                    double kp = latest.get(1).asDouble(0);
-                    dto.setKpIndex(kp);
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            // Cold start (or scheduler disabled): populate once, without stampeding SWPC
+            synchronized (coldStartLock) {
+                if (snapshot.get() == null) {
+                    // History is left to the scheduled refresh, which only one replica records
+                    refresh(false);
                 }
-            } catch (Exception e) {
-                LOG.warn("Failed to fetch Kp index: " + e.getMessage());
-                dto.setKpIndex(0);
             }
+            current = snapshot.get();
+            if (current == null) {
+                return Optional.empty();
+            }
+        }
+
+        long ageSeconds = Duration.between(current.fetchedAt, LocalDateTime.now()).toSeconds();
+        return Optional.of(current.data.withStaleness(ageSeconds, ageSeconds > staleAfterMinutes * 60L));
+    }
+
+    public List<SpaceWeatherHistoryEntity> getHistory(int hours) {
+        return historyRepository.findSince(LocalDateTime.now().minusHours(hours));
+    }
+
+    /**
+     * Fetch all three SWPC products in parallel and publish a new snapshot.
+     *
+     * @param recordHistory also append the fetched values to the history table, in a transaction of its own
+     * @return true if at least one product was fetched and a snapshot was published
+     */
+    public boolean refresh(boolean recordHistory) {
+        // The three products are fetched and parsed on pool threads, so FETCH covers both here
+        IngestRun run = ingestInstrumentation.start("space-weather");
+        try {
+            return refresh(run, recordHistory);
+        } finally {
+            run.close();
+        }
+    }
+
+    private boolean refresh(IngestRun run, boolean recordHistory) {
+        CompletableFuture<Double> kpFuture = CompletableFuture.supplyAsync(this::fetchKpIndex);
+        CompletableFuture<Double> windFuture = CompletableFuture.supplyAsync(this::fetchSolarWindSpeed);
+        CompletableFuture<List<SpaceWeatherDTO.SpaceWeatherAlert>> alertsFuture =
+            CompletableFuture.supplyAsync(this::fetchAlerts);
+
+        Double kp = kpFuture.join();
+        Double windSpeed = windFuture.join();
+        List<SpaceWeatherDTO.SpaceWeatherAlert> alerts = alertsFuture.join();
+
+        if (kp == null && windSpeed == null && alerts == null) {
+            LOG.warn("All SWPC fetches failed; keeping previous space weather snapshot");
+            run.failed(new IllegalStateException("All SWPC fetches failed"));
+            return false;
+        }
+        run.records(IngestStage.FETCH, 3, (kp != null ? 1 : 0) + (windSpeed != null ? 1 : 0) + (alerts != null ? 1 : 0))
+            .stage(IngestStage.MAP);
+
+        // A failed product keeps its last known value rather than reading as calm
+        Snapshot previous = snapshot.get();
+        Double currentKp = kp != null ? kp : previous != null ? previous.kp : null;
+        SpaceWeatherDTO dto = new SpaceWeatherDTO();
+        if (currentKp != null) {
+            dto.setKpIndex(currentKp);
+        }
+        dto.solarWindSpeed = windSpeed != null ? windSpeed : previous != null ? previous.data.solarWindSpeed : null;
+        dto.alerts = alerts != null ? Collections.unmodifiableList(alerts) : previous != null ? previous.data.alerts : List.of();
+
+        LocalDateTime fetchedAt = LocalDateTime.now();
+        snapshot.set(new Snapshot(dto, currentKp, fetchedAt));
+        dataFreshnessService.recordSuccess("swpc-space-weather");
+
+        if (!recordHistory) {
+            return true;
+        }
+        try {
+            // Kp and solar wind only as fetched this time: carried-forward values are already in an earlier row
+            SpaceWeatherHistoryEntity history = new SpaceWeatherHistoryEntity();
+            history.kpIndex = kp != null ? BigDecimal.valueOf(kp) : null;
+            history.kpLevel = kp != null ? dto.kpLevel : null;
+            history.solarWindSpeed = windSpeed != null ? BigDecimal.valueOf(windSpeed) : null;
+            history.geomagneticStormLevel = kp != null ? dto.geomagneticStormLevel : null;
+            history.alertCount = dto.alerts.size();
+            history.fetchedAt = fetchedAt;
+            run.stage(IngestStage.PERSIST);
+            historyRepository.record(history);
+            run.records(IngestStage.PERSIST, 1, 1);
+        } catch (Exception e) {
+            LOG.warn("Failed to store space weather history: " + e.getMessage());
+        }
+        return true;
+    }
+
+    public long deleteHistoryOlderThan(LocalDateTime olderThan) {
+        return historyRepository.deleteOlderThan(olderThan);
+    }
+
+    private Double fetchKpIndex() {
+        try {
+            String kpResponse = swpcClient.getKpIndex();
+            JsonNode kpData = objectMapper.readTree(kpResponse);
+            if (kpData.isArray() && kpData.size() > 1) {
+                // First row is header, last row is most recent
+                JsonNode latest = kpData.get(kpData.size() - 1);
+                return latest.get(1).asDouble(0);
+            }
+            return 0.0;
+        } catch (Exception e) {
+            LOG.warn("Failed to fetch Kp index: " + e.getMessage());
+            return null;
+        }
+    }
 
-            // Fetch Solar Wind
-            try {
-                String windResponse = swpcClient.getSolarWindData();
-                JsonNode windData = objectMapper.readTree(windResponse);
-                if (windData.isArray() && windData.size() > 1) {
-                    // Find the most recent non-null speed value
-                    for (int i = windData.size() - 1; i > 0; i--) {
-                        JsonNode row = windData.get(i);
-                        if (row.isArray() && row.size() > 6) {
-                            String btStr = row.get(6).asText("");
-                            if (!btStr.isEmpty() && !btStr.equals("null")) {
-                                try {
-                                    dto.solarWindSpeed = Double.parseDouble(btStr);
-                                    break;
-                                } catch (NumberFormatException ignored) {
-                                }
+    private Double fetchSolarWindSpeed() {
+        try {
+            String windResponse = swpcClient.getSolarWindData();
+            JsonNode windData = objectMapper.readTree(windResponse);
+            if (windData.isArray() && windData.size() > 1) {
+                // Find the most recent non-null speed value
+                for (int i = windData.size() - 1; i > 0; i--) {
+                    JsonNode row = windData.get(i);
+                    if (row.isArray() && row.size() > 6) {
+                        String btStr = row.get(6).asText("");
+                        if (!btStr.isEmpty() && !btStr.equals("null")) {
+                            try {
+                                return Double.parseDouble(btStr);
+                            } catch (NumberFormatException ignored) {
                             }
                         }
                     }
                 }
-            } catch (Exception e) {
-                LOG.warn("Failed to fetch solar wind data: " + e.getMessage());
             }
+            return null;
+        } catch (Exception e) {
+            LOG.warn("Failed to fetch solar wind data: " + e.getMessage());
+            return null;
+        }
+    }
 
-            // Fetch Alerts
-            try {
-                String alertsResponse = swpcClient.getAlerts();
-                JsonNode alertsData = objectMapper.readTree(alertsResponse);
-                if (alertsData.isArray()) {
-                    int count = Math.min(alertsData.size(), 5);
-                    for (int i = 0; i < count; i++) {
-                        JsonNode alert = alertsData.get(i);
-                        String issueTime = alert.path("issue_datetime").asText("");
-                        String message = alert.path("message").asText("");
-                        if (!message.isEmpty()) {
-                            // Truncate long messages
-                            if (message.length() > 200) {
-                                message = message.substring(0, 200) + "...";
-                            }
-                            dto.alerts.add(new SpaceWeatherDTO.SpaceWeatherAlert(issueTime, message));
+    private List<SpaceWeatherDTO.SpaceWeatherAlert> fetchAlerts() {
+        try {
+            String alertsResponse = swpcClient.getAlerts();
+            JsonNode alertsData = objectMapper.readTree(alertsResponse);
+            List<SpaceWeatherDTO.SpaceWeatherAlert> alerts = new ArrayList<>();
+            if (alertsData.isArray()) {
+                int count = Math.min(alertsData.size(), 5);
+                for (int i = 0; i < count; i++) {
+                    JsonNode alert = alertsData.get(i);
+                    String issueTime = alert.path("issue_datetime").asText("");
+                    String message = alert.path("message").asText("");
+                    if (!message.isEmpty()) {
+                        // Truncate long messages
+                        if (message.length() > 200) {
+                            message = message.substring(0, 200) + "...";
                         }
+                        alerts.add(new SpaceWeatherDTO.SpaceWeatherAlert(issueTime, message));
                     }
                 }
-            } catch (Exception e) {
-                LOG.warn("Failed to fetch space weather alerts: " + e.getMessage());
             }
-
-            return Optional.of(dto);
-
+            return alerts;
         } catch (Exception e) {
-            LOG.error("Error aggregating space weather data", e);
-            return Optional.empty();
+            LOG.warn("Failed to fetch space weather alerts: " + e.getMessage());
+            return null;
         }
     }
+
+    private record Snapshot(SpaceWeatherDTO data, Double kp, LocalDateTime fetchedAt) {
+    }
 }
@@ -43,6 +43,18 @@ public class TfrService {
     @RestClient
     FaaTfrGeoClient tfrGeoClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    SnapshotReconciler snapshotReconciler;
+
     public List<TfrEntity> getActiveTfrs() {
         return tfrRepository.findActive();
     }
@@ -61,20 +73,22 @@ public class TfrService {
 
     @Transactional
     public void fetchAndStoreTfrs() {
+        IngestRun run = ingestInstrumentation.start("tfr");
         try {
             // Step 1: Fetch TFR list from FAA API
             List<FaaTfrClient.TfrListEntry> tfrList = tfrClient.getTfrList();
+            adaptivePollingService.observe("faa-tfrs", "list", tfrList);
 
             if (tfrList == null || tfrList.isEmpty()) {
                 LOG.info("No TFRs returned from FAA");
                 return;
             }
+            run.records(IngestStage.FETCH, 1, tfrList.size());
 
             // Step 2: Fetch GeoJSON boundaries
-            Map<String, JsonNode> geoMap = fetchGeoData();
+            Map<String, JsonNode> geoMap = fetchGeoData(run);
 
-            // Step 3: Deactivate all existing TFRs (FAA list is the source of truth)
-            tfrRepository.deactivateAll();
+            run.stage(IngestStage.MAP);
 
             List<TfrEntity> tfrs = new ArrayList<>();
 
@@ -106,6 +120,7 @@ public class TfrService {
                         }
                     }
 
+                    // Archived by the reconciler only if the row is new or changed
                     entity.tfrData = objectMapper.writeValueAsString(entry);
                     entity.fetchedAt = LocalDateTime.now();
 
@@ -115,13 +130,23 @@ public class TfrService {
                 }
             }
 
-            if (!tfrs.isEmpty()) {
-                tfrRepository.persist(tfrs);
-                LOG.info("Stored " + tfrs.size() + " TFRs");
-            }
+            run.records(IngestStage.MAP, tfrList.size(), tfrs.size());
+
+            // Step 3: Sync against stored TFRs (FAA list is the source of truth)
+            run.stage(IngestStage.PERSIST);
+            SnapshotReconciler.Result result = snapshotReconciler.reconcile("tfr", tfrRepository, "notamId", tfrs,
+                tfr -> {
+                    tfr.rawRef = rawPayloadArchive.append("tfr", tfr.tfrData);
+                    tfr.tfrData = rawPayloadArchive.inline(tfr.rawRef, tfr.tfrData);
+                });
+            run.records(IngestStage.PERSIST, tfrs.size(), result.written());
+            LOG.info("Synced " + tfrs.size() + " TFRs: " + result);
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching TFRs from FAA", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -131,18 +156,21 @@ public class TfrService {
         LOG.info("Deactivated " + count + " old TFRs");
     }
 
-    private Map<String, JsonNode> fetchGeoData() {
+    private Map<String, JsonNode> fetchGeoData(IngestRun run) {
         Map<String, JsonNode> geoMap = new HashMap<>();
         try {
+            run.stage(IngestStage.FETCH);
             String geoJson = tfrGeoClient.getTfrFeatures(
                 "WFS", "1.1.0", "GetFeature",
                 "TFR:V_TFR_LOC", 300,
                 "application/json", "EPSG:4326"
             );
 
+            run.stage(IngestStage.PARSE);
             JsonNode root = objectMapper.readTree(geoJson);
             JsonNode features = root.get("features");
             if (features != null && features.isArray()) {
+                run.records(IngestStage.PARSE, 1, features.size());
                 for (JsonNode feature : features) {
                     String featureId = feature.has("id") ? feature.get("id").asText() : "";
                     // Feature ID format: "V_TFR_LOC.6/3691" -> extract "6/3691"
@@ -29,28 +29,47 @@ public class VolcanicAshService {
     @RestClient
     AviationWeatherClient aviationClient;
 
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
     public List<VolcanicAshAdvisoryEntity> getActiveAdvisories() {
         return volcanicAshRepository.findActive();
     }
 
     @Transactional
     public void fetchAndStoreAdvisories() {
+        IngestRun run = ingestInstrumentation.start("volcanic-ash");
         try {
             List<AviationWeatherClient.IntlSigmetResponse> responses = aviationClient.getInternationalSigmets("json");
+            adaptivePollingService.observe("awc-volcanic-ash", "advisories", responses);
 
             if (responses == null || responses.isEmpty()) {
                 LOG.info("No international SIGMETs returned from AWC");
                 return;
             }
+            run.records(IngestStage.FETCH, 1, responses.size());
 
             List<VolcanicAshAdvisoryEntity> advisories = new ArrayList<>();
+            int duplicates = 0;
 
             for (AviationWeatherClient.IntlSigmetResponse resp : responses) {
                 try {
+                    run.stage(IngestStage.MAP);
                     if (!isVolcanicAsh(resp.hazard)) continue;
 
                     String advisoryId = generateAdvisoryId(resp);
-                    if (volcanicAshRepository.existsByAdvisoryId(advisoryId)) continue;
+                    run.stage(IngestStage.DEDUP);
+                    if (volcanicAshRepository.existsByAdvisoryId(advisoryId)) {
+                        duplicates++;
+                        continue;
+                    }
+                    run.stage(IngestStage.MAP);
 
                     VolcanicAshAdvisoryEntity entity = new VolcanicAshAdvisoryEntity();
                     entity.advisoryId = advisoryId;
@@ -65,7 +84,9 @@ public class VolcanicAshService {
                     entity.altitudeHighFt = resp.altitudeHi != null ? resp.altitudeHi * 100 : null;
                     entity.rawText = resp.rawSigmet;
                     entity.geojson = buildGeoJson(resp.coords);
-                    entity.advisoryData = objectMapper.writeValueAsString(resp);
+                    String rawPayload = objectMapper.writeValueAsString(resp);
+                    entity.rawRef = rawPayloadArchive.append("volcanic-ash", rawPayload);
+                    entity.advisoryData = rawPayloadArchive.inline(entity.rawRef, rawPayload);
                     entity.fetchedAt = LocalDateTime.now();
 
                     advisories.add(entity);
@@ -74,15 +95,23 @@ public class VolcanicAshService {
                 }
             }
 
+            run.records(IngestStage.MAP, responses.size(), advisories.size())
+                .records(IngestStage.DEDUP, advisories.size() + duplicates, advisories.size());
+
             if (!advisories.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
                 volcanicAshRepository.persist(advisories);
+                run.records(IngestStage.PERSIST, advisories.size(), advisories.size());
                 LOG.info("Stored " + advisories.size() + " new volcanic ash advisories");
             } else {
                 LOG.info("No new volcanic ash advisories to store");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching volcanic ash advisories from AWC", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -5,7 +5,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.redhat.weather.client.NoaaWeatherClient;
 import com.redhat.weather.domain.entity.WeatherAlertEntity;
 import com.redhat.weather.domain.repository.WeatherAlertRepository;
+import io.quarkus.cache.Cache;
 import io.quarkus.cache.CacheInvalidateAll;
+import io.quarkus.cache.CacheName;
 import io.quarkus.cache.CacheResult;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -15,6 +17,8 @@ import org.jboss.logging.Logger;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,9 +35,32 @@ public class WeatherAlertService {
     @RestClient
     NoaaWeatherClient noaaClient;
 
-    @CacheResult(cacheName = "alerts-active")
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    ChangeLog changeLog;
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @Inject
+    @CacheName("alerts-active")
+    Cache activeAlertsCache;
+
+    /**
+     * Active alerts, cached per version of the alert dataset: served under its ETag, so an entry
+     * must not outlive a newer ingest committed by another replica.
+     */
     public List<WeatherAlertEntity> getActiveAlerts() {
-        return alertRepository.findActiveAlerts();
+        return activeAlertsCache.get(datasetVersions.version("alert"),
+            version -> alertRepository.findActiveAlerts()).await().indefinitely();
     }
 
     @CacheResult(cacheName = "alerts-by-severity")
@@ -45,33 +72,43 @@ public class WeatherAlertService {
     @CacheInvalidateAll(cacheName = "alerts-active")
     @CacheInvalidateAll(cacheName = "alerts-by-severity")
     public void fetchAndStoreAlerts() {
+        IngestRun run = ingestInstrumentation.start("alert");
         try {
             LOG.info("Fetching active weather alerts from NOAA");
 
             String response = noaaClient.getActiveAlerts();
+            run.stage(IngestStage.PARSE);
             JsonNode data = objectMapper.readTree(response);
 
             JsonNode features = data.path("features");
+            adaptivePollingService.observe("noaa-alerts", "features", features);
             if (!features.isArray()) {
                 LOG.info("No alert features found in response");
                 return;
             }
+            run.records(IngestStage.PARSE, 1, features.size());
 
             int newCount = 0;
             int updatedCount = 0;
+            List<WeatherAlertEntity> inserted = new ArrayList<>();
+            List<Long> changed = new ArrayList<>();
 
             for (JsonNode feature : features) {
                 try {
+                    run.stage(IngestStage.DEDUP);
                     JsonNode properties = feature.path("properties");
                     String alertId = properties.path("id").asText();
 
                     if (alertId == null || alertId.isEmpty()) continue;
 
                     Optional<WeatherAlertEntity> existing = alertRepository.findByAlertId(alertId);
+                    run.stage(IngestStage.MAP);
 
                     WeatherAlertEntity alert;
+                    List<Object> before = null;
                     if (existing.isPresent()) {
                         alert = existing.get();
+                        before = content(alert);
                         updatedCount++;
                     } else {
                         alert = new WeatherAlertEntity();
@@ -98,21 +135,40 @@ public class WeatherAlertService {
                         alert.expires = parseIso8601(expires);
                     }
 
-                    alert.alertData = feature.toString();
+                    String rawPayload = feature.toString();
+                    alert.rawRef = rawPayloadArchive.append("alert", rawPayload);
+                    alert.alertData = rawPayloadArchive.inline(alert.rawRef, rawPayload);
                     alert.isActive = true;
                     alert.fetchedAt = LocalDateTime.now();
 
+                    run.stage(IngestStage.PERSIST);
                     alertRepository.persist(alert);
+                    if (before == null) {
+                        inserted.add(alert);
+                    } else if (!before.equals(content(alert))) {
+                        changed.add(alert.id);
+                    }
 
                 } catch (Exception e) {
                     LOG.error("Error parsing alert data", e);
                 }
             }
 
+            changeLog.record("alert", ChangeLog.Op.INSERT, inserted.stream().map(row -> row.id).toList());
+            // Every active alert is re-sent each poll; only log the ones whose content changed
+            changeLog.record("alert", ChangeLog.Op.UPDATE, changed);
+
+            // Alerts are upserts: existing rows pass dedup and are updated in place
+            run.records(IngestStage.DEDUP, features.size(), newCount + updatedCount)
+                .records(IngestStage.MAP, newCount + updatedCount, newCount + updatedCount)
+                .records(IngestStage.PERSIST, newCount + updatedCount, newCount + updatedCount);
             LOG.info("Weather alerts fetch completed. New: " + newCount + ", Updated: " + updatedCount);
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching weather alerts from NOAA", e);
+        } finally {
+            run.close();
         }
     }
 
@@ -126,6 +182,12 @@ public class WeatherAlertService {
         }
     }
 
+    // What clients see of an alert, to tell a re-sent alert from a changed one
+    private static List<Object> content(WeatherAlertEntity alert) {
+        return Arrays.asList(alert.event, alert.headline, alert.description, alert.severity, alert.certainty,
+            alert.urgency, alert.areaDesc, alert.senderName, alert.effective, alert.expires, alert.isActive);
+    }
+
     private String nullIfEmpty(String value) {
         return (value != null && !value.isEmpty()) ? value : null;
     }
@@ -6,6 +6,7 @@ import com.redhat.weather.client.NoaaWeatherClient;
 import com.redhat.weather.client.OpenWeatherMapClient;
 import com.redhat.weather.domain.entity.LocationEntity;
 import com.redhat.weather.domain.entity.WeatherForecastEntity;
+import com.redhat.weather.domain.repository.ClimateDailyAggregateRepository;
 import com.redhat.weather.domain.repository.LocationRepository;
 import com.redhat.weather.domain.repository.WeatherForecastRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -34,6 +35,9 @@ public class WeatherForecastService {
     @Inject
     LocationRepository locationRepository;
 
+    @Inject
+    ClimateDailyAggregateRepository climateAggregateRepository;
+
     @Inject
     @RestClient
     NoaaWeatherClient noaaClient;
@@ -42,6 +46,12 @@ public class WeatherForecastService {
     @RestClient
     OpenWeatherMapClient openWeatherClient;
 
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
     @ConfigProperty(name = "openweather.api.key")
     Optional<String> openWeatherApiKey;
 
@@ -72,6 +82,7 @@ public class WeatherForecastService {
 
     @Transactional
     public void fetchAndStoreNoaaForecast(Long locationId) {
+        IngestRun run = ingestInstrumentation.start("forecast-noaa");
         try {
             Optional<LocationEntity> locationOpt = locationRepository.findByIdOptional(locationId);
             if (locationOpt.isEmpty()) {
@@ -88,6 +99,7 @@ public class WeatherForecastService {
                 location.longitude.doubleValue()
             );
 
+            run.stage(IngestStage.PARSE);
             JsonNode pointData = objectMapper.readTree(pointResponse);
             String forecastUrl = pointData.path("properties").path("forecast").asText();
 
@@ -97,11 +109,15 @@ public class WeatherForecastService {
             }
 
             // Get forecast data
+            run.stage(IngestStage.FETCH);
             String forecastResponse = noaaClient.getForecast(forecastUrl);
+            run.stage(IngestStage.PARSE);
             JsonNode forecastData = objectMapper.readTree(forecastResponse);
 
             // Parse and store forecast periods
             JsonNode periods = forecastData.path("properties").path("periods");
+            run.records(IngestStage.PARSE, 2, periods.size())
+                .stage(IngestStage.MAP);
             List<WeatherForecastEntity> forecasts = new ArrayList<>();
 
             for (JsonNode period : periods) {
@@ -110,7 +126,9 @@ public class WeatherForecastService {
                 forecast.source = "noaa";
                 forecast.latitude = location.latitude;
                 forecast.longitude = location.longitude;
-                forecast.forecastData = period.toString();
+                String rawPayload = period.toString();
+                forecast.rawRef = rawPayloadArchive.append("forecast-noaa", rawPayload);
+                forecast.forecastData = rawPayloadArchive.inline(forecast.rawRef, rawPayload);
                 forecast.fetchedAt = LocalDateTime.now();
 
                 // Extract searchable fields
@@ -141,11 +159,17 @@ public class WeatherForecastService {
                 forecasts.add(forecast);
             }
 
+            run.records(IngestStage.MAP, periods.size(), forecasts.size())
+                .stage(IngestStage.PERSIST);
             weatherForecastRepository.persist(forecasts);
+            run.records(IngestStage.PERSIST, forecasts.size(), forecasts.size());
             LOG.info("Stored " + forecasts.size() + " NOAA forecasts for location: " + location.name);
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching NOAA forecast for location " + locationId, e);
+        } finally {
+            run.close();
         }
     }
 
@@ -156,6 +180,7 @@ public class WeatherForecastService {
             return;
         }
 
+        IngestRun run = ingestInstrumentation.start("forecast-openweather");
         try {
             Optional<LocationEntity> locationOpt = locationRepository.findByIdOptional(locationId);
             if (locationOpt.isEmpty()) {
@@ -173,8 +198,11 @@ public class WeatherForecastService {
                 "imperial"
             );
 
+            run.stage(IngestStage.PARSE);
             JsonNode forecastData = objectMapper.readTree(forecastResponse);
             JsonNode list = forecastData.path("list");
+            run.records(IngestStage.PARSE, 1, list.size())
+                .stage(IngestStage.MAP);
             List<WeatherForecastEntity> forecasts = new ArrayList<>();
 
             for (JsonNode item : list) {
@@ -183,7 +211,9 @@ public class WeatherForecastService {
                 forecast.source = "openweathermap";
                 forecast.latitude = location.latitude;
                 forecast.longitude = location.longitude;
-                forecast.forecastData = item.toString();
+                String rawPayload = item.toString();
+                forecast.rawRef = rawPayloadArchive.append("forecast-openweather", rawPayload);
+                forecast.forecastData = rawPayloadArchive.inline(forecast.rawRef, rawPayload);
                 forecast.fetchedAt = LocalDateTime.now();
 
                 // Extract searchable fields
@@ -213,11 +243,17 @@ public class WeatherForecastService {
                 forecasts.add(forecast);
             }
 
+            run.records(IngestStage.MAP, list.size(), forecasts.size())
+                .stage(IngestStage.PERSIST);
             weatherForecastRepository.persist(forecasts);
+            run.records(IngestStage.PERSIST, forecasts.size(), forecasts.size());
             LOG.info("Stored " + forecasts.size() + " OpenWeatherMap forecasts for location: " + location.name);
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching OpenWeatherMap forecast for location " + locationId, e);
+        } finally {
+            run.close();
         }
     }
 
@@ -244,10 +280,14 @@ public class WeatherForecastService {
         return weatherForecastRepository.countHistoricalByLocation(locationId, since);
     }
 
+    /**
+     * Archive forecasts fetched before the cutoff, folding them into the climate daily aggregates
+     * in the same statement so each archived row is counted exactly once.
+     */
     @Transactional
     public void deactivateOldForecasts(LocalDateTime olderThan) {
-        long count = weatherForecastRepository.deactivateOldForecasts(olderThan);
-        LOG.info("Deactivated " + count + " old forecasts");
+        int days = climateAggregateRepository.archiveAndAccumulate(olderThan);
+        LOG.info("Deactivated old forecasts into " + days + " climate daily aggregates");
     }
 
     private BigDecimal fahrenheitToCelsius(BigDecimal fahrenheit) {
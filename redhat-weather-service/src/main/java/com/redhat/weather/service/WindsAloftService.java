@@ -1,7 +1,7 @@
 package com.redhat.weather.service;
 
 import com.redhat.weather.client.AviationWeatherClient;
-import com.redhat.weather.domain.entity.WindsAloftEntity;
+import com.redhat.weather.domain.entity.WindsAloftProfileEntity;
 import com.redhat.weather.domain.repository.WindsAloftRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -15,9 +15,17 @@ import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Winds and temperatures aloft. Each station forecast is stored as one
+ * {@link WindsAloftProfileEntity profile} per valid time holding all its levels; the read methods
+ * flatten profiles into one {@link Level} per altitude, the shape the API has always served.
+ */
 @ApplicationScoped
 public class WindsAloftService {
 
@@ -26,6 +34,15 @@ public class WindsAloftService {
 
     private static final int[] STANDARD_ALTITUDES = {3000, 6000, 9000, 12000, 18000, 24000, 30000, 34000, 39000};
 
+    /**
+     * A station forecast at one altitude.
+     */
+    public record Level(Long profileId, String stationId, BigDecimal latitude, BigDecimal longitude,
+                        Integer elevationFt, LocalDateTime validTime, Integer forecastHour, int altitudeFt,
+                        Integer windDirection, Integer windSpeedKnots, BigDecimal temperatureCelsius,
+                        LocalDateTime fetchedAt) {
+    }
+
     @Inject
     WindsAloftRepository windsAloftRepository;
 
@@ -33,93 +50,152 @@ public class WindsAloftService {
     @RestClient
     AviationWeatherClient aviationClient;
 
-    public List<WindsAloftEntity> getLatestWinds() {
-        return windsAloftRepository.findLatest();
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    public List<Level> getLatestWinds() {
+        return levels(windsAloftRepository.findLatest(), null);
     }
 
-    public List<WindsAloftEntity> getWindsByStation(String stationId) {
-        return windsAloftRepository.findByStation(stationId.toUpperCase());
+    public List<Level> getWindsByStation(String stationId) {
+        return levels(windsAloftRepository.findByStation(stationId.toUpperCase()), null);
     }
 
-    public List<WindsAloftEntity> getWindsByAltitude(int altitudeFt) {
-        return windsAloftRepository.findByAltitude(altitudeFt);
+    public List<Level> getWindsByAltitude(int altitudeFt) {
+        return levels(windsAloftRepository.findByAltitude(altitudeFt), altitudeFt);
     }
 
     @Transactional
     public void fetchAndStoreWinds() {
+        IngestRun run = ingestInstrumentation.start("winds-aloft");
         try {
             List<AviationWeatherClient.WindTempResponse> responses = aviationClient.getWindsAloft("json");
+            adaptivePollingService.observe("awc-winds-aloft", "windtemp", responses);
 
             if (responses == null || responses.isEmpty()) {
                 LOG.info("No winds aloft data returned from AWC");
                 return;
             }
+            run.records(IngestStage.FETCH, 1, responses.size());
 
-            List<WindsAloftEntity> winds = new ArrayList<>();
+            List<WindsAloftProfileEntity> profiles = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            int levelCount = 0;
+            int candidates = 0;
+            int duplicates = 0;
 
             for (AviationWeatherClient.WindTempResponse resp : responses) {
                 try {
-                    if (resp.stationId == null) continue;
-
-                    LocalDateTime validTime = parseTime(resp.validTime);
-
-                    // Each response has wind/temp data at multiple altitudes
-                    if (resp.fcsts != null) {
-                        for (Map.Entry<String, AviationWeatherClient.WindTempForecast> entry : resp.fcsts.entrySet()) {
-                            try {
-                                int altitude = Integer.parseInt(entry.getKey());
-                                AviationWeatherClient.WindTempForecast fcst = entry.getValue();
-
-                                String forecastId = generateForecastId(resp.stationId, altitude, resp.validTime);
-                                if (windsAloftRepository.existsByForecastId(forecastId)) continue;
-
-                                WindsAloftEntity entity = new WindsAloftEntity();
-                                entity.forecastId = forecastId;
-                                entity.stationId = resp.stationId;
-                                entity.latitude = resp.lat != null ? BigDecimal.valueOf(resp.lat) : null;
-                                entity.longitude = resp.lon != null ? BigDecimal.valueOf(resp.lon) : null;
-                                entity.elevationFt = resp.elev;
-                                entity.validTime = validTime;
-                                entity.forecastHour = resp.fcstHr;
-                                entity.altitudeFt = altitude;
-                                entity.windDirection = fcst.wdir;
-                                entity.windSpeedKnots = fcst.wspd;
-                                entity.temperatureCelsius = fcst.temp != null ? BigDecimal.valueOf(fcst.temp) : null;
-                                entity.rawData = objectMapper.writeValueAsString(resp);
-                                entity.fetchedAt = LocalDateTime.now();
-
-                                winds.add(entity);
-                            } catch (NumberFormatException e) {
-                                // Skip non-numeric altitude keys
+                    run.stage(IngestStage.MAP);
+                    if (resp.stationId == null || resp.fcsts == null) continue;
+
+                    // Altitude keys are numeric strings; order the levels by altitude
+                    TreeMap<Integer, AviationWeatherClient.WindTempForecast> byAltitude = new TreeMap<>();
+                    for (Map.Entry<String, AviationWeatherClient.WindTempForecast> entry : resp.fcsts.entrySet()) {
+                        try {
+                            if (entry.getValue() != null) {
+                                byAltitude.put(Integer.parseInt(entry.getKey()), entry.getValue());
                             }
+                        } catch (NumberFormatException e) {
+                            // Skip non-numeric altitude keys
                         }
                     }
+                    if (byAltitude.isEmpty()) continue;
+                    levelCount += byAltitude.size();
+                    candidates++;
+
+                    LocalDateTime validTime = parseTime(resp.validTime);
+                    run.stage(IngestStage.DEDUP);
+                    if (!seen.add(resp.stationId + "|" + validTime)
+                            || windsAloftRepository.existsByStationAndValidTime(resp.stationId, validTime)) {
+                        duplicates++;
+                        continue;
+                    }
+                    run.stage(IngestStage.MAP);
+
+                    WindsAloftProfileEntity profile = new WindsAloftProfileEntity();
+                    profile.stationId = resp.stationId;
+                    profile.latitude = resp.lat != null ? BigDecimal.valueOf(resp.lat) : null;
+                    profile.longitude = resp.lon != null ? BigDecimal.valueOf(resp.lon) : null;
+                    profile.elevationFt = resp.elev;
+                    profile.validTime = validTime;
+                    profile.forecastHour = resp.fcstHr;
+
+                    int count = byAltitude.size();
+                    profile.altitudesFt = new Integer[count];
+                    profile.windDirections = new Integer[count];
+                    profile.windSpeedsKnots = new Integer[count];
+                    profile.temperaturesCelsius = new BigDecimal[count];
+                    int i = 0;
+                    for (Map.Entry<Integer, AviationWeatherClient.WindTempForecast> level : byAltitude.entrySet()) {
+                        AviationWeatherClient.WindTempForecast fcst = level.getValue();
+                        profile.altitudesFt[i] = level.getKey();
+                        profile.windDirections[i] = fcst.wdir;
+                        profile.windSpeedsKnots[i] = fcst.wspd;
+                        profile.temperaturesCelsius[i] = fcst.temp != null ? BigDecimal.valueOf(fcst.temp) : null;
+                        i++;
+                    }
+
+                    String rawPayload = objectMapper.writeValueAsString(resp);
+                    profile.rawRef = rawPayloadArchive.append("winds-aloft", rawPayload);
+                    profile.rawData = rawPayloadArchive.inline(profile.rawRef, rawPayload);
+                    profile.fetchedAt = LocalDateTime.now();
+
+                    profiles.add(profile);
                 } catch (Exception e) {
                     LOG.warn("Error parsing winds aloft for station " + resp.stationId + ": " + e.getMessage());
                 }
             }
 
-            if (!winds.isEmpty()) {
-                windsAloftRepository.persist(winds);
-                LOG.info("Stored " + winds.size() + " new winds aloft entries");
+            // One row per station forecast, holding all its levels
+            run.records(IngestStage.MAP, responses.size(), profiles.size())
+                .records(IngestStage.DEDUP, candidates, candidates - duplicates);
+
+            if (!profiles.isEmpty()) {
+                run.stage(IngestStage.PERSIST);
+                windsAloftRepository.persist(profiles);
+                run.records(IngestStage.PERSIST, profiles.size(), profiles.size());
+                LOG.info("Stored " + profiles.size() + " new winds aloft profiles (" + levelCount + " levels)");
             } else {
                 LOG.info("No new winds aloft data to store");
             }
 
         } catch (Exception e) {
+            run.failed(e);
             LOG.error("Error fetching winds aloft from AWC", e);
+        } finally {
+            run.close();
         }
     }
 
     @Transactional
     public void deactivateOldForecasts(LocalDateTime olderThan) {
         long count = windsAloftRepository.deactivateOld(olderThan);
-        LOG.info("Deactivated " + count + " old winds aloft entries");
+        LOG.info("Deactivated " + count + " old winds aloft profiles");
     }
 
-    private String generateForecastId(String stationId, int altitude, String validTime) {
-        String vt = validTime != null ? validTime : "";
-        return String.valueOf((stationId + altitude + vt).hashCode());
+    // One Level per altitude of each profile, or only the one at onlyAltitude if given
+    private static List<Level> levels(List<WindsAloftProfileEntity> profiles, Integer onlyAltitude) {
+        List<Level> levels = new ArrayList<>();
+        for (WindsAloftProfileEntity profile : profiles) {
+            for (int i = 0; i < profile.altitudesFt.length; i++) {
+                int altitude = profile.altitudesFt[i];
+                if (onlyAltitude != null && altitude != onlyAltitude) {
+                    continue;
+                }
+                levels.add(new Level(profile.id, profile.stationId, profile.latitude, profile.longitude,
+                    profile.elevationFt, profile.validTime, profile.forecastHour, altitude,
+                    profile.windDirections[i], profile.windSpeedsKnots[i], profile.temperaturesCelsius[i],
+                    profile.fetchedAt));
+            }
+        }
+        return levels;
     }
 
     private LocalDateTime parseTime(String timeStr) {
@@ -34,6 +34,9 @@ public class AirportDataInitializer {
     @ConfigProperty(name = "airport.csv.skip-if-exists", defaultValue = "true")
     boolean skipIfExists;
 
+    @ConfigProperty(name = "airport.csv.sync-on-startup", defaultValue = "false")
+    boolean syncOnStartup;
+
     /**
      * Load airports from CSV on application startup
      */
@@ -48,7 +51,15 @@ public class AirportDataInitializer {
             if (skipIfExists) {
                 long existingAirportCount = locationRepository.count();
                 if (existingAirportCount > 0) {
+                    if (syncOnStartup && Files.exists(Paths.get(csvPath))) {
+                        // Apply only the differences against the existing catalog
+                        airportCsvLoader.syncAirportsFromCsv(csvPath);
+                        return;
+                    }
                     Log.infof("Skipping airport CSV load - %d airports already exist in database", existingAirportCount);
+                    if (locationRepository.countMissingAirportType() > 0 && Files.exists(Paths.get(csvPath))) {
+                        airportCsvLoader.backfillAirportTypes(csvPath);
+                    }
                     return;
                 }
             }
@@ -59,11 +70,7 @@ public class AirportDataInitializer {
                 return;
             }
 
-            // Count how many airports will be loaded
-            int validAirportCount = airportCsvLoader.countValidAirports(csvPath);
-            Log.infof("Found %d valid airports with ICAO codes in CSV file", validAirportCount);
-
-            // Load airports from CSV
+            // Load airports from CSV in a single streaming pass
             int loadedCount = airportCsvLoader.loadAirportsFromCsv(csvPath);
 
             if (loadedCount > 0) {
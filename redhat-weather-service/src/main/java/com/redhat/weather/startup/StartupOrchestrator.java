@@ -0,0 +1,149 @@
+package com.redhat.weather.startup;
+
+import com.redhat.weather.scheduler.WeatherDataScheduler;
+import com.redhat.weather.service.AirportWeatherService;
+import com.redhat.weather.service.IngestWatermarks;
+import com.redhat.weather.service.LocationService;
+import com.redhat.weather.service.WeatherAlertService;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Two-phase startup.
+ *
+ * Phase 1 restores the hot in-memory caches from the database (location lists, latest METAR per
+ * airport, active alerts, ingest watermarks) and reports ready as soon as they are loaded, so the API serves the last
+ * known state seconds after boot. Phase 2 then starts the cold upstream fetches one at a time,
+ * {@code weather.startup.fetch-stagger-seconds} apart, in the priority order of
+ * {@link WeatherDataScheduler#initialFetchPlan()} rather than all at once.
+ *
+ * Runs after {@link AirportDataInitializer} so the airport catalog is in place before warm-up.
+ */
+@ApplicationScoped
+public class StartupOrchestrator {
+
+    @Inject
+    LocationService locationService;
+
+    @Inject
+    AirportWeatherService airportWeatherService;
+
+    @Inject
+    WeatherAlertService weatherAlertService;
+
+    @Inject
+    WeatherDataScheduler weatherDataScheduler;
+
+    @Inject
+    IngestWatermarks ingestWatermarks;
+
+    @ConfigProperty(name = "weather.scheduler.initial-fetch.enabled", defaultValue = "true")
+    boolean initialFetchEnabled;
+
+    @ConfigProperty(name = "weather.startup.fetch-stagger-seconds", defaultValue = "5")
+    int fetchStaggerSeconds;
+
+    @ConfigProperty(name = "weather.startup.metar-restore-hours", defaultValue = "3")
+    int metarRestoreHours;
+
+    private volatile boolean warm;
+    private volatile boolean initialFetchPending = true;
+    private volatile Duration warmupDuration;
+
+    void onStart(@Observes @Priority(Interceptor.Priority.LIBRARY_AFTER) StartupEvent event) {
+        // Off the startup thread: the HTTP server and liveness are available while caches load
+        CompletableFuture.runAsync(() -> {
+            warmUp();
+            scheduleInitialFetches();
+        });
+    }
+
+    /**
+     * True once the hot caches have been restored from the database.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * True until every cold upstream fetch scheduled at startup has finished.
+     */
+    public boolean isInitialFetchPending() {
+        return initialFetchPending;
+    }
+
+    public Duration getWarmupDuration() {
+        return warmupDuration;
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        Log.info("Restoring hot caches from the database");
+
+        warmStep("locations", () -> locationService.getAllLocations().size());
+        warmStep("latest METARs", () ->
+            airportWeatherService.restoreLatestMetars(LocalDateTime.now().minusHours(metarRestoreHours)));
+        warmStep("active alerts", () -> weatherAlertService.getActiveAlerts().size());
+        warmStep("ingest watermarks", ingestWatermarks::refresh);
+
+        warmupDuration = Duration.ofNanos(System.nanoTime() - start);
+        warm = true;
+        Log.infof("Hot caches restored in %d ms; reporting ready", warmupDuration.toMillis());
+    }
+
+    private void warmStep(String name, IntSupplier step) {
+        try {
+            Log.infof("Restored %s: %d entries", name, step.getAsInt());
+        } catch (Exception e) {
+            // A cache that fails to load is filled by its first request or fetch instead
+            Log.warnf("Failed to restore %s: %s", name, e.getMessage());
+        }
+    }
+
+    private void scheduleInitialFetches() {
+        if (!initialFetchEnabled) {
+            Log.info("Initial data fetch disabled via configuration");
+            initialFetchPending = false;
+            return;
+        }
+
+        Map<String, Runnable> plan = weatherDataScheduler.initialFetchPlan();
+        Log.infof("Scheduling initial fetch for %d sources, %d s apart", plan.size(), fetchStaggerSeconds);
+
+        List<CompletableFuture<Void>> fetches = new ArrayList<>();
+        int slot = 0;
+        for (Map.Entry<String, Runnable> job : plan.entrySet()) {
+            Executor delayed = CompletableFuture.delayedExecutor((long) slot++ * fetchStaggerSeconds, TimeUnit.SECONDS);
+            fetches.add(CompletableFuture.runAsync(() -> {
+                Log.infof("Initial fetch: %s", job.getKey());
+                try {
+                    job.getValue().run();
+                } catch (Exception e) {
+                    Log.errorf(e, "Initial fetch failed: %s", job.getKey());
+                }
+            }, delayed));
+        }
+
+        CompletableFuture.allOf(fetches.toArray(new CompletableFuture<?>[0]))
+            .whenComplete((ignored, error) -> {
+                initialFetchPending = false;
+                Log.info("Initial data fetch completed for all enabled sources");
+            });
+    }
+}
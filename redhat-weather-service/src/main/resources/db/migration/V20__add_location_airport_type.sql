@@ -0,0 +1,6 @@
+-- Airport type from the OurAirports CSV (large_airport / medium_airport / small_airport),
+-- used to tier METAR refresh frequency
+
+ALTER TABLE locations ADD COLUMN IF NOT EXISTS airport_type VARCHAR(20);
+
+CREATE INDEX IF NOT EXISTS idx_location_airport_type ON locations(airport_type);
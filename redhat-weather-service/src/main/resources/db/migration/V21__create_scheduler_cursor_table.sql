@@ -0,0 +1,23 @@
+-- Persistent rotation cursors for scheduled ingest jobs.
+-- Each job's work space is split into partitions; replicas lease partitions
+-- (SELECT ... FOR UPDATE SKIP LOCKED) so they never fetch the same window.
+CREATE TABLE IF NOT EXISTS scheduler_cursor (
+    id BIGSERIAL PRIMARY KEY,
+    cursor_name VARCHAR(50) NOT NULL,
+    partition_id INTEGER NOT NULL,
+    position INTEGER NOT NULL DEFAULT 0,
+    lease_owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_scheduler_cursor UNIQUE (cursor_name, partition_id)
+);
+
+CREATE INDEX idx_scheduler_cursor_lease ON scheduler_cursor(cursor_name, lease_expires_at);
+
+-- Replica heartbeats per cursor, used to compute each replica's fair share of partitions
+CREATE TABLE IF NOT EXISTS scheduler_member (
+    cursor_name VARCHAR(50) NOT NULL,
+    instance_id VARCHAR(100) NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (cursor_name, instance_id)
+);
@@ -0,0 +1,13 @@
+-- History of space weather snapshots ingested from NOAA SWPC
+CREATE TABLE IF NOT EXISTS space_weather_history (
+    id BIGSERIAL PRIMARY KEY,
+    kp_index NUMERIC(4,2),
+    kp_level VARCHAR(20),
+    solar_wind_speed NUMERIC(8,2),
+    geomagnetic_storm_level VARCHAR(5),
+    alert_count INTEGER NOT NULL DEFAULT 0,
+    fetched_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_space_weather_fetched_at ON space_weather_history(fetched_at DESC);
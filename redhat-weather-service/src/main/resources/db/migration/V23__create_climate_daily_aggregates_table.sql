@@ -0,0 +1,26 @@
+-- Per-location daily rollups of archived forecasts, maintained as forecasts are deactivated.
+-- Climate normals are computed from these rows instead of scanning weather_forecasts.
+CREATE TABLE IF NOT EXISTS climate_daily_aggregates (
+    id BIGSERIAL PRIMARY KEY,
+    location_id BIGINT NOT NULL REFERENCES locations(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    sample_count INTEGER NOT NULL DEFAULT 0,
+    temp_count INTEGER NOT NULL DEFAULT 0,
+    temp_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    temp_min DOUBLE PRECISION,
+    temp_max DOUBLE PRECISION,
+    precip_count INTEGER NOT NULL DEFAULT 0,
+    precip_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    precip_min DOUBLE PRECISION,
+    precip_max DOUBLE PRECISION,
+    humidity_count INTEGER NOT NULL DEFAULT 0,
+    humidity_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    humidity_min DOUBLE PRECISION,
+    humidity_max DOUBLE PRECISION,
+    wind_count INTEGER NOT NULL DEFAULT 0,
+    wind_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    wind_min DOUBLE PRECISION,
+    wind_max DOUBLE PRECISION,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_climate_location_day UNIQUE (location_id, day)
+);
@@ -0,0 +1,58 @@
+-- Airport codes identify locations: the CSV loader merges on airport_code with
+-- INSERT ... ON CONFLICT, which needs a unique index.
+-- Keep the oldest row for any duplicated code. Forecasts, METARs and climate rollups of the
+-- duplicates are moved onto it first, so deleting the duplicates cascades nothing away.
+CREATE TEMP TABLE location_merge ON COMMIT DROP AS
+SELECT l.id AS duplicate_id, keep.id AS keep_id
+FROM locations l
+JOIN (SELECT airport_code, MIN(id) AS id FROM locations WHERE airport_code IS NOT NULL GROUP BY airport_code) keep
+  ON l.airport_code = keep.airport_code AND l.id <> keep.id;
+
+UPDATE weather_forecasts f SET location_id = m.keep_id
+FROM location_merge m WHERE f.location_id = m.duplicate_id;
+
+UPDATE airport_weather a SET location_id = m.keep_id
+FROM location_merge m WHERE a.location_id = m.duplicate_id;
+
+-- One rollup per location and day: fold the duplicates' days into the kept location's
+INSERT INTO climate_daily_aggregates (location_id, day, sample_count,
+    temp_count, temp_sum, temp_min, temp_max,
+    precip_count, precip_sum, precip_min, precip_max,
+    humidity_count, humidity_sum, humidity_min, humidity_max,
+    wind_count, wind_sum, wind_min, wind_max, updated_at)
+SELECT m.keep_id, c.day, SUM(c.sample_count),
+    SUM(c.temp_count), SUM(c.temp_sum), MIN(c.temp_min), MAX(c.temp_max),
+    SUM(c.precip_count), SUM(c.precip_sum), MIN(c.precip_min), MAX(c.precip_max),
+    SUM(c.humidity_count), SUM(c.humidity_sum), MIN(c.humidity_min), MAX(c.humidity_max),
+    SUM(c.wind_count), SUM(c.wind_sum), MIN(c.wind_min), MAX(c.wind_max), NOW()
+FROM climate_daily_aggregates c
+JOIN location_merge m ON c.location_id = m.duplicate_id
+GROUP BY m.keep_id, c.day
+ON CONFLICT (location_id, day) DO UPDATE SET
+    sample_count = climate_daily_aggregates.sample_count + EXCLUDED.sample_count,
+    temp_count = climate_daily_aggregates.temp_count + EXCLUDED.temp_count,
+    temp_sum = climate_daily_aggregates.temp_sum + EXCLUDED.temp_sum,
+    temp_min = LEAST(climate_daily_aggregates.temp_min, EXCLUDED.temp_min),
+    temp_max = GREATEST(climate_daily_aggregates.temp_max, EXCLUDED.temp_max),
+    precip_count = climate_daily_aggregates.precip_count + EXCLUDED.precip_count,
+    precip_sum = climate_daily_aggregates.precip_sum + EXCLUDED.precip_sum,
+    precip_min = LEAST(climate_daily_aggregates.precip_min, EXCLUDED.precip_min),
+    precip_max = GREATEST(climate_daily_aggregates.precip_max, EXCLUDED.precip_max),
+    humidity_count = climate_daily_aggregates.humidity_count + EXCLUDED.humidity_count,
+    humidity_sum = climate_daily_aggregates.humidity_sum + EXCLUDED.humidity_sum,
+    humidity_min = LEAST(climate_daily_aggregates.humidity_min, EXCLUDED.humidity_min),
+    humidity_max = GREATEST(climate_daily_aggregates.humidity_max, EXCLUDED.humidity_max),
+    wind_count = climate_daily_aggregates.wind_count + EXCLUDED.wind_count,
+    wind_sum = climate_daily_aggregates.wind_sum + EXCLUDED.wind_sum,
+    wind_min = LEAST(climate_daily_aggregates.wind_min, EXCLUDED.wind_min),
+    wind_max = GREATEST(climate_daily_aggregates.wind_max, EXCLUDED.wind_max),
+    updated_at = NOW();
+
+DELETE FROM climate_daily_aggregates c
+USING location_merge m WHERE c.location_id = m.duplicate_id;
+
+DELETE FROM locations l
+USING location_merge m WHERE l.id = m.duplicate_id;
+
+DROP INDEX IF EXISTS idx_location_airport_code;
+CREATE UNIQUE INDEX uq_location_airport_code ON locations(airport_code);
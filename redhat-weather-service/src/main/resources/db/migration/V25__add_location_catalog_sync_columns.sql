@@ -0,0 +1,7 @@
+-- Incremental airport catalog sync: a hash of the mapped CSV fields detects changed rows,
+-- and airports dropped from the catalog are retired instead of deleted so their
+-- forecasts and METAR history survive.
+ALTER TABLE locations ADD COLUMN IF NOT EXISTS source_hash VARCHAR(32);
+ALTER TABLE locations ADD COLUMN IF NOT EXISTS retired_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_location_active ON locations(id) WHERE retired_at IS NULL;
@@ -0,0 +1,43 @@
+-- Raw upstream payloads move to the on-disk raw payload archive. Rows keep a reference
+-- (source/segment/offset) in raw_ref; the jsonb columns are only filled when the archive is
+-- disabled or a write to it fails, so they become nullable.
+
+ALTER TABLE weather_forecasts ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE weather_forecasts ALTER COLUMN forecast_data DROP NOT NULL;
+
+ALTER TABLE airport_weather ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+
+ALTER TABLE hurricanes ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE hurricanes ALTER COLUMN forecast_data DROP NOT NULL;
+
+ALTER TABLE earthquakes ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE earthquakes ALTER COLUMN event_data DROP NOT NULL;
+
+ALTER TABLE weather_alerts ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE weather_alerts ALTER COLUMN alert_data DROP NOT NULL;
+
+ALTER TABLE pireps ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE pireps ALTER COLUMN pirep_data DROP NOT NULL;
+
+ALTER TABLE sigmets ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE sigmets ALTER COLUMN sigmet_data DROP NOT NULL;
+
+ALTER TABLE airport_delays ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE airport_delays ALTER COLUMN delay_data DROP NOT NULL;
+
+ALTER TABLE cwas ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE cwas ALTER COLUMN cwa_data DROP NOT NULL;
+
+ALTER TABLE winds_aloft ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE winds_aloft ALTER COLUMN raw_data DROP NOT NULL;
+
+ALTER TABLE tfrs ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE tfrs ALTER COLUMN tfr_data DROP NOT NULL;
+
+ALTER TABLE ground_stops ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE ground_stops ALTER COLUMN raw_data DROP NOT NULL;
+
+ALTER TABLE volcanic_ash_advisories ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
+ALTER TABLE volcanic_ash_advisories ALTER COLUMN advisory_data DROP NOT NULL;
+
+ALTER TABLE lightning_strikes ADD COLUMN IF NOT EXISTS raw_ref VARCHAR(80);
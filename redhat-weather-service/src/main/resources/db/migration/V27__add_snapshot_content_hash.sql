@@ -0,0 +1,10 @@
+-- Delays, ground stops and TFRs are published upstream as complete snapshots. Instead of
+-- deactivating every row and re-inserting the whole feed each poll, ingest now diffs the snapshot
+-- against stored rows by natural id and content hash and only writes what changed.
+
+ALTER TABLE airport_delays ADD COLUMN IF NOT EXISTS content_hash VARCHAR(32);
+ALTER TABLE ground_stops ADD COLUMN IF NOT EXISTS content_hash VARCHAR(32);
+ALTER TABLE tfrs ADD COLUMN IF NOT EXISTS content_hash VARCHAR(32);
+
+-- The reconciler loads the active rows of each feed on every poll
+CREATE INDEX IF NOT EXISTS idx_delay_active ON airport_delays(is_active) WHERE is_active = true;
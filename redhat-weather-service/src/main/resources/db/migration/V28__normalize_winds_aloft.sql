@@ -0,0 +1,40 @@
+-- Winds aloft were stored as one row per station per altitude, each carrying the whole station
+-- response as raw_data. A station forecast is now one row per station and valid time, with the
+-- levels as parallel arrays ordered by altitude.
+
+CREATE TABLE IF NOT EXISTS winds_aloft_profiles (
+    id BIGSERIAL PRIMARY KEY,
+    station_id VARCHAR(10) NOT NULL,
+    latitude NUMERIC(9,6),
+    longitude NUMERIC(9,6),
+    elevation_ft INTEGER,
+    valid_time TIMESTAMP NOT NULL,
+    forecast_hour INTEGER,
+    altitudes_ft INTEGER[] NOT NULL,
+    wind_directions INTEGER[] NOT NULL,
+    wind_speeds_knots INTEGER[] NOT NULL,
+    temperatures_celsius NUMERIC(5,1)[] NOT NULL,
+    raw_data JSONB,
+    raw_ref VARCHAR(80),
+    fetched_at TIMESTAMP NOT NULL,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX idx_winds_profile_station_valid ON winds_aloft_profiles(station_id, valid_time);
+CREATE INDEX idx_winds_profile_valid_time ON winds_aloft_profiles(valid_time);
+
+INSERT INTO winds_aloft_profiles (station_id, latitude, longitude, elevation_ft, valid_time, forecast_hour,
+                                  altitudes_ft, wind_directions, wind_speeds_knots, temperatures_celsius,
+                                  raw_data, raw_ref, fetched_at, is_active, created_at)
+SELECT station_id, max(latitude), max(longitude), max(elevation_ft), valid_time, max(forecast_hour),
+       array_agg(altitude_ft ORDER BY altitude_ft),
+       array_agg(wind_direction ORDER BY altitude_ft),
+       array_agg(wind_speed_knots ORDER BY altitude_ft),
+       array_agg(temperature_celsius ORDER BY altitude_ft),
+       (array_agg(raw_data))[1], (array_agg(raw_ref))[1],
+       max(fetched_at), bool_or(is_active), min(created_at)
+FROM winds_aloft
+GROUP BY station_id, valid_time;
+
+DROP TABLE winds_aloft;
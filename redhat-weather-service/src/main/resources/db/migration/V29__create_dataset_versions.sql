@@ -0,0 +1,9 @@
+-- Change counter per dataset, the basis of HTTP ETags. Bumped in the same transaction as the rows
+-- it describes, so every replica sees a new version exactly when it can see the new data.
+-- The '*' row is bumped for changes that touch every dataset (retention cleanup).
+
+CREATE TABLE IF NOT EXISTS dataset_versions (
+    dataset VARCHAR(40) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
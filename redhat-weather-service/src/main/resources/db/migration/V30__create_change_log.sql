@@ -0,0 +1,24 @@
+-- Row changes to the active datasets, for delta sync (/api/changes). Written in the ingest
+-- transaction, so a change is logged exactly when its row is committed, whichever replica wrote it.
+-- tx_id is the writing transaction; readers only return changes of transactions older than their
+-- snapshot's xmin, so a slow commit can never be skipped by a client that already moved past it.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    id BIGSERIAL PRIMARY KEY,
+    tx_id BIGINT NOT NULL DEFAULT (pg_current_xact_id()::text::bigint),
+    type VARCHAR(40) NOT NULL,
+    op VARCHAR(10) NOT NULL,
+    row_id BIGINT NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_change_log_tx ON change_log(tx_id);
+CREATE INDEX idx_change_log_changed_at ON change_log(changed_at);
+
+-- Changes of transactions below pruned_through may have been deleted: older tokens must resync
+CREATE TABLE IF NOT EXISTS change_log_horizon (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    pruned_through BIGINT NOT NULL
+);
+
+INSERT INTO change_log_horizon (id, pruned_through) VALUES (1, 0) ON CONFLICT DO NOTHING;
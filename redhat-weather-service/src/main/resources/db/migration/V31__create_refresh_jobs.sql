@@ -0,0 +1,18 @@
+-- Manually requested refreshes, shared by every replica so GET /api/jobs/{id} answers wherever
+-- the job was submitted. At most one job per type/target waits in QUEUED at a time; a second
+-- request for the same refresh gets that job back instead of queueing another.
+
+CREATE TABLE IF NOT EXISTS refresh_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    job_key VARCHAR(80) NOT NULL,
+    type VARCHAR(40) NOT NULL,
+    target VARCHAR(20),
+    status VARCHAR(10) NOT NULL,
+    error TEXT,
+    submitted_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_refresh_jobs_queued ON refresh_jobs (job_key) WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_refresh_jobs_submitted_at ON refresh_jobs (submitted_at);
@@ -0,0 +1,15 @@
+-- Snapshot rows keep the fetched_at of their first fetch while upstream keeps publishing them
+-- unchanged. last_seen_at records the latest poll that still contained the row, so retention
+-- cleanup can age rows out on it on any replica without knowing which one ran the ingest.
+
+ALTER TABLE airport_delays ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP;
+ALTER TABLE ground_stops ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP;
+ALTER TABLE tfrs ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP;
+
+UPDATE airport_delays SET last_seen_at = fetched_at WHERE last_seen_at IS NULL;
+UPDATE ground_stops SET last_seen_at = fetched_at WHERE last_seen_at IS NULL;
+UPDATE tfrs SET last_seen_at = fetched_at WHERE last_seen_at IS NULL;
+
+ALTER TABLE airport_delays ALTER COLUMN last_seen_at SET NOT NULL;
+ALTER TABLE ground_stops ALTER COLUMN last_seen_at SET NOT NULL;
+ALTER TABLE tfrs ALTER COLUMN last_seen_at SET NOT NULL;
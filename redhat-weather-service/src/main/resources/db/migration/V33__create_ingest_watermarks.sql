@@ -0,0 +1,33 @@
+-- Last write time and cumulative rows written per ingest source, upserted in the ingest transaction
+-- so every replica reads the same marks whichever one ran the ingest. Readiness and the data counts
+-- read an in-memory copy refreshed from this table in the background.
+
+CREATE TABLE IF NOT EXISTS ingest_watermarks (
+    source VARCHAR(40) PRIMARY KEY,
+    last_fetched_at TIMESTAMP NOT NULL,
+    rows_written BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Start from the data already stored; one scan per table, here only
+INSERT INTO ingest_watermarks (source, last_fetched_at)
+SELECT source, latest FROM (
+    SELECT 'forecast-noaa' AS source, MAX(fetched_at) AS latest FROM weather_forecasts WHERE is_active = true AND source = 'noaa'
+    UNION ALL SELECT 'forecast-openweather', MAX(fetched_at) FROM weather_forecasts WHERE is_active = true AND source = 'openweathermap'
+    UNION ALL SELECT 'metar', MAX(fetched_at) FROM airport_weather WHERE is_active = true AND report_type = 'METAR'
+    UNION ALL SELECT 'taf', MAX(fetched_at) FROM airport_weather WHERE is_active = true AND report_type = 'TAF'
+    UNION ALL SELECT 'alert', MAX(fetched_at) FROM weather_alerts WHERE is_active = true
+    UNION ALL SELECT 'hurricane', MAX(fetched_at) FROM hurricanes WHERE is_active = true
+    UNION ALL SELECT 'earthquake', MAX(fetched_at) FROM earthquakes WHERE is_active = true
+    UNION ALL SELECT 'pirep', MAX(fetched_at) FROM pireps WHERE is_active = true
+    UNION ALL SELECT 'sigmet', MAX(fetched_at) FROM sigmets WHERE is_active = true
+    UNION ALL SELECT 'cwa', MAX(fetched_at) FROM cwas WHERE is_active = true
+    UNION ALL SELECT 'delay', MAX(fetched_at) FROM airport_delays WHERE is_active = true
+    UNION ALL SELECT 'ground-stop', MAX(fetched_at) FROM ground_stops WHERE is_active = true
+    UNION ALL SELECT 'tfr', MAX(fetched_at) FROM tfrs WHERE is_active = true
+    UNION ALL SELECT 'winds-aloft', MAX(fetched_at) FROM winds_aloft_profiles WHERE is_active = true
+    UNION ALL SELECT 'volcanic-ash', MAX(fetched_at) FROM volcanic_ash_advisories WHERE is_active = true
+    UNION ALL SELECT 'lightning', MAX(fetched_at) FROM lightning_strikes WHERE is_active = true
+) latest_per_source
+WHERE latest IS NOT NULL
+ON CONFLICT (source) DO NOTHING;
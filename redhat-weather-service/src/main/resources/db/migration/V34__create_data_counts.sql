@@ -0,0 +1,15 @@
+-- Exact /api/status/data counts, published by the one replica that holds the reconcile lease.
+-- The other replicas adopt them and add the ingest rows written since, from ingest_watermarks.
+-- The *_rows_written columns are the ingest_watermarks totals already included in the counts.
+
+CREATE TABLE IF NOT EXISTS data_counts (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    locations BIGINT NOT NULL,
+    active_forecasts BIGINT NOT NULL,
+    active_earthquakes BIGINT NOT NULL,
+    active_hurricanes BIGINT NOT NULL,
+    metar_reports BIGINT NOT NULL,
+    forecast_rows_written BIGINT NOT NULL,
+    metar_rows_written BIGINT NOT NULL,
+    reconciled_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,93 @@
+package com.redhat.weather.filter;
+
+import com.redhat.weather.service.DatasetVersions;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@QuarkusTest
+class CachePolicyFilterTest {
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @Test
+    void testGetReturnsETagAndCacheControl() {
+        given()
+        .when()
+            .get("/api/weather/tfrs/active")
+        .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .header("Cache-Control", containsString("max-age=300"));
+    }
+
+    @Test
+    void testMatchingIfNoneMatchReturns304() {
+        String etag = given().get("/api/weather/tfrs/active").then().statusCode(200).extract().header("ETag");
+
+        given()
+            .header("If-None-Match", etag)
+        .when()
+            .get("/api/weather/tfrs/active")
+        .then()
+            .statusCode(304)
+            .header("ETag", etag);
+    }
+
+    @Test
+    void testDatasetChangeInvalidatesETag() {
+        String etag = given().get("/api/weather/tfrs/active").then().statusCode(200).extract().header("ETag");
+
+        datasetVersions.bump("tfr");
+
+        String next = given()
+            .header("If-None-Match", etag)
+        .when()
+            .get("/api/weather/tfrs/active")
+        .then()
+            .statusCode(200)
+            .extract().header("ETag");
+        assertNotEquals(etag, next);
+    }
+
+    @Test
+    void testRolledBackBumpKeepsETag() {
+        String etag = given().get("/api/weather/tfrs/active").then().statusCode(200).extract().header("ETag");
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            datasetVersions.bump("tfr");
+            QuarkusTransaction.setRollbackOnly();
+        });
+
+        given()
+            .header("If-None-Match", etag)
+        .when()
+            .get("/api/weather/tfrs/active")
+        .then()
+            .statusCode(304);
+    }
+
+    @Test
+    void testETagDiffersPerQuery() {
+        String active = given().get("/api/weather/tfrs/active").then().extract().header("ETag");
+        String byState = given().get("/api/weather/tfrs/state/CA").then().extract().header("ETag");
+        assertNotEquals(active, byState);
+    }
+
+    @Test
+    void testPolicyWithoutDatasetsHasNoETag() {
+        given()
+        .when()
+            .get("/api/status/data")
+        .then()
+            .statusCode(200)
+            .header("Cache-Control", containsString("max-age=30"))
+            .header("ETag", nullValue());
+    }
+}
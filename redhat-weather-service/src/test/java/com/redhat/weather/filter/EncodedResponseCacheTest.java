@@ -0,0 +1,122 @@
+package com.redhat.weather.filter;
+
+import com.redhat.weather.service.DatasetVersions;
+import io.quarkus.test.junit.QuarkusTest;
+import io.vertx.core.buffer.Buffer;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class EncodedResponseCacheTest {
+
+    @Inject
+    EncodedResponseCache responseCache;
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @Test
+    void testActiveListIsServedGzipped() {
+        for (int i = 0; i < 2; i++) {
+            given()
+                .header("Accept-Encoding", "gzip")
+            .when()
+                .get("/api/weather/sigmets/active")
+            .then()
+                .statusCode(200)
+                .header("Content-Encoding", "gzip")
+                .header("Vary", containsString("Accept-Encoding"))
+                .header("ETag", notNullValue())
+                .body("$", instanceOf(List.class));
+        }
+    }
+
+    @Test
+    void testCachedBodyMatchesAfterDatasetChange() {
+        String before = given().header("Accept-Encoding", "identity").get("/api/weather/tfrs/active")
+            .then().statusCode(200).extract().asString();
+
+        datasetVersions.bump("tfr");
+
+        String after = given().header("Accept-Encoding", "identity").get("/api/weather/tfrs/active")
+            .then().statusCode(200).extract().asString();
+        assertEquals(before, after);
+    }
+
+    @Test
+    void testIdentityBodyHasNoContentEncoding() {
+        given()
+            .header("Accept-Encoding", "identity")
+        .when()
+            .get("/api/weather/tfrs/active")
+        .then()
+            .statusCode(200)
+            .header("Content-Encoding", nullValue())
+            .header("Vary", containsString("Accept-Encoding"));
+    }
+
+    @Test
+    void testEntryIsOnlyReturnedForItsVersionAndEncoding() throws Exception {
+        responseCache.put("/test?null", EncodedResponseCache.Encoding.GZIP, "v1", Map.of("key", "value"));
+
+        assertNotNull(responseCache.get("/test?null", EncodedResponseCache.Encoding.GZIP, "v1"));
+        assertNull(responseCache.get("/test?null", EncodedResponseCache.Encoding.GZIP, "v2"));
+        assertNull(responseCache.get("/test?null", EncodedResponseCache.Encoding.IDENTITY, "v1"));
+        assertNull(responseCache.get("/other?null", EncodedResponseCache.Encoding.GZIP, "v1"));
+    }
+
+    @Test
+    void testEntryIsBuiltOncePerVersion() throws Exception {
+        String resource = "/build?" + System.nanoTime();
+        assertNull(responseCache.claim(resource, EncodedResponseCache.Encoding.IDENTITY, "v1"));
+
+        // A second miss at the same version waits for the first build instead of starting its own
+        CompletableFuture<Buffer> waiting = responseCache.claim(resource, EncodedResponseCache.Encoding.IDENTITY, "v1");
+        assertNotNull(waiting);
+        assertFalse(waiting.isDone());
+        // A newer version is a build of its own
+        assertNull(responseCache.claim(resource, EncodedResponseCache.Encoding.IDENTITY, "v2"));
+
+        responseCache.put(resource, EncodedResponseCache.Encoding.IDENTITY, "v1", List.of(1));
+        assertEquals("[1]", waiting.get(1, TimeUnit.SECONDS).toString());
+
+        // Abandoned builds release their waiters with no body
+        CompletableFuture<Buffer> abandoned = responseCache.claim(resource, EncodedResponseCache.Encoding.IDENTITY, "v2");
+        responseCache.abandon(resource, EncodedResponseCache.Encoding.IDENTITY, "v2");
+        assertNull(abandoned.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        responseCache.put("/lru?0", EncodedResponseCache.Encoding.IDENTITY, "v", List.of(0));
+        for (int i = 1; i <= 256; i++) {
+            // Keep the first entry recently used while the others push the cache past its bound
+            assertNotNull(responseCache.get("/lru?0", EncodedResponseCache.Encoding.IDENTITY, "v"));
+            responseCache.put("/lru?" + i, EncodedResponseCache.Encoding.IDENTITY, "v", List.of(i));
+        }
+
+        assertNotNull(responseCache.get("/lru?0", EncodedResponseCache.Encoding.IDENTITY, "v"));
+        assertNull(responseCache.get("/lru?1", EncodedResponseCache.Encoding.IDENTITY, "v"));
+        assertNotNull(responseCache.get("/lru?256", EncodedResponseCache.Encoding.IDENTITY, "v"));
+    }
+
+    @Test
+    void testNegotiatePrefersHighestQuality() throws Exception {
+        assertEquals(EncodedResponseCache.Encoding.IDENTITY, responseCache.negotiate(null));
+        assertEquals(EncodedResponseCache.Encoding.IDENTITY, responseCache.negotiate("identity"));
+        assertEquals(EncodedResponseCache.Encoding.IDENTITY, responseCache.negotiate("gzip;q=0"));
+        assertEquals(EncodedResponseCache.Encoding.GZIP, responseCache.negotiate("gzip, deflate"));
+        assertEquals(EncodedResponseCache.Encoding.GZIP, responseCache.negotiate("br;q=0.5, gzip;q=0.9"));
+        assertEquals("[1,2,3]", responseCache.put("/negotiate?null", EncodedResponseCache.Encoding.IDENTITY, "n",
+            List.of(1, 2, 3)).toString());
+    }
+}
@@ -48,4 +48,20 @@ class AirportWeatherResourceTest {
         .then()
             .statusCode(anyOf(is(202), is(500)));
     }
+
+    @Test
+    void testInvalidAirportCodeReturns400() {
+        given()
+        .when()
+            .get("/api/weather/airports/" + "K".repeat(100) + "/metar")
+        .then()
+            .statusCode(400);
+
+        given()
+            .contentType(ContentType.JSON)
+        .when()
+            .post("/api/weather/airports/" + "K".repeat(100) + "/refresh")
+        .then()
+            .statusCode(400);
+    }
 }
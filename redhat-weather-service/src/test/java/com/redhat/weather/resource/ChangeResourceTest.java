@@ -0,0 +1,50 @@
+package com.redhat.weather.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class ChangeResourceTest {
+
+    @Test
+    void testWithoutTokenRequestsResync() {
+        given()
+        .when()
+            .get("/api/changes")
+        .then()
+            .statusCode(200)
+            .body("resync", is(true))
+            .body("token", notNullValue())
+            .body("changes", empty());
+    }
+
+    @Test
+    void testCurrentTokenReturnsDelta() {
+        String token = given().get("/api/changes").then().extract().path("token");
+
+        given()
+            .queryParam("since", token)
+            .queryParam("types", "alert,sigmet")
+        .when()
+            .get("/api/changes")
+        .then()
+            .statusCode(200)
+            .body("resync", is(false))
+            .body("changes", instanceOf(List.class));
+    }
+
+    @Test
+    void testUnknownTypeReturns400() {
+        given()
+            .queryParam("types", "nope")
+        .when()
+            .get("/api/changes")
+        .then()
+            .statusCode(400);
+    }
+}
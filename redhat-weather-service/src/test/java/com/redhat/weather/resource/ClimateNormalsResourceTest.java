@@ -38,4 +38,13 @@ class ClimateNormalsResourceTest {
         .then()
             .statusCode(anyOf(is(400), is(404)));
     }
+
+    @Test
+    void testBackfillClimateAggregates() {
+        given()
+        .when()
+            .post("/api/weather/climate/backfill")
+        .then()
+            .statusCode(anyOf(is(202), is(409)));
+    }
 }
@@ -0,0 +1,74 @@
+package com.redhat.weather.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class DashboardResourceTest {
+
+    @Test
+    void testSnapshotReturnsRequestedSections() {
+        given()
+            .queryParam("sections", "alerts,delays,status")
+        .when()
+            .get("/api/dashboard/snapshot")
+        .then()
+            .statusCode(200)
+            .body("generatedAt", notNullValue())
+            .body("sections.keySet()", contains("alerts", "delays", "status"))
+            .body("sections.alerts.version", notNullValue())
+            .body("sections.alerts.changed", is(true))
+            .body("sections.alerts.data", instanceOf(List.class))
+            .body("sections.status.data.expectedAirports", equalTo(9313));
+    }
+
+    @Test
+    void testSnapshotDefaultsToAllSections() {
+        given()
+        .when()
+            .get("/api/dashboard/snapshot")
+        .then()
+            .statusCode(200)
+            .body("sections", hasKey("tfrs"))
+            .body("sections", hasKey("space-weather"))
+            .body("sections", hasKey("status"));
+    }
+
+    @Test
+    void testKnownVersionOmitsUnchangedSection() {
+        String version = given()
+            .queryParam("sections", "tfrs")
+        .when()
+            .get("/api/dashboard/snapshot")
+        .then()
+            .statusCode(200)
+            .extract().path("sections.tfrs.version");
+
+        given()
+            .queryParam("sections", "tfrs,delays")
+            .queryParam("known", "tfrs:" + version)
+        .when()
+            .get("/api/dashboard/snapshot")
+        .then()
+            .statusCode(200)
+            .body("sections.tfrs.version", equalTo(version))
+            .body("sections.tfrs.changed", is(false))
+            .body("sections.tfrs", not(hasKey("data")))
+            .body("sections.delays.changed", is(true));
+    }
+
+    @Test
+    void testUnknownSectionReturns400() {
+        given()
+            .queryParam("sections", "alerts,nope")
+        .when()
+            .get("/api/dashboard/snapshot")
+        .then()
+            .statusCode(400);
+    }
+}
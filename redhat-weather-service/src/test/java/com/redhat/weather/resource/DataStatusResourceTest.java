@@ -41,6 +41,17 @@ class DataStatusResourceTest {
             .body("metarReports", notNullValue());
     }
 
+    @Test
+    void testDataStatusIsCacheable() {
+        given()
+        .when()
+            .get("/api/status/data")
+        .then()
+            .statusCode(200)
+            .header("Cache-Control", containsString("max-age=30"))
+            .body("countsReconciledAt", notNullValue());
+    }
+
     @Test
     void testDataFreshnessIsNotNull() {
         given()
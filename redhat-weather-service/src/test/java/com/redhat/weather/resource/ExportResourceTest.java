@@ -0,0 +1,133 @@
+package com.redhat.weather.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.redhat.weather.service.ExportService;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class ExportResourceTest {
+
+    @Inject
+    ExportService exportService;
+
+    @Test
+    void testExportMetarAsNdjson() {
+        given()
+            .queryParam("from", "2020-01-01T00:00:00")
+            .queryParam("airports", "kjfk,KLAX")
+        .when()
+            .get("/api/export/metar")
+        .then()
+            .statusCode(200)
+            .contentType(containsString("application/x-ndjson"))
+            .header("Content-Disposition", containsString("metar-2020-01-01-"));
+    }
+
+    @Test
+    void testExportForecastAsCsvStartsWithHeader() {
+        given()
+            .queryParam("format", "csv")
+        .when()
+            .get("/api/export/forecast")
+        .then()
+            .statusCode(200)
+            .contentType(containsString("text/csv"))
+            .body(startsWith("airportCode,source,forecastTime,validFrom,validTo,"));
+    }
+
+    @Test
+    void testExportLightningAsColumnarFromAccept() throws Exception {
+        byte[] body = given()
+            .accept("application/vnd.weather.columnar+cbor")
+        .when()
+            .get("/api/export/lightning")
+        .then()
+            .statusCode(200)
+            .contentType(containsString("application/vnd.weather.columnar+cbor"))
+            .header("Content-Disposition", containsString(".cbor"))
+            .extract().asByteArray();
+
+        JsonNode columnar = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals("strikeId", columnar.get("columns").get(0).get("name").asText());
+        assertEquals("string", columnar.get("columns").get(0).get("type").asText());
+        assertTrue(columnar.get("batches").isArray());
+        assertTrue(columnar.get("rows").canConvertToLong());
+        boolean amplitudeIsDouble = false;
+        for (JsonNode column : columnar.get("columns")) {
+            amplitudeIsDouble |= "amplitudeKa".equals(column.get("name").asText()) && "double".equals(column.get("type").asText());
+        }
+        assertTrue(amplitudeIsDouble);
+    }
+
+    @Test
+    void testUnknownDatasetReturns400() {
+        given()
+        .when()
+            .get("/api/export/nope")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void testAirportsOnDatasetWithoutAirportsReturns400() {
+        given()
+            .queryParam("airports", "KJFK")
+        .when()
+            .get("/api/export/lightning")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void testInvalidRangeReturns400() {
+        given()
+            .queryParam("from", "2024-01-02T00:00:00")
+            .queryParam("to", "2024-01-01T00:00:00")
+        .when()
+            .get("/api/export/pirep")
+        .then()
+            .statusCode(400);
+
+        given()
+            .queryParam("from", "yesterday")
+        .when()
+            .get("/api/export/pirep")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void testExportsBeyondConcurrencyLimitReturn429() {
+        int held = 0;
+        try {
+            while (exportService.tryAcquireStream()) {
+                held++;
+            }
+            assertTrue(held > 0);
+
+            given()
+            .when()
+                .get("/api/export/metar")
+            .then()
+                .statusCode(429);
+        } finally {
+            for (int i = 0; i < held; i++) {
+                exportService.releaseStream();
+            }
+        }
+
+        given()
+        .when()
+            .get("/api/export/metar")
+        .then()
+            .statusCode(200);
+    }
+}
@@ -1,11 +1,14 @@
 package com.redhat.weather.resource;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.Test;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 
 @QuarkusTest
 class LightningResourceTest {
@@ -20,6 +23,21 @@ class LightningResourceTest {
             .contentType(ContentType.JSON);
     }
 
+    @Test
+    void testGetRecentLightningAsColumnar() throws Exception {
+        byte[] body = given()
+            .accept("application/vnd.weather.columnar+cbor")
+        .when()
+            .get("/api/weather/lightning/recent")
+        .then()
+            .statusCode(200)
+            .contentType(containsString("application/vnd.weather.columnar+cbor"))
+            .header("Vary", containsString("Accept"))
+            .extract().asByteArray();
+
+        assertTrue(new ObjectMapper(new CBORFactory()).readTree(body).get("batches").isArray());
+    }
+
     @Test
     void testGetLightningCount() {
         given()
@@ -0,0 +1,61 @@
+package com.redhat.weather.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class RawArchiveResourceTest {
+
+    @Test
+    void testGetSources() {
+        given()
+        .when()
+            .get("/api/archive/sources")
+        .then()
+            .statusCode(200)
+            .body("$", instanceOf(java.util.List.class));
+    }
+
+    @Test
+    void testGetPayloadRequiresRef() {
+        given()
+        .when()
+            .get("/api/archive/payload")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void testGetPayloadNotFound() {
+        given()
+            .queryParam("ref", "metar/1/0")
+        .when()
+            .get("/api/archive/payload")
+        .then()
+            .statusCode(404);
+    }
+
+    @Test
+    void testReplayUnknownSourceIsEmpty() {
+        given()
+            .queryParam("hours", 1)
+        .when()
+            .get("/api/archive/no-such-source")
+        .then()
+            .statusCode(200)
+            .body("size()", is(0));
+    }
+
+    @Test
+    void testReplayRejectsInvalidLimit() {
+        given()
+            .queryParam("limit", 0)
+        .when()
+            .get("/api/archive/metar")
+        .then()
+            .statusCode(400);
+    }
+}
@@ -0,0 +1,43 @@
+package com.redhat.weather.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class RefreshJobResourceTest {
+
+    @Test
+    void testRefreshReturnsJobWithStatusLocation() {
+        String location = given()
+            .contentType(ContentType.JSON)
+        .when()
+            .post("/api/weather/earthquakes/refresh")
+        .then()
+            .statusCode(202)
+            .header("Location", containsString("/api/jobs/"))
+            .body("id", notNullValue())
+            .body("type", equalTo("earthquake"))
+            .extract().header("Location");
+
+        given()
+        .when()
+            .get(location)
+        .then()
+            .statusCode(200)
+            .body("type", equalTo("earthquake"))
+            .body("status", oneOf("QUEUED", "RUNNING", "SUCCEEDED", "FAILED"));
+    }
+
+    @Test
+    void testUnknownJobNotFound() {
+        given()
+        .when()
+            .get("/api/jobs/does-not-exist")
+        .then()
+            .statusCode(404);
+    }
+}
@@ -37,4 +37,23 @@ class SolarDataResourceTest {
         .then()
             .statusCode(anyOf(is(400), is(404)));
     }
+
+    @Test
+    void testGetSolarDataBatchRequiresCodes() {
+        given()
+        .when()
+            .get("/api/weather/solar")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void testGetSolarDataBatchReturnsList() {
+        given()
+        .when()
+            .get("/api/weather/solar?codes=KJFK,KLAX")
+        .then()
+            .statusCode(200)
+            .body("$", instanceOf(java.util.List.class));
+    }
 }
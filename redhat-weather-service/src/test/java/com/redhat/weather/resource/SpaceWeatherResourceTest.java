@@ -66,4 +66,22 @@ class SpaceWeatherResourceTest {
             assertNotNull(dataFreshnessService.getLastSuccess("swpc-space-weather"));
         }
     }
+
+    @Test
+    void testGetSpaceWeatherHistory() {
+        given()
+        .when()
+            .get("/api/weather/space-weather/history?hours=6")
+        .then()
+            .statusCode(200);
+    }
+
+    @Test
+    void testGetSpaceWeatherHistoryRejectsInvalidHours() {
+        given()
+        .when()
+            .get("/api/weather/space-weather/history?hours=0")
+        .then()
+            .statusCode(400);
+    }
 }
@@ -49,4 +49,21 @@ class WindsAloftResourceTest {
             .statusCode(200)
             .header("Cache-Control", containsString("max-age=300"));
     }
+
+    @Test
+    void testWindsByStationAndAltitudeReturnArrays() {
+        given()
+        .when()
+            .get("/api/weather/winds-aloft/station/KJFK")
+        .then()
+            .statusCode(200)
+            .body("$", instanceOf(java.util.List.class));
+
+        given()
+        .when()
+            .get("/api/weather/winds-aloft/altitude/9000")
+        .then()
+            .statusCode(200)
+            .body("altitudeFt", everyItem(equalTo(9000)));
+    }
 }
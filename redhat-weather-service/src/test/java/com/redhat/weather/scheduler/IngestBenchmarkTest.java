@@ -0,0 +1,191 @@
+package com.redhat.weather.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import com.redhat.weather.service.DatasetVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Offline end-to-end ingest benchmark. Runs each scheduler job back-to-back against recorded
+ * upstream responses (weather.upstream.mode=replay) and the test Postgres, and reports
+ * records/sec (rows out of the persist stage) and p50/p99 job duration per source. The tables a
+ * job writes are emptied before each measured run, so the replayed payloads are ingested again
+ * rather than deduplicated against the previous run.
+ *
+ * Record fixtures once with the network:
+ *   WEATHER_UPSTREAM_MODE=record mvn quarkus:dev   (let every job run at least once)
+ * then run offline:
+ *   mvn test -Pingest-benchmark [-Dweather.benchmark.iterations=20] [-Dweather.upstream.replay-latency-ms=50]
+ * Results are logged and written to target/ingest-benchmark.json.
+ */
+@QuarkusTest
+@TestProfile(IngestBenchmarkTest.ReplayProfile.class)
+@Tag("benchmark")
+class IngestBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(IngestBenchmarkTest.class);
+
+    @Inject
+    WeatherDataScheduler scheduler;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    DatasetVersions datasetVersions;
+
+    @ConfigProperty(name = "weather.upstream.recordings-dir")
+    String recordingsDir;
+
+    @ConfigProperty(name = "weather.benchmark.iterations", defaultValue = "10")
+    int iterations;
+
+    private record Job(Runnable run, String... tables) {
+    }
+
+    public static class ReplayProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            Map<String, String> config = new HashMap<>();
+            config.put("weather.upstream.mode", "replay");
+            config.put("weather.upstream.recordings-dir",
+                System.getProperty("weather.upstream.recordings-dir", "data/upstream-recordings"));
+            config.put("weather.archive.dir", "target/benchmark-archive");
+            config.put("weather.scheduler.initial-fetch.enabled", "false");
+            // Identical replayed payloads would otherwise back off polling after the first run
+            config.put("weather.scheduler.adaptive.enabled", "false");
+            for (String source : new String[] {"noaa", "aviation", "hurricane", "earthquake", "alerts", "pireps",
+                    "sigmets", "delays", "cwas", "winds-aloft", "tfrs", "ground-stops", "volcanic-ash",
+                    "spaceweather", "lightning"}) {
+                config.put("weather.scheduler." + source + ".enabled", "true");
+            }
+            config.put("airport.csv.load-on-startup", "true");
+            config.put("airport.csv.path", "../data/airports.csv");
+            return config;
+        }
+    }
+
+    @Test
+    void runIngestBenchmark() throws Exception {
+        assumeTrue(Files.isDirectory(Paths.get(recordingsDir)),
+            "No upstream recordings in " + recordingsDir + "; record them first with weather.upstream.mode=record");
+
+        Map<String, Job> jobs = new LinkedHashMap<>();
+        jobs.put("noaa-forecast", new Job(scheduler::fetchNoaaForecasts, "weather_forecasts"));
+        jobs.put("airport-weather", new Job(scheduler::fetchAirportWeather, "airport_weather"));
+        jobs.put("hurricane", new Job(scheduler::fetchHurricanes, "hurricanes"));
+        jobs.put("weather-alerts", new Job(scheduler::fetchWeatherAlerts, "weather_alerts"));
+        jobs.put("earthquake", new Job(scheduler::fetchEarthquakes, "earthquakes"));
+        jobs.put("pirep", new Job(scheduler::fetchPireps, "pireps"));
+        jobs.put("sigmet", new Job(scheduler::fetchSigmets, "sigmets"));
+        jobs.put("airport-delay", new Job(scheduler::fetchAirportDelays, "airport_delays"));
+        jobs.put("cwa", new Job(scheduler::fetchCwas, "cwas"));
+        jobs.put("tfr", new Job(scheduler::fetchTfrs, "tfrs"));
+        jobs.put("winds-aloft", new Job(scheduler::fetchWindsAloft, "winds_aloft_profiles"));
+        jobs.put("ground-stop", new Job(scheduler::fetchGroundStops, "ground_stops"));
+        jobs.put("volcanic-ash", new Job(scheduler::fetchVolcanicAsh, "volcanic_ash_advisories"));
+        jobs.put("space-weather", new Job(scheduler::fetchSpaceWeather, "space_weather_history"));
+        jobs.put("lightning", new Job(scheduler::fetchLightning, "lightning_strikes"));
+
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        double totalRecords = 0;
+        double totalSeconds = 0;
+
+        for (Map.Entry<String, Job> job : jobs.entrySet()) {
+            job.getValue().run.run(); // warm-up: JIT, connection pool, caches
+
+            long[] durations = new long[iterations];
+            double records = 0;
+            for (int i = 0; i < iterations; i++) {
+                reset(job.getValue().tables);
+                double before = persistedRecords();
+                long start = System.nanoTime();
+                job.getValue().run.run();
+                durations[i] = System.nanoTime() - start;
+                records += persistedRecords() - before;
+            }
+
+            Arrays.sort(durations);
+            assertTrue(durations[0] > 0, job.getKey() + " recorded a zero duration");
+            double seconds = Arrays.stream(durations).sum() / 1e9;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("runs", iterations);
+            result.put("records", (long) records);
+            result.put("recordsPerSecond", seconds > 0 ? Math.round(records / seconds) : 0);
+            result.put("p50Ms", percentile(durations, 0.50) / 1_000_000.0);
+            result.put("p99Ms", percentile(durations, 0.99) / 1_000_000.0);
+            assertTrue((double) result.get("p50Ms") <= (double) result.get("p99Ms"), job.getKey() + " p50 above p99");
+            results.put(job.getKey(), result);
+
+            totalRecords += records;
+            totalSeconds += seconds;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("iterations", iterations);
+        report.put("totalRecords", (long) totalRecords);
+        report.put("recordsPerSecond", totalSeconds > 0 ? Math.round(totalRecords / totalSeconds) : 0);
+        report.put("jobs", results);
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = mapper.writeValueAsString(report);
+        Path output = Paths.get("target", "ingest-benchmark.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, json);
+        LOG.info("Ingest benchmark (" + iterations + " runs per job):\n" + json);
+
+        assertTrue(totalRecords > 0, "Replay ingested no records; are the recordings complete?");
+        assertTrue(totalSeconds > 0, "No ingest time measured");
+        assertEquals(jobs.keySet(), results.keySet());
+    }
+
+    private double persistedRecords() {
+        return meterRegistry.find("weather_ingest_records_total").tags("stage", "persist", "direction", "out")
+            .counters().stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    }
+
+    // Not timed: empties the job's tables and invalidates every version-keyed cache over them
+    private void reset(String[] tables) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (String table : tables) {
+                entityManager.createNativeQuery("DELETE FROM " + table).executeUpdate();
+            }
+            datasetVersions.bumpAll();
+        });
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
@@ -0,0 +1,86 @@
+package com.redhat.weather.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class JobOverrunGuardTest {
+
+    @Inject
+    JobOverrunGuard guard;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    void testOverlappingTickIsSkipped() {
+        AtomicInteger runs = new AtomicInteger();
+        boolean[] nestedRan = {true};
+
+        boolean ran = guard.run("test-skip", Duration.ofMinutes(1), JobOverrunGuard.OverrunPolicy.SKIP, () -> {
+            runs.incrementAndGet();
+            nestedRan[0] = guard.run("test-skip", Duration.ofMinutes(1), JobOverrunGuard.OverrunPolicy.SKIP,
+                runs::incrementAndGet);
+        });
+
+        assertTrue(ran);
+        assertFalse(nestedRan[0]);
+        assertEquals(1, runs.get());
+        assertEquals(1.0, meterRegistry.get("weather_scheduler_skipped_ticks_total")
+            .tags("job", "test-skip", "reason", "overrun").counter().count());
+        assertEquals(1, meterRegistry.get("weather_scheduler_cycle_seconds")
+            .tags("job", "test-skip").timer().count());
+    }
+
+    @Test
+    void testOverlappingTicksCoalesceIntoOneFollowUp() {
+        AtomicInteger runs = new AtomicInteger();
+
+        guard.run("test-coalesce", Duration.ofMinutes(1), JobOverrunGuard.OverrunPolicy.COALESCE, () -> {
+            if (runs.incrementAndGet() == 1) {
+                // Two ticks land during the first run: one follow-up, not two
+                guard.run("test-coalesce", Duration.ofMinutes(1), JobOverrunGuard.OverrunPolicy.COALESCE, () -> { });
+                guard.run("test-coalesce", Duration.ofMinutes(1), JobOverrunGuard.OverrunPolicy.COALESCE, () -> { });
+            }
+        });
+
+        assertEquals(2, runs.get());
+        assertEquals(2.0, meterRegistry.get("weather_scheduler_skipped_ticks_total")
+            .tags("job", "test-coalesce", "reason", "coalesced").counter().count());
+    }
+
+    @Test
+    void testBatchShrinksOnOverrunAndGrowsBack() {
+        Duration target = Duration.ofMillis(20);
+        int[] batch = new int[1];
+
+        guard.run("test-batch", target, JobOverrunGuard.OverrunPolicy.SKIP, () -> {
+            batch[0] = guard.batchSize("test-batch", 100);
+            sleep(60);
+        });
+        assertEquals(100, batch[0]);
+        int shrunk = guard.batchSize("test-batch", 100);
+        assertTrue(shrunk < 100, "batch should shrink after overrunning the target: " + shrunk);
+        assertTrue(shrunk >= 10, "batch should not shrink below a tenth of the configured size: " + shrunk);
+
+        guard.run("test-batch", target, JobOverrunGuard.OverrunPolicy.SKIP,
+            () -> batch[0] = guard.batchSize("test-batch", 100));
+        assertEquals(shrunk, batch[0]);
+        assertEquals(shrunk + 10, guard.batchSize("test-batch", 100));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.redhat.weather.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class AdaptivePollingServiceTest {
+
+    @Inject
+    AdaptivePollingService adaptivePollingService;
+
+    @Test
+    void testShouldPollClaimsOncePerInterval() {
+        String source = "test-source-" + System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTrue(adaptivePollingService.shouldPoll(source, now));
+        assertFalse(adaptivePollingService.shouldPoll(source, now.plusSeconds(1)));
+        assertTrue(adaptivePollingService.shouldPoll(source, now.plusHours(1)));
+    }
+
+    @Test
+    void testObserveDetectsChangedPayloads() {
+        String source = "test-source-" + System.nanoTime();
+
+        assertTrue(adaptivePollingService.observe(source, "part", "payload-1"));
+        assertFalse(adaptivePollingService.observe(source, "part", "payload-1"));
+        assertTrue(adaptivePollingService.observe(source, "part", List.of("payload-2")));
+    }
+
+    @Test
+    void testUnchangedPayloadsBackOff() {
+        // An adaptive source; unknown sources fall back to a fixed interval that never moves
+        String source = "noaa-alerts";
+        adaptivePollingService.reset(source);
+        LocalDateTime now = LocalDateTime.now();
+        Duration base = adaptivePollingService.getCurrentInterval(source);
+
+        assertTrue(adaptivePollingService.shouldPoll(source, now));
+        assertTrue(adaptivePollingService.observe(source, "part", "same"));
+        adaptivePollingService.complete(source, now);
+        assertEquals(base, adaptivePollingService.getCurrentInterval(source));
+
+        assertTrue(adaptivePollingService.shouldPoll(source, now.plusHours(1)));
+        assertFalse(adaptivePollingService.observe(source, "part", "same"));
+        adaptivePollingService.complete(source, now.plusHours(1));
+        Duration backedOff = adaptivePollingService.getCurrentInterval(source);
+        assertTrue(backedOff.compareTo(base) > 0, "expected more than " + base + ", got " + backedOff);
+
+        assertTrue(adaptivePollingService.shouldPoll(source, now.plusHours(2)));
+        assertFalse(adaptivePollingService.observe(source, "part", "same"));
+        adaptivePollingService.complete(source, now.plusHours(2));
+        Duration backedOffAgain = adaptivePollingService.getCurrentInterval(source);
+        assertTrue(backedOffAgain.compareTo(backedOff) > 0,
+            "expected more than " + backedOff + ", got " + backedOffAgain);
+
+        adaptivePollingService.reset(source);
+    }
+
+    @Test
+    void testCadenceSnapshotContainsTrackedSources() {
+        String source = "test-source-" + System.nanoTime();
+        adaptivePollingService.shouldPoll(source);
+
+        Map<String, Object> snapshot = adaptivePollingService.getCadenceSnapshot();
+        assertTrue(snapshot.containsKey(source + ".intervalMinutes"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.LocationEntity;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class AirportCsvLoaderTest {
+
+    private static final String HEADER = "\"id\",\"ident\",\"type\",\"name\",\"latitude_deg\",\"longitude_deg\","
+        + "\"elevation_ft\",\"continent\",\"iso_country\",\"iso_region\",\"municipality\",\"scheduled_service\","
+        + "\"icao_code\",\"iata_code\",\"gps_code\",\"local_code\",\"home_link\",\"wikipedia_link\",\"keywords\"";
+
+    @Inject
+    AirportCsvLoader airportCsvLoader;
+
+    @Inject
+    LocationService locationService;
+
+    @Test
+    void testMissingFileLoadsNothing() {
+        assertEquals(0, airportCsvLoader.loadAirportsFromCsv("/nonexistent/airports.csv"));
+    }
+
+    @Test
+    void testLoadIsSinglePassAndIdempotent() throws Exception {
+        Path csv = Files.createTempFile("airports", ".csv");
+        Files.writeString(csv, String.join("\n",
+            HEADER,
+            "1,\"ZZL1\",\"large_airport\",\"Loader \"\"Test\"\" One\",40.5,-73.5,10,\"NA\",\"US\",\"US-NY\",\"Town\",\"yes\",\"ZZL1\",\"\",\"\",\"\",\"\",\"\",\"\"",
+            "2,\"ZZL2\",\"small_airport\",\"Loader Test Two\",41.25,-72.75,10,\"NA\",\"US\",\"US-CT\",\"Town\",\"no\",\"ZZL2\",\"\",\"\",\"\",\"\",\"\",\"\"",
+            "3,\"ZZL3\",\"heliport\",\"Loader Heliport\",41.0,-72.0,10,\"NA\",\"US\",\"US-CT\",\"Town\",\"no\",\"ZZL3\",\"\",\"\",\"\",\"\",\"\",\"\"",
+            "4,\"ZZL4\",\"small_airport\",\"No ICAO\",41.0,-72.0,10,\"NA\",\"US\",\"US-CT\",\"Town\",\"no\",\"\",\"\",\"\",\"\",\"\",\"\",\"\"",
+            "5,\"ZZL5\",\"small_airport\",\"Bad Coordinates\",north,-72.0,10,\"NA\",\"US\",\"US-CT\",\"Town\",\"no\",\"ZZL5\",\"\",\"\",\"\",\"\",\"\",\"\""));
+
+        try {
+            assertEquals(2, airportCsvLoader.loadAirportsFromCsv(csv.toString()));
+            // Existing codes are left alone on a second load
+            assertEquals(0, airportCsvLoader.loadAirportsFromCsv(csv.toString()));
+
+            Optional<LocationEntity> one = locationService.getLocationByAirportCode("ZZL1");
+            assertTrue(one.isPresent());
+            assertEquals("Loader \"Test\" One", one.get().name);
+            assertEquals("large_airport", one.get().airportType);
+            assertEquals("NY", one.get().state);
+            assertEquals(0, one.get().latitude.compareTo(new BigDecimal("40.5")));
+            assertTrue(locationService.getLocationByAirportCode("ZZL3").isEmpty());
+        } finally {
+            for (String code : new String[] {"ZZL1", "ZZL2"}) {
+                locationService.getLocationByAirportCode(code)
+                    .ifPresent(location -> locationService.deleteLocation(location.id));
+            }
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    void testSyncAppliesOnlyDifferences() throws Exception {
+        Path csv = Files.createTempFile("airports-sync", ".csv");
+        String one = "1,\"ZZS1\",\"large_airport\",\"Sync One\",40.5,-73.5,10,\"NA\",\"US\",\"US-NY\",\"Town\",\"yes\",\"ZZS1\",\"\",\"\",\"\",\"\",\"\",\"\"";
+        String two = "2,\"ZZS2\",\"small_airport\",\"Sync Two\",41.25,-72.75,10,\"NA\",\"US\",\"US-CT\",\"Town\",\"no\",\"ZZS2\",\"\",\"\",\"\",\"\",\"\",\"\"";
+        String oneRenamed = one.replace("Sync One", "Sync One Renamed");
+        String three = "3,\"ZZS3\",\"medium_airport\",\"Sync Three\",42.0,-71.0,10,\"NA\",\"US\",\"US-MA\",\"Town\",\"yes\",\"ZZS3\",\"\",\"\",\"\",\"\",\"\",\"\"";
+
+        try {
+            Files.writeString(csv, String.join("\n", HEADER, one, two));
+            AirportCsvLoader.SyncResult initial = airportCsvLoader.syncAirportsFromCsv(csv.toString());
+            assertEquals(2, initial.inserted());
+
+            // Unchanged file: nothing to write
+            AirportCsvLoader.SyncResult unchanged = airportCsvLoader.syncAirportsFromCsv(csv.toString());
+            assertEquals(0, unchanged.inserted());
+            assertEquals(0, unchanged.updated());
+            assertFalse(unchanged.changed());
+
+            // One renamed, one removed, one added
+            Files.writeString(csv, String.join("\n", HEADER, oneRenamed, three));
+            AirportCsvLoader.SyncResult diff = airportCsvLoader.syncAirportsFromCsv(csv.toString());
+            assertEquals(1, diff.inserted());
+            assertEquals(1, diff.updated());
+            assertEquals(1, diff.retired());
+
+            assertEquals("Sync One Renamed", locationService.getLocationByAirportCode("ZZS1").get().name);
+            LocationEntity retired = locationService.getLocationByAirportCode("ZZS2").get();
+            assertNotNull(retired.retiredAt);
+            assertTrue(locationService.getAllLocations().stream().noneMatch(l -> "ZZS2".equals(l.airportCode)));
+        } finally {
+            for (String code : new String[] {"ZZS1", "ZZS2", "ZZS3"}) {
+                locationService.getLocationByAirportCode(code)
+                    .ifPresent(location -> locationService.deleteLocation(location.id));
+            }
+            Files.deleteIfExists(csv);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.TfrEntity;
+import com.redhat.weather.domain.repository.TfrRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class ChangeLogTest {
+
+    @Inject
+    ChangeLog changeLog;
+
+    @Inject
+    SnapshotReconciler snapshotReconciler;
+
+    @Inject
+    TfrRepository tfrRepository;
+
+    @AfterEach
+    void cleanup() {
+        QuarkusTransaction.requiringNew().run(() ->
+            tfrRepository.delete("notamId IN ?1", List.of("9/CHG1", "9/CHG2")));
+    }
+
+    @Test
+    void testMissingTokenRequiresResync() {
+        ChangeLog.Feed feed = changeLog.since(null, changeLog.getTypes());
+        assertTrue(feed.resync());
+        assertTrue(feed.changes().isEmpty());
+        assertNotNull(feed.token());
+
+        assertTrue(changeLog.since("not-a-token", changeLog.getTypes()).resync());
+    }
+
+    @Test
+    void testReconcileIsLoggedAndCollapsedPerRow() {
+        String token = changeLog.since(null, Set.of("tfr")).token();
+
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/CHG1", "Stadium"), tfr("9/CHG2", "VIP movement")));
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/CHG1", "Stadium, extended")));
+
+        ChangeLog.Feed feed = changeLog.since(token, Set.of("tfr"));
+        assertFalse(feed.resync());
+        assertNotEquals(token, feed.token());
+
+        Long changedId = tfrRepository.find("notamId", "9/CHG1").firstResult().id;
+        Long goneId = tfrRepository.find("notamId", "9/CHG2").firstResult().id;
+        ChangeLog.Entry changed = entry(feed, changedId);
+        assertEquals(ChangeLog.Op.UPDATE, changed.op());
+        assertEquals("Stadium, extended", ((TfrEntity) changed.data()).description);
+        ChangeLog.Entry gone = entry(feed, goneId);
+        assertEquals(ChangeLog.Op.EXPIRE, gone.op());
+        assertNull(gone.data());
+
+        // Nothing new since the returned token
+        assertTrue(changeLog.since(feed.token(), Set.of("tfr")).changes().isEmpty());
+    }
+
+    @Test
+    void testTypesFilterChanges() {
+        String token = changeLog.since(null, changeLog.getTypes()).token();
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId", List.of(tfr("9/CHG1", "Stadium")));
+
+        assertTrue(changeLog.since(token, Set.of("delay")).changes().isEmpty());
+        assertFalse(changeLog.since(token, Set.of("tfr")).changes().isEmpty());
+    }
+
+    @Test
+    void testRolledBackChangeIsNotLogged() {
+        String token = changeLog.since(null, Set.of("tfr")).token();
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            changeLog.record("tfr", ChangeLog.Op.INSERT, List.of(-1L));
+            QuarkusTransaction.setRollbackOnly();
+        });
+
+        ChangeLog.Feed feed = changeLog.since(token, Set.of("tfr"));
+        assertFalse(feed.resync());
+        assertTrue(feed.changes().stream().noneMatch(entry -> entry.id() == -1L));
+    }
+
+    @Test
+    void testPrunedTokenRequiresResync() {
+        String token = changeLog.since(null, Set.of("tfr")).token();
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId", List.of(tfr("9/CHG1", "Stadium")));
+
+        changeLog.prune(LocalDateTime.now().plusMinutes(1));
+
+        assertTrue(changeLog.since(token, Set.of("tfr")).resync());
+    }
+
+    @Test
+    void testUnknownTypeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> changeLog.since(null, Set.of("nope")));
+    }
+
+    private static ChangeLog.Entry entry(ChangeLog.Feed feed, Long id) {
+        return feed.changes().stream()
+            .filter(entry -> entry.id() == id)
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No change for id " + id));
+    }
+
+    private static TfrEntity tfr(String notamId, String description) {
+        TfrEntity entity = new TfrEntity();
+        entity.notamId = notamId;
+        entity.facility = "ZZZ";
+        entity.tfrType = "SECURITY";
+        entity.description = description;
+        entity.fetchedAt = LocalDateTime.now();
+        return entity;
+    }
+}
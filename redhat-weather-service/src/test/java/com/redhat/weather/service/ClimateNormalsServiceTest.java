@@ -0,0 +1,38 @@
+package com.redhat.weather.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class ClimateNormalsServiceTest {
+
+    @Inject
+    ClimateNormalsService climateNormalsService;
+
+    @Inject
+    WeatherForecastService weatherForecastService;
+
+    @Test
+    void testUnknownLocationReturnsEmpty() {
+        assertTrue(climateNormalsService.getClimateNormals(999999L).isEmpty());
+    }
+
+    @Test
+    void testBackfillIsRepeatable() {
+        long first = climateNormalsService.backfill();
+        long second = climateNormalsService.backfill();
+        assertTrue(first >= 0);
+        // Rebuilding replaces rows, so a second pass over unchanged history writes the same days
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testArchivingAccumulatesWithoutError() {
+        assertDoesNotThrow(() -> weatherForecastService.deactivateOldForecasts(LocalDateTime.now().minusYears(10)));
+    }
+}
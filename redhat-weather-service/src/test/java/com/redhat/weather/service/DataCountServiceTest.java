@@ -0,0 +1,50 @@
+package com.redhat.weather.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class DataCountServiceTest {
+
+    @Inject
+    DataCountService dataCountService;
+
+    @Inject
+    IngestWatermarks ingestWatermarks;
+
+    @Test
+    void testCommittedIngestRowsAreAddedBetweenReconciles() {
+        DataCountService.Counts exact = dataCountService.reconcile();
+        ingestWatermarks.advance("metar", LocalDateTime.now(), 2);
+        ingestWatermarks.advance("forecast-noaa", LocalDateTime.now(), 3);
+
+        DataCountService.Counts counts = dataCountService.getCounts();
+        assertEquals(exact.metarReports() + 2, counts.metarReports());
+        assertEquals(exact.activeForecasts() + 3, counts.activeForecasts());
+        assertEquals(exact.reconciledAt(), counts.reconciledAt());
+    }
+
+    @Test
+    void testReconcileReturnsNonNegativeCounts() {
+        DataCountService.Counts counts = dataCountService.reconcile();
+        assertTrue(counts.locations() >= 0);
+        assertTrue(counts.activeEarthquakes() >= 0);
+        assertTrue(counts.activeHurricanes() >= 0);
+        assertNotNull(counts.reconciledAt());
+    }
+
+    @Test
+    void testPublishedCountsAreAdopted() {
+        DataCountService.Counts exact = dataCountService.reconcile();
+
+        assertTrue(dataCountService.adoptPublished());
+        DataCountService.Counts counts = dataCountService.getCounts();
+        assertEquals(exact.reconciledAt(), counts.reconciledAt());
+        assertEquals(exact.locations(), counts.locations());
+    }
+}
@@ -0,0 +1,101 @@
+package com.redhat.weather.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class IngestInstrumentationTest {
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    void testStagesAndRecordsArePublishedOnClose() {
+        try (IngestRun run = ingestInstrumentation.start("test-stages")) {
+            assertSame(run, IngestInstrumentation.current());
+            run.records(IngestStage.FETCH, 1, 3);
+            for (int i = 0; i < 3; i++) {
+                run.stage(IngestStage.DEDUP);
+                run.stage(IngestStage.MAP);
+            }
+            run.records(IngestStage.DEDUP, 3, 2)
+                .records(IngestStage.MAP, 2, 2)
+                .stage(IngestStage.PERSIST)
+                .records(IngestStage.PERSIST, 2, 2);
+            run.bytesReceived(512);
+        }
+
+        assertNull(IngestInstrumentation.current());
+        for (IngestStage stage : new IngestStage[] {IngestStage.FETCH, IngestStage.DEDUP, IngestStage.MAP, IngestStage.PERSIST}) {
+            assertEquals(1, stageTimer("test-stages", stage).count(), stage.tag());
+        }
+        assertNull(meterRegistry.find("weather_ingest_stage_seconds")
+            .tags("source", "test-stages", "stage", "parse").timer());
+
+        assertEquals(3.0, records("test-stages", IngestStage.DEDUP, "in"));
+        assertEquals(2.0, records("test-stages", IngestStage.DEDUP, "out"));
+        assertEquals(3.0, records("test-stages", IngestStage.FETCH, "out"));
+        assertEquals(512.0, meterRegistry.get("weather_ingest_bytes_received")
+            .tags("source", "test-stages").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("weather_ingest_run_seconds")
+            .tags("source", "test-stages", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void testFailedRunIsTaggedAsError() {
+        IngestRun run = ingestInstrumentation.start("test-failed");
+        run.failed(new RuntimeException("upstream down"));
+        run.close();
+        run.close();
+
+        assertEquals(1, meterRegistry.get("weather_ingest_run_seconds")
+            .tags("source", "test-failed", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testNestedRunRestoresOuterRun() {
+        try (IngestRun outer = ingestInstrumentation.start("test-outer")) {
+            try (IngestRun inner = ingestInstrumentation.start("test-inner")) {
+                assertSame(inner, IngestInstrumentation.current());
+            }
+            assertSame(outer, IngestInstrumentation.current());
+        }
+        assertNull(IngestInstrumentation.current());
+    }
+
+    @Test
+    void testCommitIsTimedWhenTransactionActive() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            IngestRun run = ingestInstrumentation.start("test-commit");
+            run.stage(IngestStage.PERSIST);
+            run.close();
+            assertNull(meterRegistry.find("weather_ingest_stage_seconds")
+                .tags("source", "test-commit", "stage", "commit").timer());
+        });
+
+        assertEquals(1, stageTimer("test-commit", IngestStage.COMMIT).count());
+    }
+
+    private Timer stageTimer(String source, IngestStage stage) {
+        return meterRegistry.get("weather_ingest_stage_seconds")
+            .tags("source", source, "stage", stage.tag())
+            .timer();
+    }
+
+    private double records(String source, IngestStage stage, String direction) {
+        Counter counter = meterRegistry.get("weather_ingest_records_total")
+            .tags("source", source, "stage", stage.tag(), "direction", direction)
+            .counter();
+        return counter.count();
+    }
+}
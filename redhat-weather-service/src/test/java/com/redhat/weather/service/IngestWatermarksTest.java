@@ -0,0 +1,71 @@
+package com.redhat.weather.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class IngestWatermarksTest {
+
+    @Inject
+    IngestWatermarks ingestWatermarks;
+
+    @Inject
+    IngestInstrumentation ingestInstrumentation;
+
+    @Test
+    void testAdvanceNeverMovesBack() {
+        String source = "watermark-test-" + System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        ingestWatermarks.advance(source, now, 5);
+        ingestWatermarks.advance(source, now.minusHours(1), 2);
+
+        IngestWatermarks.Watermark mark = ingestWatermarks.get(source).orElseThrow();
+        assertEquals(now, mark.lastFetchedAt());
+        assertEquals(7, mark.rowsWritten());
+        assertTrue(ingestWatermarks.writtenSince(now.minusMinutes(1), "unknown-source", source));
+        assertFalse(ingestWatermarks.writtenSince(now, source));
+    }
+
+    @Test
+    void testIngestRunPublishesPersistedRows() {
+        String source = "watermark-run-" + System.nanoTime();
+        try (IngestRun run = ingestInstrumentation.start(source)) {
+            run.stage(IngestStage.PERSIST).records(IngestStage.PERSIST, 3, 3);
+        }
+        assertEquals(3, ingestWatermarks.get(source).orElseThrow().rowsWritten());
+    }
+
+    @Test
+    void testRunWithoutWritesLeavesNoMark() {
+        String source = "watermark-empty-" + System.nanoTime();
+        ingestInstrumentation.start(source).close();
+        assertTrue(ingestWatermarks.get(source).isEmpty());
+    }
+
+    @Test
+    void testRefreshDoesNotThrow() {
+        assertDoesNotThrow(() -> ingestWatermarks.refresh());
+        assertTrue(ingestWatermarks.getAirportCount() >= 0);
+    }
+
+    @Test
+    void testMarksFollowRowsWrittenByAnyReplica() {
+        // Recorded straight to the shared table, as another replica's ingest would
+        String source = "watermark-shared-" + System.nanoTime();
+        LocalDateTime fetchedAt = LocalDateTime.now().withNano(0);
+        ingestWatermarks.record(source, fetchedAt.minusMinutes(1), 2);
+        ingestWatermarks.record(source, fetchedAt, 3);
+        assertTrue(ingestWatermarks.get(source).isEmpty());
+
+        assertTrue(ingestWatermarks.refresh() > 0);
+        IngestWatermarks.Watermark mark = ingestWatermarks.get(source).orElseThrow();
+        assertEquals(fetchedAt, mark.lastFetchedAt());
+        assertEquals(5, mark.rowsWritten());
+        assertTrue(ingestWatermarks.writtenSince(fetchedAt.minusSeconds(1), source));
+    }
+}
@@ -0,0 +1,47 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.AirportWeatherEntity;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class MetarFetchCoalescerTest {
+
+    @Inject
+    MetarFetchCoalescer metarFetchCoalescer;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    void testConcurrentRequestsShareOneWindow() throws Exception {
+        DistributionSummary batches = meterRegistry.get("weather_metar_on_demand_batch_size").summary();
+        long batchesBefore = batches.count();
+        double airportsBefore = batches.totalAmount();
+
+        CompletableFuture<Void> first = metarFetchCoalescer.request("ZZC1");
+        CompletableFuture<Void> repeat = metarFetchCoalescer.request("ZZC1");
+        CompletableFuture<Void> other = metarFetchCoalescer.request("ZZC2");
+
+        assertSame(first, repeat);
+        CompletableFuture.allOf(first, other).get(5, TimeUnit.SECONDS);
+
+        assertEquals(batchesBefore + 1, batches.count());
+        assertEquals(airportsBefore + 2, batches.totalAmount());
+    }
+
+    @Test
+    void testUnknownAirportReturnsEmpty() {
+        Optional<AirportWeatherEntity> metar = metarFetchCoalescer.getLatestMetar("ZZC3");
+        assertTrue(metar.isEmpty());
+    }
+}
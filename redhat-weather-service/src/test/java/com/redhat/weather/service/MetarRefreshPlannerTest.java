@@ -0,0 +1,104 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.LocationEntity;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class MetarRefreshPlannerTest {
+
+    @Inject
+    MetarRefreshPlanner metarRefreshPlanner;
+
+    @Test
+    void testTierOfUsesAirportType() {
+        assertEquals(MetarRefreshPlanner.Tier.LARGE, metarRefreshPlanner.tierOf(airport("KJFK", "large_airport")));
+        assertEquals(MetarRefreshPlanner.Tier.MEDIUM, metarRefreshPlanner.tierOf(airport("KBDL", "medium_airport")));
+        assertEquals(MetarRefreshPlanner.Tier.SMALL, metarRefreshPlanner.tierOf(airport("K0B5", "small_airport")));
+        assertEquals(MetarRefreshPlanner.Tier.SMALL, metarRefreshPlanner.tierOf(airport("KXXX", null)));
+    }
+
+    @Test
+    void testLargeAirportsPlannedEveryCycle() {
+        List<LocationEntity> airports = new ArrayList<>();
+        airports.add(airport("LRG1", "large_airport"));
+        airports.add(airport("LRG2", "large_airport"));
+        for (int i = 0; i < 20; i++) {
+            airports.add(airport("SML" + i, "small_airport"));
+        }
+
+        Map<MetarRefreshPlanner.Tier, Integer> cursors = new EnumMap<>(MetarRefreshPlanner.Tier.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<String> first = metarRefreshPlanner.planCycle("test-large", airports, 5, cursors, now);
+        List<String> second = metarRefreshPlanner.planCycle("test-large", airports, 5, cursors, now.plusMinutes(30));
+
+        assertTrue(first.containsAll(List.of("LRG1", "LRG2")));
+        assertTrue(second.containsAll(List.of("LRG1", "LRG2")));
+        assertTrue(first.size() <= 7);
+        assertTrue(second.size() <= 7);
+    }
+
+    @Test
+    void testSmallTierRotates() {
+        List<LocationEntity> airports = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            airports.add(airport("ROT" + i, "small_airport"));
+        }
+
+        Map<MetarRefreshPlanner.Tier, Integer> cursors = new EnumMap<>(MetarRefreshPlanner.Tier.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<String> first = metarRefreshPlanner.planCycle("test-rotate", airports, 4, cursors, now);
+        List<String> second = metarRefreshPlanner.planCycle("test-rotate", airports, 4, cursors, now.plusHours(4));
+
+        assertEquals(4, first.size());
+        assertEquals(4, second.size());
+        assertTrue(second.stream().noneMatch(first::contains));
+    }
+
+    @Test
+    void testTierCutShortByBudgetCatchesUp() {
+        List<LocationEntity> airports = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            airports.add(airport("MED" + i, "medium_airport"));
+            airports.add(airport("DEF" + i, "small_airport"));
+        }
+        Map<MetarRefreshPlanner.Tier, Integer> cursors = new EnumMap<>(MetarRefreshPlanner.Tier.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Medium takes the whole budget, small gets nothing
+        List<String> starved = metarRefreshPlanner.planCycle("test-deficit", airports, 2, cursors, now);
+        assertTrue(starved.stream().noneMatch(code -> code.startsWith("DEF")));
+
+        // A minute later small is still owed its full tier, not a minute's worth
+        List<String> next = metarRefreshPlanner.planCycle("test-deficit", airports, 20, cursors, now.plusMinutes(1));
+        assertEquals(10, next.stream().filter(code -> code.startsWith("DEF")).count());
+    }
+
+    @Test
+    void testEmptiedTierHasNoStaleness() {
+        metarRefreshPlanner.classify(List.of(airport("STL1", "medium_airport"), airport("STL2", "small_airport")));
+        // Never refreshed: stale since startup
+        assertTrue(metarRefreshPlanner.getStaleness(MetarRefreshPlanner.Tier.MEDIUM).compareTo(Duration.ZERO) > 0);
+
+        // The medium airport left this instance's share: its tier no longer reports its refresh time
+        metarRefreshPlanner.classify(List.of(airport("STL2", "small_airport")));
+        assertEquals(Duration.ZERO, metarRefreshPlanner.getStaleness(MetarRefreshPlanner.Tier.MEDIUM));
+    }
+
+    private static LocationEntity airport(String code, String type) {
+        LocationEntity location = new LocationEntity();
+        location.airportCode = code;
+        location.airportType = type;
+        return location;
+    }
+}
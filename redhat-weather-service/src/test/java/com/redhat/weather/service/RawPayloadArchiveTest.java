@@ -0,0 +1,89 @@
+package com.redhat.weather.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class RawPayloadArchiveTest {
+
+    @Inject
+    RawPayloadArchive rawPayloadArchive;
+
+    @Test
+    void testAppendAndReadFromOpenSegment() {
+        String ref = rawPayloadArchive.append("test-open", "{\"id\":1,\"name\":\"café\"}");
+        assertNotNull(ref);
+        assertTrue(ref.startsWith("test-open/"));
+
+        Optional<String> payload = rawPayloadArchive.read(ref);
+        assertEquals(Optional.of("{\"id\":1,\"name\":\"café\"}"), payload);
+    }
+
+    @Test
+    void testReadAfterSealing() {
+        String first = rawPayloadArchive.append("test-sealed", "{\"n\":1}");
+        String second = rawPayloadArchive.append("test-sealed", "{\"n\":2}");
+
+        rawPayloadArchive.sealAll();
+
+        assertEquals(Optional.of("{\"n\":1}"), rawPayloadArchive.read(first));
+        assertEquals(Optional.of("{\"n\":2}"), rawPayloadArchive.read(second));
+    }
+
+    @Test
+    void testReadFromLaterFrameOfSealedSegment() {
+        // Well past one 64 KiB frame, so later records sit in frames of their own
+        List<String> refs = new ArrayList<>();
+        String padding = "x".repeat(1000);
+        for (int i = 0; i < 200; i++) {
+            refs.add(rawPayloadArchive.append("test-frames", "{\"n\":" + i + ",\"pad\":\"" + padding + "\"}"));
+        }
+
+        rawPayloadArchive.sealAll();
+
+        for (int i : new int[] {0, 63, 64, 150, 199}) {
+            assertEquals(Optional.of("{\"n\":" + i + ",\"pad\":\"" + padding + "\"}"), rawPayloadArchive.read(refs.get(i)));
+        }
+    }
+
+    @Test
+    void testPayloadStaysInlineByDefault() {
+        assertEquals("{}", rawPayloadArchive.inline("test/1/0", "{}"));
+        assertEquals("{}", rawPayloadArchive.inline(null, "{}"));
+    }
+
+    @Test
+    void testReplayReturnsRecordsInOrder() {
+        long from = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            rawPayloadArchive.append("test-replay", "{\"seq\":" + i + "}");
+            if (i == 2) {
+                rawPayloadArchive.sealAll();
+            }
+        }
+
+        List<RawPayloadArchive.RawRecord> records =
+            rawPayloadArchive.replay("test-replay", from, System.currentTimeMillis(), 100);
+        assertEquals(5, records.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("{\"seq\":" + i + "}", records.get(i).payload());
+        }
+
+        assertEquals(2, rawPayloadArchive.replay("test-replay", from, System.currentTimeMillis(), 2).size());
+    }
+
+    @Test
+    void testInvalidRefsReturnEmpty() {
+        assertTrue(rawPayloadArchive.read(null).isEmpty());
+        assertTrue(rawPayloadArchive.read("nonsense").isEmpty());
+        assertTrue(rawPayloadArchive.read("unknown-source/1/0").isEmpty());
+        assertTrue(rawPayloadArchive.read("../etc/1/0").isEmpty());
+    }
+}
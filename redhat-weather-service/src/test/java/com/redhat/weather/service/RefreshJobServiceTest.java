@@ -0,0 +1,110 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.RefreshJobEntity;
+import com.redhat.weather.domain.entity.RefreshJobEntity.Status;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class RefreshJobServiceTest {
+
+    @Inject
+    RefreshJobService refreshJobService;
+
+    @Test
+    void testQueuedJobIsReusedAndRunningJobGetsOneFollowUp() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Runnable work = () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+        };
+
+        RefreshJobEntity running = refreshJobService.submit("test-dedup", work);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(Status.RUNNING, refreshJobService.getJob(running.id).orElseThrow().status);
+
+        // Submitted while the first job runs: one follow-up, shared by both requests
+        RefreshJobEntity followUp = refreshJobService.submit("test-dedup", work);
+        RefreshJobEntity duplicate = refreshJobService.submit("test-dedup", work);
+        assertNotEquals(running.id, followUp.id);
+        assertEquals(followUp.id, duplicate.id);
+        assertEquals(Status.QUEUED, followUp.status);
+
+        release.countDown();
+        assertEquals(Status.SUCCEEDED, waitUntilDone(followUp.id).status);
+        assertEquals(Status.SUCCEEDED, refreshJobService.getJob(running.id).orElseThrow().status);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void testFailedJobRecordsError() throws Exception {
+        RefreshJobEntity submitted = refreshJobService.submit("test-failure", "KXYZ", () -> {
+            throw new IllegalStateException("upstream down");
+        });
+        RefreshJobEntity job = waitUntilDone(submitted.id);
+
+        assertEquals(Status.FAILED, job.status);
+        assertEquals("upstream down", job.error);
+        assertEquals("KXYZ", job.target);
+        assertNotNull(job.finishedAt);
+    }
+
+    @Test
+    void testPendingJobsAreBounded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<RefreshJobEntity> accepted = new ArrayList<>();
+        try {
+            // Distinct targets never share a queued job, so only the pending limit stops them
+            assertThrows(BulkheadException.class, () -> {
+                for (int i = 0; i < 100; i++) {
+                    accepted.add(refreshJobService.submit("test-bound", "K" + i, () -> await(release)));
+                }
+            });
+            assertFalse(accepted.isEmpty());
+        } finally {
+            release.countDown();
+        }
+        for (RefreshJobEntity job : accepted) {
+            waitUntilDone(job.id);
+        }
+    }
+
+    @Test
+    void testPurgeKeepsRecentFinishedJobs() throws Exception {
+        RefreshJobEntity job = waitUntilDone(refreshJobService.submit("test-purge", () -> { }).id);
+
+        refreshJobService.purgeFinished();
+        assertEquals(Status.SUCCEEDED, refreshJobService.getJob(job.id).orElseThrow().status);
+    }
+
+    private RefreshJobEntity waitUntilDone(String id) throws InterruptedException {
+        RefreshJobEntity job = refreshJobService.getJob(id).orElseThrow();
+        for (int i = 0; i < 100 && !job.isDone(); i++) {
+            Thread.sleep(50);
+            job = refreshJobService.getJob(id).orElseThrow();
+        }
+        assertTrue(job.isDone(), "job did not finish: " + job.status);
+        return job;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.SchedulerCursorEntity;
+import com.redhat.weather.domain.repository.SchedulerCursorRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class SchedulerCursorServiceTest {
+
+    @Inject
+    SchedulerCursorService schedulerCursorService;
+
+    @Inject
+    SchedulerCursorRepository cursorRepository;
+
+    @Test
+    void testSingleInstanceAcquiresAllPartitions() {
+        String cursor = "test-cursor-" + System.nanoTime();
+
+        List<SchedulerCursorEntity> leases = schedulerCursorService.acquire(cursor, Duration.ofMinutes(5));
+        assertFalse(leases.isEmpty());
+        assertTrue(leases.stream().allMatch(lease -> schedulerCursorService.getInstanceId().equals(lease.leaseOwner)));
+
+        // Renewing keeps the same partitions
+        List<SchedulerCursorEntity> renewed = schedulerCursorService.acquire(cursor, Duration.ofMinutes(5));
+        assertEquals(leases.size(), renewed.size());
+    }
+
+    @Test
+    void testAdvancePersistsPosition() {
+        String cursor = "test-cursor-" + System.nanoTime();
+        SchedulerCursorEntity lease = schedulerCursorService.acquire(cursor, Duration.ofMinutes(5)).get(0);
+
+        schedulerCursorService.advance(cursor, lease.partitionId, 42);
+
+        SchedulerCursorEntity renewed = schedulerCursorService.acquire(cursor, Duration.ofMinutes(5)).stream()
+            .filter(c -> c.partitionId.equals(lease.partitionId))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(42, renewed.position);
+    }
+
+    @Test
+    void testSlicesCoverAllItemsOnce() {
+        List<Integer> items = IntStream.range(0, 101).boxed().toList();
+        String cursor = "test-cursor-" + System.nanoTime();
+
+        List<Integer> covered = new ArrayList<>();
+        for (SchedulerCursorEntity lease : schedulerCursorService.acquire(cursor, Duration.ofMinutes(5))) {
+            covered.addAll(schedulerCursorService.slice(items, lease.partitionId));
+        }
+        assertEquals(items, covered);
+    }
+
+    @Test
+    void testFairShareWhileAnotherReplicaIsShort() {
+        String cursor = "test-cursor-" + System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> cursorRepository.heartbeat(cursor, "other-replica", LocalDateTime.now()));
+
+        // The other live replica holds nothing yet, so this one stops at its half
+        assertEquals(4, schedulerCursorService.acquire(cursor, Duration.ofMinutes(5)).size());
+
+        // Once the other replica leaves, the unowned partitions are claimed beyond the old share
+        QuarkusTransaction.requiringNew().run(() -> cursorRepository.deleteMemberships("other-replica"));
+        assertEquals(8, schedulerCursorService.acquire(cursor, Duration.ofMinutes(5)).size());
+    }
+
+    @Test
+    void testHeartbeatRemovesExpiredMembers() {
+        String cursor = "test-cursor-" + System.nanoTime();
+        LocalDateTime epoch = LocalDateTime.of(1970, 1, 1, 0, 0);
+        QuarkusTransaction.requiringNew().run(() -> {
+            cursorRepository.heartbeat(cursor, "dead-replica", LocalDateTime.now().minusHours(1));
+            cursorRepository.heartbeat(cursor, "live-replica", LocalDateTime.now());
+        });
+
+        schedulerCursorService.heartbeat();
+
+        assertEquals(1, QuarkusTransaction.requiringNew().call(() -> cursorRepository.countActiveMembers(cursor, epoch)));
+        QuarkusTransaction.requiringNew().run(() -> cursorRepository.deleteMemberships("live-replica"));
+    }
+
+    @Test
+    void testSavePositionRequiresLease() {
+        String cursor = "test-cursor-" + System.nanoTime();
+        SchedulerCursorEntity lease = schedulerCursorService.acquire(cursor, Duration.ofMinutes(5)).get(0);
+
+        schedulerCursorService.savePosition(cursor + "-aux", lease.partitionId, 7, cursor);
+        assertEquals(7, schedulerCursorService.getPosition(cursor + "-aux", lease.partitionId));
+
+        // Lease taken over by another replica: the stale writer must not move the position
+        QuarkusTransaction.requiringNew().run(() -> cursorRepository.update(
+            "leaseOwner = ?1 WHERE cursorName = ?2 AND partitionId = ?3", "other-replica", cursor, lease.partitionId));
+        schedulerCursorService.savePosition(cursor + "-aux", lease.partitionId, 9, cursor);
+        assertEquals(7, schedulerCursorService.getPosition(cursor + "-aux", lease.partitionId));
+    }
+
+    @Test
+    void testSingleLeaseHasOneHolder() {
+        String lease = "test-lease-" + System.nanoTime();
+        assertTrue(schedulerCursorService.tryLease(lease, Duration.ofMinutes(5)));
+        // Renewed by its holder
+        assertTrue(schedulerCursorService.tryLease(lease, Duration.ofMinutes(5)));
+
+        QuarkusTransaction.requiringNew().run(() -> cursorRepository.update(
+            "leaseOwner = ?1 WHERE cursorName = ?2", "other-replica", lease));
+        assertFalse(schedulerCursorService.tryLease(lease, Duration.ofMinutes(5)));
+
+        // Taken over once the other replica's lease expires
+        QuarkusTransaction.requiringNew().run(() -> cursorRepository.update(
+            "leaseExpiresAt = ?1 WHERE cursorName = ?2", LocalDateTime.now().minusSeconds(1), lease));
+        assertTrue(schedulerCursorService.tryLease(lease, Duration.ofMinutes(5)));
+    }
+}
@@ -0,0 +1,122 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.domain.entity.TfrEntity;
+import com.redhat.weather.domain.repository.TfrRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class SnapshotReconcilerTest {
+
+    @Inject
+    SnapshotReconciler snapshotReconciler;
+
+    @Inject
+    TfrRepository tfrRepository;
+
+    @AfterEach
+    void cleanup() {
+        QuarkusTransaction.requiringNew().run(() ->
+            tfrRepository.delete("notamId IN ?1", List.of("9/SNAP1", "9/SNAP2")));
+    }
+
+    @Test
+    void testOnlyChangesAreWritten() {
+        SnapshotReconciler.Result first = snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/SNAP1", "Stadium"), tfr("9/SNAP2", "VIP movement")));
+        assertEquals(2, first.inserted());
+        Long id = tfrRepository.find("notamId", "9/SNAP1").firstResult().id;
+
+        SnapshotReconciler.Result repeat = snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/SNAP1", "Stadium"), tfr("9/SNAP2", "VIP movement")));
+        assertEquals(2, repeat.unchanged());
+        assertEquals(0, repeat.written());
+
+        SnapshotReconciler.Result changed = snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/SNAP1", "Stadium, extended")));
+        assertEquals(1, changed.updated());
+        assertEquals(1, changed.deactivated());
+
+        TfrEntity updated = tfrRepository.find("notamId", "9/SNAP1").firstResult();
+        assertEquals(id, updated.id);
+        assertEquals("Stadium, extended", updated.description);
+        assertFalse(tfrRepository.find("notamId", "9/SNAP2").firstResult().isActive);
+    }
+
+    @Test
+    void testVanishedRowIsReactivatedWhenItReturns() {
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId", List.of(tfr("9/SNAP1", "Stadium")));
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId", List.of());
+        assertFalse(tfrRepository.find("notamId", "9/SNAP1").firstResult().isActive);
+
+        SnapshotReconciler.Result back = snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/SNAP1", "Stadium")));
+        assertEquals(0, back.inserted());
+        assertEquals(1, back.updated());
+        assertTrue(tfrRepository.find("notamId", "9/SNAP1").firstResult().isActive);
+    }
+
+    @Test
+    void testUnchangedRowsStayActiveUntilTheFeedDropsThem() {
+        TfrEntity longRunning = tfr("9/SNAP1", "Stadium");
+        longRunning.fetchedAt = LocalDateTime.now().minusDays(10);
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId", List.of(longRunning));
+
+        TfrEntity repeat = tfr("9/SNAP1", "Stadium");
+        repeat.fetchedAt = LocalDateTime.now().minusDays(10);
+        assertEquals(1, snapshotReconciler.reconcile("tfr", tfrRepository, "notamId", List.of(repeat)).unchanged());
+
+        // Still published, so age-based cleanup leaves it alone despite the old fetchedAt
+        QuarkusTransaction.requiringNew().run(() -> tfrRepository.deactivateOld(LocalDateTime.now().minusDays(7)));
+        TfrEntity stored = tfrRepository.find("notamId", "9/SNAP1").firstResult();
+        assertTrue(stored.isActive);
+        assertTrue(stored.lastSeenAt.isAfter(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    void testOnlyWrittenRowsArePassedToTheWriteHook() {
+        List<String> written = new ArrayList<>();
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/SNAP1", "Stadium"), tfr("9/SNAP2", "VIP movement")), row -> written.add(row.notamId));
+        assertEquals(List.of("9/SNAP1", "9/SNAP2"), written);
+
+        written.clear();
+        snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/SNAP1", "Stadium"), tfr("9/SNAP2", "VIP movement, extended")), row -> written.add(row.notamId));
+        assertEquals(List.of("9/SNAP2"), written);
+    }
+
+    @Test
+    void testRepeatedKeyKeepsFirstEntry() {
+        SnapshotReconciler.Result result = snapshotReconciler.reconcile("tfr", tfrRepository, "notamId",
+            List.of(tfr("9/SNAP1", "Stadium"), tfr("9/SNAP1", "Stadium, second entry")));
+        assertEquals(1, result.inserted());
+        assertEquals("Stadium", tfrRepository.find("notamId", "9/SNAP1").firstResult().description);
+    }
+
+    @Test
+    void testDiscriminatorSeparatesReasons() {
+        assertEquals(SnapshotReconciler.discriminator("WX:Thunderstorms"), SnapshotReconciler.discriminator("WX:Thunderstorms"));
+        assertNotEquals(SnapshotReconciler.discriminator("WX:Thunderstorms"), SnapshotReconciler.discriminator("VOL:Volume"));
+        assertEquals("none", SnapshotReconciler.discriminator(null));
+    }
+
+    private static TfrEntity tfr(String notamId, String description) {
+        TfrEntity entity = new TfrEntity();
+        entity.notamId = notamId;
+        entity.facility = "ZZZ";
+        entity.tfrType = "SECURITY";
+        entity.description = description;
+        entity.fetchedAt = LocalDateTime.now();
+        return entity;
+    }
+}
@@ -0,0 +1,73 @@
+package com.redhat.weather.service;
+
+import com.redhat.weather.dto.SolarDataDTO;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class SolarDataServiceTest {
+
+    @Inject
+    SolarDataService solarDataService;
+
+    @Test
+    void testCalculatorMatchesNoaaForNewYorkSummerSolstice() {
+        // NOAA: JFK on 2024-06-21 sunrise 09:25 UTC, sunset 00:31 UTC (next day)
+        int[] values = new int[SolarCalculator.FIELDS];
+        SolarCalculator.compute(40.6413, -73.7781, LocalDate.of(2024, 6, 21), values, 0);
+
+        assertEquals(9 * 3600 + 25 * 60, values[SolarCalculator.SUNRISE], 120);
+        assertEquals(24 * 3600 + 31 * 60, values[SolarCalculator.SUNSET], 120);
+        assertTrue(values[SolarCalculator.CIVIL_DAWN] < values[SolarCalculator.SUNRISE]);
+        assertTrue(values[SolarCalculator.NAUTICAL_DAWN] < values[SolarCalculator.CIVIL_DAWN]);
+        assertTrue(values[SolarCalculator.ASTRONOMICAL_DAWN] < values[SolarCalculator.NAUTICAL_DAWN]);
+    }
+
+    @Test
+    void testTimesAreUtcInstants() {
+        int[] values = new int[SolarCalculator.FIELDS];
+        LocalDate date = LocalDate.of(2024, 6, 21);
+        SolarCalculator.compute(40.6413, -73.7781, date, values, 0);
+
+        SolarDataDTO dto = new SolarDataDTO(1L, "JFK", "KJFK", date, values, 0);
+
+        // Sunset falls after midnight UTC, so it carries the next day's date rather than wrapping
+        assertEquals(Instant.parse("2024-06-21T09:25:00Z").getEpochSecond(), Instant.parse(dto.sunrise).getEpochSecond(), 120);
+        assertEquals(Instant.parse("2024-06-22T00:31:00Z").getEpochSecond(), Instant.parse(dto.sunset).getEpochSecond(), 120);
+        assertEquals("2024-06-21", dto.date);
+    }
+
+    @Test
+    void testCalculatorReportsPolarDay() {
+        // Barrow/Utqiagvik has midnight sun around the June solstice
+        int[] values = new int[SolarCalculator.FIELDS];
+        SolarCalculator.compute(71.2906, -156.7886, LocalDate.of(2024, 6, 21), values, 0);
+
+        assertEquals(SolarCalculator.ALWAYS_ABOVE, values[SolarCalculator.SUNRISE]);
+        assertEquals(SolarCalculator.ALWAYS_ABOVE, values[SolarCalculator.SUNSET]);
+    }
+
+    @Test
+    void testUtcOffsetFromLongitude() {
+        assertEquals(-5 * 3600, SolarDataService.utcOffsetSeconds(-73.7781));
+        assertEquals(0, SolarDataService.utcOffsetSeconds(-0.4543));
+        assertEquals(12 * 3600, SolarDataService.utcOffsetSeconds(179.9));
+    }
+
+    @Test
+    void testGetSolarDataForUnknownCodesIsEmpty() {
+        assertTrue(solarDataService.getSolarDataForCodes(List.of("ZZZZ" + System.nanoTime())).isEmpty());
+    }
+
+    @Test
+    void testGetSolarDataForUnknownLocationIsEmpty() {
+        assertTrue(solarDataService.getSolarData(999999L).isEmpty());
+    }
+}
@@ -35,4 +35,31 @@ class SpaceWeatherServiceTest {
         assertNotNull(dto.alerts);
         assertTrue(dto.alerts.isEmpty());
     }
+
+    @Test
+    void testSnapshotIncludesStalenessIndicator() {
+        spaceWeatherService.getSpaceWeather().ifPresent(dto -> {
+            assertTrue(dto.ageSeconds >= 0);
+            assertFalse(dto.stale);
+        });
+    }
+
+    @Test
+    void testWithStalenessDoesNotMutateSnapshot() {
+        SpaceWeatherDTO dto = new SpaceWeatherDTO();
+        dto.setKpIndex(5);
+
+        SpaceWeatherDTO copy = dto.withStaleness(1200, true);
+
+        assertTrue(copy.stale);
+        assertEquals(1200, copy.ageSeconds);
+        assertEquals("G1", copy.geomagneticStormLevel);
+        assertFalse(dto.stale);
+        assertEquals(0, dto.ageSeconds);
+    }
+
+    @Test
+    void testGetHistoryReturnsList() {
+        assertNotNull(spaceWeatherService.getHistory(24));
+    }
 }
@@ -1,9 +1,17 @@
 package com.redhat.weather.service;
 
+import com.redhat.weather.domain.entity.WindsAloftProfileEntity;
+import com.redhat.weather.domain.repository.WindsAloftRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @QuarkusTest
@@ -12,6 +20,14 @@ class WindsAloftServiceTest {
     @Inject
     WindsAloftService windsAloftService;
 
+    @Inject
+    WindsAloftRepository windsAloftRepository;
+
+    @AfterEach
+    void cleanup() {
+        QuarkusTransaction.requiringNew().run(() -> windsAloftRepository.delete("stationId = ?1", "ZZTST"));
+    }
+
     @Test
     void testGetLatestWindsAloftReturnsNonNull() {
         assertNotNull(windsAloftService.getLatestWinds());
@@ -21,4 +37,31 @@ class WindsAloftServiceTest {
     void testFetchAndStoreWindsAloftHandlesApiErrors() {
         assertDoesNotThrow(() -> windsAloftService.fetchAndStoreWinds());
     }
+
+    @Test
+    void testProfileIsServedAsOneLevelPerAltitude() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            WindsAloftProfileEntity profile = new WindsAloftProfileEntity();
+            profile.stationId = "ZZTST";
+            profile.validTime = LocalDateTime.now().plusHours(1);
+            profile.altitudesFt = new Integer[] {3000, 6000, 9000};
+            profile.windDirections = new Integer[] {270, 280, null};
+            profile.windSpeedsKnots = new Integer[] {15, 25, 35};
+            profile.temperaturesCelsius = new BigDecimal[] {null, new BigDecimal("-2.0"), new BigDecimal("-8.5")};
+            windsAloftRepository.persist(profile);
+        });
+
+        List<WindsAloftService.Level> station = windsAloftService.getWindsByStation("zztst");
+        assertEquals(List.of(3000, 6000, 9000), station.stream().map(WindsAloftService.Level::altitudeFt).toList());
+        assertNull(station.get(0).temperatureCelsius());
+        assertNull(station.get(2).windDirection());
+
+        List<WindsAloftService.Level> atSixThousand = windsAloftService.getWindsByAltitude(6000).stream()
+            .filter(level -> level.stationId().equals("ZZTST"))
+            .toList();
+        assertEquals(1, atSixThousand.size());
+        assertEquals(280, atSixThousand.get(0).windDirection());
+        assertEquals(25, atSixThousand.get(0).windSpeedKnots());
+        assertEquals(0, new BigDecimal("-2.0").compareTo(atSixThousand.get(0).temperatureCelsius()));
+    }
 }
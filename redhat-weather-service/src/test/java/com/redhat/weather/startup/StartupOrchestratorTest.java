@@ -0,0 +1,94 @@
+package com.redhat.weather.startup;
+
+import com.redhat.weather.domain.entity.AirportWeatherEntity;
+import com.redhat.weather.domain.entity.LocationEntity;
+import com.redhat.weather.domain.repository.AirportWeatherRepository;
+import com.redhat.weather.domain.repository.LocationRepository;
+import com.redhat.weather.service.AirportWeatherService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class StartupOrchestratorTest {
+
+    @Inject
+    StartupOrchestrator startupOrchestrator;
+
+    @Inject
+    AirportWeatherService airportWeatherService;
+
+    @Inject
+    AirportWeatherRepository airportWeatherRepository;
+
+    @Inject
+    LocationRepository locationRepository;
+
+    @Test
+    void testReadinessReportsWarmupOnceCachesAreRestored() throws InterruptedException {
+        for (int i = 0; i < 100 && !startupOrchestrator.isWarm(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(startupOrchestrator.isWarm());
+
+        given()
+            .when().get("/q/health/ready")
+            .then()
+            .body("checks.find { it.name == 'hot-cache-warmup' }.status", equalTo("UP"))
+            .body("checks.find { it.name == 'hot-cache-warmup' }.data.warmupMillis", notNullValue());
+    }
+
+    @Test
+    void testRestoreLatestMetarsKeepsNewestObservationPerAirport() {
+        LocalDateTime now = LocalDateTime.now();
+        QuarkusTransaction.requiringNew().run(() -> {
+            LocationEntity location = new LocationEntity();
+            location.name = "Warmup Test Field";
+            location.locationType = "airport";
+            location.airportCode = "ZWRM";
+            location.latitude = BigDecimal.ONE;
+            location.longitude = BigDecimal.ONE;
+            locationRepository.persist(location);
+            airportWeatherRepository.persist(metar(location, now.minusMinutes(60), "ZWRM 1"));
+            airportWeatherRepository.persist(metar(location, now.minusMinutes(5), "ZWRM 2"));
+        });
+
+        try {
+            assertTrue(airportWeatherService.restoreLatestMetars(now.minusHours(3)) >= 1);
+
+            Optional<AirportWeatherEntity> latest = airportWeatherService.getLatestMetar("ZWRM");
+            assertTrue(latest.isPresent());
+            assertEquals("ZWRM 2", latest.get().rawText);
+            // Restored outside the request session, so the location must already be loaded
+            assertEquals("ZWRM", latest.get().location.airportCode);
+        } finally {
+            QuarkusTransaction.requiringNew().run(() -> {
+                airportWeatherRepository.delete("airportCode", "ZWRM");
+                locationRepository.delete("airportCode", "ZWRM");
+            });
+            airportWeatherService.evictLatestMetar("ZWRM");
+        }
+    }
+
+    private static AirportWeatherEntity metar(LocationEntity location, LocalDateTime observed, String rawText) {
+        AirportWeatherEntity metar = new AirportWeatherEntity();
+        metar.location = location;
+        metar.airportCode = location.airportCode;
+        metar.reportType = "METAR";
+        metar.observationTime = observed;
+        metar.fetchedAt = observed;
+        metar.latitude = location.latitude;
+        metar.longitude = location.longitude;
+        metar.rawText = rawText;
+        return metar;
+    }
+}